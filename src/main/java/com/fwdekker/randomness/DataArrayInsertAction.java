@@ -32,12 +32,27 @@ public abstract class DataArrayInsertAction extends DataInsertAction {
      */
     @Override
     protected final String generateString() {
-        final List<String> strings = new ArrayList<>();
+        return generateStrings(1).get(0);
+    }
+
+    /**
+     * Generates the given number of random arrays of strings.
+     * <p>
+     * The elements of all arrays are generated by a single call to {@link DataInsertAction#generateStrings(int)}.
+     *
+     * @param count the number of arrays to generate
+     * @return the given number of random arrays of strings
+     */
+    @Override
+    protected final List<String> generateStrings(final int count) {
+        final int arraySize = arraySettings.getCount();
+        final List<String> elements = dataInsertAction.generateStrings(count * arraySize);
 
-        for (int i = 0; i < arraySettings.getCount(); i++) {
-            strings.add(dataInsertAction.generateString());
+        final List<String> arrays = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            arrays.add(arraySettings.arrayify(elements.subList(i * arraySize, (i + 1) * arraySize)));
         }
 
-        return arraySettings.arrayify(strings);
+        return arrays;
     }
 }
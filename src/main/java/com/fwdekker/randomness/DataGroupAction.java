@@ -50,11 +50,11 @@ public abstract class DataGroupAction extends ActionGroup {
         super.actionPerformed(event);
 
         if ((event.getModifiers() & (InputEvent.SHIFT_MASK | InputEvent.SHIFT_DOWN_MASK)) != 0) {
-            getInsertArrayAction().actionPerformed(event);
+            insertArrayAction.actionPerformed(event);
         } else if ((event.getModifiers() & (InputEvent.CTRL_MASK | InputEvent.CTRL_DOWN_MASK)) != 0) {
-            getSettingsAction().actionPerformed(event);
+            settingsAction.actionPerformed(event);
         } else {
-            getInsertAction().actionPerformed(event);
+            insertAction.actionPerformed(event);
         }
     }
 
@@ -5,11 +5,15 @@ import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.CommonDataKeys;
 import com.intellij.openapi.actionSystem.Presentation;
 import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Caret;
 import com.intellij.openapi.editor.CaretModel;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
 import com.intellij.openapi.project.Project;
 
+import java.util.ArrayList;
+import java.util.List;
+
 
 /**
  * Inserts a randomly generated string at the positions of the event's editor's carets.
@@ -30,7 +34,7 @@ public abstract class DataInsertAction extends AnAction {
     }
 
     /**
-     * Inserts the string generated by {@link #generateString()} at the caret(s) in the editor.
+     * Inserts the strings generated by {@link #generateStrings(int)} at the caret(s) in the editor.
      *
      * @param event the performed action
      */
@@ -44,16 +48,22 @@ public abstract class DataInsertAction extends AnAction {
         final Document document = editor.getDocument();
         final CaretModel caretModel = editor.getCaretModel();
 
-        final Runnable replaceCaretSelections = () -> caretModel.getAllCarets().forEach(caret -> {
-            final int start = caret.getSelectionStart();
-            final int end = caret.getSelectionEnd();
+        final Runnable replaceCaretSelections = () -> {
+            final List<Caret> carets = caretModel.getAllCarets();
+            final List<String> strings = generateStrings(carets.size());
+
+            for (int i = 0; i < carets.size(); i++) {
+                final Caret caret = carets.get(i);
+                final int start = caret.getSelectionStart();
+                final int end = caret.getSelectionEnd();
 
-            final String string = generateString();
-            final int newEnd = start + string.length();
+                final String string = strings.get(i);
+                final int newEnd = start + string.length();
 
-            document.replaceString(start, end, string);
-            caret.setSelection(start, newEnd);
-        });
+                document.replaceString(start, end, string);
+                caret.setSelection(start, newEnd);
+            }
+        };
 
         WriteCommandAction.runWriteCommandAction(project, replaceCaretSelections);
     }
@@ -72,4 +82,23 @@ public abstract class DataInsertAction extends AnAction {
      * @return a random string
      */
     protected abstract String generateString();
+
+    /**
+     * Generates the given number of random strings.
+     * <p>
+     * By default, this calls {@link #generateString()} once for each string. Actions that can generate several strings
+     * at once more efficiently than one at a time should override this method.
+     *
+     * @param count the number of strings to generate
+     * @return the given number of random strings
+     */
+    protected List<String> generateStrings(final int count) {
+        final List<String> strings = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            strings.add(generateString());
+        }
+
+        return strings;
+    }
 }
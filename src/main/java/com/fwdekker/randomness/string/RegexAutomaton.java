@@ -0,0 +1,1058 @@
+package com.fwdekker.randomness.string;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+
+/**
+ * A deterministic finite automaton that accepts the strings matched by a regular expression, with which strings
+ * matching that expression are generated.
+ * <p>
+ * The expression is parsed into a nondeterministic automaton, which is then turned into a deterministic automaton by
+ * the subset construction. Code points are grouped into ranges that no part of the expression distinguishes between,
+ * so that each state has one transition per range rather than per code point. For each state and each length, the
+ * number of strings of that length that lead from the state to an accepting state is computed once. A string is then
+ * generated by choosing a length uniformly among the lengths of the matching strings, and walking from the start state
+ * while choosing each transition in proportion to the number of strings that continue through it. Because the
+ * automaton is deterministic, each string of the chosen length is then equally likely.
+ * <p>
+ * Literals, the wildcard {@code .}, character classes such as {@code [a-z]} and {@code [^0-9]}, the classes {@code \d},
+ * {@code \w}, and {@code \s} and their negations, groups, alternations, and quantifiers are supported. The wildcard and
+ * negated classes only generate printable ASCII characters. Unbounded quantifiers such as {@code *} and {@code {2,}}
+ * repeat at most {@value #MAX_EXTRA_REPEATS} times more than their minimum. Other constructs, such as
+ * back-references and lookarounds, are not supported. A pattern may start with {@code ^} and end with {@code $}, which
+ * are ignored.
+ * <p>
+ * Compiling an expression is much more expensive than generating a string, so compiled automata are cached by
+ * {@link #of(String)}.
+ */
+final class RegexAutomaton {
+    /**
+     * The maximum number of times that an unbounded quantifier repeats beyond its minimum.
+     */
+    static final int MAX_EXTRA_REPEATS = 8;
+    /**
+     * The maximum number of states of the nondeterministic automaton.
+     */
+    private static final int MAX_NFA_STATES = 100_000;
+    /**
+     * The maximum number of states of the deterministic automaton.
+     */
+    private static final int MAX_DFA_STATES = 4096;
+    /**
+     * The maximum number of path counts, which is the number of states of the deterministic automaton times the
+     * number of lengths.
+     */
+    private static final int MAX_PATH_COUNTS = 4_000_000;
+    /**
+     * The maximum number of automata to keep in the cache.
+     */
+    private static final int CACHE_CAPACITY = 16;
+    /**
+     * The smallest code point that is generated by the wildcard and negated classes.
+     */
+    private static final int MIN_PRINTABLE = 0x20;
+    /**
+     * The largest code point that is generated by the wildcard and negated classes.
+     */
+    private static final int MAX_PRINTABLE = 0x7E;
+
+    /**
+     * The previously compiled automata, identified by their regular expression.
+     */
+    private static final Map<String, RegexAutomaton> CACHE = createCache();
+
+    /**
+     * The first code point of each range of code points that are not distinguished between, followed by the code
+     * point after the last range.
+     */
+    private final int[] rangeStarts;
+    /**
+     * For each state, the ranges of code points for which it has a transition.
+     */
+    private final int[][] transitionRanges;
+    /**
+     * For each state, the state that each transition in {@link #transitionRanges} leads to.
+     */
+    private final int[][] transitionTargets;
+    /**
+     * For each state and each length, the number of strings of that length that lead from that state to an accepting
+     * state, divided by the same factor for all states for each length.
+     */
+    private final double[][] pathCounts;
+    /**
+     * The lengths of the strings that are accepted, in ascending order.
+     */
+    private final int[] lengths;
+
+
+    /**
+     * Compiles a new {@code RegexAutomaton}.
+     *
+     * @param regex the regular expression to compile
+     * @throws java.util.regex.PatternSyntaxException if {@code regex} is not a valid regular expression
+     * @throws IllegalArgumentException               if {@code regex} uses an unsupported construct, matches no
+     *                                                strings, or is too complex
+     */
+    RegexAutomaton(final String regex) {
+        Pattern.compile(regex);
+
+        final Node root = new Parser(regex).parse();
+        final long maxLength = root.getMaxLength();
+
+        final Nfa nfa = new Nfa();
+        final int accept = root.build(nfa, nfa.addState());
+
+        this.rangeStarts = nfa.getRangeStarts();
+        final List<BitSet> states = new ArrayList<>();
+        final List<int[]> ranges = new ArrayList<>();
+        final List<int[]> targets = new ArrayList<>();
+        determinize(nfa, states, ranges, targets);
+        this.transitionRanges = ranges.toArray(new int[0][]);
+        this.transitionTargets = targets.toArray(new int[0][]);
+
+        if ((maxLength + 1) * states.size() > MAX_PATH_COUNTS) {
+            throw new IllegalArgumentException("The regular expression is too complex.");
+        }
+        this.pathCounts = countPaths(states, accept, (int) maxLength);
+
+        this.lengths = IntStream.rangeClosed(0, (int) maxLength)
+                .filter(length -> pathCounts[0][length] > 0)
+                .toArray();
+        if (lengths.length == 0) {
+            throw new IllegalArgumentException("The regular expression does not match any string.");
+        }
+    }
+
+
+    /**
+     * Returns the compiled automaton of the given regular expression, using a previously compiled automaton if there
+     * is one.
+     *
+     * @param regex a regular expression
+     * @return the compiled automaton of the given regular expression
+     * @throws java.util.regex.PatternSyntaxException if {@code regex} is not a valid regular expression
+     * @throws IllegalArgumentException               if {@code regex} uses an unsupported construct, matches no
+     *                                                strings, or is too complex
+     */
+    static RegexAutomaton of(final String regex) {
+        synchronized (CACHE) {
+            final RegexAutomaton automaton = CACHE.get(regex);
+            if (automaton != null) {
+                return automaton;
+            }
+        }
+
+        final RegexAutomaton automaton = new RegexAutomaton(regex);
+        synchronized (CACHE) {
+            CACHE.put(regex, automaton);
+        }
+        return automaton;
+    }
+
+
+    /**
+     * Returns the lengths of the strings that are accepted, in ascending order.
+     *
+     * @return the lengths of the strings that are accepted, in ascending order
+     */
+    int[] getLengths() {
+        return lengths.clone();
+    }
+
+    /**
+     * Appends a random string that is accepted to the given builder.
+     *
+     * @param random  the source of randomness
+     * @param builder the builder to append the string to
+     */
+    void generate(final Random random, final StringBuilder builder) {
+        final int length = lengths[random.nextInt(lengths.length)];
+
+        int state = 0;
+        for (int remaining = length; remaining > 0; remaining--) {
+            final int[] ranges = transitionRanges[state];
+            final int[] targets = transitionTargets[state];
+
+            double totalWeight = 0;
+            for (int i = 0; i < ranges.length; i++) {
+                totalWeight += getWeight(ranges[i], targets[i], remaining);
+            }
+
+            double target = random.nextDouble() * totalWeight;
+            int choice = -1;
+            for (int i = 0; i < ranges.length; i++) {
+                final double weight = getWeight(ranges[i], targets[i], remaining);
+                if (weight > 0) {
+                    choice = i;
+                    if (target < weight) {
+                        break;
+                    }
+                    target -= weight;
+                }
+            }
+
+            final int range = ranges[choice];
+            builder.appendCodePoint(rangeStarts[range] + random.nextInt(getRangeSize(range)));
+            state = targets[choice];
+        }
+    }
+
+    /**
+     * Returns a random string that is accepted.
+     *
+     * @param random the source of randomness
+     * @return a random string that is accepted
+     */
+    String generate(final Random random) {
+        final StringBuilder builder = new StringBuilder();
+        generate(random, builder);
+        return builder.toString();
+    }
+
+
+    /**
+     * Returns the number of code points in the range with the given index.
+     *
+     * @param range the index of a range
+     * @return the number of code points in the range with the given index
+     */
+    private int getRangeSize(final int range) {
+        return rangeStarts[range + 1] - rangeStarts[range];
+    }
+
+    /**
+     * Returns the relative number of strings of the given length that start with a code point of the given range and
+     * then continue from the given state to an accepting state.
+     *
+     * @param range  the index of the range of code points of the transition
+     * @param target the state that the transition leads to
+     * @param length the length of the strings including the code point of the transition
+     * @return the relative number of strings of the given length that continue through the given transition
+     */
+    private double getWeight(final int range, final int target, final int length) {
+        return getRangeSize(range) * pathCounts[target][length - 1];
+    }
+
+    /**
+     * Builds the deterministic automaton of the given nondeterministic automaton by the subset construction.
+     * <p>
+     * The start state is the first state.
+     *
+     * @param nfa     the nondeterministic automaton
+     * @param states  the list to add the set of states of the nondeterministic automaton of each state to
+     * @param ranges  the list to add the ranges of the transitions of each state to
+     * @param targets the list to add the targets of the transitions of each state to
+     */
+    private void determinize(final Nfa nfa, final List<BitSet> states, final List<int[]> ranges,
+                             final List<int[]> targets) {
+        final Map<BitSet, Integer> ids = new HashMap<>();
+        final BitSet start = new BitSet();
+        start.set(0);
+        nfa.close(start);
+        ids.put(start, 0);
+        states.add(start);
+
+        final int rangeCount = Math.max(0, rangeStarts.length - 1);
+        for (int state = 0; state < states.size(); state++) {
+            final BitSet[] moves = new BitSet[rangeCount];
+            final BitSet members = states.get(state);
+            for (int member = members.nextSetBit(0); member >= 0; member = members.nextSetBit(member + 1)) {
+                for (final Transition transition : nfa.getTransitions(member)) {
+                    for (final int range : transition.ranges) {
+                        if (moves[range] == null) {
+                            moves[range] = new BitSet();
+                        }
+                        moves[range].set(transition.target);
+                    }
+                }
+            }
+
+            final List<Integer> stateRanges = new ArrayList<>();
+            final List<Integer> stateTargets = new ArrayList<>();
+            for (int range = 0; range < rangeCount; range++) {
+                if (moves[range] == null) {
+                    continue;
+                }
+
+                nfa.close(moves[range]);
+                Integer id = ids.get(moves[range]);
+                if (id == null) {
+                    if (states.size() >= MAX_DFA_STATES) {
+                        throw new IllegalArgumentException("The regular expression is too complex.");
+                    }
+
+                    id = states.size();
+                    ids.put(moves[range], id);
+                    states.add(moves[range]);
+                }
+                stateRanges.add(range);
+                stateTargets.add(id);
+            }
+            ranges.add(stateRanges.stream().mapToInt(Integer::intValue).toArray());
+            targets.add(stateTargets.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    /**
+     * Counts for each state and each length up to the given length the number of strings of that length that lead
+     * from that state to an accepting state.
+     * <p>
+     * Because these numbers grow exponentially with the length, the numbers of each length are divided by the largest
+     * of them. Only their ratios are used.
+     *
+     * @param states    the set of states of the nondeterministic automaton of each state
+     * @param accept    the accepting state of the nondeterministic automaton
+     * @param maxLength the length of the longest accepted string
+     * @return the relative number of strings of each length that lead from each state to an accepting state
+     */
+    private double[][] countPaths(final List<BitSet> states, final int accept, final int maxLength) {
+        final double[][] counts = new double[states.size()][maxLength + 1];
+        for (int state = 0; state < states.size(); state++) {
+            counts[state][0] = states.get(state).get(accept) ? 1 : 0;
+        }
+
+        for (int length = 1; length <= maxLength; length++) {
+            double maxCount = 0;
+            for (int state = 0; state < states.size(); state++) {
+                double count = 0;
+                for (int i = 0; i < transitionRanges[state].length; i++) {
+                    count += getRangeSize(transitionRanges[state][i]) * counts[transitionTargets[state][i]][length - 1];
+                }
+                counts[state][length] = count;
+                maxCount = Math.max(maxCount, count);
+            }
+
+            if (maxCount > 0) {
+                for (int state = 0; state < states.size(); state++) {
+                    counts[state][length] /= maxCount;
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Returns an empty map that removes its least recently accessed entry when it grows beyond
+     * {@link #CACHE_CAPACITY}.
+     *
+     * @return an empty map that removes its least recently accessed entry when it grows beyond {@link #CACHE_CAPACITY}
+     */
+    private static Map<String, RegexAutomaton> createCache() {
+        return new LinkedHashMap<String, RegexAutomaton>(CACHE_CAPACITY, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, RegexAutomaton> eldest) {
+                return size() > CACHE_CAPACITY;
+            }
+        };
+    }
+
+
+    /**
+     * A part of a parsed regular expression.
+     */
+    private interface Node {
+        /**
+         * Adds the states and transitions that match this part to the given automaton, starting at the given state.
+         *
+         * @param nfa  the automaton to add to
+         * @param from the state from which this part should be matched
+         * @return the state in which this part has been matched
+         */
+        int build(Nfa nfa, int from);
+
+        /**
+         * Returns the length of the longest string that this part matches.
+         *
+         * @return the length of the longest string that this part matches
+         */
+        long getMaxLength();
+    }
+
+    /**
+     * A set of code points, of which one is matched.
+     */
+    private static final class CharSet implements Node {
+        /**
+         * The disjoint ranges of code points in the set, in ascending order, as pairs of the first and the last code
+         * point of each range.
+         */
+        private final int[] bounds;
+
+
+        /**
+         * Constructs a new {@code CharSet} containing the code points in the given ranges.
+         *
+         * @param ranges pairs of the first and the last code point of each range, in any order and possibly overlapping
+         */
+        CharSet(final int... ranges) {
+            final int[][] pairs = new int[ranges.length / 2][];
+            for (int i = 0; i < pairs.length; i++) {
+                pairs[i] = new int[]{ranges[2 * i], ranges[2 * i + 1]};
+            }
+            Arrays.sort(pairs, (a, b) -> Integer.compare(a[0], b[0]));
+
+            final int[] merged = new int[ranges.length];
+            int size = 0;
+            for (final int[] pair : pairs) {
+                if (size > 0 && pair[0] <= merged[size - 1] + 1) {
+                    merged[size - 1] = Math.max(merged[size - 1], pair[1]);
+                } else {
+                    merged[size++] = pair[0];
+                    merged[size++] = pair[1];
+                }
+            }
+            this.bounds = Arrays.copyOf(merged, size);
+        }
+
+
+        /**
+         * Returns the printable ASCII characters that are not in this set.
+         *
+         * @return the printable ASCII characters that are not in this set
+         */
+        CharSet complement() {
+            final List<Integer> ranges = new ArrayList<>();
+            int next = MIN_PRINTABLE;
+            for (int i = 0; i < bounds.length; i += 2) {
+                if (bounds[i] > next) {
+                    ranges.add(next);
+                    ranges.add(Math.min(bounds[i] - 1, MAX_PRINTABLE));
+                }
+                next = Math.max(next, bounds[i + 1] + 1);
+                if (next > MAX_PRINTABLE) {
+                    break;
+                }
+            }
+            if (next <= MAX_PRINTABLE) {
+                ranges.add(next);
+                ranges.add(MAX_PRINTABLE);
+            }
+            return new CharSet(ranges.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        /**
+         * Returns the union of this set and the given set.
+         *
+         * @param other a set
+         * @return the union of this set and the given set
+         */
+        CharSet union(final CharSet other) {
+            final int[] ranges = Arrays.copyOf(bounds, bounds.length + other.bounds.length);
+            System.arraycopy(other.bounds, 0, ranges, bounds.length, other.bounds.length);
+            return new CharSet(ranges);
+        }
+
+        @Override
+        public int build(final Nfa nfa, final int from) {
+            final int to = nfa.addState();
+            nfa.addTransition(from, bounds, to);
+            return to;
+        }
+
+        @Override
+        public long getMaxLength() {
+            return bounds.length == 0 ? 0 : 1;
+        }
+    }
+
+    /**
+     * A sequence of parts that are matched one after another.
+     */
+    private static final class Sequence implements Node {
+        /**
+         * The parts in the order in which they are matched.
+         */
+        private final List<Node> parts;
+
+
+        /**
+         * Constructs a new {@code Sequence}.
+         *
+         * @param parts the parts in the order in which they are matched
+         */
+        Sequence(final List<Node> parts) {
+            this.parts = parts;
+        }
+
+
+        @Override
+        public int build(final Nfa nfa, final int from) {
+            int state = from;
+            for (final Node part : parts) {
+                state = part.build(nfa, state);
+            }
+            return state;
+        }
+
+        @Override
+        public long getMaxLength() {
+            return parts.stream().mapToLong(Node::getMaxLength).sum();
+        }
+    }
+
+    /**
+     * A number of alternative parts, of which one is matched.
+     */
+    private static final class Alternation implements Node {
+        /**
+         * The alternative parts.
+         */
+        private final List<Node> alternatives;
+
+
+        /**
+         * Constructs a new {@code Alternation}.
+         *
+         * @param alternatives the alternative parts
+         */
+        Alternation(final List<Node> alternatives) {
+            this.alternatives = alternatives;
+        }
+
+
+        @Override
+        public int build(final Nfa nfa, final int from) {
+            final int to = nfa.addState();
+            for (final Node alternative : alternatives) {
+                nfa.addEpsilon(alternative.build(nfa, from), to);
+            }
+            return to;
+        }
+
+        @Override
+        public long getMaxLength() {
+            return alternatives.stream().mapToLong(Node::getMaxLength).max().orElse(0);
+        }
+    }
+
+    /**
+     * A part that is matched a number of times in a range.
+     */
+    private static final class Repetition implements Node {
+        /**
+         * The part that is repeated.
+         */
+        private final Node part;
+        /**
+         * The minimum number of repetitions (inclusive).
+         */
+        private final int min;
+        /**
+         * The maximum number of repetitions (inclusive).
+         */
+        private final int max;
+
+
+        /**
+         * Constructs a new {@code Repetition}.
+         *
+         * @param part the part that is repeated
+         * @param min  the minimum number of repetitions (inclusive)
+         * @param max  the maximum number of repetitions (inclusive)
+         */
+        Repetition(final Node part, final int min, final int max) {
+            this.part = part;
+            this.min = min;
+            this.max = max;
+        }
+
+
+        @Override
+        public int build(final Nfa nfa, final int from) {
+            int state = from;
+            for (int i = 0; i < min; i++) {
+                state = part.build(nfa, state);
+            }
+            if (max == min) {
+                return state;
+            }
+
+            final int to = nfa.addState();
+            nfa.addEpsilon(state, to);
+            for (int i = min; i < max; i++) {
+                state = part.build(nfa, state);
+                nfa.addEpsilon(state, to);
+            }
+            return to;
+        }
+
+        @Override
+        public long getMaxLength() {
+            return Math.min(Integer.MAX_VALUE, part.getMaxLength() * max);
+        }
+    }
+
+    /**
+     * A recursive descent parser of the supported regular expressions.
+     */
+    private static final class Parser {
+        /**
+         * The set of decimal digits.
+         */
+        private static final CharSet DIGITS = new CharSet('0', '9');
+        /**
+         * The set of word characters.
+         */
+        private static final CharSet WORD_CHARACTERS = new CharSet('a', 'z', 'A', 'Z', '0', '9', '_', '_');
+        /**
+         * The set of whitespace characters.
+         */
+        private static final CharSet WHITESPACE = new CharSet(' ', ' ', '\t', '\r');
+        /**
+         * The set of printable ASCII characters.
+         */
+        private static final CharSet PRINTABLE = new CharSet(MIN_PRINTABLE, MAX_PRINTABLE);
+
+        /**
+         * The regular expression to parse.
+         */
+        private final String regex;
+        /**
+         * The index in {@link #regex} of the next character to parse.
+         */
+        private int position;
+
+
+        /**
+         * Constructs a new {@code Parser}.
+         *
+         * @param regex the regular expression to parse, which is syntactically valid
+         */
+        Parser(final String regex) {
+            this.regex = regex;
+        }
+
+
+        /**
+         * Parses the regular expression.
+         *
+         * @return the parsed regular expression
+         * @throws IllegalArgumentException if the regular expression uses an unsupported construct
+         */
+        Node parse() {
+            if (peek('^')) {
+                position++;
+            }
+
+            final Node root = parseAlternation();
+            if (position < regex.length()) {
+                throw unsupported();
+            }
+            return root;
+        }
+
+        /**
+         * Parses alternatives separated by {@code |}.
+         *
+         * @return the parsed alternatives
+         */
+        private Node parseAlternation() {
+            final List<Node> alternatives = new ArrayList<>();
+            alternatives.add(parseSequence());
+            while (peek('|')) {
+                position++;
+                alternatives.add(parseSequence());
+            }
+            return alternatives.size() == 1 ? alternatives.get(0) : new Alternation(alternatives);
+        }
+
+        /**
+         * Parses parts up to the next {@code |} or {@code )}, or up to the end.
+         *
+         * @return the parsed parts
+         */
+        private Node parseSequence() {
+            final List<Node> parts = new ArrayList<>();
+            while (position < regex.length() && !peek('|') && !peek(')')) {
+                if (peek('$') && position == regex.length() - 1) {
+                    position++;
+                    break;
+                }
+
+                parts.add(parseRepetition());
+            }
+            return parts.size() == 1 ? parts.get(0) : new Sequence(parts);
+        }
+
+        /**
+         * Parses a part followed by any number of quantifiers.
+         *
+         * @return the parsed part and quantifiers
+         */
+        private Node parseRepetition() {
+            Node part = parseAtom();
+            while (position < regex.length()) {
+                final int min;
+                final int max;
+                final char quantifier = regex.charAt(position);
+                if (quantifier == '?') {
+                    min = 0;
+                    max = 1;
+                } else if (quantifier == '*') {
+                    min = 0;
+                    max = MAX_EXTRA_REPEATS;
+                } else if (quantifier == '+') {
+                    min = 1;
+                    max = 1 + MAX_EXTRA_REPEATS;
+                } else if (quantifier == '{') {
+                    final int end = regex.indexOf('}', position);
+                    final String[] bounds = regex.substring(position + 1, end).split(",", -1);
+                    min = Integer.parseInt(bounds[0].trim());
+                    if (bounds.length == 1) {
+                        max = min;
+                    } else if (bounds[1].trim().isEmpty()) {
+                        max = min + MAX_EXTRA_REPEATS;
+                    } else {
+                        max = Integer.parseInt(bounds[1].trim());
+                    }
+                    position = end;
+                } else {
+                    break;
+                }
+                position++;
+
+                if (peek('?') || peek('+')) {
+                    position++;
+                }
+                if (max > MAX_NFA_STATES) {
+                    throw new IllegalArgumentException("The regular expression is too complex.");
+                }
+                part = new Repetition(part, min, max);
+            }
+            return part;
+        }
+
+        /**
+         * Parses a group, a character class, an escape sequence, the wildcard, or a literal.
+         *
+         * @return the parsed part
+         */
+        private Node parseAtom() {
+            final int codePoint = regex.codePointAt(position);
+            if (codePoint == '(') {
+                position++;
+                if (regex.startsWith("?:", position)) {
+                    position += 2;
+                } else if (peek('?')) {
+                    throw unsupported();
+                }
+
+                final Node group = parseAlternation();
+                position++;
+                return group;
+            } else if (codePoint == '[') {
+                position++;
+                return parseClass();
+            } else if (codePoint == '.') {
+                position++;
+                return PRINTABLE;
+            } else if (codePoint == '\\') {
+                position++;
+                return parseEscape();
+            } else if (codePoint == '^' || codePoint == '$') {
+                throw unsupported();
+            }
+
+            position += Character.charCount(codePoint);
+            return new CharSet(codePoint, codePoint);
+        }
+
+        /**
+         * Parses the rest of a character class after its opening {@code [}.
+         *
+         * @return the parsed character class
+         */
+        private CharSet parseClass() {
+            final boolean negated = peek('^');
+            if (negated) {
+                position++;
+            }
+
+            CharSet set = new CharSet();
+            boolean first = true;
+            while (!peek(']') || first) {
+                if (peek('[') || regex.startsWith("&&", position)) {
+                    throw unsupported();
+                }
+                first = false;
+
+                final CharSet start = peek('\\') ? parseClassEscape() : parseLiteral();
+                if (start.bounds.length == 2 && start.bounds[0] == start.bounds[1]
+                        && peek('-') && regex.charAt(position + 1) != ']') {
+                    position++;
+                    final CharSet end = peek('\\') ? parseClassEscape() : parseLiteral();
+                    set = set.union(new CharSet(start.bounds[0], end.bounds[1]));
+                } else {
+                    set = set.union(start);
+                }
+            }
+            position++;
+
+            return negated ? set.complement() : set;
+        }
+
+        /**
+         * Parses an escape sequence inside a character class.
+         *
+         * @return the parsed escape sequence
+         */
+        private CharSet parseClassEscape() {
+            position++;
+            return parseEscape();
+        }
+
+        /**
+         * Parses a single literal code point.
+         *
+         * @return the parsed code point
+         */
+        private CharSet parseLiteral() {
+            final int codePoint = regex.codePointAt(position);
+            position += Character.charCount(codePoint);
+            return new CharSet(codePoint, codePoint);
+        }
+
+        /**
+         * Parses the rest of an escape sequence after its {@code \}.
+         *
+         * @return the parsed escape sequence
+         */
+        private CharSet parseEscape() {
+            final int codePoint = regex.codePointAt(position);
+            position += Character.charCount(codePoint);
+            switch (codePoint) {
+                case 'd':
+                    return DIGITS;
+                case 'D':
+                    return DIGITS.complement();
+                case 'w':
+                    return WORD_CHARACTERS;
+                case 'W':
+                    return WORD_CHARACTERS.complement();
+                case 's':
+                    return WHITESPACE;
+                case 'S':
+                    return WHITESPACE.complement();
+                case 't':
+                    return new CharSet('\t', '\t');
+                case 'n':
+                    return new CharSet('\n', '\n');
+                case 'r':
+                    return new CharSet('\r', '\r');
+                case 'f':
+                    return new CharSet('\f', '\f');
+                case 'a':
+                    return new CharSet(0x07, 0x07);
+                case 'e':
+                    return new CharSet(0x1B, 0x1B);
+                case 'x':
+                    return parseHexadecimal();
+                case 'u':
+                    final int unit = Integer.parseInt(regex.substring(position, position + 4), 16);
+                    position += 4;
+                    return new CharSet(unit, unit);
+                default:
+                    if (Character.isLetterOrDigit(codePoint)) {
+                        position -= Character.charCount(codePoint);
+                        throw unsupported();
+                    }
+                    return new CharSet(codePoint, codePoint);
+            }
+        }
+
+        /**
+         * Parses the rest of a hexadecimal escape sequence after its {@code \x}.
+         *
+         * @return the parsed escape sequence
+         */
+        private CharSet parseHexadecimal() {
+            final int codePoint;
+            if (peek('{')) {
+                final int end = regex.indexOf('}', position);
+                codePoint = Integer.parseInt(regex.substring(position + 1, end), 16);
+                position = end + 1;
+            } else {
+                codePoint = Integer.parseInt(regex.substring(position, position + 2), 16);
+                position += 2;
+            }
+            return new CharSet(codePoint, codePoint);
+        }
+
+        /**
+         * Returns {@code true} if and only if the next character is the given character.
+         *
+         * @param character a character
+         * @return {@code true} if and only if the next character is the given character
+         */
+        private boolean peek(final char character) {
+            return position < regex.length() && regex.charAt(position) == character;
+        }
+
+        /**
+         * Returns an exception stating that the construct at the current position is not supported.
+         *
+         * @return an exception stating that the construct at the current position is not supported
+         */
+        private IllegalArgumentException unsupported() {
+            return new IllegalArgumentException("The regular expression uses an unsupported construct at index "
+                    + position + ".");
+        }
+    }
+
+    /**
+     * A transition of a nondeterministic automaton on a set of code points.
+     */
+    private static final class Transition {
+        /**
+         * The indices of the ranges of code points that are not distinguished between that make up the code points of
+         * the transition.
+         */
+        private int[] ranges;
+        /**
+         * The code points of the transition, as pairs of the first and the last code point of each range.
+         */
+        private final int[] bounds;
+        /**
+         * The state that the transition leads to.
+         */
+        private final int target;
+
+
+        /**
+         * Constructs a new {@code Transition}.
+         *
+         * @param bounds the code points of the transition, as pairs of the first and the last code point of each
+         *               range
+         * @param target the state that the transition leads to
+         */
+        Transition(final int[] bounds, final int target) {
+            this.bounds = bounds;
+            this.target = target;
+        }
+    }
+
+    /**
+     * A nondeterministic automaton with transitions on sets of code points and empty transitions.
+     */
+    private static final class Nfa {
+        /**
+         * The transitions on sets of code points from each state.
+         */
+        private final List<List<Transition>> transitions = new ArrayList<>();
+        /**
+         * The empty transitions from each state.
+         */
+        private final List<List<Integer>> epsilons = new ArrayList<>();
+
+
+        /**
+         * Adds a new state.
+         *
+         * @return the new state
+         * @throws IllegalArgumentException if the automaton has too many states
+         */
+        int addState() {
+            if (transitions.size() >= MAX_NFA_STATES) {
+                throw new IllegalArgumentException("The regular expression is too complex.");
+            }
+
+            transitions.add(new ArrayList<>());
+            epsilons.add(new ArrayList<>());
+            return transitions.size() - 1;
+        }
+
+        /**
+         * Adds a transition on a set of code points.
+         *
+         * @param from   the state the transition starts in
+         * @param bounds the code points of the transition, as pairs of the first and the last code point of each range
+         * @param to     the state the transition leads to
+         */
+        void addTransition(final int from, final int[] bounds, final int to) {
+            if (bounds.length > 0) {
+                transitions.get(from).add(new Transition(bounds, to));
+            }
+        }
+
+        /**
+         * Adds an empty transition.
+         *
+         * @param from the state the transition starts in
+         * @param to   the state the transition leads to
+         */
+        void addEpsilon(final int from, final int to) {
+            epsilons.get(from).add(to);
+        }
+
+        /**
+         * Returns the transitions on sets of code points from the given state.
+         *
+         * @param state a state
+         * @return the transitions on sets of code points from the given state
+         */
+        List<Transition> getTransitions(final int state) {
+            return transitions.get(state);
+        }
+
+        /**
+         * Adds all states that can be reached by empty transitions from the states in the given set to that set.
+         *
+         * @param states a set of states
+         */
+        void close(final BitSet states) {
+            final Deque<Integer> queue = new ArrayDeque<>();
+            states.stream().forEach(queue::push);
+            while (!queue.isEmpty()) {
+                for (final int next : epsilons.get(queue.pop())) {
+                    if (!states.get(next)) {
+                        states.set(next);
+                        queue.push(next);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Divides the code points into ranges that no transition distinguishes between, and records in each
+         * transition which ranges it covers.
+         * <p>
+         * Because the ranges are delimited by the bounds of the sets of all transitions, each range of code points of
+         * each transition corresponds to a consecutive sequence of these ranges.
+         *
+         * @return the first code point of each range, followed by the code point after the last range
+         */
+        int[] getRangeStarts() {
+            final int[] starts = transitions.stream()
+                    .flatMap(List::stream)
+                    .flatMapToInt(transition -> IntStream.range(0, transition.bounds.length)
+                            .map(i -> i % 2 == 0 ? transition.bounds[i] : transition.bounds[i] + 1))
+                    .sorted()
+                    .distinct()
+                    .toArray();
+
+            for (final List<Transition> stateTransitions : transitions) {
+                for (final Transition transition : stateTransitions) {
+                    transition.ranges = IntStream.range(0, transition.bounds.length / 2)
+                            .flatMap(i -> IntStream.range(
+                                    Arrays.binarySearch(starts, transition.bounds[2 * i]),
+                                    Arrays.binarySearch(starts, transition.bounds[2 * i + 1] + 1)))
+                            .toArray();
+                }
+            }
+            return starts;
+        }
+    }
+}
@@ -0,0 +1,519 @@
+package com.fwdekker.randomness.string;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+
+
+/**
+ * Generates random strings from the values of a {@link StringSettings} instance at the time it was constructed.
+ * <p>
+ * The symbols of the chosen alphabets and the custom symbols are collected into a {@link SymbolTable} of code points
+ * once, so that each symbol of a generated string takes one array access. Each string is built in a single buffer
+ * that starts and ends with the enclosure, so that no intermediate strings are created. A generator is immutable, and
+ * can therefore be reused for as long as the settings it was constructed from do not change.
+ * <p>
+ * Instead of drawing a random number for every character, a single random {@code long} is drawn for several
+ * characters. With {@code n} symbols, 63 of its bits are read as the digits of a number in base {@code n}, of which
+ * the {@code k} lowest digits are used, where {@code n^k} is the largest power of {@code n} that fits in 63 bits. To
+ * keep each digit uniformly distributed, a draw is rejected if it is not below the largest multiple of {@code n^k}
+ * that is at most {@code 2^63}, which happens with a probability below {@code n^k / 2^63}. For the 62 symbols of
+ * letters and digits, one draw thus gives ten characters, and fewer than one in ten draws is rejected. When several
+ * strings are generated at once, all strings are written into a single buffer, and leftover digits of a draw are
+ * carried over to the next string.
+ * <p>
+ * Strings can also be required to contain a symbol of each chosen alphabet, and to contain no symbol more often than a
+ * given number of times. Such strings are constructed directly rather than by generating strings until one satisfies
+ * the constraints. First, a random symbol of each chosen alphabet is placed, after which the rest of the string is
+ * filled with random symbols. Symbols that have been used the maximum number of times are meanwhile removed from the
+ * symbols to choose from, which takes constant time. Finally, the symbols are shuffled in place, so that the symbols of
+ * the chosen alphabets end up at random positions. Generating a string thus takes time linear in its length, whatever
+ * the constraints.
+ * <p>
+ * If a pattern is given, strings are instead generated from the {@link RegexAutomaton} of that pattern, and the
+ * alphabets, custom symbols, lengths, and constraints are ignored.
+ */
+final class StringGenerator {
+    /**
+     * The maximum number of symbols that are taken from a single random draw.
+     */
+    private static final int MAX_SYMBOLS_PER_DRAW = Long.SIZE - 1;
+
+    /**
+     * The generator that was last returned by {@link #of(StringSettings)}, or {@code null} if none has been returned.
+     */
+    private static StringGenerator lastGenerator;
+
+    /**
+     * The alphabets that the symbols were taken from.
+     */
+    private final Set<Alphabet> alphabets;
+    /**
+     * The custom symbols, or the regular expression that matches them, or the empty string if there are no custom
+     * symbols.
+     */
+    private final String customSymbols;
+    /**
+     * {@code true} if the custom symbols are a regular expression rather than a list.
+     */
+    private final boolean customSymbolsRegex;
+    /**
+     * The symbols of all chosen alphabets and the custom symbols.
+     */
+    private final SymbolTable symbols;
+    /**
+     * The number of symbols that are taken from a single random draw.
+     */
+    private final int symbolsPerDraw;
+    /**
+     * The largest random draw that is not rejected.
+     */
+    private final long maxDraw;
+    /**
+     * The string that encloses the generated string on both sides.
+     */
+    private final String enclosure;
+    /**
+     * {@code true} if each generated string should contain at least one symbol of each chosen alphabet.
+     */
+    private final boolean requireEachAlphabet;
+    /**
+     * For each alphabet of which a generated string should contain at least one symbol, the indices of its symbols in
+     * {@link #symbols}.
+     */
+    private final int[][] requiredIndices;
+    /**
+     * The maximum number of times that a symbol may occur in a generated string, or {@code 0} if there is no maximum.
+     */
+    private final int maxRepeats;
+    /**
+     * The minimum length of a generated string, inclusive.
+     */
+    private final int minLength;
+    /**
+     * The maximum length of a generated string, inclusive.
+     */
+    private final int maxLength;
+    /**
+     * The regular expression that generated strings should match, or the empty string if strings are generated from
+     * the symbols.
+     */
+    private final String pattern;
+    /**
+     * The automaton of {@link #pattern}, or {@code null} if strings are generated from the symbols.
+     */
+    private final RegexAutomaton automaton;
+
+
+    /**
+     * Constructs a new {@code StringGenerator} from the current values of the given settings.
+     *
+     * @param settings the settings to generate strings according to
+     * @throws java.util.regex.PatternSyntaxException if the custom symbols or the pattern are not a valid regular
+     *                                                expression
+     * @throws IllegalArgumentException               if the pattern cannot be compiled into a {@link RegexAutomaton}
+     */
+    StringGenerator(final StringSettings settings) {
+        this.alphabets = copyOf(settings.getAlphabets());
+        this.customSymbols = settings.getCustomSymbols();
+        this.customSymbolsRegex = settings.isCustomSymbolsRegex();
+        this.pattern = settings.getPattern();
+        this.automaton = pattern.isEmpty() ? null : RegexAutomaton.of(pattern);
+        this.symbols = automaton == null
+                ? new SymbolTable(alphabets, customSymbols, customSymbolsRegex)
+                : new SymbolTable(EnumSet.noneOf(Alphabet.class), "", false);
+        this.enclosure = settings.getEnclosure();
+        this.minLength = settings.getMinLength();
+        this.maxLength = settings.getMaxLength();
+        this.requireEachAlphabet = settings.isRequireEachAlphabet();
+        this.requiredIndices = requireEachAlphabet && automaton == null ? getIndices(symbols, alphabets) : new int[0][];
+        this.maxRepeats = settings.getMaxRepeats();
+
+        long drawBound = 1;
+        int drawSymbols = 0;
+        while (symbols.size() > 0 && drawBound <= Long.MAX_VALUE / symbols.size()
+                && drawSymbols < MAX_SYMBOLS_PER_DRAW) {
+            drawBound *= symbols.size();
+            drawSymbols++;
+        }
+        this.symbolsPerDraw = drawSymbols;
+        this.maxDraw = Long.MAX_VALUE - (Long.MAX_VALUE % drawBound + 1) % drawBound;
+    }
+
+
+    /**
+     * Returns a generator for the current values of the given settings, reusing the previously returned generator if
+     * it was constructed from settings with the same values.
+     * <p>
+     * The generator is shared by all actions, including the actions that are created anew each time the Randomness
+     * popup is used, so that the symbol table of custom symbols is not rebuilt for every insertion.
+     *
+     * @param settings the settings to generate strings according to
+     * @return a generator for the current values of the given settings
+     * @throws java.util.regex.PatternSyntaxException if the custom symbols or the pattern are not a valid regular
+     *                                                expression
+     * @throws IllegalArgumentException               if the pattern cannot be compiled into a {@link RegexAutomaton}
+     */
+    static StringGenerator of(final StringSettings settings) {
+        synchronized (StringGenerator.class) {
+            if (lastGenerator != null && lastGenerator.isGeneratedFrom(settings)) {
+                return lastGenerator;
+            }
+        }
+
+        final StringGenerator generator = new StringGenerator(settings);
+        synchronized (StringGenerator.class) {
+            lastGenerator = generator;
+        }
+        return generator;
+    }
+
+
+    /**
+     * Returns {@code true} if and only if this generator was constructed from settings with the same values as the
+     * given settings.
+     *
+     * @param settings the settings to compare to
+     * @return {@code true} if and only if this generator was constructed from settings with the same values as the
+     * given settings
+     */
+    boolean isGeneratedFrom(final StringSettings settings) {
+        return minLength == settings.getMinLength()
+                && maxLength == settings.getMaxLength()
+                && Objects.equals(enclosure, settings.getEnclosure())
+                && Objects.equals(customSymbols, settings.getCustomSymbols())
+                && customSymbolsRegex == settings.isCustomSymbolsRegex()
+                && requireEachAlphabet == settings.isRequireEachAlphabet()
+                && maxRepeats == settings.getMaxRepeats()
+                && Objects.equals(pattern, settings.getPattern())
+                && alphabets.equals(settings.getAlphabets());
+    }
+
+    /**
+     * Returns a random string.
+     *
+     * @param random the source of randomness
+     * @return a random string
+     */
+    String generate(final Random random) {
+        return generate(1, random).get(0);
+    }
+
+    /**
+     * Returns the given number of random strings.
+     * <p>
+     * The lengths of the strings are chosen first, after which all strings are written into a single buffer. If each
+     * string should contain a symbol of each chosen alphabet, strings are at least as long as the number of chosen
+     * alphabets.
+     *
+     * @param count  the number of strings to generate
+     * @param random the source of randomness
+     * @return the given number of random strings
+     * @throws IllegalStateException if there are no symbols, or if strings of the maximum length cannot satisfy the
+     *                               constraints
+     */
+    List<String> generate(final int count, final Random random) {
+        if (automaton != null) {
+            return generateMatching(count, random);
+        }
+        if (maxLength < requiredIndices.length) {
+            throw new IllegalStateException("The maximum length is too small to contain a symbol of each alphabet.");
+        }
+        if (maxRepeats > 0 && (long) symbols.size() * maxRepeats < maxLength) {
+            throw new IllegalStateException("There are too few symbols to generate strings of the maximum length.");
+        }
+
+        final int enclosureLength = enclosure.length();
+        final int shortestLength = Math.max(minLength, requiredIndices.length);
+
+        final int[] lengths = new int[count];
+        int longestLength = 0;
+        long bufferLength = 0;
+        for (int i = 0; i < count; i++) {
+            lengths[i] = shortestLength + random.nextInt(maxLength - shortestLength + 1);
+            longestLength = Math.max(longestLength, lengths[i]);
+            bufferLength += (long) lengths[i] * symbols.getMaxCharCount() + 2L * enclosureLength;
+        }
+
+        final char[] buffer = new char[Math.toIntExact(bufferLength)];
+        final SymbolSource source = requireEachAlphabet || maxRepeats > 0
+                ? new ConstrainedSymbolSource(random, longestLength)
+                : new UniformSymbolSource(random);
+        final int[] ends = new int[count];
+        int position = 0;
+        for (int i = 0; i < count; i++) {
+            enclosure.getChars(0, enclosureLength, buffer, position);
+            position = source.fill(buffer, position + enclosureLength, lengths[i]);
+            enclosure.getChars(0, enclosureLength, buffer, position);
+            position += enclosureLength;
+            ends[i] = position;
+        }
+
+        final List<String> strings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            final int start = i == 0 ? 0 : ends[i - 1];
+            strings.add(new String(buffer, start, ends[i] - start));
+        }
+        return strings;
+    }
+
+    /**
+     * Returns the given number of random strings that match the pattern, enclosed by the enclosure.
+     *
+     * @param count  the number of strings to generate
+     * @param random the source of randomness
+     * @return the given number of random strings that match the pattern, enclosed by the enclosure
+     */
+    private List<String> generateMatching(final int count, final Random random) {
+        final List<String> strings = new ArrayList<>(count);
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            builder.setLength(0);
+            builder.append(enclosure);
+            automaton.generate(random, builder);
+            builder.append(enclosure);
+            strings.add(builder.toString());
+        }
+        return strings;
+    }
+
+
+    /**
+     * Returns a copy of the given alphabets.
+     *
+     * @param alphabets a collection of alphabets
+     * @return a copy of the given alphabets
+     */
+    private static Set<Alphabet> copyOf(final Collection<Alphabet> alphabets) {
+        return alphabets.isEmpty() ? EnumSet.noneOf(Alphabet.class) : EnumSet.copyOf(alphabets);
+    }
+
+    /**
+     * Returns for each of the given alphabets the indices of its symbols in the given table.
+     *
+     * @param symbols   a table containing the symbols of all given alphabets
+     * @param alphabets a collection of alphabets
+     * @return for each of the given alphabets the indices of its symbols in the given table
+     */
+    private static int[][] getIndices(final SymbolTable symbols, final Collection<Alphabet> alphabets) {
+        return alphabets.stream()
+                .map(alphabet -> alphabet.getSymbols().codePoints().map(symbols::indexOf).toArray())
+                .toArray(int[][]::new);
+    }
+
+
+    /**
+     * Writes random symbols into a buffer.
+     */
+    private interface SymbolSource {
+        /**
+         * Writes the symbols of a random string of the given length into the given buffer, starting at the given
+         * index.
+         *
+         * @param buffer the buffer to write into
+         * @param from   the index in the buffer at which to write the first symbol
+         * @param count  the number of symbols to write
+         * @return the index in the buffer after the last written symbol
+         */
+        int fill(char[] buffer, int from, int count);
+    }
+
+    /**
+     * Takes random symbols from random draws, carrying leftover symbols of a draw over to the next request.
+     */
+    private final class UniformSymbolSource implements SymbolSource {
+        /**
+         * The source of randomness.
+         */
+        private final Random random;
+        /**
+         * The digits of the current draw that have not been used yet.
+         */
+        private long draw;
+        /**
+         * The number of digits of the current draw that have not been used yet.
+         */
+        private int remaining;
+
+
+        /**
+         * Constructs a new {@code UniformSymbolSource}.
+         *
+         * @param random the source of randomness
+         */
+        UniformSymbolSource(final Random random) {
+            this.random = random;
+        }
+
+
+        @Override
+        public int fill(final char[] buffer, final int from, final int count) {
+            final int symbolCount = symbols.size();
+
+            int position = from;
+            for (int i = 0; i < count; i++) {
+                if (remaining == 0) {
+                    nextDraw();
+                }
+
+                position += Character.toChars(symbols.getCodePoint((int) (draw % symbolCount)), buffer, position);
+                draw /= symbolCount;
+                remaining--;
+            }
+            return position;
+        }
+
+        /**
+         * Replaces the current draw with a new draw that is not rejected.
+         *
+         * @throws IllegalStateException if there are no symbols
+         */
+        private void nextDraw() {
+            if (symbols.size() == 0) {
+                throw new IllegalStateException("There are no symbols to generate strings from.");
+            }
+
+            long next;
+            do {
+                next = random.nextLong() >>> 1;
+            } while (next > maxDraw);
+
+            draw = next;
+            remaining = symbolsPerDraw;
+        }
+    }
+
+    /**
+     * Takes random symbols such that each string contains a symbol of each required alphabet and no symbol more than
+     * the maximum number of times.
+     */
+    private final class ConstrainedSymbolSource implements SymbolSource {
+        /**
+         * The source of randomness.
+         */
+        private final Random random;
+        /**
+         * The indices of the symbols of the string that is being generated.
+         */
+        private final int[] string;
+        /**
+         * The number of times each symbol has been used in the string that is being generated, or {@code null} if
+         * there is no maximum number of repeats.
+         */
+        private final int[] counts;
+        /**
+         * The indices of all symbols, of which the first {@link #available} have not been used the maximum number of
+         * times, or {@code null} if there is no maximum number of repeats.
+         */
+        private final int[] pool;
+        /**
+         * The position of each symbol in {@link #pool}, or {@code null} if there is no maximum number of repeats.
+         */
+        private final int[] poolPositions;
+        /**
+         * The number of symbols at the start of {@link #pool} that have not been used the maximum number of times.
+         */
+        private int available;
+
+
+        /**
+         * Constructs a new {@code ConstrainedSymbolSource}.
+         *
+         * @param random    the source of randomness
+         * @param maxLength the maximum number of symbols in a string
+         */
+        ConstrainedSymbolSource(final Random random, final int maxLength) {
+            this.random = random;
+            this.string = new int[maxLength];
+            this.available = symbols.size();
+
+            if (maxRepeats > 0) {
+                this.counts = new int[symbols.size()];
+                this.pool = new int[symbols.size()];
+                this.poolPositions = new int[symbols.size()];
+                for (int i = 0; i < symbols.size(); i++) {
+                    pool[i] = i;
+                    poolPositions[i] = i;
+                }
+            } else {
+                this.counts = null;
+                this.pool = null;
+                this.poolPositions = null;
+            }
+        }
+
+
+        @Override
+        public int fill(final char[] buffer, final int from, final int count) {
+            int length = 0;
+            for (final int[] indices : requiredIndices) {
+                string[length++] = use(indices[random.nextInt(indices.length)]);
+            }
+            while (length < count) {
+                if (available == 0) {
+                    throw new IllegalStateException("There are no symbols to generate strings from.");
+                }
+
+                string[length++] = use(pool == null ? random.nextInt(available) : pool[random.nextInt(available)]);
+            }
+
+            for (int i = count - 1; i > 0; i--) {
+                final int other = random.nextInt(i + 1);
+                final int index = string[i];
+                string[i] = string[other];
+                string[other] = index;
+            }
+
+            int position = from;
+            for (int i = 0; i < count; i++) {
+                position += Character.toChars(symbols.getCodePoint(string[i]), buffer, position);
+            }
+
+            reset(count);
+            return position;
+        }
+
+        /**
+         * Records that the symbol at the given index is used once more, and removes it from the symbols to choose from
+         * if it has been used the maximum number of times.
+         *
+         * @param index the index of a symbol
+         * @return the given index
+         */
+        private int use(final int index) {
+            if (counts == null || ++counts[index] < maxRepeats) {
+                return index;
+            }
+
+            final int position = poolPositions[index];
+            final int last = pool[available - 1];
+            pool[position] = last;
+            poolPositions[last] = position;
+            pool[available - 1] = index;
+            poolPositions[index] = available - 1;
+            available--;
+            return index;
+        }
+
+        /**
+         * Makes all symbols available again after a string of the given length has been generated.
+         * <p>
+         * Only the counts of the symbols that were used are reset, so that this takes time linear in the length of the
+         * string rather than in the number of symbols.
+         *
+         * @param length the length of the string that has been generated
+         */
+        private void reset(final int length) {
+            if (counts != null) {
+                for (int i = 0; i < length; i++) {
+                    counts[string[i]] = 0;
+                }
+            }
+            available = symbols.size();
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.fwdekker.randomness.string;
 
 import com.fwdekker.randomness.DataInsertAction;
+import com.fwdekker.randomness.ui.JBPopupHelper;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.PatternSyntaxException;
 
 
 /**
@@ -42,27 +46,45 @@ public final class StringInsertAction extends DataInsertAction {
      */
     @Override
     public String generateString() {
-        final int length = ThreadLocalRandom.current()
-                .nextInt(stringSettings.getMinLength(), stringSettings.getMaxLength() + 1);
-
-        final char[] text = new char[length];
-        for (int i = 0; i < length; i++) {
-            text[i] = generateCharacter();
-        }
-
-        return stringSettings.getEnclosure() + new String(text) + stringSettings.getEnclosure();
+        return generateStrings(1).get(0);
     }
 
-
     /**
-     * Returns a random character from the alphabet.
+     * Returns the given number of random strings of alphanumerical characters.
      *
-     * @return a random character from the alphabet
+     * @param count the number of strings to generate
+     * @return the given number of random strings of alphanumerical characters
      */
-    private char generateCharacter() {
-        final String alphabet = Alphabet.concatenate(stringSettings.getAlphabets());
-        final int charIndex = ThreadLocalRandom.current().nextInt(alphabet.length());
+    @Override
+    public List<String> generateStrings(final int count) {
+        final StringGenerator generator;
+        try {
+            generator = StringGenerator.of(stringSettings);
+        } catch (final PatternSyntaxException e) {
+            JBPopupHelper.showMessagePopup(
+                    "Randomness error",
+                    "Invalid regular expression: " + e.getDescription() + ".",
+                    "Please check your Randomness `string` settings."
+            );
+            return Collections.nCopies(count, "");
+        } catch (final IllegalArgumentException e) {
+            JBPopupHelper.showMessagePopup(
+                    "Randomness error",
+                    e.getMessage(),
+                    "Please check your Randomness `string` settings."
+            );
+            return Collections.nCopies(count, "");
+        }
 
-        return alphabet.charAt(charIndex);
+        try {
+            return generator.generate(count, ThreadLocalRandom.current());
+        } catch (final IllegalStateException e) {
+            JBPopupHelper.showMessagePopup(
+                    "Randomness error",
+                    e.getMessage(),
+                    "Please check your Randomness `string` settings."
+            );
+            return Collections.nCopies(count, "");
+        }
     }
 }
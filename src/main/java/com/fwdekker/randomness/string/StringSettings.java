@@ -41,6 +41,29 @@ public final class StringSettings extends Settings implements PersistentStateCom
      */
     private Set<Alphabet> alphabets
             = new HashSet<>(Arrays.asList(Alphabet.UPPERCASE, Alphabet.LOWERCASE, Alphabet.DIGITS));
+    /**
+     * The symbols to be used in addition to the alphabets, or a regular expression that matches them, or the empty
+     * string if only the alphabets should be used.
+     */
+    private String customSymbols = "";
+    /**
+     * {@code true} if the custom symbols are a regular expression that matches the symbols, or {@code false} if they
+     * are a list of symbols.
+     */
+    private boolean customSymbolsRegex = false;
+    /**
+     * {@code true} if each generated string should contain at least one symbol of each alphabet.
+     */
+    private boolean requireEachAlphabet = false;
+    /**
+     * The maximum number of times that a symbol may occur in a generated string, or {@code 0} if there is no maximum.
+     */
+    private int maxRepeats = 0;
+    /**
+     * The regular expression that generated strings should match, or the empty string if strings should be generated
+     * from the alphabets and custom symbols.
+     */
+    private String pattern = "";
 
 
     /**
@@ -134,4 +157,113 @@ public final class StringSettings extends Settings implements PersistentStateCom
     public void setAlphabets(final Set<Alphabet> alphabets) {
         this.alphabets = alphabets;
     }
+
+    /**
+     * Returns the symbols to be used in addition to the alphabets, or a regular expression that matches them, or the
+     * empty string if only the alphabets should be used.
+     *
+     * @return the symbols to be used in addition to the alphabets, or a regular expression that matches them, or the
+     * empty string if only the alphabets should be used
+     * @see SymbolTable
+     */
+    public String getCustomSymbols() {
+        return customSymbols;
+    }
+
+    /**
+     * Sets the symbols to be used in addition to the alphabets, or a regular expression that matches them, or the
+     * empty string if only the alphabets should be used.
+     *
+     * @param customSymbols the symbols to be used in addition to the alphabets, or a regular expression that matches
+     *                      them, or the empty string if only the alphabets should be used
+     * @see SymbolTable
+     */
+    public void setCustomSymbols(final String customSymbols) {
+        this.customSymbols = customSymbols;
+    }
+
+    /**
+     * Returns {@code true} if the custom symbols are a regular expression that matches the symbols, or {@code false} if
+     * they are a list of symbols.
+     *
+     * @return {@code true} if the custom symbols are a regular expression that matches the symbols, or {@code false} if
+     * they are a list of symbols
+     */
+    public boolean isCustomSymbolsRegex() {
+        return customSymbolsRegex;
+    }
+
+    /**
+     * Sets whether the custom symbols are a regular expression that matches the symbols or a list of symbols.
+     *
+     * @param customSymbolsRegex {@code true} if the custom symbols are a regular expression that matches the symbols,
+     *                           or {@code false} if they are a list of symbols
+     */
+    public void setCustomSymbolsRegex(final boolean customSymbolsRegex) {
+        this.customSymbolsRegex = customSymbolsRegex;
+    }
+
+    /**
+     * Returns {@code true} if each generated string should contain at least one symbol of each alphabet.
+     *
+     * @return {@code true} if each generated string should contain at least one symbol of each alphabet
+     */
+    public boolean isRequireEachAlphabet() {
+        return requireEachAlphabet;
+    }
+
+    /**
+     * Sets whether each generated string should contain at least one symbol of each alphabet.
+     *
+     * @param requireEachAlphabet {@code true} if each generated string should contain at least one symbol of each
+     *                            alphabet
+     */
+    public void setRequireEachAlphabet(final boolean requireEachAlphabet) {
+        this.requireEachAlphabet = requireEachAlphabet;
+    }
+
+    /**
+     * Returns the maximum number of times that a symbol may occur in a generated string, or {@code 0} if there is no
+     * maximum.
+     *
+     * @return the maximum number of times that a symbol may occur in a generated string, or {@code 0} if there is no
+     * maximum
+     */
+    public int getMaxRepeats() {
+        return maxRepeats;
+    }
+
+    /**
+     * Sets the maximum number of times that a symbol may occur in a generated string, or {@code 0} if there is no
+     * maximum.
+     *
+     * @param maxRepeats the maximum number of times that a symbol may occur in a generated string, or {@code 0} if
+     *                   there is no maximum
+     */
+    public void setMaxRepeats(final int maxRepeats) {
+        this.maxRepeats = maxRepeats;
+    }
+
+    /**
+     * Returns the regular expression that generated strings should match, or the empty string if strings should be
+     * generated from the alphabets and custom symbols.
+     *
+     * @return the regular expression that generated strings should match, or the empty string if strings should be
+     * generated from the alphabets and custom symbols
+     * @see RegexAutomaton
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * Sets the regular expression that generated strings should match, or the empty string if strings should be
+     * generated from the alphabets and custom symbols.
+     *
+     * @param pattern the regular expression that generated strings should match, or the empty string if strings
+     *                should be generated from the alphabets and custom symbols
+     */
+    public void setPattern(final String pattern) {
+        this.pattern = pattern;
+    }
 }
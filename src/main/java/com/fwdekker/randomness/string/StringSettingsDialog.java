@@ -6,16 +6,25 @@ import com.fwdekker.randomness.ui.ButtonGroupHelper;
 import com.fwdekker.randomness.ui.JLongSpinner;
 import com.fwdekker.randomness.ui.JSpinnerRange;
 import com.intellij.openapi.ui.ValidationInfo;
+import com.intellij.ui.DocumentAdapter;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import javax.swing.ButtonGroup;
+import javax.swing.JCheckBox;
 import javax.swing.JComponent;
 import javax.swing.JList;
 import javax.swing.JPanel;
+import javax.swing.JTextField;
 import javax.swing.ListSelectionModel;
+import javax.swing.event.DocumentEvent;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 
 
 /**
@@ -32,6 +41,24 @@ final class StringSettingsDialog extends SettingsDialog<StringSettings> {
     private JLongSpinner maxLength;
     private ButtonGroup enclosureGroup;
     private JList<Alphabet> alphabetList;
+    private JTextField customSymbols;
+    private JCheckBox customSymbolsRegex;
+    private JCheckBox requireEachAlphabet;
+    private JLongSpinner maxRepeats;
+    private JTextField pattern;
+    /**
+     * The custom symbols of the symbol table that was last requested.
+     */
+    private String tableCustomSymbols;
+    /**
+     * {@code true} if the custom symbols of the symbol table that was last requested are a regular expression.
+     */
+    private boolean tableCustomSymbolsRegex;
+    /**
+     * The symbol table of only the custom symbols that was last requested, which may still be being built, or
+     * {@code null} if none has been requested.
+     */
+    private CompletableFuture<SymbolTable> symbolTable;
 
 
     /**
@@ -50,6 +77,16 @@ final class StringSettingsDialog extends SettingsDialog<StringSettings> {
         super(settings);
 
         init();
+
+        customSymbols.getDocument().addDocumentListener(new DocumentAdapter() {
+            @Override
+            protected void textChanged(final DocumentEvent event) {
+                getSymbolTable(customSymbols.getText(), customSymbolsRegex.isSelected());
+            }
+        });
+        customSymbolsRegex.addItemListener(event ->
+                getSymbolTable(customSymbols.getText(), customSymbolsRegex.isSelected()));
+
         loadSettings();
     }
 
@@ -70,6 +107,7 @@ final class StringSettingsDialog extends SettingsDialog<StringSettings> {
         minLength = new JLongSpinner(1, 1, Integer.MAX_VALUE);
         maxLength = new JLongSpinner(1, 1, Integer.MAX_VALUE);
         lengthRange = new JSpinnerRange(minLength, maxLength, Integer.MAX_VALUE);
+        maxRepeats = new JLongSpinner(0, 0, Integer.MAX_VALUE);
 
         alphabetList = new JList<>(Alphabet.values());
         alphabetList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
@@ -89,6 +127,11 @@ final class StringSettingsDialog extends SettingsDialog<StringSettings> {
                 alphabetList.addSelectionInterval(i, i);
             }
         }
+        customSymbols.setText(settings.getCustomSymbols());
+        customSymbolsRegex.setSelected(settings.isCustomSymbolsRegex());
+        requireEachAlphabet.setSelected(settings.isRequireEachAlphabet());
+        maxRepeats.setValue(settings.getMaxRepeats());
+        pattern.setText(settings.getPattern());
     }
 
     @Override
@@ -98,6 +141,11 @@ final class StringSettingsDialog extends SettingsDialog<StringSettings> {
         settings.setMaxLength(Math.toIntExact(maxLength.getValue()));
         settings.setEnclosure(ButtonGroupHelper.getValue(enclosureGroup));
         settings.setAlphabets(new HashSet<>(alphabetList.getSelectedValuesList()));
+        settings.setCustomSymbols(customSymbols.getText());
+        settings.setCustomSymbolsRegex(customSymbolsRegex.isSelected());
+        settings.setRequireEachAlphabet(requireEachAlphabet.isSelected());
+        settings.setMaxRepeats(Math.toIntExact(maxRepeats.getValue()));
+        settings.setPattern(pattern.getText());
     }
 
     @Override
@@ -107,14 +155,107 @@ final class StringSettingsDialog extends SettingsDialog<StringSettings> {
             minLength.validateValue();
             maxLength.validateValue();
             lengthRange.validate();
+            maxRepeats.validateValue();
         } catch (final ValidationException e) {
             return new ValidationInfo(e.getMessage(), e.getComponent());
         }
 
-        if (alphabetList.getSelectedValuesList().isEmpty()) {
+        if (!pattern.getText().isEmpty()) {
+            try {
+                RegexAutomaton.of(pattern.getText());
+            } catch (final PatternSyntaxException e) {
+                return new ValidationInfo("Invalid regular expression: " + e.getDescription() + ".", pattern);
+            } catch (final IllegalArgumentException e) {
+                return new ValidationInfo(e.getMessage(), pattern);
+            }
+            return null;
+        }
+
+        if (customSymbolsRegex.isSelected()) {
+            try {
+                Pattern.compile(customSymbols.getText());
+            } catch (final PatternSyntaxException e) {
+                return new ValidationInfo("Invalid regular expression: " + e.getDescription() + ".", customSymbols);
+            }
+        }
+
+        final List<Alphabet> alphabets = alphabetList.getSelectedValuesList();
+        if (alphabets.isEmpty() && customSymbols.getText().isEmpty()) {
             return new ValidationInfo("Please select at least one option.", alphabetList);
         }
 
+        final CompletableFuture<SymbolTable> table =
+                getSymbolTable(customSymbols.getText(), customSymbolsRegex.isSelected());
+        if (!table.isDone()) {
+            return new ValidationInfo("Finding the custom symbols...", customSymbols);
+        }
+
+        final SymbolTable customTable = table.join();
+        if (!customSymbols.getText().isEmpty() && customTable.size() == 0) {
+            return customSymbolsRegex.isSelected()
+                    ? new ValidationInfo("The custom symbols do not match any symbol.", customSymbols)
+                    : new ValidationInfo("The custom symbols do not contain any symbol.", customSymbols);
+        }
+
+        final int symbolCount = countSymbols(alphabets, customTable);
+        if (requireEachAlphabet.isSelected() && maxLength.getValue() < alphabets.size()) {
+            return new ValidationInfo("The maximum length should be at least the number of selected options.",
+                    maxLength);
+        }
+        if (maxRepeats.getValue() > 0 && symbolCount * maxRepeats.getValue() < maxLength.getValue()) {
+            return new ValidationInfo("There are too few symbols for strings of the maximum length.", maxRepeats);
+        }
+
         return null;
     }
+
+
+    /**
+     * Returns the symbol table of only the given custom symbols, reusing the previous table if the custom symbols have
+     * not changed since.
+     * <p>
+     * Finding the symbols of a regular expression takes a test of every code point, which is too slow to do on the
+     * event dispatch thread, so such a table is built in the background. The table is requested as soon as the
+     * custom symbols change, so that it is usually done by the time the dialog is validated. A table of a list of
+     * custom symbols is built immediately.
+     * <p>
+     * The alphabets are left out of the table so that custom symbols that do not contain any symbol are noticed even
+     * when an alphabet is selected, and so that selecting alphabets does not require the table to be rebuilt.
+     *
+     * @param symbols the custom symbols, or the regular expression that matches them
+     * @param regex   {@code true} if the custom symbols are a regular expression rather than a list
+     * @return the symbol table of only the given custom symbols, which completes exceptionally if the custom symbols
+     * are not a valid regular expression
+     */
+    private CompletableFuture<SymbolTable> getSymbolTable(final String symbols, final boolean regex) {
+        if (symbolTable == null || !symbols.equals(tableCustomSymbols) || regex != tableCustomSymbolsRegex) {
+            final List<Alphabet> alphabets = Collections.emptyList();
+            symbolTable = regex
+                    ? CompletableFuture.supplyAsync(() -> new SymbolTable(alphabets, symbols, true))
+                    : CompletableFuture.completedFuture(new SymbolTable(alphabets, symbols, false));
+            tableCustomSymbols = symbols;
+            tableCustomSymbolsRegex = regex;
+        }
+
+        return symbolTable;
+    }
+
+    /**
+     * Returns the number of distinct symbols in the given alphabets and the given table of custom symbols.
+     *
+     * @param alphabets   the selected alphabets
+     * @param customTable the symbol table of only the custom symbols
+     * @return the number of distinct symbols in the given alphabets and the given table of custom symbols
+     */
+    private static int countSymbols(final List<Alphabet> alphabets, final SymbolTable customTable) {
+        final SymbolTable alphabetTable = new SymbolTable(alphabets, "", false);
+
+        int count = customTable.size();
+        for (int i = 0; i < alphabetTable.size(); i++) {
+            if (customTable.indexOf(alphabetTable.getCodePoint(i)) < 0) {
+                count++;
+            }
+        }
+        return count;
+    }
 }
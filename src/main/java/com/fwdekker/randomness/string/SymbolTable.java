@@ -0,0 +1,133 @@
+package com.fwdekker.randomness.string;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * The distinct symbols that strings are generated from, as a table of code points.
+ * <p>
+ * The symbols are those of a number of {@link Alphabet Alphabets} together with the custom symbols. The custom symbols
+ * are either a list, such as {@code $%&}, in which each code point is a symbol, or a regular expression, in which case
+ * the symbols are all code points that are matched by it. This expression can list symbols in a character class, such
+ * as {@code [aeiou]}, give ranges of code points, such as {@code [\x{1F600}-\x{1F64F}]} for emoticons, or refer to
+ * Unicode blocks and scripts, such as {@code \p{IsCyrillic}}. Because any code point may be matched, finding the
+ * symbols of an expression takes a test of every code point, which takes in the order of a hundred milliseconds. Code
+ * points that are not defined in Unicode and surrogate code points are never included.
+ * <p>
+ * The table is built once, after which a symbol is found by a single array access. The largest number of UTF-16
+ * characters needed for a symbol is computed as well, so that buffers can be sized without looking at the symbols.
+ */
+final class SymbolTable {
+    /**
+     * The code points of all symbols in ascending order.
+     */
+    private final int[] codePoints;
+    /**
+     * The largest number of UTF-16 characters needed for a symbol, or {@code 1} if there are no symbols.
+     */
+    private final int maxCharCount;
+
+
+    /**
+     * Constructs a new {@code SymbolTable}.
+     *
+     * @param alphabets          the alphabets whose symbols to include
+     * @param customSymbols      the custom symbols to include, or the regular expression that matches them, or the
+     *                           empty string if there are no custom symbols
+     * @param customSymbolsRegex {@code true} if the custom symbols are a regular expression rather than a list
+     * @throws java.util.regex.PatternSyntaxException if {@code customSymbolsRegex} is {@code true} and
+     *                                                {@code customSymbols} is not a valid regular expression
+     */
+    SymbolTable(final Collection<Alphabet> alphabets, final String customSymbols, final boolean customSymbolsRegex) {
+        final BitSet symbols = new BitSet();
+        for (final Alphabet alphabet : alphabets) {
+            alphabet.getSymbols().codePoints().forEach(symbols::set);
+        }
+        if (!customSymbolsRegex) {
+            customSymbols.codePoints().filter(SymbolTable::isSymbol).forEach(symbols::set);
+        } else if (!customSymbols.isEmpty()) {
+            addMatchingCodePoints(symbols, Pattern.compile(customSymbols));
+        }
+
+        this.codePoints = symbols.stream().toArray();
+        this.maxCharCount = symbols.nextSetBit(Character.MIN_SUPPLEMENTARY_CODE_POINT) < 0 ? 1 : 2;
+    }
+
+
+    /**
+     * Returns the number of symbols.
+     *
+     * @return the number of symbols
+     */
+    int size() {
+        return codePoints.length;
+    }
+
+    /**
+     * Returns the code point of the symbol at the given index.
+     *
+     * @param index the index of a symbol
+     * @return the code point of the symbol at the given index
+     */
+    int getCodePoint(final int index) {
+        return codePoints[index];
+    }
+
+    /**
+     * Returns the index of the symbol with the given code point, or a negative number if there is no such symbol.
+     *
+     * @param codePoint the code point of a symbol
+     * @return the index of the symbol with the given code point, or a negative number if there is no such symbol
+     */
+    int indexOf(final int codePoint) {
+        return Arrays.binarySearch(codePoints, codePoint);
+    }
+
+    /**
+     * Returns the largest number of UTF-16 characters needed for a symbol, or {@code 1} if there are no symbols.
+     *
+     * @return the largest number of UTF-16 characters needed for a symbol, or {@code 1} if there are no symbols
+     */
+    int getMaxCharCount() {
+        return maxCharCount;
+    }
+
+
+    /**
+     * Returns {@code true} if and only if the given code point can be a symbol, which is the case for all code points
+     * that are defined in Unicode and are not surrogates.
+     *
+     * @param codePoint a code point
+     * @return {@code true} if and only if the given code point can be a symbol
+     */
+    private static boolean isSymbol(final int codePoint) {
+        return Character.isDefined(codePoint) && Character.getType(codePoint) != Character.SURROGATE;
+    }
+
+    /**
+     * Adds all defined code points that are not surrogates and that match the given pattern to the given set.
+     *
+     * @param symbols the set of code points to add to
+     * @param pattern the pattern that code points must match
+     */
+    private static void addMatchingCodePoints(final BitSet symbols, final Pattern pattern) {
+        final StringBuilder symbol = new StringBuilder(2);
+        final Matcher matcher = pattern.matcher(symbol);
+
+        for (int codePoint = 0; codePoint <= Character.MAX_CODE_POINT; codePoint++) {
+            if (!isSymbol(codePoint)) {
+                continue;
+            }
+
+            symbol.setLength(0);
+            symbol.appendCodePoint(codePoint);
+            if (matcher.reset(symbol).matches()) {
+                symbols.set(codePoint);
+            }
+        }
+    }
+}
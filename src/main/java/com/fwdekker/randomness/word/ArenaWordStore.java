@@ -0,0 +1,181 @@
+package com.fwdekker.randomness.word;
+
+import java.nio.charset.StandardCharsets;
+
+
+/**
+ * A {@link WordStore} that stores all words in a single character array.
+ * <p>
+ * The words are concatenated into one contiguous arena, and a table of offsets marks where each word starts. A
+ * {@code String} is only created for a word when that word is requested. This costs two bytes per character and four
+ * bytes per word, plus two array headers.
+ * <p>
+ * If all characters are in the Latin-1 range, as is the case for ASCII dictionaries, this is detected when the store is
+ * created and the arena is stored as a byte array instead, which halves the memory used by the characters. Creating a
+ * {@code String} from such an arena is a plain widening copy.
+ * <p>
+ * For the bundled dictionary of 370,099 words with a total of 3,494,670 characters, the memory usage of the different
+ * representations on a 64-bit JVM with compressed references is as follows:
+ * <table summary="Memory usage of the bundled dictionary">
+ * <tr><th>Representation</th><th>Memory usage</th></tr>
+ * <tr><td>{@code HashSet<String>}</td><td>36.8 MB</td></tr>
+ * <tr><td>{@link StringWordStore}</td><td>24.4 MB</td></tr>
+ * <tr><td>{@code ArenaWordStore} with a character array</td><td>8.5 MB</td></tr>
+ * <tr><td>{@code ArenaWordStore} with a Latin-1 byte array</td><td>5.0 MB</td></tr>
+ * <tr><td>{@link FrontCodedWordStore}</td><td>2.7 MB</td></tr>
+ * </table>
+ * The {@code HashSet<String>} pays 32 bytes per hash map node, 24 bytes per {@code String} object, 16 bytes of header
+ * and on average 3 bytes of padding per character array, and 4 bytes per slot in the hash table, most of which is
+ * avoided by this store.
+ */
+final class ArenaWordStore implements WordStore {
+    /**
+     * The largest character in the Latin-1 range.
+     */
+    static final char LATIN1_MAX = '\u00ff';
+
+    /**
+     * The characters of all words, concatenated in order, or {@code null} if {@link #latin1Arena} is used instead.
+     */
+    private final char[] arena;
+    /**
+     * The characters of all words as Latin-1 bytes, concatenated in order, or {@code null} if some character is not in
+     * the Latin-1 range and {@link #arena} is used instead.
+     */
+    private final byte[] latin1Arena;
+    /**
+     * The index in the arena at which each word starts, followed by the length of the arena.
+     * <p>
+     * The word at index {@code i} thus consists of the characters from {@code offsets[i]} up to (exclusive)
+     * {@code offsets[i + 1]}.
+     */
+    private final int[] offsets;
+
+
+    /**
+     * Constructs a new {@code ArenaWordStore} containing the given words.
+     *
+     * @param words the words to store, in the order in which they should be stored
+     */
+    ArenaWordStore(final String[] words) {
+        offsets = new int[words.length + 1];
+
+        long totalLength = 0;
+        boolean allLatin1 = true;
+        for (int i = 0; i < words.length; i++) {
+            offsets[i] = Math.toIntExact(totalLength);
+            totalLength += words[i].length();
+            allLatin1 = allLatin1 && isLatin1(words[i]);
+        }
+        offsets[words.length] = Math.toIntExact(totalLength);
+
+        if (allLatin1) {
+            arena = null;
+            latin1Arena = new byte[offsets[words.length]];
+            for (int i = 0; i < words.length; i++) {
+                final String word = words[i];
+                for (int j = 0; j < word.length(); j++) {
+                    latin1Arena[offsets[i] + j] = (byte) word.charAt(j);
+                }
+            }
+        } else {
+            arena = new char[offsets[words.length]];
+            latin1Arena = null;
+            for (int i = 0; i < words.length; i++) {
+                words[i].getChars(0, words[i].length(), arena, offsets[i]);
+            }
+        }
+    }
+
+
+    /**
+     * Constructs a new {@code ArenaWordStore} from an existing arena and offset table.
+     * <p>
+     * The given arrays are used directly rather than copied, and should therefore not be modified afterwards. If all
+     * characters in the arena are in the Latin-1 range, the arena is replaced by a byte array.
+     *
+     * @param arena   the characters of all words, concatenated in order
+     * @param offsets the index in {@code arena} at which each word starts, followed by the length of {@code arena}
+     */
+    ArenaWordStore(final char[] arena, final int[] offsets) {
+        if (offsets.length == 0 || offsets[offsets.length - 1] != arena.length) {
+            throw new IllegalArgumentException("The offsets do not match the arena.");
+        }
+
+        this.offsets = offsets;
+        if (isLatin1(arena)) {
+            this.arena = null;
+            this.latin1Arena = new byte[arena.length];
+            for (int i = 0; i < arena.length; i++) {
+                latin1Arena[i] = (byte) arena[i];
+            }
+        } else {
+            this.arena = arena;
+            this.latin1Arena = null;
+        }
+    }
+
+
+    @Override
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    @Override
+    public String get(final int index) {
+        if (latin1Arena != null) {
+            return new String(latin1Arena, offsets[index], offsets[index + 1] - offsets[index],
+                    StandardCharsets.ISO_8859_1);
+        }
+
+        return new String(arena, offsets[index], offsets[index + 1] - offsets[index]);
+    }
+
+    @Override
+    public long estimateMemoryUsage() {
+        final long arenaSize = latin1Arena != null
+                ? WordStore.arraySize(latin1Arena.length, Byte.BYTES)
+                : WordStore.arraySize(arena.length, Character.BYTES);
+        return arenaSize + WordStore.arraySize(offsets.length, Integer.BYTES);
+    }
+
+    /**
+     * Returns {@code true} if and only if the words are stored as Latin-1 bytes.
+     *
+     * @return {@code true} if and only if the words are stored as Latin-1 bytes
+     */
+    boolean isLatin1() {
+        return latin1Arena != null;
+    }
+
+
+    /**
+     * Returns {@code true} if and only if all characters of the given word are in the Latin-1 range.
+     *
+     * @param word the word to check
+     * @return {@code true} if and only if all characters of the given word are in the Latin-1 range
+     */
+    static boolean isLatin1(final CharSequence word) {
+        for (int i = 0; i < word.length(); i++) {
+            if (word.charAt(i) > LATIN1_MAX) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if and only if all given characters are in the Latin-1 range.
+     *
+     * @param characters the characters to check
+     * @return {@code true} if and only if all given characters are in the Latin-1 range
+     */
+    private static boolean isLatin1(final char[] characters) {
+        for (final char character : characters) {
+            if (character > LATIN1_MAX) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -3,43 +3,64 @@ package com.fwdekker.randomness.word;
 import java.util.Arrays;
 import java.util.Locale;
 import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
 
 /**
  * A mode in which a word should be capitalized.
+ * <p>
+ * Each mode can append a capitalized word directly to a {@code StringBuilder}, so that many words can be capitalized
+ * into a single buffer without creating intermediate strings. Words that consist of ASCII characters only are
+ * capitalized character by character; other words are capitalized with the rules of the default locale.
  */
 public enum CapitalizationMode {
     /**
      * Does not change the string.
      */
-    RETAIN("retain", string -> string),
+    RETAIN("retain", (word, target) -> target.append(word)),
     /**
      * Makes the first character uppercase and all characters after that lowercase.
      */
-    SENTENCE("sentence", string -> (string.length() == 0
-            ? ""
-            : Character.toUpperCase(string.charAt(0)) + string.substring(1).toLowerCase(Locale.getDefault()))),
+    SENTENCE("sentence", (word, target) -> appendSentence(word, 0, word.length(), target)),
     /**
      * Makes all characters uppercase.
      */
-    UPPER("upper", string -> string.toUpperCase(Locale.getDefault())),
+    UPPER("upper", (word, target) -> appendUpperCase(word, 0, word.length(), target)),
     /**
      * Makes all characters lowercase.
      */
-    LOWER("lower", string -> string.toLowerCase(Locale.getDefault())),
+    LOWER("lower", (word, target) -> appendLowerCase(word, 0, word.length(), target)),
     /**
      * Makes the first letter of each word uppercase.
      */
-    FIRST_LETTER("first letter", string ->
-            Arrays.stream(string.split(" ")).map(SENTENCE.transform).collect(Collectors.joining(" ")));
+    FIRST_LETTER("first letter", CapitalizationMode::appendFirstLetters);
 
 
+    /**
+     * The locale whose rules are used to change the case of non-ASCII characters.
+     */
+    private static final Locale LOCALE = Locale.getDefault();
+    /**
+     * {@code true} if and only if the case of ASCII letters can be changed without considering {@link #LOCALE}.
+     * <p>
+     * This is not the case for Turkish and Azerbaijani, in which the uppercase of {@code i} is not {@code I}.
+     */
+    private static final boolean ASCII_CASE_MAPPING =
+            !"tr".equals(LOCALE.getLanguage()) && !"az".equals(LOCALE.getLanguage());
+    /**
+     * The difference between a lowercase ASCII letter and the corresponding uppercase ASCII letter.
+     */
+    private static final int ASCII_CASE_OFFSET = 'a' - 'A';
+
     /**
      * The name of the capitalization mode.
      */
     private final String name;
+    /**
+     * Appends the given word, capitalized to the mode's format, to the given {@code StringBuilder}.
+     */
+    private final BiConsumer<CharSequence, StringBuilder> appender;
     /**
      * Capitalizes the given word to the mode's format.
      */
@@ -49,12 +70,18 @@ public enum CapitalizationMode {
     /**
      * Constructs a new capitalization mode.
      *
-     * @param name      the name of the capitalization mode
-     * @param transform the function which capitalizes the given word to the mode's format
+     * @param name     the name of the capitalization mode
+     * @param appender the function which appends the given word, capitalized to the mode's format, to the given
+     *                 {@code StringBuilder}
      */
-    CapitalizationMode(final String name, final Function<String, String> transform) {
+    CapitalizationMode(final String name, final BiConsumer<CharSequence, StringBuilder> appender) {
         this.name = name;
-        this.transform = transform;
+        this.appender = appender;
+        this.transform = string -> {
+            final StringBuilder builder = new StringBuilder(string.length());
+            appender.accept(string, builder);
+            return builder.toString();
+        };
     }
 
     /**
@@ -75,6 +102,16 @@ public enum CapitalizationMode {
         return transform;
     }
 
+    /**
+     * Appends the given word, capitalized to the mode's format, to the given {@code StringBuilder}.
+     *
+     * @param word   the word to capitalize
+     * @param target the {@code StringBuilder} to append the capitalized word to
+     */
+    public void transform(final CharSequence word, final StringBuilder target) {
+        appender.accept(word, target);
+    }
+
     /**
      * Returns the name of the capitalization mode.
      *
@@ -99,4 +136,109 @@ public enum CapitalizationMode {
                 .orElseThrow(() -> new NoSuchElementException("There does not exist a capitalization mode with name "
                         + "`" + name + "`."));
     }
+
+
+    /**
+     * Appends the characters of the given word in the given range with the first character in uppercase and all
+     * characters after that in lowercase.
+     *
+     * @param word   the word to capitalize
+     * @param from   the index of the first character to capitalize
+     * @param to     the index after the last character to capitalize
+     * @param target the {@code StringBuilder} to append the capitalized characters to
+     */
+    private static void appendSentence(final CharSequence word, final int from, final int to,
+                                       final StringBuilder target) {
+        if (from >= to) {
+            return;
+        }
+
+        target.append(Character.toUpperCase(word.charAt(from)));
+        appendLowerCase(word, from + 1, to, target);
+    }
+
+    /**
+     * Appends the given word with the first character of each space-separated part in uppercase and all other
+     * characters in lowercase.
+     *
+     * @param word   the word to capitalize
+     * @param target the {@code StringBuilder} to append the capitalized word to
+     */
+    private static void appendFirstLetters(final CharSequence word, final StringBuilder target) {
+        int partStart = 0;
+        for (int i = 0; i < word.length(); i++) {
+            if (word.charAt(i) == ' ') {
+                appendSentence(word, partStart, i, target);
+                target.append(' ');
+                partStart = i + 1;
+            }
+        }
+        appendSentence(word, partStart, word.length(), target);
+    }
+
+    /**
+     * Appends the characters of the given word in the given range in uppercase.
+     *
+     * @param word   the word to capitalize
+     * @param from   the index of the first character to capitalize
+     * @param to     the index after the last character to capitalize
+     * @param target the {@code StringBuilder} to append the capitalized characters to
+     */
+    private static void appendUpperCase(final CharSequence word, final int from, final int to,
+                                        final StringBuilder target) {
+        if (!isAscii(word, from, to)) {
+            target.append(word.subSequence(from, to).toString().toUpperCase(LOCALE));
+            return;
+        }
+
+        for (int i = from; i < to; i++) {
+            final char character = word.charAt(i);
+            target.append(character >= 'a' && character <= 'z' ? (char) (character - ASCII_CASE_OFFSET) : character);
+        }
+    }
+
+    /**
+     * Appends the characters of the given word in the given range in lowercase.
+     *
+     * @param word   the word to capitalize
+     * @param from   the index of the first character to capitalize
+     * @param to     the index after the last character to capitalize
+     * @param target the {@code StringBuilder} to append the capitalized characters to
+     */
+    private static void appendLowerCase(final CharSequence word, final int from, final int to,
+                                        final StringBuilder target) {
+        if (!isAscii(word, from, to)) {
+            target.append(word.subSequence(from, to).toString().toLowerCase(LOCALE));
+            return;
+        }
+
+        for (int i = from; i < to; i++) {
+            final char character = word.charAt(i);
+            target.append(character >= 'A' && character <= 'Z' ? (char) (character + ASCII_CASE_OFFSET) : character);
+        }
+    }
+
+    /**
+     * Returns {@code true} if and only if the case of the characters of the given word in the given range can be
+     * changed character by character, which is the case if they are all ASCII characters and the default locale does
+     * not have special rules for them.
+     *
+     * @param word the word to check
+     * @param from the index of the first character to check
+     * @param to   the index after the last character to check
+     * @return {@code true} if and only if the case of the characters of the given word in the given range can be
+     * changed character by character
+     */
+    private static boolean isAscii(final CharSequence word, final int from, final int to) {
+        if (!ASCII_CASE_MAPPING) {
+            return false;
+        }
+
+        for (int i = from; i < to; i++) {
+            if (word.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
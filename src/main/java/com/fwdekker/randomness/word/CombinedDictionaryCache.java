@@ -0,0 +1,229 @@
+package com.fwdekker.randomness.word;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+
+/**
+ * A cache of the words that have a length in a given range in combinations of {@link Dictionary Dictionaries}.
+ * <p>
+ * The words are {@link DictionaryUnion views} of the dictionaries, so the cache holds no copies of words. Combinations
+ * are identified by the unique identifiers of the {@code Dictionary Dictionaries} they consist of. The cache must
+ * therefore be cleared whenever a {@code Dictionary} is reloaded or the {@link WordSettings} change, which is done by
+ * {@link Dictionary.BundledDictionary}, {@link Dictionary.UserDictionary}, and {@link WordSettings}.
+ */
+final class CombinedDictionaryCache {
+    /**
+     * The maximum number of entries to keep in each cache.
+     */
+    private static final int CAPACITY = 16;
+
+    /**
+     * The previously obtained words in a length range, identified by the dictionaries, the length range, the filter,
+     * and whether duplicates were removed.
+     */
+    private static final Map<RangeKey, List<String>> WORDS = createCache();
+    /**
+     * The number of times that entries have been removed from the cache other than to make room for new entries.
+     * <p>
+     * Words that were obtained while this number changed may come from a {@code Dictionary} that has since been
+     * reloaded, and are therefore not cached.
+     */
+    private static long generation;
+
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private CombinedDictionaryCache() {
+        // Do nothing
+    }
+
+
+    /**
+     * Returns all words with a length in the given range in the combination of the given {@code Dictionary
+     * Dictionaries}, using a previously obtained list if there is one.
+     *
+     * @param dictionaries the {@code Dictionary Dictionaries} to take words from
+     * @param minLength    the minimum word length (inclusive)
+     * @param maxLength    the maximum word length (inclusive)
+     * @param deduplicate  {@code true} if words that occur in multiple dictionaries should be included only once
+     * @return all words with a length in the given range in the combination of the given {@code Dictionary
+     * Dictionaries}
+     * @see DictionaryUnion#of(Collection, int, int, boolean)
+     */
+    static List<String> getWordsWithLengthInRange(final Collection<Dictionary> dictionaries,
+                                                  final int minLength, final int maxLength,
+                                                  final boolean deduplicate) {
+        return getWordsMatching(dictionaries, minLength, maxLength, WordFilter.NONE, deduplicate);
+    }
+
+    /**
+     * Returns all words with a length in the given range that satisfy the given filter in the combination of the
+     * given {@code Dictionary Dictionaries}, using a previously obtained list if there is one.
+     * <p>
+     * The words are combined outside the lock, so that other combinations can be obtained in the meantime. If entries
+     * are removed from the cache while the words are combined, the result is returned but not cached, because one of
+     * the given {@code Dictionary Dictionaries} may have been replaced in the meantime.
+     *
+     * @param dictionaries the {@code Dictionary Dictionaries} to take words from
+     * @param minLength    the minimum word length (inclusive)
+     * @param maxLength    the maximum word length (inclusive)
+     * @param filter       the filter that words must satisfy
+     * @param deduplicate  {@code true} if words that occur in multiple dictionaries should be included only once
+     * @return all words with a length in the given range that satisfy the given filter in the combination of the given
+     * {@code Dictionary Dictionaries}
+     * @see DictionaryUnion#of(Collection, int, int, WordFilter, boolean)
+     */
+    static List<String> getWordsMatching(final Collection<Dictionary> dictionaries,
+                                         final int minLength, final int maxLength,
+                                         final WordFilter filter, final boolean deduplicate) {
+        final RangeKey key = new RangeKey(getUids(dictionaries), minLength, maxLength, filter, deduplicate);
+
+        final long initialGeneration;
+        synchronized (CombinedDictionaryCache.class) {
+            final List<String> words = WORDS.get(key);
+            if (words != null) {
+                return words;
+            }
+
+            initialGeneration = generation;
+        }
+
+        final List<String> words = DictionaryUnion.of(dictionaries, minLength, maxLength, filter, deduplicate);
+        synchronized (CombinedDictionaryCache.class) {
+            if (generation == initialGeneration) {
+                WORDS.put(key, words);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Removes all entries that involve the given {@code Dictionary} from the cache.
+     *
+     * @param dictionary the {@code Dictionary} to remove the entries of
+     */
+    static void remove(final Dictionary dictionary) {
+        final String uid = dictionary.getUid();
+
+        synchronized (CombinedDictionaryCache.class) {
+            WORDS.keySet().removeIf(key -> key.uids.contains(uid));
+            generation++;
+        }
+    }
+
+    /**
+     * Removes all entries from the cache.
+     */
+    static void clear() {
+        synchronized (CombinedDictionaryCache.class) {
+            WORDS.clear();
+            generation++;
+        }
+    }
+
+
+    /**
+     * Returns the unique identifiers of the given {@code Dictionary Dictionaries}.
+     *
+     * @param dictionaries a collection of {@code Dictionary Dictionaries}
+     * @return the unique identifiers of the given {@code Dictionary Dictionaries}
+     */
+    private static Set<String> getUids(final Collection<Dictionary> dictionaries) {
+        return Collections.unmodifiableSet(dictionaries.stream().map(Dictionary::getUid).collect(Collectors.toSet()));
+    }
+
+    /**
+     * Returns an empty map that removes its least recently accessed entry when it grows beyond {@link #CAPACITY}.
+     *
+     * @param <K> the type of key
+     * @param <V> the type of value
+     * @return an empty map that removes its least recently accessed entry when it grows beyond {@link #CAPACITY}
+     */
+    private static <K, V> Map<K, V> createCache() {
+        return new LinkedHashMap<K, V>(CAPACITY, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+                return size() > CAPACITY;
+            }
+        };
+    }
+
+
+    /**
+     * Identifies the words with a length in a given range in a combination of dictionaries.
+     */
+    private static final class RangeKey {
+        /**
+         * The unique identifiers of the dictionaries in the combination.
+         */
+        private final Set<String> uids;
+        /**
+         * The minimum word length (inclusive).
+         */
+        private final int minLength;
+        /**
+         * The maximum word length (inclusive).
+         */
+        private final int maxLength;
+        /**
+         * The filter that the words satisfy.
+         */
+        private final WordFilter filter;
+        /**
+         * {@code true} if words that occur in multiple dictionaries are included only once.
+         */
+        private final boolean deduplicate;
+
+
+        /**
+         * Constructs a new {@code RangeKey}.
+         *
+         * @param uids        the unique identifiers of the dictionaries in the combination
+         * @param minLength   the minimum word length (inclusive)
+         * @param maxLength   the maximum word length (inclusive)
+         * @param filter      the filter that the words satisfy
+         * @param deduplicate {@code true} if words that occur in multiple dictionaries are included only once
+         */
+        RangeKey(final Set<String> uids, final int minLength, final int maxLength, final WordFilter filter,
+                 final boolean deduplicate) {
+            this.uids = uids;
+            this.minLength = minLength;
+            this.maxLength = maxLength;
+            this.filter = filter;
+            this.deduplicate = deduplicate;
+        }
+
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (other == null || this.getClass() != other.getClass()) {
+                return false;
+            }
+
+            final RangeKey that = (RangeKey) other;
+            return this.minLength == that.minLength
+                    && this.maxLength == that.maxLength
+                    && this.deduplicate == that.deduplicate
+                    && Objects.equals(this.filter, that.filter)
+                    && Objects.equals(this.uids, that.uids);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(uids, minLength, maxLength, filter, deduplicate);
+        }
+    }
+}
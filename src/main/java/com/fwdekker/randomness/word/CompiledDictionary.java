@@ -0,0 +1,391 @@
+package com.fwdekker.randomness.word;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+
+/**
+ * A dictionary that has been compiled into a binary format that can be loaded without parsing, sorting, or
+ * deduplicating its words.
+ * <p>
+ * A compiled dictionary is a big-endian file consisting of
+ * <ol>
+ * <li>the magic number {@link #MAGIC} and the format version {@link #VERSION};</li>
+ * <li>the number of words {@code n}, and the lengths of the shortest and the longest word;</li>
+ * <li>for each length from zero up to and including the length of the longest word, the number of words of that
+ * length;</li>
+ * <li>the total number of characters {@code c};</li>
+ * <li>{@code n + 1} offsets, the {@code i}th of which is the index of the first character of the {@code i}th word, and
+ * the last of which is {@code c}; and</li>
+ * <li>the {@code c} UTF-16 characters of all words, concatenated in order; and</li>
+ * <li>{@code 1} followed by the {@code n} weights of the words as floats if the dictionary has weights, or {@code 0}
+ * otherwise.</li>
+ * </ol>
+ * The words are distinct and sorted by length and then lexicographically, as in {@link Dictionary}, so that loading a
+ * compiled dictionary comes down to a few bulk reads into an {@link ArenaWordStore}. Version {@code 1} of the format
+ * is still read; it ends after the characters and has no weights.
+ * <p>
+ * Compiled dictionaries are created at build time from the bundled {@code .dic} files by running
+ * {@link #main(String[])}.
+ */
+final class CompiledDictionary {
+    /**
+     * The file extension of compiled dictionaries.
+     */
+    static final String EXTENSION = ".dicx";
+    /**
+     * The first four bytes of every compiled dictionary, being "RDCX" in ASCII.
+     */
+    static final int MAGIC = 0x52444358;
+    /**
+     * The version of the format written by this class.
+     */
+    static final int VERSION = 2;
+    /**
+     * The oldest version of the format that can be read by this class.
+     */
+    private static final int MIN_VERSION = 1;
+
+    /**
+     * The words of the dictionary, sorted by length and then lexicographically.
+     */
+    private final ArenaWordStore words;
+    /**
+     * The index in {@link #words} of the first word of each length.
+     *
+     * @see Dictionary#getWordsWithLengthInRange(int, int)
+     */
+    private final int[] lengthOffsets;
+    /**
+     * The weight of each word in {@link #words}, or {@code null} if the dictionary has no weights.
+     */
+    private final float[] weights;
+
+
+    /**
+     * Constructs a new {@code CompiledDictionary}.
+     *
+     * @param words         the words of the dictionary, sorted by length and then lexicographically
+     * @param lengthOffsets the index in {@code words} of the first word of each length
+     * @param weights       the weight of each word, or {@code null} if the dictionary has no weights
+     */
+    private CompiledDictionary(final ArenaWordStore words, final int[] lengthOffsets, final float[] weights) {
+        this.words = words;
+        this.lengthOffsets = lengthOffsets;
+        this.weights = weights;
+    }
+
+
+    /**
+     * Returns the words of the dictionary, sorted by length and then lexicographically.
+     *
+     * @return the words of the dictionary, sorted by length and then lexicographically
+     */
+    WordStore getWords() {
+        return words;
+    }
+
+    /**
+     * Returns the index of the first word of each length.
+     *
+     * @return the index of the first word of each length
+     */
+    int[] getLengthOffsets() {
+        return lengthOffsets.clone();
+    }
+
+    /**
+     * Returns the weight of each word, or {@code null} if the dictionary has no weights.
+     *
+     * @return the weight of each word, or {@code null} if the dictionary has no weights
+     */
+    float[] getWeights() {
+        return weights;
+    }
+
+
+    /**
+     * Returns {@code true} if and only if the given stream starts with a compiled dictionary.
+     * <p>
+     * The stream is reset to its current position afterwards.
+     *
+     * @param input an {@code InputStream} that supports {@link InputStream#mark(int)}
+     * @return {@code true} if and only if the given stream starts with a compiled dictionary
+     * @throws IOException if the stream could not be read
+     */
+    static boolean isCompiled(final InputStream input) throws IOException {
+        final byte[] header = new byte[Integer.BYTES];
+
+        input.mark(header.length);
+        try {
+            int read = 0;
+            while (read < header.length) {
+                final int count = input.read(header, read, header.length - read);
+                if (count < 0) {
+                    return false;
+                }
+                read += count;
+            }
+        } finally {
+            input.reset();
+        }
+
+        return ByteBuffer.wrap(header).getInt() == MAGIC;
+    }
+
+    /**
+     * Reads a compiled dictionary from the given stream.
+     *
+     * @param input the stream to read from
+     * @return the compiled dictionary in the given stream
+     * @throws IOException if the stream could not be read or does not contain a valid compiled dictionary
+     */
+    static CompiledDictionary read(final InputStream input) throws IOException {
+        final DataInputStream data = new DataInputStream(input);
+
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Invalid compiled dictionary.");
+        }
+        final int version = data.readInt();
+        if (version < MIN_VERSION || version > VERSION) {
+            throw new IOException("Invalid compiled dictionary.");
+        }
+
+        final int wordCount = data.readInt();
+        final int minLength = data.readInt();
+        final int maxLength = data.readInt();
+        if (wordCount < 0 || minLength < 0 || maxLength < minLength) {
+            throw new IOException("Invalid compiled dictionary.");
+        }
+
+        final int[] histogram = readInts(data, maxLength + 1);
+        final int charCount = data.readInt();
+        final int[] offsets = readInts(data, wordCount + 1);
+        final char[] arena = readChars(data, charCount);
+
+        final int[] lengthOffsets = new int[maxLength + 2];
+        for (int length = 0; length <= maxLength; length++) {
+            if (histogram[length] < 0 || length < minLength && histogram[length] != 0) {
+                throw new IOException("Invalid compiled dictionary.");
+            }
+            lengthOffsets[length + 1] = lengthOffsets[length] + histogram[length];
+        }
+        if (lengthOffsets[maxLength + 1] != wordCount || offsets[0] != 0 || offsets[wordCount] != charCount) {
+            throw new IOException("Invalid compiled dictionary.");
+        }
+
+        int length = 0;
+        for (int i = 0; i < wordCount; i++) {
+            while (lengthOffsets[length + 1] <= i) {
+                length++;
+            }
+            if (offsets[i + 1] - offsets[i] != length) {
+                throw new IOException("Invalid compiled dictionary.");
+            }
+        }
+
+        final float[] weights = version >= 2 && data.readInt() != 0 ? readFloats(data, wordCount) : null;
+        if (weights != null) {
+            for (final float weight : weights) {
+                if (!(weight > 0) || Float.isInfinite(weight)) {
+                    throw new IOException("Invalid compiled dictionary.");
+                }
+            }
+        }
+
+        return new CompiledDictionary(new ArenaWordStore(arena, offsets), lengthOffsets, weights);
+    }
+
+    /**
+     * Writes the given words as a compiled dictionary without weights to the given stream.
+     *
+     * @param words  the distinct words to write, sorted by length and then lexicographically
+     * @param output the stream to write to
+     * @throws IOException if the stream could not be written to
+     */
+    static void write(final String[] words, final OutputStream output) throws IOException {
+        write(words, null, output);
+    }
+
+    /**
+     * Writes the given words and weights as a compiled dictionary to the given stream.
+     *
+     * @param words   the distinct words to write, sorted by length and then lexicographically
+     * @param weights the weight of each word, or {@code null} if the dictionary has no weights
+     * @param output  the stream to write to
+     * @throws IOException if the stream could not be written to
+     */
+    static void write(final String[] words, final float[] weights, final OutputStream output) throws IOException {
+        if (weights != null && weights.length != words.length) {
+            throw new IllegalArgumentException("There must be exactly one weight for each word.");
+        }
+
+        final int maxLength = words.length == 0 ? 0 : words[words.length - 1].length();
+        final int minLength = words.length == 0 ? 0 : words[0].length();
+
+        final int[] histogram = new int[maxLength + 1];
+        final int[] offsets = new int[words.length + 1];
+        for (int i = 0; i < words.length; i++) {
+            histogram[words[i].length()]++;
+            offsets[i + 1] = Math.addExact(offsets[i], words[i].length());
+        }
+
+        final DataOutputStream data = new DataOutputStream(output);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(words.length);
+        data.writeInt(minLength);
+        data.writeInt(maxLength);
+        for (final int count : histogram) {
+            data.writeInt(count);
+        }
+        data.writeInt(offsets[words.length]);
+        for (final int offset : offsets) {
+            data.writeInt(offset);
+        }
+        for (final String word : words) {
+            data.writeChars(word);
+        }
+        data.writeInt(weights == null ? 0 : 1);
+        if (weights != null) {
+            for (final float weight : weights) {
+                data.writeFloat(weight);
+            }
+        }
+        data.flush();
+    }
+
+    /**
+     * Compiles the text dictionary in the given stream, with one word and optionally a weight per line, into the
+     * given stream.
+     *
+     * @param input  the stream containing the text dictionary
+     * @param output the stream to write the compiled dictionary to
+     * @throws IOException if either stream could not be used
+     */
+    static void compile(final InputStream input, final OutputStream output) throws IOException {
+        final ParsedDictionary dictionary = ParsedDictionary.read(input);
+        write(dictionary.getWords(), dictionary.getWeights(), output);
+    }
+
+    /**
+     * Returns the path at which the compiled version of the dictionary at the given path is stored.
+     *
+     * @param path the path to a text dictionary
+     * @return the path at which the compiled version of the dictionary at the given path is stored
+     */
+    static String getCompiledPath(final String path) {
+        if (path.endsWith(".dic")) {
+            return path + "x";
+        }
+        return path + EXTENSION;
+    }
+
+    /**
+     * Compiles all {@code .dic} files in a directory into another directory, retaining their relative paths.
+     * <p>
+     * This method is invoked by the build to compile the bundled dictionaries.
+     *
+     * @param args the directory to search for {@code .dic} files, and the directory to write compiled files to
+     * @throws IOException if a dictionary could not be read or written
+     */
+    public static void main(final String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Expected an input directory and an output directory.");
+        }
+
+        final Path inputDirectory = Paths.get(args[0]);
+        final Path outputDirectory = Paths.get(args[1]);
+
+        final List<Path> dictionaries;
+        try (Stream<Path> paths = Files.walk(inputDirectory)) {
+            dictionaries = paths
+                    .filter(path -> Files.isRegularFile(path) && path.toString().endsWith(".dic"))
+                    .collect(Collectors.toList());
+        }
+
+        for (final Path dictionary : dictionaries) {
+            final Path target = outputDirectory.resolve(
+                    getCompiledPath(inputDirectory.relativize(dictionary).toString()));
+            Files.createDirectories(target.toAbsolutePath().getParent());
+
+            try (InputStream input = Files.newInputStream(dictionary);
+                 OutputStream output = Files.newOutputStream(target)) {
+                compile(input, output);
+            }
+        }
+    }
+
+
+    /**
+     * Reads the given number of big-endian integers from the given stream in bulk.
+     *
+     * @param data  the stream to read from
+     * @param count the number of integers to read
+     * @return the integers that were read
+     * @throws IOException if the stream could not be read
+     */
+    private static int[] readInts(final DataInputStream data, final int count) throws IOException {
+        final int[] ints = new int[count];
+        ByteBuffer.wrap(readBytes(data, count, Integer.BYTES)).asIntBuffer().get(ints);
+        return ints;
+    }
+
+    /**
+     * Reads the given number of big-endian floats from the given stream in bulk.
+     *
+     * @param data  the stream to read from
+     * @param count the number of floats to read
+     * @return the floats that were read
+     * @throws IOException if the stream could not be read
+     */
+    private static float[] readFloats(final DataInputStream data, final int count) throws IOException {
+        final float[] floats = new float[count];
+        ByteBuffer.wrap(readBytes(data, count, Float.BYTES)).asFloatBuffer().get(floats);
+        return floats;
+    }
+
+    /**
+     * Reads the given number of big-endian characters from the given stream in bulk.
+     *
+     * @param data  the stream to read from
+     * @param count the number of characters to read
+     * @return the characters that were read
+     * @throws IOException if the stream could not be read
+     */
+    private static char[] readChars(final DataInputStream data, final int count) throws IOException {
+        final char[] chars = new char[count];
+        ByteBuffer.wrap(readBytes(data, count, Character.BYTES)).asCharBuffer().get(chars);
+        return chars;
+    }
+
+    /**
+     * Reads the bytes of the given number of elements of the given size from the given stream.
+     *
+     * @param data        the stream to read from
+     * @param count       the number of elements to read
+     * @param elementSize the size in bytes of each element
+     * @return the bytes that were read
+     * @throws IOException if the stream could not be read or the size is invalid
+     */
+    private static byte[] readBytes(final DataInputStream data, final int count, final int elementSize)
+            throws IOException {
+        if (count < 0 || count > Integer.MAX_VALUE / elementSize) {
+            throw new IOException("Invalid compiled dictionary.");
+        }
+
+        final byte[] bytes = new byte[count * elementSize];
+        data.readFully(bytes);
+        return bytes;
+    }
+}
@@ -2,26 +2,32 @@ package com.fwdekker.randomness.word;
 
 import com.intellij.openapi.ui.ValidationInfo;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.Random;
 import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 
 
 /**
@@ -32,6 +38,15 @@ public abstract class Dictionary {
      * The name of the default dictionary file.
      */
     public static final String DEFAULT_DICTIONARY_FILE = "words_alpha.dic";
+    /**
+     * The storage that is used for dictionaries for which no storage is specified.
+     */
+    public static final DictionaryStorage DEFAULT_STORAGE = DictionaryStorage.ARENA;
+    /**
+     * The order of the words in a dictionary: by length, and then lexicographically.
+     */
+    static final Comparator<String> WORD_ORDER =
+            Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder());
 
     /**
      * The unique identifier of the dictionary.
@@ -42,44 +57,156 @@ public abstract class Dictionary {
      */
     private final String name;
     /**
-     * A set of all words in the dictionary.
+     * The way in which the words of the dictionary are stored.
+     */
+    private final DictionaryStorage storage;
+    /**
+     * All words in the dictionary, sorted by length and then lexicographically, or {@code null} if the dictionary is
+     * {@link #isStreamed() streamed}.
+     */
+    private final WordStore words;
+    /**
+     * The index in {@link #words} of the first word of each length, or {@code null} if the dictionary is
+     * {@link #isStreamed() streamed}.
+     * <p>
+     * That is, {@code lengthOffsets[length]} is the number of words that are shorter than {@code length}, and the words
+     * of length {@code length} are found at indices {@code lengthOffsets[length]} up to (exclusive)
+     * {@code lengthOffsets[length + 1]}.
+     */
+    private final int[] lengthOffsets;
+    /**
+     * The number of words of each length in the dictionary.
+     */
+    private final DictionaryStatistics statistics;
+    /**
+     * The weights of the words in the dictionary, or {@code null} if all words are equally likely.
+     */
+    private final WordWeights weights;
+    /**
+     * Finds the words that satisfy a {@link WordFilter}, or {@code null} if the dictionary is
+     * {@link #isStreamed() streamed}.
      */
-    private final Set<String> words;
+    private final WordIndex index;
 
 
     /**
-     * Constructs an empty {@code Dictionary}.
+     * Constructs a new {@code Dictionary} containing the given words.
+     *
+     * @param words the words in the dictionary
      */
-    private Dictionary() {
+    private Dictionary(final Set<String> words) {
         uid = UUID.randomUUID().toString();
         name = uid;
-        words = new HashSet<>();
+        storage = DEFAULT_STORAGE;
+
+        final String[] sortedWords = sortByLength(words);
+        this.words = storage.createStore(sortedWords);
+        this.lengthOffsets = indexByLength(sortedWords);
+        this.statistics = DictionaryStatistics.of(lengthOffsets);
+        this.weights = null;
+        this.index = new WordIndex(this.words, this.lengthOffsets, this.words.isSorted());
     }
 
     /**
      * Constructs a new {@code Dictionary} from the given resource file.
+     * <p>
+     * The resource file is either a text file with one word and optionally a weight per line, as described in
+     * {@link ParsedDictionary}, or a dictionary in the {@link CompiledDictionary} format.
      *
-     * @param uid   the unique identifier of the dictionary
-     * @param name  the human-readable name of the dictionary
-     * @param input the {@code InputStream} containing the dictionary's contents
+     * @param uid     the unique identifier of the dictionary
+     * @param name    the human-readable name of the dictionary
+     * @param input   the {@code InputStream} containing the dictionary's contents
+     * @param storage the way in which the words of the dictionary should be stored
      */
-    protected Dictionary(final String uid, final String name, final InputStream input) {
+    protected Dictionary(final String uid, final String name, final InputStream input,
+                         final DictionaryStorage storage) {
         if (input == null) {
             throw new IllegalArgumentException("Failed to read dictionary into memory.");
         }
 
         this.uid = uid;
         this.name = name;
+        this.storage = storage;
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
-            words = reader.lines().collect(Collectors.toSet());
+        final WordStore wordStore;
+        final int[] wordLengthOffsets;
+        final float[] wordWeights;
+        try (InputStream bufferedInput = new BufferedInputStream(input)) {
+            if (CompiledDictionary.isCompiled(bufferedInput)) {
+                final CompiledDictionary compiledDictionary = CompiledDictionary.read(bufferedInput);
+                wordStore = storage.createStore(compiledDictionary.getWords());
+                wordLengthOffsets = compiledDictionary.getLengthOffsets();
+                wordWeights = compiledDictionary.getWeights();
+            } else {
+                final ParsedDictionary parsedDictionary = ParsedDictionary.read(bufferedInput);
+                wordStore = storage.createStore(parsedDictionary.getWords());
+                wordLengthOffsets = indexByLength(parsedDictionary.getWords());
+                wordWeights = parsedDictionary.getWeights();
+            }
         } catch (final IOException e) {
             throw new IllegalArgumentException("Failed to read dictionary into memory.", e);
         }
 
-        if (words.isEmpty()) {
+        if (wordStore.size() == 0) {
             throw new IllegalArgumentException("Dictionary must be non-empty.");
         }
+
+        this.words = wordStore;
+        this.lengthOffsets = wordLengthOffsets;
+        this.statistics = DictionaryStatistics.of(lengthOffsets);
+        this.weights = wordWeights == null ? null : new WordWeights(wordWeights, lengthOffsets);
+        this.index = new WordIndex(this.words, this.lengthOffsets, this.words.isSorted());
+    }
+
+    /**
+     * Constructs a new {@code Dictionary} from the given store of words.
+     *
+     * @param uid           the unique identifier of the dictionary
+     * @param name          the human-readable name of the dictionary
+     * @param storage       the way in which the words of the dictionary are stored
+     * @param words         the words in the dictionary, sorted by length
+     * @param lengthOffsets the index in {@code words} of the first word of each length
+     */
+    protected Dictionary(final String uid, final String name, final DictionaryStorage storage,
+                         final WordStore words, final int[] lengthOffsets) {
+        if (words.size() == 0) {
+            throw new IllegalArgumentException("Dictionary must be non-empty.");
+        }
+
+        this.uid = uid;
+        this.name = name;
+        this.storage = storage;
+        this.words = words;
+        this.lengthOffsets = lengthOffsets.clone();
+        this.statistics = DictionaryStatistics.of(this.lengthOffsets);
+        this.weights = null;
+        this.index = new WordIndex(this.words, this.lengthOffsets, this.words.isSorted());
+    }
+
+    /**
+     * Constructs a new {@code Dictionary} whose words are not held in memory, but are read from its source each time
+     * words are sampled from it.
+     *
+     * @param uid        the unique identifier of the dictionary
+     * @param name       the human-readable name of the dictionary
+     * @param storage    the way in which the words of the dictionary are stored
+     * @param statistics the number of words of each length in the dictionary
+     * @see #isStreamed()
+     */
+    protected Dictionary(final String uid, final String name, final DictionaryStorage storage,
+                         final DictionaryStatistics statistics) {
+        if (statistics.isEmpty()) {
+            throw new IllegalArgumentException("Dictionary must be non-empty.");
+        }
+
+        this.uid = uid;
+        this.name = name;
+        this.storage = storage;
+        this.words = null;
+        this.lengthOffsets = null;
+        this.statistics = statistics;
+        this.weights = null;
+        this.index = null;
     }
 
 
@@ -101,26 +228,187 @@ public abstract class Dictionary {
         return name;
     }
 
+    /**
+     * Returns the way in which the words of the dictionary are stored.
+     *
+     * @return the way in which the words of the dictionary are stored
+     */
+    public final DictionaryStorage getStorage() {
+        return storage;
+    }
+
+    /**
+     * Returns an estimate of the number of bytes of heap memory used by the words of the dictionary.
+     *
+     * @return an estimate of the number of bytes of heap memory used by the words of the dictionary
+     */
+    public final long estimateMemoryUsage() {
+        if (words == null) {
+            return 0;
+        }
+
+        return words.estimateMemoryUsage() + WordStore.arraySize(lengthOffsets.length, Integer.BYTES)
+                + (weights == null ? 0 : weights.estimateMemoryUsage()) + index.estimateMemoryUsage();
+    }
+
+    /**
+     * Returns the number of words of each length in the dictionary.
+     * <p>
+     * The statistics are computed when the dictionary is loaded, so this method does not look at the words.
+     *
+     * @return the number of words of each length in the dictionary
+     */
+    public final DictionaryStatistics getStatistics() {
+        return statistics;
+    }
+
     /**
      * Returns all words in the dictionary.
      *
      * @return all words in the dictionary
      */
     public final List<String> getWords() {
-        return new ArrayList<>(words);
+        requireResident();
+        return new ArrayList<>(new WordRange(words, 0, words.size()));
     }
 
     /**
      * Returns a list of all words with a length in the given range.
+     * <p>
+     * The returned list is an unmodifiable view of this {@code Dictionary}'s index, so obtaining it requires neither a
+     * scan over nor a copy of the words in the dictionary. Depending on the {@link DictionaryStorage}, a word's
+     * {@code String} may be created only when it is retrieved from the list.
      *
      * @param minLength the minimum word length (inclusive)
      * @param maxLength the maximum word length (inclusive)
      * @return a list of all words with a length in the given range
      */
     public final List<String> getWordsWithLengthInRange(final int minLength, final int maxLength) {
-        return words.parallelStream()
-                .filter(word -> word.length() >= minLength && word.length() <= maxLength)
-                .collect(Collectors.toList());
+        requireResident();
+
+        final int fromIndex = getIndexOfFirstWordWithLength(minLength);
+        final int toIndex = getIndexOfFirstWordWithLength(maxLength + 1L);
+        if (fromIndex >= toIndex) {
+            return Collections.emptyList();
+        }
+
+        return new WordRange(words, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns a list of all words with a length in the given range that satisfy the given filter.
+     * <p>
+     * Like {@link #getWordsWithLengthInRange(int, int)}, the returned list is an unmodifiable view of this
+     * {@code Dictionary}'s index. Prefixes and suffixes are found by binary searches, so only the parts of the filter
+     * that cannot be served by the index require a scan, which is limited to the words found by the index.
+     *
+     * @param filter    the filter that words must satisfy
+     * @param minLength the minimum word length (inclusive)
+     * @param maxLength the maximum word length (inclusive)
+     * @return a list of all words with a length in the given range that satisfy the given filter
+     */
+    public final List<String> getWordsMatching(final WordFilter filter, final int minLength, final int maxLength) {
+        requireResident();
+        if (filter.isEmpty()) {
+            return getWordsWithLengthInRange(minLength, maxLength);
+        }
+
+        return index.getWordsMatching(filter, minLength, maxLength);
+    }
+
+    /**
+     * Returns the number of words with a length in the given range.
+     *
+     * @param minLength the minimum word length (inclusive)
+     * @param maxLength the maximum word length (inclusive)
+     * @return the number of words with a length in the given range
+     */
+    public final int countWordsWithLengthInRange(final int minLength, final int maxLength) {
+        if (words == null) {
+            return statistics.countWordsWithLengthInRange(minLength, maxLength);
+        }
+
+        return Math.max(0, getIndexOfFirstWordWithLength(maxLength + 1L) - getIndexOfFirstWordWithLength(minLength));
+    }
+
+    /**
+     * Returns {@code true} if and only if the words in this {@code Dictionary} have weights, so that some words are
+     * more likely to be sampled than others.
+     *
+     * @return {@code true} if and only if the words in this {@code Dictionary} have weights
+     */
+    public final boolean isWeighted() {
+        return weights != null;
+    }
+
+    /**
+     * Returns {@code true} if and only if no word occurs more than once in this {@code Dictionary}.
+     * <p>
+     * Duplicates are removed while loading a dictionary, except by stores that read their words from the file
+     * directly, such as {@link DictionaryStorage#MAPPED memory-mapped} user dictionaries.
+     *
+     * @return {@code true} if and only if no word occurs more than once in this {@code Dictionary}
+     */
+    public final boolean isDistinct() {
+        return words != null && words.isDistinct();
+    }
+
+    /**
+     * Returns {@code true} if and only if the words of this {@code Dictionary} are not held in memory, but are read
+     * from its file each time words are sampled from it.
+     * <p>
+     * Of a streamed dictionary, only the {@link #getStatistics() statistics} are known, which are found by reading the
+     * file once. Methods that return or sample words throw an {@code IllegalStateException}.
+     *
+     * @return {@code true} if and only if the words of this {@code Dictionary} are not held in memory
+     * @see DictionaryStorage#STREAMING
+     */
+    public final boolean isStreamed() {
+        return words == null;
+    }
+
+    /**
+     * Returns the total weight of the words with a length in the given range, which is the number of these words if
+     * this {@code Dictionary} is not {@link #isWeighted() weighted}.
+     *
+     * @param minLength the minimum word length (inclusive)
+     * @param maxLength the maximum word length (inclusive)
+     * @return the total weight of the words with a length in the given range
+     */
+    public final double getTotalWeight(final int minLength, final int maxLength) {
+        requireResident();
+        if (weights == null) {
+            return countWordsWithLengthInRange(minLength, maxLength);
+        }
+
+        return weights.getTotalWeight(minLength, maxLength);
+    }
+
+    /**
+     * Returns a random word with a length in the given range, chosen in proportion to the weights of these words if
+     * this {@code Dictionary} is {@link #isWeighted() weighted} and uniformly otherwise.
+     * <p>
+     * This takes constant time in the number of words.
+     *
+     * @param minLength the minimum word length (inclusive)
+     * @param maxLength the maximum word length (inclusive)
+     * @param random    the source of randomness
+     * @return a random word with a length in the given range
+     * @throws IllegalStateException if there are no words with a length in the given range
+     */
+    public final String sampleWord(final int minLength, final int maxLength, final Random random) {
+        requireResident();
+        if (weights != null) {
+            return words.get(weights.sample(minLength, maxLength, random));
+        }
+
+        final int fromIndex = getIndexOfFirstWordWithLength(minLength);
+        final int toIndex = getIndexOfFirstWordWithLength(maxLength + 1L);
+        if (fromIndex >= toIndex) {
+            throw new IllegalStateException("There are no words with a length in the given range.");
+        }
+
+        return words.get(fromIndex + random.nextInt(toIndex - fromIndex));
     }
 
     /**
@@ -129,9 +417,12 @@ public abstract class Dictionary {
      * @return the shortest word in this {@code Dictionary}
      */
     public final String getShortestWord() {
-        return words.parallelStream()
-                .min(Comparator.comparingInt(String::length))
-                .orElseThrow(() -> new IllegalStateException("Dictionary should not be empty."));
+        requireResident();
+        if (words.size() == 0) {
+            throw new IllegalStateException("Dictionary should not be empty.");
+        }
+
+        return words.get(0);
     }
 
     /**
@@ -140,9 +431,52 @@ public abstract class Dictionary {
      * @return the longest word in this {@code Dictionary}
      */
     public final String getLongestWord() {
-        return words.parallelStream()
-                .max(Comparator.comparingInt(String::length))
-                .orElseThrow(() -> new IllegalStateException("Dictionary should not be empty."));
+        requireResident();
+        if (words.size() == 0) {
+            throw new IllegalStateException("Dictionary should not be empty.");
+        }
+
+        return words.get(words.size() - 1);
+    }
+
+    /**
+     * Releases the resources that the store of the words holds outside the heap, after which the words can no longer
+     * be read.
+     *
+     * @see WordStore#close()
+     */
+    final void close() {
+        if (words != null) {
+            words.close();
+        }
+    }
+
+    /**
+     * Throws an exception if this dictionary is {@link #isStreamed() streamed}.
+     *
+     * @throws IllegalStateException if this dictionary is streamed
+     */
+    private void requireResident() {
+        if (words == null) {
+            throw new IllegalStateException("The words of a streamed dictionary are not held in memory.");
+        }
+    }
+
+    /**
+     * Returns the index in {@link #words} of the first word that is at least as long as the given length.
+     *
+     * @param length a word length
+     * @return the index in {@link #words} of the first word that is at least as long as the given length
+     */
+    private int getIndexOfFirstWordWithLength(final long length) {
+        if (length <= 0) {
+            return 0;
+        }
+        if (length >= lengthOffsets.length) {
+            return words.size();
+        }
+
+        return lengthOffsets[(int) length];
     }
 
     /**
@@ -158,16 +492,55 @@ public abstract class Dictionary {
 
     /**
      * Combines the given {@code Dictionary Dictionary(s)} into a single {@code Dictionary}.
+     * <p>
+     * If exactly one {@code Dictionary} is given, that {@code Dictionary} itself is returned.
      *
      * @param dictionaries the {@code Dictionary Dictionary(s)} to combine
      * @return a {@code Dictionary} containing all words in the given {@code Dictionary Dictionary(s)}
      */
     public static Dictionary combine(final Collection<Dictionary> dictionaries) {
-        final Dictionary combinedDictionary = new SimpleDictionary();
+        if (dictionaries.size() == 1) {
+            return dictionaries.iterator().next();
+        }
 
-        dictionaries.forEach(dictionary -> combinedDictionary.words.addAll(dictionary.words));
+        final Set<String> combinedWords = new HashSet<>();
 
-        return combinedDictionary;
+        dictionaries.forEach(dictionary -> combinedWords.addAll(dictionary.getWords()));
+
+        return new SimpleDictionary(combinedWords);
+    }
+
+    /**
+     * Returns the given words as an array sorted by length and then lexicographically.
+     *
+     * @param words the words to sort
+     * @return the given words as an array sorted by length and then lexicographically
+     */
+    static String[] sortByLength(final Collection<String> words) {
+        final String[] sortedWords = words.toArray(new String[0]);
+        Arrays.sort(sortedWords, WORD_ORDER);
+        return sortedWords;
+    }
+
+    /**
+     * Returns the offsets of the first word of each length in the given array of words.
+     *
+     * @param sortedWords an array of words, sorted by length
+     * @return the offsets of the first word of each length in the given array of words
+     * @see #lengthOffsets
+     */
+    static int[] indexByLength(final String[] sortedWords) {
+        final int maxLength = sortedWords.length == 0 ? 0 : sortedWords[sortedWords.length - 1].length();
+
+        final int[] offsets = new int[maxLength + 2];
+        for (final String word : sortedWords) {
+            offsets[word.length() + 1]++;
+        }
+        for (int length = 1; length < offsets.length; length++) {
+            offsets[length] += offsets[length - 1];
+        }
+
+        return offsets;
     }
 
 
@@ -197,18 +570,26 @@ public abstract class Dictionary {
      */
     public static final class BundledDictionary extends Dictionary {
         /**
-         * A cache of previously created {@code BundledDictionary(s)}.
+         * A cache of previously created {@code BundledDictionary}s.
+         */
+        private static final DictionaryCache<BundledDictionary> CACHE =
+                new DictionaryCache<>(DictionaryCache.DEFAULT_BUDGET, CombinedDictionaryCache::remove);
+        /**
+         * The paths of the dictionary resources that have been found to be valid.
+         * <p>
+         * Resources do not change while the application runs, so paths are never invalidated.
          */
-        private static final Map<String, BundledDictionary> CACHE = new HashMap<>();
+        private static final DictionaryValidationCache VALIDATION_CACHE = new DictionaryValidationCache();
 
 
         /**
          * Constructs a new {@link BundledDictionary} for the given dictionary resource.
          *
-         * @param path the path to the dictionary resource
+         * @param path    the path to the dictionary resource
+         * @param storage the way in which the words of the dictionary should be stored
          */
-        private BundledDictionary(final String path) {
-            super(path, new File(path).getName(), getInputStream(path));
+        private BundledDictionary(final String path, final DictionaryStorage storage) {
+            super(path, new File(path).getName(), getInputStream(path), storage);
         }
 
         /**
@@ -234,12 +615,39 @@ public abstract class Dictionary {
          */
         public static BundledDictionary get(final String path, final boolean useCache) {
             synchronized (BundledDictionary.class) {
-                if (!useCache || !CACHE.containsKey(path)) {
-                    CACHE.put(path, new BundledDictionary(path));
+                final BundledDictionary cachedDictionary = useCache ? CACHE.get(path) : null;
+                if (cachedDictionary != null) {
+                    return cachedDictionary;
                 }
+
+                final BundledDictionary dictionary = new BundledDictionary(path, DEFAULT_STORAGE);
+                CACHE.put(path, dictionary);
+                CombinedDictionaryCache.clear();
+                return dictionary;
             }
+        }
+
+        /**
+         * Returns the previously created instance for the given dictionary resource if it uses the given storage, or
+         * constructs a new {@code BundledDictionary} with the given storage otherwise.
+         *
+         * @param path    the path to the dictionary resource
+         * @param storage the way in which the words of the dictionary should be stored
+         * @return the previously created instance for the given dictionary resource if it uses the given storage, or a
+         * new {@code BundledDictionary} with the given storage otherwise
+         */
+        public static BundledDictionary get(final String path, final DictionaryStorage storage) {
+            synchronized (BundledDictionary.class) {
+                final BundledDictionary cachedDictionary = CACHE.get(path);
+                if (cachedDictionary != null && cachedDictionary.getStorage() == storage) {
+                    return cachedDictionary;
+                }
 
-            return CACHE.get(path);
+                final BundledDictionary dictionary = new BundledDictionary(path, storage);
+                CACHE.put(path, dictionary);
+                CombinedDictionaryCache.clear();
+                return dictionary;
+            }
         }
 
         /**
@@ -247,6 +655,17 @@ public abstract class Dictionary {
          */
         public static void clearCache() {
             CACHE.clear();
+            VALIDATION_CACHE.clear();
+            CombinedDictionaryCache.clear();
+        }
+
+        /**
+         * Returns the cache of stored dictionaries.
+         *
+         * @return the cache of stored dictionaries
+         */
+        static DictionaryCache<BundledDictionary> getCache() {
+            return CACHE;
         }
 
 
@@ -263,12 +682,25 @@ public abstract class Dictionary {
 
         /**
          * Detects whether the dictionary at the given resource would be valid.
+         * <p>
+         * Once a resource has been found to be valid, it is not read again.
          *
          * @param path the path to the dictionary resource
          * @return {@code null} if the dictionary would be valid, or a {@code ValidationInfo} explaining why it would be
          * invalid
          */
         public static ValidationInfo validate(final String path) {
+            return VALIDATION_CACHE.validate(path, BundledDictionary::validateResource);
+        }
+
+        /**
+         * Detects whether the dictionary at the given resource would be valid by reading from it.
+         *
+         * @param path the path to the dictionary resource
+         * @return {@code null} if the dictionary would be valid, or a {@code ValidationInfo} explaining why it would be
+         * invalid
+         */
+        private static ValidationInfo validateResource(final String path) {
             final String name = new File(path).getName();
 
             try (InputStream iStream = getInputStream(path)) {
@@ -288,12 +720,23 @@ public abstract class Dictionary {
 
         /**
          * Returns an {@link InputStream} to the given dictionary resource.
+         * <p>
+         * If the build has compiled the resource into a {@link CompiledDictionary}, the compiled resource is returned
+         * instead.
          *
          * @param dictionary the location of the dictionary resource
          * @return an {@link InputStream} to the given dictionary resource
          */
         private static InputStream getInputStream(final String dictionary) {
-            return Dictionary.class.getClassLoader().getResourceAsStream(dictionary);
+            final ClassLoader classLoader = Dictionary.class.getClassLoader();
+
+            final InputStream compiledStream =
+                    classLoader.getResourceAsStream(CompiledDictionary.getCompiledPath(dictionary));
+            if (compiledStream != null) {
+                return compiledStream;
+            }
+
+            return classLoader.getResourceAsStream(dictionary);
         }
     }
 
@@ -302,18 +745,81 @@ public abstract class Dictionary {
      */
     public static final class UserDictionary extends Dictionary {
         /**
-         * A cache of previously created {@code BundledDictionary(s)}.
+         * A cache of previously created {@code UserDictionary}s.
+         */
+        private static final DictionaryCache<UserDictionary> CACHE =
+                new DictionaryCache<>(DictionaryCache.DEFAULT_BUDGET, CombinedDictionaryCache::remove);
+        /**
+         * The paths of the dictionary files that have been found to be valid.
+         * <p>
+         * Paths are invalidated by {@link #refresh(String, Executor)}.
+         */
+        private static final DictionaryValidationCache VALIDATION_CACHE = new DictionaryValidationCache();
+        /**
+         * Is invoked with each {@code UserDictionary} that is loaded from its file.
          */
-        private static final Map<String, UserDictionary> CACHE = new HashMap<>();
+        private static volatile Consumer<UserDictionary> loadListener = dictionary -> {
+        };
+
+        /**
+         * The version of the dictionary file from which this dictionary was loaded.
+         */
+        private volatile DictionaryFileStamp stamp;
+        /**
+         * {@code true} if and only if the words are read from a {@link MappedWordStore} of the dictionary file.
+         */
+        private final boolean mapped;
+        /**
+         * {@code true} if and only if the dictionary file is a {@link CompiledDictionary}.
+         */
+        private final boolean compiled;
 
 
         /**
          * Constructs a new {@code UserDictionary} for the given dictionary file.
          *
-         * @param path the absolute path to the dictionary file
+         * @param path     the absolute path to the dictionary file
+         * @param storage  the way in which the words of the dictionary should be stored
+         * @param input    the stream of the dictionary file, which computes the checksum of its contents
+         * @param stamp    the size and modification time of the dictionary file before it was read
+         * @param compiled {@code true} if and only if the dictionary file is a {@link CompiledDictionary}
+         */
+        private UserDictionary(final String path, final DictionaryStorage storage, final CheckedInputStream input,
+                               final DictionaryFileStamp stamp, final boolean compiled) {
+            super(path, new File(path).getName(), input, storage);
+            this.stamp = stamp.withHash(input.getChecksum().getValue());
+            this.mapped = false;
+            this.compiled = compiled;
+        }
+
+        /**
+         * Constructs a new {@code UserDictionary} for the given dictionary file, reading words directly from the
+         * given mapped store.
+         *
+         * @param path  the absolute path to the dictionary file
+         * @param words the store mapping the dictionary file into memory
+         * @param stamp the size and modification time of the dictionary file before it was mapped
+         */
+        private UserDictionary(final String path, final MappedWordStore words, final DictionaryFileStamp stamp) {
+            super(path, new File(path).getName(), DictionaryStorage.MAPPED, words, words.getLengthOffsets());
+            this.stamp = stamp;
+            this.mapped = true;
+            this.compiled = false;
+        }
+
+        /**
+         * Constructs a new {@link #isStreamed() streamed} {@code UserDictionary} for the given dictionary file.
+         *
+         * @param path       the absolute path to the dictionary file
+         * @param statistics the number of words of each length in the dictionary file
+         * @param stamp      the size and modification time of the dictionary file before it was read
          */
-        private UserDictionary(final String path) {
-            super(path, new File(path).getName(), getInputStream(path));
+        private UserDictionary(final String path, final DictionaryStatistics statistics,
+                               final DictionaryFileStamp stamp) {
+            super(path, new File(path).getName(), DictionaryStorage.STREAMING, statistics);
+            this.stamp = stamp;
+            this.mapped = false;
+            this.compiled = false;
         }
 
         /**
@@ -339,12 +845,45 @@ public abstract class Dictionary {
          */
         public static UserDictionary get(final String path, final boolean useCache) {
             synchronized (UserDictionary.class) {
-                if (!useCache || !CACHE.containsKey(path)) {
-                    CACHE.put(path, new UserDictionary(path));
+                final UserDictionary cachedDictionary = useCache ? CACHE.get(path) : CACHE.peek(path);
+                if (useCache && cachedDictionary != null) {
+                    return cachedDictionary;
                 }
+
+                final UserDictionary dictionary = create(path, DEFAULT_STORAGE);
+                CACHE.put(path, dictionary);
+                CombinedDictionaryCache.clear();
+                if (cachedDictionary != null) {
+                    cachedDictionary.releaseMapping();
+                }
+                return dictionary;
             }
+        }
+
+        /**
+         * Returns the previously created instance for the given dictionary file if it uses the given storage, or
+         * constructs a new {@code UserDictionary} with the given storage otherwise.
+         *
+         * @param path    the absolute path to the dictionary file
+         * @param storage the way in which the words of the dictionary should be stored
+         * @return the previously created instance for the given dictionary file if it uses the given storage, or a
+         * new {@code UserDictionary} with the given storage otherwise
+         */
+        public static UserDictionary get(final String path, final DictionaryStorage storage) {
+            synchronized (UserDictionary.class) {
+                final UserDictionary cachedDictionary = CACHE.get(path);
+                if (cachedDictionary != null && cachedDictionary.getStorage() == storage) {
+                    return cachedDictionary;
+                }
 
-            return CACHE.get(path);
+                final UserDictionary dictionary = create(path, storage);
+                CACHE.put(path, dictionary);
+                CombinedDictionaryCache.clear();
+                if (cachedDictionary != null) {
+                    cachedDictionary.releaseMapping();
+                }
+                return dictionary;
+            }
         }
 
         /**
@@ -352,6 +891,234 @@ public abstract class Dictionary {
          */
         public static void clearCache() {
             CACHE.clear();
+            VALIDATION_CACHE.clear();
+            CombinedDictionaryCache.clear();
+        }
+
+        /**
+         * Returns the cache of stored dictionaries.
+         *
+         * @return the cache of stored dictionaries
+         */
+        static DictionaryCache<UserDictionary> getCache() {
+            return CACHE;
+        }
+
+        /**
+         * Forgets whether the given dictionary file is valid, and reloads it in the background if it is in the cache
+         * and has changed since it was loaded.
+         * <p>
+         * A file has changed if its size or modification time differ and, if the hash of the loaded contents is
+         * known, its contents have a different hash. The previously loaded version remains in the cache and in use
+         * until the new version has been loaded, and also if the new version cannot be loaded, except if it reads
+         * its words from a {@link MappedWordStore}. Such a version reads the changed file, so it is removed from the
+         * cache and its mapping is released as soon as the change is detected, and the dictionary is loaded on demand
+         * until the new version is in the cache.
+         * <p>
+         * A changed file is always reloaded in full.
+         *
+         * @param path     the absolute path to the dictionary file
+         * @param executor the executor to check and reload the file on
+         * @return the dictionary that is in the cache after the check, or {@code null} if the file was not in the
+         * cache
+         */
+        static CompletableFuture<UserDictionary> refresh(final String path, final Executor executor) {
+            VALIDATION_CACHE.invalidate(path);
+
+            final UserDictionary cachedDictionary = CACHE.peek(path);
+            if (cachedDictionary == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            if (cachedDictionary.mapped && !cachedDictionary.hasSameAttributes()) {
+                cachedDictionary.removeFromCache();
+            }
+
+            return CompletableFuture.supplyAsync(cachedDictionary::reloadIfChanged, executor);
+        }
+
+        /**
+         * Sets the function that is invoked with each {@code UserDictionary} that is loaded from its file.
+         *
+         * @param listener the function that is invoked with each {@code UserDictionary} that is loaded from its file
+         */
+        static void setLoadListener(final Consumer<UserDictionary> listener) {
+            loadListener = listener;
+        }
+
+        /**
+         * Sets the function that is invoked with the path of each dictionary file that is found to be valid and was
+         * not known to be valid yet.
+         *
+         * @param listener the function that is invoked with the path of each dictionary file that is found to be valid
+         *                 and was not known to be valid yet
+         */
+        static void setValidationListener(final Consumer<String> listener) {
+            VALIDATION_CACHE.setValidationListener(listener);
+        }
+
+        /**
+         * Constructs a new {@code UserDictionary} for the given dictionary file with the given storage.
+         * <p>
+         * If the dictionary is {@link #isStreamable(String) streamable} and the storage is
+         * {@link DictionaryStorage#STREAMING}, the file is read once to find its statistics and to check its weights,
+         * and the returned dictionary is {@link #isStreamed() streamed}.
+         *
+         * @param path    the absolute path to the dictionary file
+         * @param storage the way in which the words of the dictionary should be stored
+         * @return a new {@code UserDictionary} for the given dictionary file with the given storage
+         */
+        private static UserDictionary create(final String path, final DictionaryStorage storage) {
+            final UserDictionary dictionary;
+            try {
+                final DictionaryFileStamp stamp = DictionaryFileStamp.of(Paths.get(path));
+                final boolean compiled = isCompiled(path);
+
+                final MappedWordStore mappedStore = storage == DictionaryStorage.MAPPED && !compiled
+                        ? new MappedWordStore(Paths.get(path))
+                        : null;
+                if (storage == DictionaryStorage.STREAMING && !compiled) {
+                    dictionary = new UserDictionary(path, StreamingWordSampler.readStatistics(Paths.get(path)), stamp);
+                } else if (mappedStore != null && !mappedStore.isWeighted()) {
+                    dictionary = createMapped(path, mappedStore, stamp);
+                } else {
+                    if (mappedStore != null) {
+                        mappedStore.close();
+                    }
+                    dictionary = new UserDictionary(path, storage,
+                            new CheckedInputStream(getInputStream(path), new CRC32()), stamp, compiled);
+                }
+            } catch (final IOException e) {
+                throw new IllegalArgumentException("Failed to read dictionary into memory.", e);
+            }
+
+            loadListener.accept(dictionary);
+            return dictionary;
+        }
+
+        /**
+         * Constructs a new {@code UserDictionary} that reads its words from the given mapped store, and closes the
+         * store if the dictionary cannot be constructed.
+         *
+         * @param path  the absolute path to the dictionary file
+         * @param words the store mapping the dictionary file into memory
+         * @param stamp the size and modification time of the dictionary file before it was mapped
+         * @return a new {@code UserDictionary} that reads its words from the given mapped store
+         */
+        private static UserDictionary createMapped(final String path, final MappedWordStore words,
+                                                   final DictionaryFileStamp stamp) {
+            try {
+                return new UserDictionary(path, words, stamp);
+            } catch (final IllegalArgumentException e) {
+                words.close();
+                throw e;
+            }
+        }
+
+        /**
+         * Returns {@code true} if and only if the dictionary file was a {@link CompiledDictionary} when this dictionary
+         * was loaded.
+         * <p>
+         * This is found while loading the dictionary, so that it can be looked up without reading the file.
+         *
+         * @return {@code true} if and only if the dictionary file was a {@link CompiledDictionary} when this dictionary
+         * was loaded
+         */
+        boolean isCompiled() {
+            return compiled;
+        }
+
+        /**
+         * Returns the version of the dictionary file from which this dictionary was loaded.
+         *
+         * @return the version of the dictionary file from which this dictionary was loaded
+         */
+        DictionaryFileStamp getStamp() {
+            return stamp;
+        }
+
+        /**
+         * Replaces this dictionary in the cache with a newly loaded version if its file has changed.
+         *
+         * @return the dictionary that is in the cache afterwards
+         * @see #refresh(String, Executor)
+         */
+        private UserDictionary reloadIfChanged() {
+            final Path path = Paths.get(getUid());
+
+            try {
+                final DictionaryFileStamp currentStamp = DictionaryFileStamp.of(path);
+                if (currentStamp.hasSameAttributes(stamp)) {
+                    return this;
+                }
+
+                final long hash = stamp.getHash();
+                if (hash != DictionaryFileStamp.UNKNOWN_HASH && DictionaryFileStamp.hash(path) == hash) {
+                    stamp = currentStamp.withHash(hash);
+                    return this;
+                }
+            } catch (final IOException e) {
+                throw new IllegalArgumentException("Failed to read dictionary into memory.", e);
+            }
+
+            if (mapped) {
+                removeFromCache();
+            }
+
+            final UserDictionary reloadedDictionary = create(getUid(), getStorage());
+            synchronized (UserDictionary.class) {
+                final UserDictionary cachedDictionary = CACHE.peek(getUid());
+                if (cachedDictionary != this && !(mapped && cachedDictionary == null)) {
+                    reloadedDictionary.releaseMapping();
+                    return cachedDictionary;
+                }
+
+                CACHE.put(getUid(), reloadedDictionary);
+                CombinedDictionaryCache.remove(this);
+            }
+            return reloadedDictionary;
+        }
+
+
+        /**
+         * Returns {@code true} if and only if the dictionary file still has the size and modification time it had when
+         * this dictionary was loaded.
+         *
+         * @return {@code true} if and only if the dictionary file still has the size and modification time it had when
+         * this dictionary was loaded
+         */
+        private boolean hasSameAttributes() {
+            try {
+                return DictionaryFileStamp.of(Paths.get(getUid())).hasSameAttributes(stamp);
+            } catch (final IOException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Removes this dictionary and the combinations involving it from the caches if it is the cached version of
+         * its file, and then {@link #releaseMapping() releases} the mapping of its file.
+         */
+        private void removeFromCache() {
+            synchronized (UserDictionary.class) {
+                if (CACHE.peek(getUid()) == this) {
+                    CACHE.remove(getUid());
+                    CombinedDictionaryCache.remove(this);
+                }
+            }
+            releaseMapping();
+        }
+
+        /**
+         * Releases the mapping of the dictionary file if the words are read from a {@link MappedWordStore}, so that
+         * the file is no longer held open; does nothing otherwise.
+         * <p>
+         * This must be done only once the dictionary has been dropped from the cache, because reading a word afterwards
+         * throws an {@link java.io.UncheckedIOException}.
+         */
+        private void releaseMapping() {
+            if (mapped) {
+                close();
+            }
         }
 
 
@@ -368,12 +1135,26 @@ public abstract class Dictionary {
 
         /**
          * Detects whether the dictionary at the given path would be valid.
+         * <p>
+         * Once a file has been found to be valid, it is not accessed again until it is reported to have changed
+         * through {@link #refresh(String, Executor)}.
          *
          * @param path the absolute path to the dictionary file
          * @return {@code null} if the dictionary would be valid, or a {@code ValidationInfo} explaining why it would be
          * invalid
          */
         public static ValidationInfo validate(final String path) {
+            return VALIDATION_CACHE.validate(path, UserDictionary::validateFile);
+        }
+
+        /**
+         * Detects whether the dictionary at the given path would be valid by reading from it.
+         *
+         * @param path the absolute path to the dictionary file
+         * @return {@code null} if the dictionary would be valid, or a {@code ValidationInfo} explaining why it would be
+         * invalid
+         */
+        private static ValidationInfo validateFile(final String path) {
             final File file = new File(path);
             final String name = file.getName();
 
@@ -394,6 +1175,44 @@ public abstract class Dictionary {
             return null;
         }
 
+        /**
+         * Returns {@code true} if and only if words can be sampled from the given dictionary file by a
+         * {@link StreamingWordSampler}, which is the case for all valid dictionary files except compiled ones.
+         * <p>
+         * If the dictionary is in the cache, the file is not read, but whether it {@link #isCompiled() was compiled}
+         * when it was loaded is returned instead. If the file cannot be read, it is considered streamable so that the
+         * failure is reported while sampling.
+         *
+         * @param path the absolute path to the dictionary file
+         * @return {@code true} if and only if words can be sampled from the given dictionary file by a
+         * {@link StreamingWordSampler}
+         */
+        static boolean isStreamable(final String path) {
+            final UserDictionary cachedDictionary = CACHE.peek(path);
+            if (cachedDictionary != null) {
+                return !cachedDictionary.isCompiled();
+            }
+
+            try {
+                return !isCompiled(path);
+            } catch (final IOException e) {
+                return true;
+            }
+        }
+
+        /**
+         * Returns {@code true} if and only if the given dictionary file is a {@link CompiledDictionary}.
+         *
+         * @param path the absolute path to the dictionary file
+         * @return {@code true} if and only if the given dictionary file is a {@link CompiledDictionary}
+         * @throws IOException if the file could not be read
+         */
+        private static boolean isCompiled(final String path) throws IOException {
+            try (InputStream input = new BufferedInputStream(new FileInputStream(path))) {
+                return CompiledDictionary.isCompiled(input);
+            }
+        }
+
         /**
          * Returns an {@link InputStream} of the file at the given absolute path.
          *
@@ -410,14 +1229,16 @@ public abstract class Dictionary {
     }
 
     /**
-     * An (initially) empty {@code Dictionary} without a source file.
+     * A {@code Dictionary} without a source file.
      */
     private static final class SimpleDictionary extends Dictionary {
         /**
-         * Constructs a new, empty {@code SimpleDictionary}.
+         * Constructs a new {@code SimpleDictionary} containing the given words.
+         *
+         * @param words the words in the dictionary
          */
-        SimpleDictionary() {
-            super();
+        SimpleDictionary(final Set<String> words) {
+            super(words);
         }
 
 
@@ -426,4 +1247,51 @@ public abstract class Dictionary {
             return null;
         }
     }
+
+    /**
+     * An unmodifiable view of a range of words in a {@link WordStore}.
+     */
+    private static final class WordRange extends AbstractList<String> {
+        /**
+         * The store containing the words.
+         */
+        private final WordStore store;
+        /**
+         * The index in {@link #store} of the first word in the range.
+         */
+        private final int fromIndex;
+        /**
+         * The number of words in the range.
+         */
+        private final int size;
+
+
+        /**
+         * Constructs a new {@code WordRange}.
+         *
+         * @param store     the store containing the words
+         * @param fromIndex the index of the first word in the range (inclusive)
+         * @param toIndex   the index of the last word in the range (exclusive)
+         */
+        WordRange(final WordStore store, final int fromIndex, final int toIndex) {
+            this.store = store;
+            this.fromIndex = fromIndex;
+            this.size = toIndex - fromIndex;
+        }
+
+
+        @Override
+        public String get(final int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index " + index + " is out of bounds for size " + size + ".");
+            }
+
+            return store.get(fromIndex + index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
 }
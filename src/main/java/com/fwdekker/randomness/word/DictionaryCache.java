@@ -0,0 +1,321 @@
+package com.fwdekker.randomness.word;
+
+import java.lang.ref.SoftReference;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+
+/**
+ * A cache of {@link Dictionary Dictionaries} that keeps their estimated memory usage within a budget.
+ * <p>
+ * Dictionaries are held strongly in least-recently-used order. When the total estimated memory usage of the strongly
+ * held dictionaries exceeds the budget, the least recently used dictionaries are evicted until it no longer does,
+ * except that the most recently used dictionary is never evicted. Evicted dictionaries are still held softly, so that
+ * they are returned without being reloaded until the garbage collector needs their memory.
+ * <p>
+ * Dictionaries can be pinned by their unique identifier, which is done for the active dictionaries. Pinned dictionaries
+ * are never evicted, even if they exceed the budget by themselves, so that inserting words from a set of active
+ * dictionaries that is larger than the budget does not evict and reload those dictionaries in turn.
+ * <p>
+ * The cache keeps track of the number of hits, misses, and evictions.
+ *
+ * @param <D> the type of dictionary in the cache
+ */
+final class DictionaryCache<D extends Dictionary> {
+    /**
+     * The default budget in bytes.
+     */
+    static final long DEFAULT_BUDGET = 64L * 1024 * 1024;
+
+    /**
+     * The strongly held dictionaries, in order from least to most recently used.
+     */
+    private final LinkedHashMap<String, Entry<D>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    /**
+     * The evicted dictionaries that have not been garbage collected yet, as far as is known.
+     */
+    private final Map<String, SoftReference<D>> softEntries = new HashMap<>();
+    /**
+     * Is invoked with each dictionary that is evicted.
+     */
+    private final Consumer<D> evictionListener;
+    /**
+     * The unique identifiers of the dictionaries that are never evicted.
+     */
+    private Set<String> pinnedUids = Collections.emptySet();
+
+    /**
+     * The maximum total estimated memory usage in bytes of the strongly held dictionaries.
+     */
+    private long budget;
+    /**
+     * The total estimated memory usage in bytes of the strongly held dictionaries.
+     */
+    private long memoryUsage;
+    /**
+     * The number of times a requested dictionary was in the cache.
+     */
+    private long hitCount;
+    /**
+     * The number of times a requested dictionary was not in the cache.
+     */
+    private long missCount;
+    /**
+     * The number of times a dictionary was evicted to stay within the budget.
+     */
+    private long evictionCount;
+
+
+    /**
+     * Constructs a new {@code DictionaryCache}.
+     *
+     * @param budget           the maximum total estimated memory usage in bytes of the strongly held dictionaries
+     * @param evictionListener is invoked with each dictionary that is evicted
+     */
+    DictionaryCache(final long budget, final Consumer<D> evictionListener) {
+        if (budget < 0) {
+            throw new IllegalArgumentException("The budget must be non-negative.");
+        }
+
+        this.budget = budget;
+        this.evictionListener = evictionListener;
+    }
+
+
+    /**
+     * Returns the dictionary with the given unique identifier if it is in the cache, or {@code null} otherwise.
+     *
+     * @param uid the unique identifier of the dictionary
+     * @return the dictionary with the given unique identifier if it is in the cache, or {@code null} otherwise
+     */
+    synchronized D get(final String uid) {
+        final Entry<D> entry = entries.get(uid);
+        if (entry != null) {
+            hitCount++;
+            return entry.dictionary;
+        }
+
+        final SoftReference<D> reference = softEntries.remove(uid);
+        final D softDictionary = reference == null ? null : reference.get();
+        if (softDictionary == null) {
+            missCount++;
+            return null;
+        }
+
+        hitCount++;
+        put(uid, softDictionary);
+        return softDictionary;
+    }
+
+    /**
+     * Returns the dictionary with the given unique identifier if it is in the cache, or {@code null} otherwise, without
+     * counting the request or marking the dictionary as used.
+     *
+     * @param uid the unique identifier of the dictionary
+     * @return the dictionary with the given unique identifier if it is in the cache, or {@code null} otherwise
+     */
+    synchronized D peek(final String uid) {
+        final Entry<D> entry = entries.get(uid);
+        if (entry != null) {
+            return entry.dictionary;
+        }
+
+        final SoftReference<D> reference = softEntries.get(uid);
+        return reference == null ? null : reference.get();
+    }
+
+    /**
+     * Adds the given dictionary to the cache, replacing any dictionary with the same unique identifier, and evicts the
+     * least recently used dictionaries if the budget is exceeded.
+     *
+     * @param uid        the unique identifier of the dictionary
+     * @param dictionary the dictionary to add
+     */
+    synchronized void put(final String uid, final D dictionary) {
+        softEntries.remove(uid);
+
+        final Entry<D> entry = new Entry<>(dictionary);
+        final Entry<D> previous = entries.put(uid, entry);
+        if (previous != null) {
+            memoryUsage -= previous.memoryUsage;
+        }
+        memoryUsage += entry.memoryUsage;
+
+        evict();
+    }
+
+    /**
+     * Removes the dictionary with the given unique identifier from the cache, if it is in the cache.
+     * <p>
+     * Unlike an eviction, the dictionary is not held softly afterwards, and the eviction listener is not invoked.
+     *
+     * @param uid the unique identifier of the dictionary to remove
+     */
+    synchronized void remove(final String uid) {
+        softEntries.remove(uid);
+
+        final Entry<D> entry = entries.remove(uid);
+        if (entry != null) {
+            memoryUsage -= entry.memoryUsage;
+        }
+    }
+
+    /**
+     * Sets the unique identifiers of the dictionaries that are never evicted, replacing the previously pinned ones, and
+     * evicts dictionaries that are no longer pinned if the budget is exceeded.
+     * <p>
+     * Dictionaries that are pinned but not in the cache are not loaded, but are not evicted once they are added.
+     *
+     * @param uids the unique identifiers of the dictionaries that are never evicted
+     */
+    synchronized void setPinned(final Collection<String> uids) {
+        if (pinnedUids.size() == uids.size() && pinnedUids.containsAll(uids)) {
+            return;
+        }
+
+        pinnedUids = new HashSet<>(uids);
+        evict();
+    }
+
+    /**
+     * Removes all dictionaries from the cache.
+     * <p>
+     * The counters are not reset.
+     */
+    synchronized void clear() {
+        entries.clear();
+        softEntries.clear();
+        memoryUsage = 0;
+    }
+
+    /**
+     * Returns the maximum total estimated memory usage in bytes of the strongly held dictionaries.
+     *
+     * @return the maximum total estimated memory usage in bytes of the strongly held dictionaries
+     */
+    synchronized long getBudget() {
+        return budget;
+    }
+
+    /**
+     * Sets the maximum total estimated memory usage in bytes of the strongly held dictionaries, and evicts dictionaries
+     * if the new budget is exceeded.
+     *
+     * @param budget the maximum total estimated memory usage in bytes of the strongly held dictionaries
+     */
+    synchronized void setBudget(final long budget) {
+        if (budget < 0) {
+            throw new IllegalArgumentException("The budget must be non-negative.");
+        }
+
+        this.budget = budget;
+        evict();
+    }
+
+    /**
+     * Returns the total estimated memory usage in bytes of the strongly held dictionaries.
+     *
+     * @return the total estimated memory usage in bytes of the strongly held dictionaries
+     */
+    synchronized long getMemoryUsage() {
+        return memoryUsage;
+    }
+
+    /**
+     * Returns the number of times a requested dictionary was in the cache.
+     *
+     * @return the number of times a requested dictionary was in the cache
+     */
+    synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of times a requested dictionary was not in the cache.
+     *
+     * @return the number of times a requested dictionary was not in the cache
+     */
+    synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of times a dictionary was evicted to stay within the budget.
+     *
+     * @return the number of times a dictionary was evicted to stay within the budget
+     */
+    synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("DictionaryCache[%d of %d bytes used, %d hits, %d misses, %d evictions]",
+                memoryUsage, budget, hitCount, missCount, evictionCount);
+    }
+
+
+    /**
+     * Evicts the least recently used dictionaries, except the most recently used one and the pinned ones, until the
+     * budget is no longer exceeded.
+     */
+    private void evict() {
+        if (memoryUsage <= budget) {
+            return;
+        }
+
+        softEntries.values().removeIf(reference -> reference.get() == null);
+
+        final Iterator<Map.Entry<String, Entry<D>>> iterator = entries.entrySet().iterator();
+        for (int remaining = entries.size() - 1; memoryUsage > budget && remaining > 0; remaining--) {
+            final Map.Entry<String, Entry<D>> eldest = iterator.next();
+            if (pinnedUids.contains(eldest.getKey())) {
+                continue;
+            }
+
+            final Entry<D> entry = eldest.getValue();
+            iterator.remove();
+
+            memoryUsage -= entry.memoryUsage;
+            softEntries.put(eldest.getKey(), new SoftReference<>(entry.dictionary));
+            evictionCount++;
+
+            evictionListener.accept(entry.dictionary);
+        }
+    }
+
+
+    /**
+     * A strongly held dictionary together with its estimated memory usage.
+     *
+     * @param <D> the type of dictionary
+     */
+    private static final class Entry<D extends Dictionary> {
+        /**
+         * The dictionary.
+         */
+        private final D dictionary;
+        /**
+         * The estimated memory usage of {@link #dictionary} in bytes.
+         */
+        private final long memoryUsage;
+
+
+        /**
+         * Constructs a new {@code Entry}.
+         *
+         * @param dictionary the dictionary
+         */
+        Entry(final D dictionary) {
+            this.dictionary = dictionary;
+            this.memoryUsage = dictionary.estimateMemoryUsage();
+        }
+    }
+}
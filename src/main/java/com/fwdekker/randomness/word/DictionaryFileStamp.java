@@ -0,0 +1,163 @@
+package com.fwdekker.randomness.word;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+
+/**
+ * Identifies a version of a dictionary file by its size, its modification time, and optionally a hash of its contents.
+ * <p>
+ * Comparing the size and modification time is cheap, but these may change without the contents changing, for example
+ * when a build script regenerates an identical file. The hash is then used to decide whether the file really changed.
+ */
+final class DictionaryFileStamp {
+    /**
+     * The value of {@link #getHash()} if the hash of the contents is not known.
+     */
+    static final long UNKNOWN_HASH = -1;
+    /**
+     * The size of the buffer used while hashing a file.
+     */
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The size of the file in bytes.
+     */
+    private final long size;
+    /**
+     * The time at which the file was last modified, in milliseconds since the epoch.
+     */
+    private final long lastModified;
+    /**
+     * The CRC-32 of the contents of the file, or {@link #UNKNOWN_HASH} if it is not known.
+     */
+    private final long hash;
+
+
+    /**
+     * Constructs a new {@code DictionaryFileStamp}.
+     *
+     * @param size         the size of the file in bytes
+     * @param lastModified the time at which the file was last modified, in milliseconds since the epoch
+     * @param hash         the CRC-32 of the contents of the file, or {@link #UNKNOWN_HASH} if it is not known
+     */
+    DictionaryFileStamp(final long size, final long lastModified, final long hash) {
+        this.size = size;
+        this.lastModified = lastModified;
+        this.hash = hash;
+    }
+
+
+    /**
+     * Returns a stamp of the size and modification time of the given file, without a hash.
+     *
+     * @param path the path to the file
+     * @return a stamp of the size and modification time of the given file, without a hash
+     * @throws IOException if the attributes of the file could not be read
+     */
+    static DictionaryFileStamp of(final Path path) throws IOException {
+        final BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        return new DictionaryFileStamp(attributes.size(), attributes.lastModifiedTime().toMillis(), UNKNOWN_HASH);
+    }
+
+    /**
+     * Returns the CRC-32 of the contents of the given file.
+     *
+     * @param path the path to the file
+     * @return the CRC-32 of the contents of the given file
+     * @throws IOException if the file could not be read
+     */
+    static long hash(final Path path) throws IOException {
+        final CRC32 crc = new CRC32();
+        final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                crc.update(buffer.array(), 0, buffer.limit());
+                buffer.clear();
+            }
+        }
+
+        return crc.getValue();
+    }
+
+
+    /**
+     * Returns a copy of this stamp with the given hash.
+     *
+     * @param newHash the CRC-32 of the contents of the file
+     * @return a copy of this stamp with the given hash
+     */
+    DictionaryFileStamp withHash(final long newHash) {
+        return new DictionaryFileStamp(size, lastModified, newHash);
+    }
+
+    /**
+     * Returns {@code true} if and only if this stamp and the given stamp have the same size and modification time.
+     *
+     * @param other the stamp to compare to
+     * @return {@code true} if and only if this stamp and the given stamp have the same size and modification time
+     */
+    boolean hasSameAttributes(final DictionaryFileStamp other) {
+        return this.size == other.size && this.lastModified == other.lastModified;
+    }
+
+    /**
+     * Returns the size of the file in bytes.
+     *
+     * @return the size of the file in bytes
+     */
+    long getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the time at which the file was last modified, in milliseconds since the epoch.
+     *
+     * @return the time at which the file was last modified, in milliseconds since the epoch
+     */
+    long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Returns the CRC-32 of the contents of the file, or {@link #UNKNOWN_HASH} if it is not known.
+     *
+     * @return the CRC-32 of the contents of the file, or {@link #UNKNOWN_HASH} if it is not known
+     */
+    long getHash() {
+        return hash;
+    }
+
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || this.getClass() != other.getClass()) {
+            return false;
+        }
+
+        final DictionaryFileStamp that = (DictionaryFileStamp) other;
+        return this.size == that.size && this.lastModified == that.lastModified && this.hash == that.hash;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(size, lastModified, hash);
+    }
+
+    @Override
+    public String toString() {
+        return "DictionaryFileStamp[size=" + size + ", lastModified=" + lastModified + ", hash=" + hash + "]";
+    }
+}
@@ -0,0 +1,195 @@
+package com.fwdekker.randomness.word;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+
+/**
+ * The number of words of each length in a {@link Dictionary}.
+ * <p>
+ * Statistics are computed once when a dictionary is loaded, so that questions such as the length of its shortest word
+ * can be answered without looking at its words.
+ */
+public final class DictionaryStatistics {
+    /**
+     * The statistics of a dictionary without words.
+     */
+    static final DictionaryStatistics EMPTY = new DictionaryStatistics(new int[0]);
+
+    /**
+     * The number of words of each length, indexed by length.
+     * <p>
+     * The last element is non-zero, unless the array is empty.
+     */
+    private final int[] lengthCounts;
+    /**
+     * The total number of words.
+     */
+    private final int wordCount;
+    /**
+     * The length of the shortest word, or {@code 0} if there are no words.
+     */
+    private final int minLength;
+
+
+    /**
+     * Constructs a new {@code DictionaryStatistics}.
+     *
+     * @param lengthCounts the number of words of each length, indexed by length, of which the last element is non-zero
+     *                     unless the array is empty; the array is not copied
+     */
+    private DictionaryStatistics(final int[] lengthCounts) {
+        this.lengthCounts = lengthCounts;
+
+        int count = 0;
+        int shortest = lengthCounts.length;
+        for (int length = lengthCounts.length - 1; length >= 0; length--) {
+            count += lengthCounts[length];
+            if (lengthCounts[length] > 0) {
+                shortest = length;
+            }
+        }
+        this.wordCount = count;
+        this.minLength = count == 0 ? 0 : shortest;
+    }
+
+
+    /**
+     * Returns the statistics of a dictionary with the given length offsets.
+     *
+     * @param lengthOffsets the number of words shorter than each length, indexed by length, of which the last element
+     *                      is the total number of words
+     * @return the statistics of a dictionary with the given length offsets
+     */
+    static DictionaryStatistics of(final int[] lengthOffsets) {
+        int maxLength = lengthOffsets.length - 2;
+        while (maxLength >= 0 && lengthOffsets[maxLength + 1] == lengthOffsets[maxLength]) {
+            maxLength--;
+        }
+
+        final int[] lengthCounts = new int[maxLength + 1];
+        for (int length = 0; length <= maxLength; length++) {
+            lengthCounts[length] = lengthOffsets[length + 1] - lengthOffsets[length];
+        }
+        return new DictionaryStatistics(lengthCounts);
+    }
+
+    /**
+     * Returns the statistics of a dictionary with the given number of words of each length.
+     *
+     * @param lengthCounts the number of words of each length, indexed by length, of which the last element is non-zero
+     *                     unless the array is empty; the array is not copied
+     * @return the statistics of a dictionary with the given number of words of each length
+     */
+    static DictionaryStatistics ofLengthCounts(final int[] lengthCounts) {
+        if (lengthCounts.length > 0 && lengthCounts[lengthCounts.length - 1] == 0) {
+            throw new IllegalArgumentException("The count of the longest length must be non-zero.");
+        }
+
+        return new DictionaryStatistics(lengthCounts);
+    }
+
+    /**
+     * Returns the statistics of the combination of dictionaries with the given statistics, without combining the
+     * dictionaries themselves.
+     * <p>
+     * The minimum and maximum length are exact. The counts are the sums of the counts of the given statistics, and
+     * thus count words that occur in multiple dictionaries multiple times.
+     *
+     * @param statistics the statistics of the dictionaries to combine
+     * @return the statistics of the combination of dictionaries with the given statistics
+     */
+    static DictionaryStatistics combine(final Collection<DictionaryStatistics> statistics) {
+        if (statistics.size() == 1) {
+            return statistics.iterator().next();
+        }
+
+        final int maxLength = statistics.stream().mapToInt(it -> it.lengthCounts.length).max().orElse(0) - 1;
+        final int[] lengthCounts = new int[maxLength + 1];
+        for (final DictionaryStatistics it : statistics) {
+            for (int length = 0; length < it.lengthCounts.length; length++) {
+                lengthCounts[length] += it.lengthCounts[length];
+            }
+        }
+        return new DictionaryStatistics(lengthCounts);
+    }
+
+
+    /**
+     * Returns {@code true} if and only if there are no words.
+     *
+     * @return {@code true} if and only if there are no words
+     */
+    public boolean isEmpty() {
+        return wordCount == 0;
+    }
+
+    /**
+     * Returns the total number of words.
+     *
+     * @return the total number of words
+     */
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    /**
+     * Returns the length of the shortest word.
+     *
+     * @return the length of the shortest word
+     */
+    public int getMinLength() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Dictionary should not be empty.");
+        }
+
+        return minLength;
+    }
+
+    /**
+     * Returns the length of the longest word.
+     *
+     * @return the length of the longest word
+     */
+    public int getMaxLength() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Dictionary should not be empty.");
+        }
+
+        return lengthCounts.length - 1;
+    }
+
+    /**
+     * Returns the number of words with the given length.
+     *
+     * @param length a word length
+     * @return the number of words with the given length
+     */
+    public int countWordsWithLength(final int length) {
+        if (length < 0 || length >= lengthCounts.length) {
+            return 0;
+        }
+
+        return lengthCounts[length];
+    }
+
+    /**
+     * Returns the number of words with a length in the given range.
+     *
+     * @param minLength the minimum word length (inclusive)
+     * @param maxLength the maximum word length (inclusive)
+     * @return the number of words with a length in the given range
+     */
+    public int countWordsWithLengthInRange(final int minLength, final int maxLength) {
+        int count = 0;
+        for (int length = Math.max(0, minLength); length <= Math.min(maxLength, lengthCounts.length - 1); length++) {
+            count += lengthCounts[length];
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "DictionaryStatistics[wordCount=" + wordCount + ", lengthCounts=" + Arrays.toString(lengthCounts) + "]";
+    }
+}
@@ -0,0 +1,145 @@
+package com.fwdekker.randomness.word;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+
+/**
+ * A way in which the words of a {@link Dictionary} can be stored in memory.
+ */
+public enum DictionaryStorage {
+    /**
+     * Stores each word as a separate {@code String}.
+     *
+     * @see StringWordStore
+     */
+    STRINGS("strings", StringWordStore.class, StringWordStore::new),
+    /**
+     * Stores all words in a single character array, and creates {@code String}s only for words that are sampled.
+     *
+     * @see ArenaWordStore
+     */
+    ARENA("arena", ArenaWordStore.class, ArenaWordStore::new),
+    /**
+     * Stores each word as the length of the prefix it shares with the previous word and the rest of the word, and
+     * decodes words from the nearest restart point when they are sampled.
+     *
+     * @see FrontCodedWordStore
+     */
+    FRONT_CODED("front-coded", FrontCodedWordStore.class, FrontCodedWordStore::new),
+    /**
+     * Maps dictionary files into memory and decodes words only when they are sampled.
+     * <p>
+     * Only text user dictionaries without weights can be mapped into memory; other dictionaries are stored as with
+     * {@link #ARENA}.
+     *
+     * @see MappedWordStore
+     */
+    MAPPED("memory-mapped", ArenaWordStore.class, ArenaWordStore::new),
+    /**
+     * Does not hold text user dictionaries in memory at all, but samples words from them in a single pass over their
+     * files whenever words are inserted.
+     * <p>
+     * Only the statistics of streamed dictionaries are held in memory, and they are collected in a single pass over
+     * their files as well. Streamed dictionaries cannot be combined with unique words or word filters. Dictionaries
+     * that cannot be streamed, such as bundled dictionaries and compiled dictionaries, are stored as with
+     * {@link #ARENA}.
+     *
+     * @see StreamingWordSampler
+     */
+    STREAMING("streaming", ArenaWordStore.class, ArenaWordStore::new);
+
+    /**
+     * The name of the storage.
+     */
+    private final String name;
+    /**
+     * The type of {@code WordStore} created by {@link #factory}.
+     */
+    private final Class<? extends WordStore> storeType;
+    /**
+     * Creates a {@code WordStore} containing the given words.
+     */
+    private final Function<String[], WordStore> factory;
+
+
+    /**
+     * Constructs a new storage.
+     *
+     * @param name      the name of the storage
+     * @param storeType the type of {@code WordStore} created by {@code factory}
+     * @param factory   the function which creates a {@code WordStore} containing the given words
+     */
+    DictionaryStorage(final String name, final Class<? extends WordStore> storeType,
+                      final Function<String[], WordStore> factory) {
+        this.name = name;
+        this.storeType = storeType;
+        this.factory = factory;
+    }
+
+
+    /**
+     * Returns the name of the storage.
+     *
+     * @return the name of the storage
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Creates a {@code WordStore} containing the given words in the given order.
+     *
+     * @param words the words to store
+     * @return a {@code WordStore} containing the given words in the given order
+     */
+    WordStore createStore(final String[] words) {
+        return factory.apply(words);
+    }
+
+    /**
+     * Returns a {@code WordStore} containing the words in the given store in the same order.
+     * <p>
+     * If the given store already stores its words in this way, the given store itself is returned.
+     *
+     * @param words the store containing the words to store
+     * @return a {@code WordStore} containing the words in the given store in the same order
+     */
+    WordStore createStore(final WordStore words) {
+        if (storeType.isInstance(words)) {
+            return words;
+        }
+
+        final String[] wordArray = new String[words.size()];
+        for (int i = 0; i < wordArray.length; i++) {
+            wordArray[i] = words.get(i);
+        }
+        return createStore(wordArray);
+    }
+
+    /**
+     * Returns the name of the storage.
+     *
+     * @return the name of the storage
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+
+
+    /**
+     * Returns the storage with the given name.
+     *
+     * @param name the name of the storage to return
+     * @return the storage with the given name
+     */
+    public static DictionaryStorage getStorage(final String name) {
+        return Arrays.stream(values())
+                .filter(value -> value.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new NoSuchElementException("There does not exist a dictionary storage with name "
+                        + "`" + name + "`."));
+    }
+}
@@ -0,0 +1,271 @@
+package com.fwdekker.randomness.word;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+
+/**
+ * An unmodifiable view of the words with a length in a given range in several {@link Dictionary Dictionaries}.
+ * <p>
+ * The view does not copy any words. An index into the view is mapped onto the dictionary that owns it by a binary
+ * search over the cumulative number of words in the dictionaries, after which the word is looked up in that dictionary.
+ * <p>
+ * If the view removes duplicates, a word that occurs in multiple dictionaries is included only once, so that sampling
+ * from the view is uniform over the distinct words. The duplicates are found once, when the view is constructed, by
+ * merging the dictionaries in sorted order. For each dictionary, only the sorted positions of its duplicates are
+ * stored, from which the position of the {@code n}th distinct word in that dictionary follows by a binary search.
+ */
+final class DictionaryUnion extends AbstractList<String> implements RandomAccess {
+    /**
+     * The words in each dictionary with a length in the range.
+     */
+    private final List<List<String>> parts;
+    /**
+     * The number of words in the view that are contained in the parts before each part.
+     * <p>
+     * That is, the words in {@code parts.get(i)} are found at indices {@code partOffsets[i]} up to (exclusive)
+     * {@code partOffsets[i + 1]} in the view.
+     */
+    private final int[] partOffsets;
+    /**
+     * The sorted positions in each part of the words that are excluded from the view because they occur earlier in
+     * the merged order, or {@code null} for parts without such words.
+     */
+    private final int[][] duplicates;
+
+
+    /**
+     * Constructs a new {@code DictionaryUnion}.
+     *
+     * @param parts       the words in each dictionary with a length in the range, none of which is empty
+     * @param deduplicate {@code true} if words that occur multiple times should be included only once
+     */
+    private DictionaryUnion(final List<List<String>> parts, final boolean deduplicate) {
+        this.parts = parts;
+        this.duplicates = deduplicate ? findDuplicates(parts) : new int[parts.size()][];
+
+        this.partOffsets = new int[parts.size() + 1];
+        for (int part = 0; part < parts.size(); part++) {
+            final int duplicateCount = duplicates[part] == null ? 0 : duplicates[part].length;
+            partOffsets[part + 1] = partOffsets[part] + parts.get(part).size() - duplicateCount;
+        }
+    }
+
+
+    /**
+     * Returns a view of the words with a length in the given range in the given dictionaries.
+     * <p>
+     * If only one dictionary has words in the range, and duplicates are not removed or that dictionary has no
+     * duplicates, that dictionary's own view of the range is returned.
+     *
+     * @param dictionaries the dictionaries to take words from
+     * @param minLength    the minimum word length (inclusive)
+     * @param maxLength    the maximum word length (inclusive)
+     * @param deduplicate  {@code true} if words that occur multiple times should be included only once
+     * @return a view of the words with a length in the given range in the given dictionaries
+     */
+    static List<String> of(final Collection<Dictionary> dictionaries, final int minLength, final int maxLength,
+                           final boolean deduplicate) {
+        return of(dictionaries, minLength, maxLength, WordFilter.NONE, deduplicate);
+    }
+
+    /**
+     * Returns a view of the words with a length in the given range that satisfy the given filter in the given
+     * dictionaries.
+     * <p>
+     * If only one dictionary has such words, and duplicates are not removed or that dictionary has no duplicates, that
+     * dictionary's own view of these words is returned.
+     *
+     * @param dictionaries the dictionaries to take words from
+     * @param minLength    the minimum word length (inclusive)
+     * @param maxLength    the maximum word length (inclusive)
+     * @param filter       the filter that words must satisfy
+     * @param deduplicate  {@code true} if words that occur multiple times should be included only once
+     * @return a view of the words with a length in the given range that satisfy the given filter in the given
+     * dictionaries
+     */
+    static List<String> of(final Collection<Dictionary> dictionaries, final int minLength, final int maxLength,
+                           final WordFilter filter, final boolean deduplicate) {
+        final List<List<String>> parts = new ArrayList<>(dictionaries.size());
+        boolean mayContainDuplicates = false;
+        for (final Dictionary dictionary : dictionaries) {
+            final List<String> part = dictionary.getWordsMatching(filter, minLength, maxLength);
+            if (!part.isEmpty()) {
+                parts.add(part);
+                mayContainDuplicates |= !dictionary.isDistinct();
+            }
+        }
+
+        if (parts.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (parts.size() == 1 && !(deduplicate && mayContainDuplicates)) {
+            return parts.get(0);
+        }
+
+        return new DictionaryUnion(parts, deduplicate);
+    }
+
+
+    @Override
+    public String get(final int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+
+        int part = Arrays.binarySearch(partOffsets, index);
+        if (part < 0) {
+            part = -part - 2;
+        } else {
+            while (partOffsets[part + 1] == index) {
+                part++;
+            }
+        }
+
+        return parts.get(part).get(getPosition(duplicates[part], index - partOffsets[part]));
+    }
+
+    @Override
+    public int size() {
+        return partOffsets[partOffsets.length - 1];
+    }
+
+
+    /**
+     * Returns the position in a part of the word with the given rank among the words of that part that are not
+     * duplicates.
+     * <p>
+     * If {@code k} duplicates precede the word, its position is {@code rank + k}. The {@code j}th duplicate precedes
+     * the word if and only if fewer than {@code rank + 1} non-duplicates precede that duplicate, of which there are
+     * {@code duplicates[j] - j}. Because this number does not decrease with {@code j}, {@code k} is found by a binary
+     * search.
+     *
+     * @param duplicates the sorted positions of the duplicates in the part, or {@code null} if there are none
+     * @param rank       the rank of the word among the words of the part that are not duplicates
+     * @return the position in a part of the word with the given rank among the words of that part that are not
+     * duplicates
+     */
+    static int getPosition(final int[] duplicates, final int rank) {
+        if (duplicates == null) {
+            return rank;
+        }
+
+        int low = 0;
+        int high = duplicates.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (duplicates[middle] - middle <= rank) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return rank + low;
+    }
+
+    /**
+     * Merges the given parts in sorted order and returns for each part the sorted positions of the words that are
+     * equal to a word that precedes it in the merged order, where words of earlier parts precede equal words of later
+     * parts.
+     *
+     * @param parts the parts to merge
+     * @return for each part the sorted positions of its duplicate words, or {@code null} if it has none
+     */
+    private static int[][] findDuplicates(final List<List<String>> parts) {
+        final int partCount = parts.size();
+        final int[][] orders = new int[partCount][];
+        final int[] cursors = new int[partCount];
+        final String[] heads = new String[partCount];
+        final int[][] duplicates = new int[partCount][];
+        final int[] duplicateCounts = new int[partCount];
+
+        for (int part = 0; part < partCount; part++) {
+            orders[part] = getSortedOrder(parts.get(part));
+            heads[part] = getWordInOrder(parts.get(part), orders[part], 0);
+        }
+
+        String previous = null;
+        while (true) {
+            int minPart = -1;
+            for (int part = 0; part < partCount; part++) {
+                if (heads[part] != null
+                        && (minPart < 0 || Dictionary.WORD_ORDER.compare(heads[part], heads[minPart]) < 0)) {
+                    minPart = part;
+                }
+            }
+            if (minPart < 0) {
+                break;
+            }
+
+            final int position = orders[minPart] == null ? cursors[minPart] : orders[minPart][cursors[minPart]];
+            if (heads[minPart].equals(previous)) {
+                if (duplicates[minPart] == null) {
+                    duplicates[minPart] = new int[Math.min(16, parts.get(minPart).size())];
+                } else if (duplicateCounts[minPart] == duplicates[minPart].length) {
+                    duplicates[minPart] = Arrays.copyOf(duplicates[minPart], duplicates[minPart].length * 2);
+                }
+                duplicates[minPart][duplicateCounts[minPart]++] = position;
+            } else {
+                previous = heads[minPart];
+            }
+
+            cursors[minPart]++;
+            heads[minPart] = getWordInOrder(parts.get(minPart), orders[minPart], cursors[minPart]);
+        }
+
+        for (int part = 0; part < partCount; part++) {
+            if (duplicates[part] != null) {
+                duplicates[part] = Arrays.copyOf(duplicates[part], duplicateCounts[part]);
+                Arrays.sort(duplicates[part]);
+            }
+        }
+        return duplicates;
+    }
+
+    /**
+     * Returns the positions of the words in the given part in {@link Dictionary#WORD_ORDER}, or {@code null} if the
+     * part is already in that order.
+     *
+     * @param part a list of words
+     * @return the positions of the words in the given part in {@link Dictionary#WORD_ORDER}, or {@code null} if the
+     * part is already in that order
+     */
+    private static int[] getSortedOrder(final List<String> part) {
+        String previous = part.get(0);
+        boolean sorted = true;
+        for (int position = 1; position < part.size() && sorted; position++) {
+            final String word = part.get(position);
+            sorted = Dictionary.WORD_ORDER.compare(previous, word) <= 0;
+            previous = word;
+        }
+        if (sorted) {
+            return null;
+        }
+
+        return IndexSort.sort(part.size(), (a, b) -> Dictionary.WORD_ORDER.compare(part.get(a), part.get(b)));
+    }
+
+    /**
+     * Returns the word at the given index in the given order of the given part, or {@code null} if the index is past
+     * the end of the part.
+     *
+     * @param part  a list of words
+     * @param order the positions of the words in the given part in sorted order, or {@code null} if the part is
+     *              sorted
+     * @param index the index in the given order
+     * @return the word at the given index in the given order of the given part, or {@code null} if the index is past
+     * the end of the part
+     */
+    private static String getWordInOrder(final List<String> part, final int[] order, final int index) {
+        if (index >= part.size()) {
+            return null;
+        }
+
+        return part.get(order == null ? index : order[index]);
+    }
+}
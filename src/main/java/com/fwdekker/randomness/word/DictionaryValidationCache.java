@@ -0,0 +1,78 @@
+package com.fwdekker.randomness.word;
+
+import com.intellij.openapi.ui.ValidationInfo;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+
+/**
+ * Remembers which dictionary paths have been found to be valid, so that validating them again does not access the
+ * file system.
+ * <p>
+ * Only successful validations are remembered. Failures are recomputed on every request, because they abort the
+ * operation that requested them anyway, and because a missing or empty file may be fixed at any time. A remembered
+ * path remains valid until it is {@link #invalidate(String) invalidated}, which the owner of the cache must do
+ * whenever the file at that path may have changed.
+ */
+final class DictionaryValidationCache {
+    /**
+     * The paths that have been found to be valid.
+     */
+    private final Set<String> validPaths = ConcurrentHashMap.newKeySet();
+    /**
+     * Is invoked with each path that is found to be valid and was not yet in the cache.
+     */
+    private volatile Consumer<String> validationListener = path -> {
+    };
+
+
+    /**
+     * Returns {@code null} if the given path is known to be valid, or otherwise validates it with the given function
+     * and remembers the path if it turns out to be valid.
+     *
+     * @param path      the path to validate
+     * @param validator returns {@code null} if the given path is valid, or a {@code ValidationInfo} explaining why it
+     *                  is invalid
+     * @return {@code null} if the given path is valid, or a {@code ValidationInfo} explaining why it is invalid
+     */
+    ValidationInfo validate(final String path, final Function<String, ValidationInfo> validator) {
+        if (validPaths.contains(path)) {
+            return null;
+        }
+
+        final ValidationInfo validationInfo = validator.apply(path);
+        if (validationInfo == null && validPaths.add(path)) {
+            validationListener.accept(path);
+        }
+        return validationInfo;
+    }
+
+    /**
+     * Forgets that the given path was found to be valid.
+     *
+     * @param path the path to forget
+     */
+    void invalidate(final String path) {
+        validPaths.remove(path);
+    }
+
+    /**
+     * Forgets all paths that were found to be valid.
+     */
+    void clear() {
+        validPaths.clear();
+    }
+
+    /**
+     * Sets the function that is invoked with each path that is found to be valid and was not yet in the cache.
+     *
+     * @param listener the function that is invoked with each path that is found to be valid and was not yet in the
+     *                 cache
+     */
+    void setValidationListener(final Consumer<String> listener) {
+        validationListener = listener;
+    }
+}
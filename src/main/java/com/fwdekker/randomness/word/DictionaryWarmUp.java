@@ -0,0 +1,118 @@
+package com.fwdekker.randomness.word;
+
+import com.intellij.openapi.diagnostic.Logger;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+
+/**
+ * Loads the active {@link Dictionary Dictionaries} in the background so that the first inserted word does not have to
+ * wait for them to be read.
+ * <p>
+ * The warm-up is started by {@link DictionaryWarmUpActivity} when a project is opened, and awaited by
+ * {@link WordInsertAction} before it looks up words. If the warm-up takes too long or fails, the insert action falls
+ * back to loading the dictionaries itself.
+ */
+final class DictionaryWarmUp {
+    /**
+     * The maximum number of milliseconds to wait for a running warm-up before loading the dictionaries directly.
+     */
+    static final long WAIT_TIMEOUT = 5000;
+
+    private static final Logger LOGGER = Logger.getInstance(DictionaryWarmUp.class);
+
+    /**
+     * The most recently started warm-up.
+     */
+    private static Future<?> warmUp = CompletableFuture.completedFuture(null);
+
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private DictionaryWarmUp() {
+        // Do nothing
+    }
+
+
+    /**
+     * Starts loading the active dictionaries of the given settings on the given executor, unless a warm-up is already
+     * running.
+     *
+     * @param wordSettings the settings describing which dictionaries to load
+     * @param executor     the executor to load the dictionaries on
+     * @return the running warm-up
+     */
+    static synchronized Future<?> start(final WordSettings wordSettings, final Executor executor) {
+        if (warmUp.isDone()) {
+            warmUp = CompletableFuture.runAsync(() -> warmUp(wordSettings), executor);
+        }
+
+        return warmUp;
+    }
+
+    /**
+     * Waits for the running warm-up to complete, if there is one, for at most {@link #WAIT_TIMEOUT} milliseconds.
+     * <p>
+     * Failures of the warm-up are not rethrown; the caller is expected to load the dictionaries itself afterwards,
+     * which is then either a cache hit or reports the failure in the usual way.
+     */
+    static void await() {
+        final Future<?> currentWarmUp;
+        synchronized (DictionaryWarmUp.class) {
+            currentWarmUp = warmUp;
+        }
+
+        try {
+            currentWarmUp.get(WAIT_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException | TimeoutException e) {
+            LOGGER.warn("Dictionary warm-up did not complete; loading dictionaries directly.", e);
+        }
+    }
+
+
+    /**
+     * Loads the active dictionaries of the given settings into the caches with a low thread priority.
+     * <p>
+     * {@link WordSettings#getActiveStreamedDictionaries() Streamed} dictionaries are never loaded.
+     *
+     * @param wordSettings the settings describing which dictionaries to load
+     */
+    private static void warmUp(final WordSettings wordSettings) {
+        final Thread thread = Thread.currentThread();
+        final int priority = thread.getPriority();
+        thread.setPriority(Thread.MIN_PRIORITY);
+
+        try {
+            final long startTime = System.nanoTime();
+
+            final WordFilter filter = wordSettings.getFilter();
+            final List<Dictionary> dictionaries = wordSettings.getValidActiveResidentDictionaries();
+            if (dictionaries.isEmpty()) {
+                return;
+            }
+
+            final int totalWordCount = DictionaryStatistics.combine(dictionaries.stream()
+                    .map(Dictionary::getStatistics)
+                    .collect(Collectors.toList())).getWordCount();
+            final int wordCount = CombinedDictionaryCache.getWordsMatching(dictionaries,
+                    wordSettings.getMinLength(), wordSettings.getMaxLength(), filter,
+                    wordSettings.isUniqueWords() || wordSettings.isDeduplicateWords()).size();
+
+            LOGGER.info(String.format("Warmed up %d dictionaries with %d words, of which %d are in range, in %d ms.",
+                    dictionaries.size(), totalWordCount, wordCount,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)));
+        } finally {
+            thread.setPriority(priority);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.fwdekker.randomness.word;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.startup.StartupActivity;
+import org.jetbrains.annotations.NotNull;
+
+
+/**
+ * Starts loading the active {@link Dictionary Dictionaries} on a pooled thread when a project is opened.
+ *
+ * @see DictionaryWarmUp
+ */
+public final class DictionaryWarmUpActivity implements StartupActivity, DumbAware {
+    @Override
+    public void runActivity(final @NotNull Project project) {
+        DictionaryWarmUp.start(WordSettings.getInstance(), ApplicationManager.getApplication()::executeOnPooledThread);
+    }
+}
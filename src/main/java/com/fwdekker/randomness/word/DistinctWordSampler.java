@@ -0,0 +1,56 @@
+package com.fwdekker.randomness.word;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+
+/**
+ * Samples random words from a list without replacement.
+ * <p>
+ * Words are sampled with a partial Fisher-Yates shuffle of the indices of the list, which stops after the requested
+ * number of words. The shuffle is sparse: instead of an array of all indices, it only remembers the indices that have
+ * been swapped away from their original position, of which there are at most as many as words have been sampled. The
+ * time and memory needed are therefore proportional to the number of sampled words, regardless of the size of the
+ * list.
+ */
+final class DistinctWordSampler {
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private DistinctWordSampler() {
+    }
+
+
+    /**
+     * Returns the given number of words at distinct positions of the given list, in random order, or all words of the
+     * list in random order if it contains fewer words.
+     *
+     * @param words  the words to sample from
+     * @param count  the number of words to sample
+     * @param random the source of randomness
+     * @return the given number of words at distinct positions of the given list, in random order, or all words of the
+     * list in random order if it contains fewer words
+     */
+    static List<String> sample(final List<String> words, final int count, final Random random) {
+        final int size = words.size();
+        final int sampleSize = Math.min(count, size);
+
+        final Map<Integer, Integer> swapped = new HashMap<>();
+        final List<String> sample = new ArrayList<>(sampleSize);
+        for (int i = 0; i < sampleSize; i++) {
+            final int j = i + random.nextInt(size - i);
+
+            final Integer chosen = swapped.get(j);
+            final Integer replacement = swapped.remove(i);
+            if (j != i) {
+                swapped.put(j, replacement == null ? i : replacement);
+            }
+
+            sample.add(words.get(chosen == null ? j : chosen));
+        }
+        return sample;
+    }
+}
@@ -0,0 +1,88 @@
+package com.fwdekker.randomness.word;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+
+/**
+ * An unmodifiable view of the words in a {@link WordStore} that are found in given ranges of an ordering of that store.
+ * <p>
+ * An index into the view is mapped onto its range by a binary search over the cumulative sizes of the ranges, so
+ * retrieving a word takes logarithmic time in the number of ranges and constant time in the number of words.
+ */
+final class FilteredWordList extends AbstractList<String> implements RandomAccess {
+    /**
+     * The store containing the words.
+     */
+    private final WordStore words;
+    /**
+     * The positions in {@link #words} of the words in the ordering to which the ranges apply, or {@code null} if the
+     * ranges apply to the positions in {@link #words} directly.
+     */
+    private final int[] order;
+    /**
+     * The index in the ordering of the first word of each range.
+     */
+    private final int[] rangeStarts;
+    /**
+     * The number of words in the view that are contained in the ranges before each range.
+     */
+    private final int[] rangeOffsets;
+
+
+    /**
+     * Constructs a new {@code FilteredWordList}.
+     *
+     * @param words       the store containing the words
+     * @param order       the positions in {@code words} of the words in the ordering to which the ranges apply, or
+     *                    {@code null} if the ranges apply to the positions in {@code words} directly; the array is not
+     *                    copied
+     * @param rangeStarts the index in the ordering of the first word of each range
+     * @param rangeEnds   the index in the ordering after the last word of each range
+     */
+    FilteredWordList(final WordStore words, final int[] order, final int[] rangeStarts, final int[] rangeEnds) {
+        this.words = words;
+        this.order = order;
+
+        int rangeCount = 0;
+        for (int range = 0; range < rangeStarts.length; range++) {
+            if (rangeEnds[range] > rangeStarts[range]) {
+                rangeCount++;
+            }
+        }
+
+        this.rangeStarts = new int[rangeCount];
+        this.rangeOffsets = new int[rangeCount + 1];
+        int nonEmptyRange = 0;
+        for (int range = 0; range < rangeStarts.length; range++) {
+            if (rangeEnds[range] > rangeStarts[range]) {
+                this.rangeStarts[nonEmptyRange] = rangeStarts[range];
+                this.rangeOffsets[nonEmptyRange + 1] =
+                        this.rangeOffsets[nonEmptyRange] + rangeEnds[range] - rangeStarts[range];
+                nonEmptyRange++;
+            }
+        }
+    }
+
+
+    @Override
+    public String get(final int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+
+        int range = Arrays.binarySearch(rangeOffsets, index);
+        if (range < 0) {
+            range = -range - 2;
+        }
+
+        final int orderIndex = rangeStarts[range] + index - rangeOffsets[range];
+        return words.get(order == null ? orderIndex : order[orderIndex]);
+    }
+
+    @Override
+    public int size() {
+        return rangeOffsets[rangeOffsets.length - 1];
+    }
+}
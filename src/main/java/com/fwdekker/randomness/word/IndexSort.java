@@ -0,0 +1,97 @@
+package com.fwdekker.randomness.word;
+
+import java.util.function.IntBinaryOperator;
+
+
+/**
+ * Sorts the positions of the elements of a sequence by comparing the elements at those positions.
+ * <p>
+ * Unlike sorting an {@code Integer[]} with {@link java.util.Arrays#sort(Object[], java.util.Comparator)}, the
+ * positions are never boxed, so sorting the positions of a million words takes a single {@code int[]} and a buffer of
+ * the same size instead of a million {@code Integer} objects. The sort is a stable merge sort that uses insertion sort
+ * for short runs and skips merges of runs that are already in order.
+ */
+final class IndexSort {
+    /**
+     * The length below which a run is sorted with insertion sort instead of being split further.
+     */
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private IndexSort() {
+        // Do nothing
+    }
+
+
+    /**
+     * Returns the positions {@code 0} up to {@code size} in the order of the elements at those positions.
+     * <p>
+     * Positions of equal elements remain in increasing order.
+     *
+     * @param size       the number of elements in the sequence
+     * @param comparator compares the elements at the two given positions, returning a negative number, zero, or a
+     *                   positive number if the first is less than, equal to, or greater than the second
+     * @return the positions {@code 0} up to {@code size} in the order of the elements at those positions
+     */
+    static int[] sort(final int size, final IntBinaryOperator comparator) {
+        final int[] order = new int[size];
+        for (int position = 0; position < size; position++) {
+            order[position] = position;
+        }
+
+        mergeSort(order.clone(), order, 0, size, comparator);
+        return order;
+    }
+
+
+    /**
+     * Sorts the given range of {@code target} using {@code source} as a buffer.
+     * <p>
+     * Both arrays must contain the same positions in the given range, and the roles of the arrays alternate between
+     * levels of the recursion so that the merged runs never have to be copied back.
+     *
+     * @param source     a buffer containing the same positions as {@code target} in the given range
+     * @param target     the array to sort the given range of
+     * @param from       the index of the first position to sort (inclusive)
+     * @param to         the index of the last position to sort (exclusive)
+     * @param comparator compares the elements at the two given positions
+     */
+    private static void mergeSort(final int[] source, final int[] target, final int from, final int to,
+                                  final IntBinaryOperator comparator) {
+        if (to - from < INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                final int position = target[i];
+
+                int j = i;
+                while (j > from && comparator.applyAsInt(target[j - 1], position) > 0) {
+                    target[j] = target[j - 1];
+                    j--;
+                }
+                target[j] = position;
+            }
+            return;
+        }
+
+        final int middle = (from + to) >>> 1;
+        mergeSort(target, source, from, middle, comparator);
+        mergeSort(target, source, middle, to, comparator);
+
+        if (comparator.applyAsInt(source[middle - 1], source[middle]) <= 0) {
+            System.arraycopy(source, from, target, from, to - from);
+            return;
+        }
+
+        int left = from;
+        int right = middle;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < middle && comparator.applyAsInt(source[left], source[right]) <= 0)) {
+                target[i] = source[left++];
+            } else {
+                target[i] = source[right++];
+            }
+        }
+    }
+}
@@ -0,0 +1,338 @@
+package com.fwdekker.randomness.word;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+
+/**
+ * A {@link WordStore} that reads its words directly from a memory-mapped UTF-8 file with one word per line.
+ * <p>
+ * Loading the store only records the offset in the file at which each line starts, so the heap usage is eight bytes
+ * per word regardless of the length of the words, and a word is decoded only when it is requested. The file is mapped
+ * in segments, so files larger than 2 GB are supported as well.
+ * <p>
+ * The words are ordered by length, and words of the same length are ordered as they appear in the file. Unlike the
+ * other stores, duplicate lines are not removed.
+ * <p>
+ * The mapping reads the file as it is on disk, so the store must no longer be used once the file has changed. The
+ * {@link Dictionary.UserDictionary} that owns the store therefore drops it as soon as a change is detected, and then
+ * {@link #close() closes} it. Closing releases the mapping immediately rather than when the garbage collector gets to
+ * it, which matters because a mapped file cannot be overwritten on some platforms, such as Windows.
+ * <p>
+ * Lines end at a line feed, a carriage return, or a carriage return followed by a line feed, as in
+ * {@link ParsedDictionary}. Lines are not split into words and {@link ParsedDictionary weights}. Whether the file
+ * contains weights is recorded while indexing, so that the caller can load such files in another way instead.
+ */
+final class MappedWordStore implements WordStore {
+    /**
+     * The default size in bytes of each mapped segment of the file.
+     */
+    private static final int DEFAULT_SEGMENT_SIZE = 1 << 30;
+    /**
+     * The initial capacity of the buffers used while indexing the file.
+     */
+    private static final int INITIAL_CAPACITY = 1024;
+
+    /**
+     * The mapped segments of the file, each of which except the last is {@link #segmentSize} bytes long.
+     */
+    private final MappedByteBuffer[] segments;
+    /**
+     * The size in bytes of each segment in {@link #segments}.
+     */
+    private final int segmentSize;
+    /**
+     * The size of the file in bytes.
+     */
+    private final long fileSize;
+    /**
+     * The offset in the file at which each word starts, sorted by the length of the word.
+     */
+    private final long[] starts;
+    /**
+     * The index in {@link #starts} of the first word of each length.
+     *
+     * @see Dictionary#getWordsWithLengthInRange(int, int)
+     */
+    private final int[] lengthOffsets;
+    /**
+     * {@code true} if and only if a line in the file contains a {@link ParsedDictionary#WEIGHT_SEPARATOR}.
+     */
+    private final boolean weighted;
+    /**
+     * Guards {@link #closed}, so that the mapping is not released while a word is read from it.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /**
+     * {@code true} if and only if the mapping has been released.
+     */
+    private boolean closed;
+
+
+    /**
+     * Constructs a new {@code MappedWordStore} for the given file.
+     *
+     * @param path the path to the dictionary file
+     * @throws IOException if the file could not be mapped
+     */
+    MappedWordStore(final Path path) throws IOException {
+        this(path, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * Constructs a new {@code MappedWordStore} for the given file, mapping the file in segments of the given size.
+     *
+     * @param path        the path to the dictionary file
+     * @param segmentSize the size in bytes of each mapped segment
+     * @throws IOException if the file could not be mapped
+     */
+    MappedWordStore(final Path path, final int segmentSize) throws IOException {
+        this.segmentSize = segmentSize;
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            fileSize = channel.size();
+
+            segments = new MappedByteBuffer[Math.toIntExact((fileSize + segmentSize - 1) / segmentSize)];
+            for (int i = 0; i < segments.length; i++) {
+                final long position = (long) i * segmentSize;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(segmentSize, fileSize - position));
+            }
+        }
+
+        long[] lineStarts = new long[INITIAL_CAPACITY];
+        int[] lineLengths = new int[INITIAL_CAPACITY];
+        int lineCount = 0;
+        int maxLength = 0;
+        boolean hasSeparator = false;
+
+        long position = 0;
+        while (position < fileSize) {
+            if (lineCount == lineStarts.length) {
+                lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+                lineLengths = Arrays.copyOf(lineLengths, lineCount * 2);
+            }
+
+            lineStarts[lineCount] = position;
+
+            int length = 0;
+            byte current = 0;
+            for (; position < fileSize; position++) {
+                current = byteAt(position);
+                if (isLineBreak(current)) {
+                    break;
+                }
+                hasSeparator |= current == ParsedDictionary.WEIGHT_SEPARATOR;
+                length += getUtf16Length(current);
+            }
+            if (current == '\r' && position + 1 < fileSize && byteAt(position + 1) == '\n') {
+                position++;
+            }
+            position++;
+
+            lineLengths[lineCount] = length;
+            maxLength = Math.max(maxLength, length);
+            lineCount++;
+        }
+
+        weighted = hasSeparator;
+        lengthOffsets = new int[maxLength + 2];
+        for (int i = 0; i < lineCount; i++) {
+            lengthOffsets[lineLengths[i] + 1]++;
+        }
+        for (int length = 1; length < lengthOffsets.length; length++) {
+            lengthOffsets[length] += lengthOffsets[length - 1];
+        }
+
+        final int[] nextPosition = Arrays.copyOf(lengthOffsets, lengthOffsets.length);
+        starts = new long[lineCount];
+        for (int i = 0; i < lineCount; i++) {
+            starts[nextPosition[lineLengths[i]]++] = lineStarts[i];
+        }
+    }
+
+
+    @Override
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * Returns the word at the given index.
+     * <p>
+     * The word is read from the file as it currently is. If the file has been truncated since it was mapped, reading
+     * past its new end raises an {@code InternalError} for the memory access fault, which is reported as an
+     * {@code UncheckedIOException} instead so that the caller can reload the dictionary. The same exception is thrown
+     * if the store has been {@link #close() closed}, which happens once the file is known to have changed.
+     *
+     * @param index the index of the word to return
+     * @return the word at the given index
+     * @throws UncheckedIOException if the file has been truncated since it was mapped or the store has been closed
+     */
+    @Override
+    public String get(final int index) {
+        final long start = starts[index];
+
+        lock.readLock().lock();
+        try {
+            if (closed) {
+                throw new UncheckedIOException(new IOException("The dictionary file is no longer mapped."));
+            }
+
+            long end = start;
+            while (end < fileSize && !isLineBreak(byteAt(end))) {
+                end++;
+            }
+
+            final byte[] bytes = new byte[Math.toIntExact(end - start)];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = byteAt(start + i);
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        } catch (final InternalError e) {
+            throw new UncheckedIOException(new IOException("The dictionary file changed after it was mapped.", e));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public long estimateMemoryUsage() {
+        return WordStore.arraySize(starts.length, Long.BYTES)
+                + WordStore.arraySize(lengthOffsets.length, Integer.BYTES)
+                + WordStore.arraySize(segments.length, Integer.BYTES);
+    }
+
+    /**
+     * Releases the mapping of the file, after which the words can no longer be read.
+     * <p>
+     * Waits for words that are being read to be read, so that the mapping is never accessed after it has been
+     * released. If the mapping cannot be released in this JVM, it is released when the store is garbage collected.
+     */
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            for (final MappedByteBuffer segment : segments) {
+                unmap(segment);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isSorted() {
+        return false;
+    }
+
+    @Override
+    public boolean isDistinct() {
+        return false;
+    }
+
+    /**
+     * Returns the index of the first word of each length.
+     *
+     * @return the index of the first word of each length
+     */
+    int[] getLengthOffsets() {
+        return lengthOffsets.clone();
+    }
+
+    /**
+     * Returns {@code true} if and only if a line in the file contains a weight.
+     *
+     * @return {@code true} if and only if a line in the file contains a weight
+     */
+    boolean isWeighted() {
+        return weighted;
+    }
+
+
+    /**
+     * Returns the byte at the given position in the file.
+     *
+     * @param position a position in the file
+     * @return the byte at the given position in the file
+     */
+    private byte byteAt(final long position) {
+        return segments[(int) (position / segmentSize)].get((int) (position % segmentSize));
+    }
+
+    /**
+     * Returns {@code true} if and only if the given byte ends a line.
+     *
+     * @param utf8Byte a byte of UTF-8 encoded text
+     * @return {@code true} if and only if the given byte ends a line
+     */
+    private static boolean isLineBreak(final byte utf8Byte) {
+        return utf8Byte == '\n' || utf8Byte == '\r';
+    }
+
+    /**
+     * Releases the mapping of the given buffer immediately instead of when the buffer is garbage collected.
+     * <p>
+     * There is no public API for this, so the cleaner of the buffer is invoked through {@code sun.misc.Unsafe} on
+     * Java 9 and later, and through {@code sun.nio.ch.DirectBuffer} on Java 8. If neither is accessible, nothing
+     * happens, and the mapping is released when the buffer is garbage collected.
+     *
+     * @param buffer the buffer whose mapping to release; the buffer must not be accessed afterwards
+     * @return {@code true} if and only if the mapping was released
+     */
+    private static boolean unmap(final MappedByteBuffer buffer) {
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            try {
+                final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                invokeCleaner.invoke(theUnsafe.get(null), buffer);
+            } catch (final NoSuchMethodException e) {
+                final Object cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner").invoke(buffer);
+                if (cleaner == null) {
+                    return false;
+                }
+                Class.forName("sun.misc.Cleaner").getMethod("clean").invoke(cleaner);
+            }
+            return true;
+        } catch (final ReflectiveOperationException | SecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the number of UTF-16 characters that the given UTF-8 byte contributes to the decoded string.
+     * <p>
+     * Continuation bytes contribute nothing, the first byte of a four-byte sequence contributes a surrogate pair, and
+     * all other bytes contribute a single character.
+     *
+     * @param utf8Byte a byte of UTF-8 encoded text
+     * @return the number of UTF-16 characters that the given UTF-8 byte contributes to the decoded string
+     */
+    static int getUtf16Length(final byte utf8Byte) {
+        if ((utf8Byte & 0xC0) == 0x80) {
+            return 0;
+        }
+        if ((utf8Byte & 0xF8) == 0xF0) {
+            return 2;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,423 @@
+package com.fwdekker.randomness.word;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RecursiveAction;
+
+
+/**
+ * The words of a text dictionary, and their weights if the dictionary has any.
+ * <p>
+ * A text dictionary contains one word per line. A line may contain a weight after the word, separated from it by a
+ * tab, in which case the probability that the word is generated is proportional to its weight. Weights must be finite
+ * and positive, and words without a weight in a dictionary that has weights have weight {@code 1}. The weights of a
+ * word that occurs multiple times are added together.
+ * <p>
+ * Large dictionaries are parsed in parallel. The text is read in chunks of up to a few megabytes that end at a line
+ * break, and each chunk is decoded and split into words by a task on the common fork/join pool while the next chunk is
+ * read. The words of all chunks are then sorted in parallel, after which duplicates are adjacent and are removed in a
+ * single pass.
+ */
+final class ParsedDictionary {
+    /**
+     * The character that separates a word from its weight.
+     */
+    static final char WEIGHT_SEPARATOR = '\t';
+    /**
+     * The maximum number of bytes that is read before the words in them are parsed by a separate task.
+     */
+    static final int CHUNK_SIZE = 4 * 1024 * 1024;
+    /**
+     * The number of bytes in the first chunk, which is doubled for each next chunk until it reaches
+     * {@link #CHUNK_SIZE}, so that small dictionaries do not need large buffers.
+     */
+    private static final int FIRST_CHUNK_SIZE = 64 * 1024;
+
+    /**
+     * The distinct words, sorted by length and then lexicographically.
+     */
+    private final String[] words;
+    /**
+     * The weight of each word in {@link #words}, or {@code null} if the dictionary has no weights.
+     */
+    private final float[] weights;
+
+
+    /**
+     * Constructs a new {@code ParsedDictionary}.
+     *
+     * @param words   the distinct words, sorted by length and then lexicographically
+     * @param weights the weight of each word, or {@code null} if the dictionary has no weights
+     */
+    ParsedDictionary(final String[] words, final float[] weights) {
+        this.words = words;
+        this.weights = weights;
+    }
+
+
+    /**
+     * Parses the text dictionary in the given stream.
+     *
+     * @param input the {@code InputStream} containing the text, with one word per line
+     * @return the words in the given stream and their weights
+     * @throws IOException if the text could not be read or contains an invalid weight
+     */
+    static ParsedDictionary read(final InputStream input) throws IOException {
+        return read(input, CHUNK_SIZE);
+    }
+
+    /**
+     * Parses the text dictionary in the given stream, parsing chunks of at most the given number of bytes in parallel.
+     *
+     * @param input     the {@code InputStream} containing the text, with one word per line
+     * @param chunkSize the maximum number of bytes that is read before the words in them are parsed by a separate
+     *                  task
+     * @return the words in the given stream and their weights
+     * @throws IOException if the text could not be read or contains an invalid weight
+     */
+    static ParsedDictionary read(final InputStream input, final int chunkSize) throws IOException {
+        final List<ChunkParser> parsers = new ArrayList<>();
+
+        try (InputStream stream = input) {
+            byte[] pending = new byte[0];
+            int nextChunkSize = Math.min(FIRST_CHUNK_SIZE, chunkSize);
+            boolean endOfInput = false;
+            while (!endOfInput) {
+                final byte[] buffer = Arrays.copyOf(pending, pending.length + nextChunkSize);
+                final int read = readFully(stream, buffer, pending.length, nextChunkSize);
+                final int length = pending.length + read;
+                endOfInput = read < nextChunkSize;
+                nextChunkSize = Math.min(nextChunkSize * 2, chunkSize);
+
+                final int end = endOfInput ? length : findChunkEnd(buffer, length);
+                if (end == 0 && !endOfInput) {
+                    final ChunkParser parser = readRemainder(stream, buffer, length);
+                    parser.fork();
+                    parsers.add(parser);
+                    break;
+                }
+                if (end > 0) {
+                    final ChunkParser parser = new ChunkParser(buffer, end);
+                    parser.fork();
+                    parsers.add(parser);
+                }
+                pending = Arrays.copyOfRange(buffer, end, length);
+            }
+        } finally {
+            parsers.forEach(ChunkParser::quietlyJoin);
+        }
+
+        int lineOffset = 0;
+        for (final ChunkParser parser : parsers) {
+            if (parser.isCompletedAbnormally()) {
+                throw new IOException("Failed to parse dictionary.", parser.getException());
+            }
+            if (parser.invalidWeight != null) {
+                throw new IOException("Invalid weight on line " + (lineOffset + parser.invalidWeightLine) + ".",
+                        parser.invalidWeight.getCause());
+            }
+            lineOffset += parser.lineCount;
+        }
+
+        if (parsers.stream().allMatch(parser -> parser.weights == null)) {
+            return new ParsedDictionary(mergeWords(parsers), null);
+        }
+        return mergeWeightedWords(parsers);
+    }
+
+    /**
+     * Parses the given weight.
+     *
+     * @param weight     the weight to parse
+     * @param lineNumber the one-based number of the line containing the weight
+     * @return the parsed weight
+     * @throws IOException if the weight is not a finite, positive number
+     */
+    static double parseWeight(final String weight, final int lineNumber) throws IOException {
+        final double value;
+        try {
+            value = Double.parseDouble(weight.trim());
+        } catch (final NumberFormatException e) {
+            throw new IOException("Invalid weight on line " + lineNumber + ".", e);
+        }
+
+        if (!(value > 0) || Double.isInfinite(value)) {
+            throw new IOException("Invalid weight on line " + lineNumber + ".");
+        }
+        return value;
+    }
+
+
+    /**
+     * Returns the distinct words, sorted by length and then lexicographically.
+     *
+     * @return the distinct words, sorted by length and then lexicographically
+     */
+    String[] getWords() {
+        return words;
+    }
+
+    /**
+     * Returns the weight of each word in {@link #getWords()}, or {@code null} if the dictionary has no weights.
+     *
+     * @return the weight of each word in {@link #getWords()}, or {@code null} if the dictionary has no weights
+     */
+    float[] getWeights() {
+        return weights;
+    }
+
+
+    /**
+     * Reads bytes from the given stream into the given buffer until the given number of bytes has been read or the
+     * stream ends.
+     *
+     * @param input  the stream to read from
+     * @param buffer the buffer to read into
+     * @param offset the index in the buffer at which to store the first byte
+     * @param length the number of bytes to read
+     * @return the number of bytes that were read, which is less than {@code length} only if the stream has ended
+     * @throws IOException if the stream could not be read
+     */
+    private static int readFully(final InputStream input, final byte[] buffer, final int offset, final int length)
+            throws IOException {
+        int total = 0;
+        while (total < length) {
+            final int read = input.read(buffer, offset + total, length - total);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    /**
+     * Returns a parser for the given bytes followed by the remainder of the given stream.
+     * <p>
+     * This is used when a chunk contains no line break, in which case carrying the chunk over to the next one would
+     * copy the growing line in every round. Instead, the remainder of the stream is read into a buffer that doubles in
+     * size when it is full, and is parsed by a single task.
+     *
+     * @param input  the stream to read the remainder of
+     * @param buffer the bytes that have been read so far
+     * @param length the number of bytes in the buffer that have been read so far
+     * @return a parser for the given bytes followed by the remainder of the given stream
+     * @throws IOException if the stream could not be read
+     */
+    private static ChunkParser readRemainder(final InputStream input, final byte[] buffer, final int length)
+            throws IOException {
+        byte[] remainder = buffer;
+        int total = length;
+        while (true) {
+            if (total == remainder.length) {
+                remainder = Arrays.copyOf(remainder, Math.max(remainder.length * 2, FIRST_CHUNK_SIZE));
+            }
+
+            final int read = input.read(remainder, total, remainder.length - total);
+            if (read < 0) {
+                return new ChunkParser(remainder, total);
+            }
+            total += read;
+        }
+    }
+
+    /**
+     * Returns the index after the last line break in the given buffer, or {@code 0} if it contains no line break.
+     * <p>
+     * Both line feeds and carriage returns end a line. A carriage return in the last byte of the buffer is ignored,
+     * because the line feed that may follow it in the next chunk belongs to the same line break. A line break never
+     * occurs inside a multi-byte UTF-8 sequence, so the bytes before this index can be parsed independently of the
+     * bytes after it.
+     *
+     * @param buffer the buffer to search
+     * @param length the number of bytes in the buffer to search
+     * @return the index after the last line break in the given buffer, or {@code 0} if it contains no line break
+     */
+    private static int findChunkEnd(final byte[] buffer, final int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (buffer[i] == '\n' || (buffer[i] == '\r' && i < length - 1)) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the distinct words parsed by the given parsers, none of which found a weight.
+     *
+     * @param parsers the parsers that parsed the dictionary
+     * @return the distinct words parsed by the given parsers, sorted by length and then lexicographically
+     */
+    private static String[] mergeWords(final List<ChunkParser> parsers) {
+        final String[] allWords = new String[parsers.stream().mapToInt(parser -> parser.words.size()).sum()];
+        int next = 0;
+        for (final ChunkParser parser : parsers) {
+            for (final String word : parser.words) {
+                allWords[next++] = word;
+            }
+        }
+        Arrays.parallelSort(allWords, Dictionary.WORD_ORDER);
+
+        int distinctCount = 0;
+        for (final String word : allWords) {
+            if (distinctCount == 0 || !word.equals(allWords[distinctCount - 1])) {
+                allWords[distinctCount++] = word;
+            }
+        }
+        return Arrays.copyOf(allWords, distinctCount);
+    }
+
+    /**
+     * Returns the distinct words parsed by the given parsers and the sums of their weights, where words without a
+     * weight have weight {@code 1}.
+     *
+     * @param parsers the parsers that parsed the dictionary
+     * @return the distinct words parsed by the given parsers and the sums of their weights
+     */
+    private static ParsedDictionary mergeWeightedWords(final List<ChunkParser> parsers) {
+        final Map<String, Double> weightMap = new HashMap<>();
+        for (final ChunkParser parser : parsers) {
+            for (int i = 0; i < parser.words.size(); i++) {
+                weightMap.merge(parser.words.get(i), parser.weights == null ? 1.0 : parser.weights[i], Double::sum);
+            }
+        }
+
+        final String[] sortedWords = Dictionary.sortByLength(weightMap.keySet());
+        final float[] weights = new float[sortedWords.length];
+        for (int i = 0; i < sortedWords.length; i++) {
+            weights[i] = (float) Math.min(Float.MAX_VALUE, weightMap.get(sortedWords[i]));
+        }
+        return new ParsedDictionary(sortedWords, weights);
+    }
+
+
+    /**
+     * Splits a chunk of a text dictionary into words and weights.
+     * <p>
+     * Lines end at a line feed, a carriage return, or a carriage return followed by a line feed. The chunk must end at
+     * the end of a line or at the end of the dictionary.
+     */
+    private static final class ChunkParser extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The UTF-8 encoded text of the chunk, which is released once it has been parsed.
+         */
+        private byte[] bytes;
+        /**
+         * The number of bytes in {@link #bytes} that belong to the chunk.
+         */
+        private final int length;
+        /**
+         * The word on each line of the chunk, in order.
+         */
+        private final List<String> words = new ArrayList<>();
+        /**
+         * The weight of each word in {@link #words}, or {@code null} if no line in the chunk has a weight.
+         * <p>
+         * The array may be longer than {@link #words}.
+         */
+        private double[] weights;
+        /**
+         * The number of lines in the chunk.
+         */
+        private int lineCount;
+        /**
+         * The exception describing the first invalid weight in the chunk, or {@code null} if all weights are valid.
+         */
+        private IOException invalidWeight;
+        /**
+         * The one-based number within the chunk of the line containing {@link #invalidWeight}.
+         */
+        private int invalidWeightLine;
+
+
+        /**
+         * Constructs a new {@code ChunkParser}.
+         *
+         * @param bytes  the UTF-8 encoded text of the chunk; the array is not copied
+         * @param length the number of bytes in {@code bytes} that belong to the chunk
+         */
+        ChunkParser(final byte[] bytes, final int length) {
+            this.bytes = bytes;
+            this.length = length;
+        }
+
+
+        @Override
+        protected void compute() {
+            int lineStart = 0;
+            for (int i = 0; i < length && invalidWeight == null; i++) {
+                if (bytes[i] == '\n' || bytes[i] == '\r') {
+                    addLine(lineStart, i);
+                    if (bytes[i] == '\r' && i + 1 < length && bytes[i + 1] == '\n') {
+                        i++;
+                    }
+                    lineStart = i + 1;
+                }
+            }
+            if (lineStart < length && invalidWeight == null) {
+                addLine(lineStart, length);
+            }
+
+            bytes = null;
+        }
+
+        /**
+         * Adds the word and weight on the line between the given indices.
+         *
+         * @param start the index of the first byte of the line
+         * @param end   the index after the last byte of the line, excluding the line break
+         */
+        private void addLine(final int start, final int end) {
+            lineCount++;
+
+            int separator = start;
+            while (separator < end && bytes[separator] != WEIGHT_SEPARATOR) {
+                separator++;
+            }
+
+            if (separator == end && weights == null) {
+                words.add(decode(start, end));
+                return;
+            }
+
+            if (weights == null) {
+                weights = new double[Math.max(16, words.size() * 2)];
+                Arrays.fill(weights, 0, words.size(), 1.0);
+            } else if (weights.length == words.size()) {
+                weights = Arrays.copyOf(weights, weights.length * 2);
+            }
+
+            if (separator == end) {
+                weights[words.size()] = 1.0;
+            } else {
+                try {
+                    weights[words.size()] = parseWeight(decode(separator + 1, end), lineCount);
+                } catch (final IOException e) {
+                    invalidWeight = e;
+                    invalidWeightLine = lineCount;
+                    return;
+                }
+            }
+            words.add(decode(start, separator));
+        }
+
+        /**
+         * Decodes the bytes between the given indices.
+         *
+         * @param start the index of the first byte to decode
+         * @param end   the index after the last byte to decode
+         * @return the decoded bytes
+         */
+        private String decode(final int start, final int end) {
+            return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+        }
+    }
+}
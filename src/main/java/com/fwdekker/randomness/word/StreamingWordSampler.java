@@ -0,0 +1,378 @@
+package com.fwdekker.randomness.word;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+
+/**
+ * Samples random words with a length in a given range from dictionary files without holding those dictionaries in
+ * memory.
+ * <p>
+ * The sampler keeps a fixed number of independent reservoirs of size one, so that a single sequential pass over all
+ * dictionaries produces all requested words, each of which is chosen at random from all matching words that were
+ * offered, in proportion to their {@link ParsedDictionary weights}. Instead of flipping a coin for each reservoir at
+ * each matching word, the sampler computes for each reservoir the total weight after which the next matching word will
+ * replace its contents, so the work per word is a byte scan and a comparison. Words are decoded only when they are
+ * placed in a reservoir.
+ * <p>
+ * Memory usage is independent of the size of the dictionaries: apart from the reservoirs, the sampler only holds a read
+ * buffer that is large enough for the longest line encountered. Unlike the {@link Dictionary} classes, the sampler
+ * does not remove duplicate words.
+ */
+final class StreamingWordSampler {
+    /**
+     * The initial size in bytes of the read buffer.
+     */
+    static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * The minimum length of sampled words (inclusive).
+     */
+    private final int minLength;
+    /**
+     * The maximum length of sampled words (inclusive).
+     */
+    private final int maxLength;
+    /**
+     * The source of randomness.
+     */
+    private final Random random;
+    /**
+     * The currently sampled word of each reservoir.
+     */
+    private final String[] sample;
+    /**
+     * For each reservoir, the total weight of matching words that must be exceeded for its contents to be replaced.
+     */
+    private final double[] thresholds;
+    /**
+     * The smallest value in {@link #thresholds}.
+     */
+    private double nextThreshold;
+    /**
+     * The total weight of the matching words that have been offered so far.
+     */
+    private double totalWeight;
+    /**
+     * The buffer into which dictionary files are read.
+     */
+    private byte[] buffer;
+
+
+    /**
+     * Constructs a new {@code StreamingWordSampler}.
+     *
+     * @param count     the number of words to sample
+     * @param minLength the minimum length of sampled words (inclusive)
+     * @param maxLength the maximum length of sampled words (inclusive)
+     * @param random    the source of randomness
+     */
+    StreamingWordSampler(final int count, final int minLength, final int maxLength, final Random random) {
+        if (count < 0) {
+            throw new IllegalArgumentException("The number of words to sample must be non-negative.");
+        }
+
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+        this.random = random;
+        this.sample = new String[count];
+        this.thresholds = new double[count];
+        this.buffer = new byte[BUFFER_SIZE];
+
+        nextThreshold = count == 0 ? Double.POSITIVE_INFINITY : 0;
+    }
+
+
+    /**
+     * Offers the given words with weight {@code 1} each, all of which must have a length in the range of this sampler.
+     * <p>
+     * Because the words can be accessed randomly, only the words that are actually sampled are read.
+     *
+     * @param words the words to offer
+     */
+    void offer(final List<String> words) {
+        offer(words.size(), it -> words.get(it.nextInt(words.size())));
+    }
+
+    /**
+     * Offers a group of words with the given total weight, all of which must have a length in the range of this
+     * sampler.
+     * <p>
+     * The words themselves are not offered. Instead, each reservoir that is due to be replaced by one of these words
+     * obtains a word from the given function, which must choose a word from the group in proportion to its weight.
+     *
+     * @param weight  the total weight of the words in the group
+     * @param sampler returns a random word from the group, using the given source of randomness
+     */
+    void offer(final double weight, final Function<Random, String> sampler) {
+        if (weight <= 0) {
+            return;
+        }
+
+        totalWeight += weight;
+        if (totalWeight > nextThreshold) {
+            replace(sampler);
+        }
+    }
+
+    /**
+     * Offers all words in the given UTF-8 dictionary file with one word per line.
+     *
+     * @param path the path to the dictionary file
+     * @throws IOException if the file could not be read or contains an invalid weight
+     */
+    void offer(final Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            offer(channel);
+        }
+    }
+
+    /**
+     * Offers all words in the given UTF-8 stream with one word per line.
+     *
+     * @param channel the stream to read words from
+     * @throws IOException if the stream could not be read or contains an invalid weight
+     */
+    void offer(final ReadableByteChannel channel) throws IOException {
+        scan(channel, this::offerLine);
+    }
+
+    /**
+     * Returns the number of words of each length in the given UTF-8 dictionary file with one word per line.
+     * <p>
+     * The file is read in a single sequential pass, just like when words are sampled from it, so its words are not
+     * held in memory. Weights are checked but not recorded, and, unlike in the {@link Dictionary} classes, words that
+     * occur multiple times are counted multiple times.
+     *
+     * @param path the path to the dictionary file
+     * @return the number of words of each length in the given dictionary file
+     * @throws IOException if the file could not be read or contains an invalid weight
+     */
+    static DictionaryStatistics readStatistics(final Path path) throws IOException {
+        final StreamingWordSampler scanner = new StreamingWordSampler(0, 0, Integer.MAX_VALUE, new Random());
+        final LengthCounter counter = new LengthCounter();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            scanner.scan(channel, (start, end, separator, length, lineNumber) -> {
+                if (separator >= 0) {
+                    scanner.parseWeight(separator, end, lineNumber);
+                }
+                counter.add(length);
+            });
+        }
+        return counter.toStatistics();
+    }
+
+    /**
+     * Passes each line in the given UTF-8 stream to the given consumer.
+     *
+     * @param channel  the stream to read lines from
+     * @param consumer the consumer to pass the lines in {@link #buffer} to
+     * @throws IOException if the stream could not be read or the consumer throws an {@code IOException}
+     */
+    private void scan(final ReadableByteChannel channel, final LineConsumer consumer) throws IOException {
+        int filled = 0;
+        int position = 0;
+        int lineStart = 0;
+        int lineNumber = 0;
+        int separator = -1;
+        int length = 0;
+
+        while (true) {
+            final int read = channel.read(ByteBuffer.wrap(buffer, filled, buffer.length - filled));
+            if (read > 0) {
+                filled += read;
+            }
+
+            for (; position < filled; position++) {
+                final byte current = buffer[position];
+                if (current == '\n') {
+                    lineNumber++;
+                    if (position > lineStart && buffer[position - 1] == '\r') {
+                        consumer.accept(lineStart, position - 1, separator, separator < 0 ? length - 1 : length,
+                                lineNumber);
+                    } else {
+                        consumer.accept(lineStart, position, separator, length, lineNumber);
+                    }
+
+                    lineStart = position + 1;
+                    separator = -1;
+                    length = 0;
+                } else if (separator < 0) {
+                    if (current == ParsedDictionary.WEIGHT_SEPARATOR) {
+                        separator = position;
+                    } else {
+                        length += MappedWordStore.getUtf16Length(current);
+                    }
+                }
+            }
+
+            if (read < 0) {
+                if (lineStart < filled) {
+                    consumer.accept(lineStart, filled, separator, length, lineNumber + 1);
+                }
+                return;
+            }
+
+            if (lineStart == 0 && filled == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            } else if (lineStart > 0) {
+                System.arraycopy(buffer, lineStart, buffer, 0, filled - lineStart);
+                filled -= lineStart;
+                position -= lineStart;
+                if (separator >= 0) {
+                    separator -= lineStart;
+                }
+                lineStart = 0;
+            }
+        }
+    }
+
+    /**
+     * Returns the sampled words, or an empty list if no matching words have been offered.
+     *
+     * @return the sampled words, or an empty list if no matching words have been offered
+     */
+    List<String> getSample() {
+        if (totalWeight == 0) {
+            return Collections.emptyList();
+        }
+
+        return Arrays.asList(sample.clone());
+    }
+
+
+    /**
+     * Offers the line in {@link #buffer} between the given indices.
+     *
+     * @param start      the index of the first byte of the line
+     * @param end        the index after the last byte of the line
+     * @param separator  the index of the {@link ParsedDictionary#WEIGHT_SEPARATOR} in the line, or {@code -1} if the
+     *                   line has no weight
+     * @param length     the number of UTF-16 characters in the word in the line
+     * @param lineNumber the one-based number of the line in the file
+     * @throws IOException if the line contains an invalid weight
+     */
+    private void offerLine(final int start, final int end, final int separator, final int length,
+                           final int lineNumber) throws IOException {
+        if (length < minLength || length > maxLength) {
+            return;
+        }
+
+        final double weight = separator < 0 ? 1 : parseWeight(separator, end, lineNumber);
+        final int wordEnd = separator < 0 ? end : separator;
+
+        totalWeight += weight;
+        if (totalWeight > nextThreshold) {
+            final String word = new String(buffer, start, wordEnd - start, StandardCharsets.UTF_8);
+            replace(it -> word);
+        }
+    }
+
+    /**
+     * Parses the weight in {@link #buffer} between the given indices.
+     *
+     * @param separator  the index of the {@link ParsedDictionary#WEIGHT_SEPARATOR} before the weight
+     * @param end        the index after the last byte of the weight
+     * @param lineNumber the one-based number of the line in the file
+     * @return the parsed weight
+     * @throws IOException if the weight is invalid
+     */
+    private double parseWeight(final int separator, final int end, final int lineNumber) throws IOException {
+        return ParsedDictionary.parseWeight(
+                new String(buffer, separator + 1, end - separator - 1, StandardCharsets.UTF_8), lineNumber);
+    }
+
+    /**
+     * Places a word in all reservoirs whose threshold has been exceeded, and determines their next thresholds.
+     * <p>
+     * For a reservoir of size one that has seen words with total weight {@code w}, the probability that none of the
+     * next words up to a total weight of {@code v} replace its contents is {@code w / v}. The next replacement is
+     * therefore by the first word that brings the total weight above {@code w / u}, for a uniformly random {@code u} in
+     * {@code (0, 1]}.
+     *
+     * @param sampler returns the word to place in each reservoir, using the given source of randomness
+     */
+    private void replace(final Function<Random, String> sampler) {
+        double next = Double.POSITIVE_INFINITY;
+
+        for (int i = 0; i < sample.length; i++) {
+            if (thresholds[i] < totalWeight) {
+                sample[i] = sampler.apply(random);
+                thresholds[i] = totalWeight / (1.0 - random.nextDouble());
+            }
+
+            next = Math.min(next, thresholds[i]);
+        }
+
+        nextThreshold = next;
+    }
+
+
+    /**
+     * Receives the lines found by {@link #scan(ReadableByteChannel, LineConsumer)}.
+     */
+    @FunctionalInterface
+    private interface LineConsumer {
+        /**
+         * Receives the line in {@link #buffer} between the given indices.
+         *
+         * @param start      the index of the first byte of the line
+         * @param end        the index after the last byte of the line
+         * @param separator  the index of the {@link ParsedDictionary#WEIGHT_SEPARATOR} in the line, or {@code -1} if
+         *                   the line has no weight
+         * @param length     the number of UTF-16 characters in the word in the line
+         * @param lineNumber the one-based number of the line in the file
+         * @throws IOException if the line cannot be processed
+         */
+        void accept(int start, int end, int separator, int length, int lineNumber) throws IOException;
+    }
+
+    /**
+     * Counts the number of words of each length.
+     */
+    private static final class LengthCounter {
+        /**
+         * The number of words of each length, indexed by length.
+         */
+        private int[] lengthCounts = new int[16];
+        /**
+         * The length of the longest word counted so far, or {@code -1} if no words have been counted.
+         */
+        private int maxLength = -1;
+
+
+        /**
+         * Counts a word of the given length.
+         *
+         * @param length the length of the word
+         */
+        void add(final int length) {
+            if (length >= lengthCounts.length) {
+                lengthCounts = Arrays.copyOf(lengthCounts, Math.max(length + 1, lengthCounts.length * 2));
+            }
+
+            lengthCounts[length]++;
+            maxLength = Math.max(maxLength, length);
+        }
+
+        /**
+         * Returns the statistics of the counted words.
+         *
+         * @return the statistics of the counted words
+         */
+        DictionaryStatistics toStatistics() {
+            return DictionaryStatistics.ofLengthCounts(Arrays.copyOf(lengthCounts, maxLength + 1));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.fwdekker.randomness.word;
+
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.ApplicationComponent;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.util.messages.MessageBusConnection;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+
+/**
+ * Reloads {@link Dictionary.UserDictionary UserDictionaries} in the background when their files change on disk.
+ * <p>
+ * Each user dictionary file that is loaded or found to be valid is registered with the IDE's file watcher, and
+ * changes to these files reported by the virtual file system are passed on to
+ * {@link Dictionary.UserDictionary#refresh(String, Executor)}, which also forgets that the file was valid.
+ */
+public final class UserDictionaryWatcher implements ApplicationComponent {
+    private static final Logger LOGGER = Logger.getInstance(UserDictionaryWatcher.class);
+
+    /**
+     * The paths of the dictionary files that have been registered with the file watcher, indexed by the
+     * system-independent form of the path that the virtual file system uses.
+     */
+    private final Map<String, String> watchedPaths = new ConcurrentHashMap<>();
+    /**
+     * The connection through which the virtual file system reports changes.
+     */
+    private MessageBusConnection connection;
+
+
+    @Override
+    public void initComponent() {
+        connection = ApplicationManager.getApplication().getMessageBus().connect();
+        connection.subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+            @Override
+            public void before(final @NotNull List<? extends VFileEvent> events) {
+                // Dictionaries are refreshed after the change
+            }
+
+            @Override
+            public void after(final @NotNull List<? extends VFileEvent> events) {
+                events.forEach(event -> refresh(event.getPath()));
+            }
+        });
+
+        Dictionary.UserDictionary.setLoadListener(dictionary -> watch(dictionary.getUid()));
+        Dictionary.UserDictionary.setValidationListener(this::watch);
+    }
+
+    @Override
+    public void disposeComponent() {
+        Dictionary.UserDictionary.setLoadListener(dictionary -> {
+        });
+        Dictionary.UserDictionary.setValidationListener(path -> {
+        });
+        connection.disconnect();
+    }
+
+    @Override
+    public String getComponentName() {
+        return getClass().getSimpleName();
+    }
+
+
+    /**
+     * Registers the given dictionary file with the file watcher if it has not been registered yet.
+     *
+     * @param path the absolute path to the dictionary file
+     */
+    private void watch(final String path) {
+        if (watchedPaths.putIfAbsent(toSystemIndependentPath(path), path) != null) {
+            return;
+        }
+
+        ApplicationManager.getApplication().executeOnPooledThread(() -> {
+            LocalFileSystem.getInstance().addRootToWatch(path, false);
+            LocalFileSystem.getInstance().refreshAndFindFileByPath(path);
+        });
+    }
+
+    /**
+     * Returns the given path with forward slashes as separators, as used by the virtual file system.
+     *
+     * @param path a path
+     * @return the given path with forward slashes as separators
+     */
+    private static String toSystemIndependentPath(final String path) {
+        return path.replace(File.separatorChar, '/');
+    }
+
+    /**
+     * Forgets whether the given dictionary file is valid, and reloads it in the background if it is loaded and has
+     * changed.
+     *
+     * @param vfsPath the system-independent absolute path to the dictionary file
+     */
+    private void refresh(final String vfsPath) {
+        final String path = watchedPaths.get(vfsPath);
+        if (path == null) {
+            return;
+        }
+
+        Dictionary.UserDictionary.refresh(path, ApplicationManager.getApplication()::executeOnPooledThread)
+                .whenComplete((dictionary, exception) -> {
+                    if (exception != null) {
+                        LOGGER.warn("Failed to reload dictionary " + path + "; keeping the previous version.",
+                                exception);
+                    }
+                });
+    }
+}
@@ -0,0 +1,100 @@
+package com.fwdekker.randomness.word;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+
+/**
+ * Samples random words with a length in a given range from several {@link Dictionary Dictionaries}, in proportion to
+ * their {@link Dictionary#isWeighted() weights}.
+ * <p>
+ * A dictionary is chosen in proportion to the total weight of its words in the range by a binary search over the
+ * cumulative weights of the dictionaries, after which that dictionary samples one of its own words. Words that occur in
+ * multiple dictionaries are not merged, so their chance of being chosen is proportional to the sum of their weights.
+ */
+final class WeightedWordSampler {
+    /**
+     * The dictionaries that have words with a length in the range.
+     */
+    private final Dictionary[] dictionaries;
+    /**
+     * The total weight of the words in the range in the dictionaries up to and including each dictionary.
+     */
+    private final double[] cumulativeWeights;
+    /**
+     * The minimum length of sampled words (inclusive).
+     */
+    private final int minLength;
+    /**
+     * The maximum length of sampled words (inclusive).
+     */
+    private final int maxLength;
+
+
+    /**
+     * Constructs a new {@code WeightedWordSampler}.
+     *
+     * @param dictionaries the dictionaries to sample words from
+     * @param minLength    the minimum length of sampled words (inclusive)
+     * @param maxLength    the maximum length of sampled words (inclusive)
+     */
+    WeightedWordSampler(final Collection<Dictionary> dictionaries, final int minLength, final int maxLength) {
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+
+        final List<Dictionary> nonEmptyDictionaries = new ArrayList<>(dictionaries.size());
+        final double[] weights = new double[dictionaries.size()];
+        double totalWeight = 0;
+        for (final Dictionary dictionary : dictionaries) {
+            final double weight = dictionary.getTotalWeight(minLength, maxLength);
+            if (weight > 0) {
+                totalWeight += weight;
+                weights[nonEmptyDictionaries.size()] = totalWeight;
+                nonEmptyDictionaries.add(dictionary);
+            }
+        }
+
+        this.dictionaries = nonEmptyDictionaries.toArray(new Dictionary[0]);
+        this.cumulativeWeights = Arrays.copyOf(weights, this.dictionaries.length);
+    }
+
+
+    /**
+     * Returns the total weight of the words with a length in the range.
+     *
+     * @return the total weight of the words with a length in the range
+     */
+    double getTotalWeight() {
+        return cumulativeWeights.length == 0 ? 0 : cumulativeWeights[cumulativeWeights.length - 1];
+    }
+
+    /**
+     * Returns a random word with a length in the range, chosen in proportion to its weight.
+     *
+     * @param random the source of randomness
+     * @return a random word with a length in the range
+     * @throws IllegalStateException if there are no words with a length in the range
+     */
+    String sample(final Random random) {
+        if (dictionaries.length == 0) {
+            throw new IllegalStateException("There are no words with a length in the given range.");
+        }
+
+        final double target = random.nextDouble() * getTotalWeight();
+        int low = 0;
+        int high = dictionaries.length - 1;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (cumulativeWeights[middle] > target) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return dictionaries[low].sampleWord(minLength, maxLength, random);
+    }
+}
@@ -0,0 +1,231 @@
+package com.fwdekker.randomness.word;
+
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+
+/**
+ * Restricts the words that are generated to those that start with, end with, or contain given strings, that consist
+ * of given characters only, or that match a regular expression.
+ * <p>
+ * All comparisons are case-sensitive and are applied to the words as they appear in the dictionary, before they are
+ * capitalized. An empty string places no restriction. The regular expression must match the whole word.
+ */
+public final class WordFilter {
+    /**
+     * The filter that accepts all words.
+     */
+    public static final WordFilter NONE = new WordFilter("", "", "", "", "");
+
+    /**
+     * The string that words must start with.
+     */
+    private final String prefix;
+    /**
+     * The string that words must end with.
+     */
+    private final String suffix;
+    /**
+     * The string that words must contain.
+     */
+    private final String infix;
+    /**
+     * The characters that words may consist of, or the empty string if words may consist of any characters.
+     */
+    private final String allowedCharacters;
+    /**
+     * The regular expression that words must match, or the empty string if words may be anything.
+     */
+    private final String regex;
+    /**
+     * The compiled form of {@link #regex}, or {@code null} if {@link #regex} is empty.
+     */
+    private final Pattern pattern;
+
+
+    /**
+     * Constructs a new {@code WordFilter}.
+     *
+     * @param prefix            the string that words must start with
+     * @param suffix            the string that words must end with
+     * @param infix             the string that words must contain
+     * @param allowedCharacters the characters that words may consist of, or the empty string if words may consist of
+     *                          any characters
+     */
+    public WordFilter(final String prefix, final String suffix, final String infix, final String allowedCharacters) {
+        this(prefix, suffix, infix, allowedCharacters, "");
+    }
+
+    /**
+     * Constructs a new {@code WordFilter}.
+     *
+     * @param prefix            the string that words must start with
+     * @param suffix            the string that words must end with
+     * @param infix             the string that words must contain
+     * @param allowedCharacters the characters that words may consist of, or the empty string if words may consist of
+     *                          any characters
+     * @param regex             the regular expression that words must match, or the empty string if words may be
+     *                          anything
+     * @throws java.util.regex.PatternSyntaxException if {@code regex} is not a valid regular expression
+     */
+    public WordFilter(final String prefix, final String suffix, final String infix, final String allowedCharacters,
+                      final String regex) {
+        this.prefix = Objects.requireNonNull(prefix);
+        this.suffix = Objects.requireNonNull(suffix);
+        this.infix = Objects.requireNonNull(infix);
+        this.allowedCharacters = Objects.requireNonNull(allowedCharacters);
+        this.regex = Objects.requireNonNull(regex);
+        this.pattern = regex.isEmpty() ? null : Pattern.compile(regex);
+    }
+
+
+    /**
+     * Returns the string that words must start with.
+     *
+     * @return the string that words must start with
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Returns the string that words must end with.
+     *
+     * @return the string that words must end with
+     */
+    public String getSuffix() {
+        return suffix;
+    }
+
+    /**
+     * Returns the string that words must contain.
+     *
+     * @return the string that words must contain
+     */
+    public String getInfix() {
+        return infix;
+    }
+
+    /**
+     * Returns the characters that words may consist of, or the empty string if words may consist of any characters.
+     *
+     * @return the characters that words may consist of, or the empty string if words may consist of any characters
+     */
+    public String getAllowedCharacters() {
+        return allowedCharacters;
+    }
+
+    /**
+     * Returns the regular expression that words must match, or the empty string if words may be anything.
+     *
+     * @return the regular expression that words must match, or the empty string if words may be anything
+     */
+    public String getRegex() {
+        return regex;
+    }
+
+    /**
+     * Returns {@code true} if and only if this filter accepts all words.
+     *
+     * @return {@code true} if and only if this filter accepts all words
+     */
+    public boolean isEmpty() {
+        return prefix.isEmpty() && suffix.isEmpty() && infix.isEmpty() && allowedCharacters.isEmpty()
+                && regex.isEmpty();
+    }
+
+    /**
+     * Returns the length of the shortest word that this filter may accept.
+     *
+     * @return the length of the shortest word that this filter may accept
+     */
+    int getMinLength() {
+        return Math.max(Math.max(prefix.length(), suffix.length()), infix.length());
+    }
+
+    /**
+     * Returns {@code true} if and only if the given word satisfies this filter.
+     *
+     * @param word the word to test
+     * @return {@code true} if and only if the given word satisfies this filter
+     */
+    public boolean matches(final String word) {
+        return matches(word, createMatcher());
+    }
+
+    /**
+     * Returns {@code true} if and only if the given word satisfies this filter, using the given matcher for the
+     * regular expression.
+     *
+     * @param word    the word to test
+     * @param matcher a matcher obtained from {@link #createMatcher()}, which is reset to the given word
+     * @return {@code true} if and only if the given word satisfies this filter
+     */
+    boolean matches(final String word, final Matcher matcher) {
+        return word.startsWith(prefix) && word.endsWith(suffix) && matchesExceptPrefixAndSuffix(word)
+                && (matcher == null || matcher.reset(word).matches());
+    }
+
+    /**
+     * Returns a new matcher for the regular expression, or {@code null} if there is no regular expression.
+     * <p>
+     * A matcher is not thread-safe, but can be reused for any number of words by a single thread.
+     *
+     * @return a new matcher for the regular expression, or {@code null} if there is no regular expression
+     */
+    Matcher createMatcher() {
+        return pattern == null ? null : pattern.matcher("");
+    }
+
+    /**
+     * Returns {@code true} if and only if the given word satisfies the infix and allowed characters of this filter,
+     * which are not handled by an index.
+     *
+     * @param word the word to test
+     * @return {@code true} if and only if the given word satisfies the infix and allowed characters of this filter
+     */
+    private boolean matchesExceptPrefixAndSuffix(final String word) {
+        if (!word.contains(infix)) {
+            return false;
+        }
+
+        if (!allowedCharacters.isEmpty()) {
+            for (int i = 0; i < word.length(); i++) {
+                if (allowedCharacters.indexOf(word.charAt(i)) < 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other == null || this.getClass() != other.getClass()) {
+            return false;
+        }
+
+        final WordFilter that = (WordFilter) other;
+        return this.prefix.equals(that.prefix)
+                && this.suffix.equals(that.suffix)
+                && this.infix.equals(that.infix)
+                && this.allowedCharacters.equals(that.allowedCharacters)
+                && this.regex.equals(that.regex);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(prefix, suffix, infix, allowedCharacters, regex);
+    }
+
+    @Override
+    public String toString() {
+        return "WordFilter[prefix=" + prefix + ", suffix=" + suffix + ", infix=" + infix
+                + ", allowedCharacters=" + allowedCharacters + ", regex=" + regex + "]";
+    }
+}
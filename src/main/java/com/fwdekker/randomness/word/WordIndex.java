@@ -0,0 +1,495 @@
+package com.fwdekker.randomness.word;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.regex.Matcher;
+
+
+/**
+ * Finds the words in a {@link Dictionary} that satisfy a {@link WordFilter} without scanning the whole dictionary.
+ * <p>
+ * Within each length, the words that start with a given prefix are adjacent in lexicographic order, and the words that
+ * end with a given suffix are adjacent in the lexicographic order of the reversed words. The index therefore finds the
+ * matching words of each length with two binary searches over the appropriate order, and represents them as one range
+ * of that order per length, from which a word is sampled in logarithmic time. Words are usually stored in lexicographic
+ * order already; the other orders are built on first use and consist of one {@code int} per word.
+ * <p>
+ * If a filter has both a prefix and a suffix, the smaller of the two sets of ranges is used. Only the parts of a filter
+ * that are not served by an index, such as the characters a word must consist of or a regular expression, are checked
+ * by looking at the words in the chosen ranges. This scan is split into chunks that are checked in parallel on the
+ * common fork/join pool, each of which marks its matches in its own part of a bitmap, after which the positions of the
+ * marked words are collected into an array from which a word is sampled in constant time.
+ */
+final class WordIndex {
+    /**
+     * The number of words that is checked by a single task when scanning for words that satisfy a filter.
+     * <p>
+     * Must be a multiple of {@link Long#SIZE}, so that no two tasks write to the same element of the bitmap.
+     */
+    static final int CHUNK_SIZE = 4096;
+
+    /**
+     * The store containing the words.
+     */
+    private final WordStore words;
+    /**
+     * The index in {@link #words} of the first word of each length.
+     *
+     * @see Dictionary#getWordsWithLengthInRange(int, int)
+     */
+    private final int[] lengthOffsets;
+    /**
+     * {@code true} if and only if the words of each length in {@link #words} are in lexicographic order.
+     */
+    private final boolean sorted;
+    /**
+     * The positions of the words ordered by length and then lexicographically, or {@code null} if this order has not
+     * been built yet or if the words are in this order already.
+     */
+    private int[] prefixOrder;
+    /**
+     * The positions of the words ordered by length and then by the lexicographic order of the reversed words, or
+     * {@code null} if this order has not been built yet.
+     */
+    private int[] suffixOrder;
+
+
+    /**
+     * Constructs a new {@code WordIndex}.
+     *
+     * @param words         the store containing the words
+     * @param lengthOffsets the index in {@code words} of the first word of each length; the array is not copied
+     * @param sorted        {@code true} if and only if the words of each length in {@code words} are in lexicographic
+     *                      order
+     */
+    WordIndex(final WordStore words, final int[] lengthOffsets, final boolean sorted) {
+        this.words = words;
+        this.lengthOffsets = lengthOffsets;
+        this.sorted = sorted;
+    }
+
+
+    /**
+     * Returns a view of the words with a length in the given range that satisfy the given filter.
+     *
+     * @param filter    the filter that words must satisfy
+     * @param minLength the minimum word length (inclusive)
+     * @param maxLength the maximum word length (inclusive)
+     * @return a view of the words with a length in the given range that satisfy the given filter
+     */
+    List<String> getWordsMatching(final WordFilter filter, final int minLength, final int maxLength) {
+        final int fromLength = Math.max(Math.max(0, minLength), filter.getMinLength());
+        final int toLength = (int) Math.min(maxLength, lengthOffsets.length - 2L);
+        if (fromLength > toLength) {
+            return Collections.emptyList();
+        }
+
+        final int lengthCount = toLength - fromLength + 1;
+        final int[] starts = new int[lengthCount];
+        final int[] ends = new int[lengthCount];
+
+        final String prefix = filter.getPrefix();
+        final String suffix = filter.getSuffix();
+        int[] order = null;
+        if (!prefix.isEmpty() || !suffix.isEmpty()) {
+            final int[] prefixOrderView = prefix.isEmpty() ? null : getPrefixOrder();
+            final int[] suffixOrderView = suffix.isEmpty() ? null : getSuffixOrder();
+
+            final long prefixCount = prefix.isEmpty()
+                    ? Long.MAX_VALUE
+                    : findRanges(prefixOrderView, fromLength, prefix, false, starts, ends);
+            final int[] suffixStarts = new int[lengthCount];
+            final int[] suffixEnds = new int[lengthCount];
+            final long suffixCount = suffix.isEmpty()
+                    ? Long.MAX_VALUE
+                    : findRanges(suffixOrderView, fromLength, suffix, true, suffixStarts, suffixEnds);
+
+            if (suffixCount < prefixCount) {
+                System.arraycopy(suffixStarts, 0, starts, 0, lengthCount);
+                System.arraycopy(suffixEnds, 0, ends, 0, lengthCount);
+                order = suffixOrderView;
+            } else {
+                order = prefixOrderView;
+            }
+        } else {
+            for (int length = fromLength; length <= toLength; length++) {
+                starts[length - fromLength] = lengthOffsets[length];
+                ends[length - fromLength] = lengthOffsets[length + 1];
+            }
+        }
+
+        final boolean servedByIndex = (prefix.isEmpty() || suffix.isEmpty())
+                && filter.getInfix().isEmpty() && filter.getAllowedCharacters().isEmpty()
+                && filter.getRegex().isEmpty();
+        if (servedByIndex) {
+            return toList(order, starts, ends);
+        }
+
+        return toList(select(filter, order, starts, ends));
+    }
+
+    /**
+     * Returns an estimate of the number of bytes of heap memory used by the orders that have been built so far.
+     *
+     * @return an estimate of the number of bytes of heap memory used by the orders that have been built so far
+     */
+    synchronized long estimateMemoryUsage() {
+        return (prefixOrder == null ? 0 : WordStore.arraySize(prefixOrder.length, Integer.BYTES))
+                + (suffixOrder == null ? 0 : WordStore.arraySize(suffixOrder.length, Integer.BYTES));
+    }
+
+
+    /**
+     * Finds for each length the range of the given order containing the words that start or end with the given key.
+     *
+     * @param order      the positions of the words in the order to search, or {@code null} if the words are in that
+     *                   order already
+     * @param fromLength the first length to find the range for
+     * @param key        the string that words must start or end with
+     * @param reversed   {@code true} if words must end with the key, or {@code false} if they must start with it
+     * @param starts     the array in which to store the index of the first word of each range
+     * @param ends       the array in which to store the index after the last word of each range
+     * @return the total number of words in the ranges
+     */
+    private long findRanges(final int[] order, final int fromLength, final String key, final boolean reversed,
+                            final int[] starts, final int[] ends) {
+        long count = 0;
+        for (int i = 0; i < starts.length; i++) {
+            final int length = fromLength + i;
+            starts[i] = findBoundary(order, lengthOffsets[length], lengthOffsets[length + 1], key, reversed, false);
+            ends[i] = findBoundary(order, starts[i], lengthOffsets[length + 1], key, reversed, true);
+            count += ends[i] - starts[i];
+        }
+        return count;
+    }
+
+    /**
+     * Returns the first index in the given range of the given order at which the word is greater than (or equal to,
+     * depending on {@code after}) the given key, comparing only as many characters as the key has.
+     *
+     * @param order    the positions of the words in the order to search, or {@code null} if the words are in that
+     *                 order already
+     * @param from     the index of the first word to search
+     * @param to       the index after the last word to search
+     * @param key      the string that words must start or end with
+     * @param reversed {@code true} if the ends of words are compared, or {@code false} if their starts are compared
+     * @param after    {@code true} if the first word after the words matching the key should be found, or
+     *                 {@code false} if the first word matching the key should be found
+     * @return the first index in the given range of the given order at which the word is greater than (or equal to,
+     * depending on {@code after}) the given key
+     */
+    private int findBoundary(final int[] order, final int from, final int to, final String key,
+                             final boolean reversed, final boolean after) {
+        int low = from;
+        int high = to;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            final String word = words.get(order == null ? middle : order[middle]);
+            final int comparison = reversed ? compareEnd(word, key) : compareStart(word, key);
+
+            if (comparison < 0 || after && comparison == 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns the positions of the words in the given ranges of the given order that satisfy the given filter, in the
+     * given order.
+     * <p>
+     * The words in the ranges are numbered consecutively and checked in parallel by a {@link SelectTask}, which marks
+     * the numbers of the matching words in a bitmap.
+     *
+     * @param filter the filter that words must satisfy
+     * @param order  the positions of the words in the order of the ranges, or {@code null} if the ranges apply to the
+     *               positions directly
+     * @param starts the index of the first word of each range
+     * @param ends   the index after the last word of each range
+     * @return the positions of the words in the given ranges of the given order that satisfy the given filter
+     */
+    private int[] select(final WordFilter filter, final int[] order, final int[] starts, final int[] ends) {
+        final int[] rangeOffsets = new int[starts.length + 1];
+        for (int range = 0; range < starts.length; range++) {
+            rangeOffsets[range + 1] = rangeOffsets[range] + ends[range] - starts[range];
+        }
+        final int candidateCount = rangeOffsets[starts.length];
+
+        final long[] bitmap = new long[(candidateCount + Long.SIZE - 1) / Long.SIZE];
+        final SelectTask task = new SelectTask(words, filter, order, starts, rangeOffsets, bitmap, 0,
+                candidateCount);
+        if (candidateCount <= CHUNK_SIZE) {
+            task.compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+
+        int count = 0;
+        for (final long bits : bitmap) {
+            count += Long.bitCount(bits);
+        }
+
+        final int[] positions = new int[count];
+        int next = 0;
+        int range = 0;
+        for (int element = 0; element < bitmap.length; element++) {
+            long bits = bitmap[element];
+            while (bits != 0) {
+                final int candidate = element * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+
+                while (candidate >= rangeOffsets[range + 1]) {
+                    range++;
+                }
+                final int index = starts[range] + candidate - rangeOffsets[range];
+                positions[next++] = order == null ? index : order[index];
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Returns the positions of the words ordered by length and then lexicographically, or {@code null} if the words
+     * are stored in this order.
+     *
+     * @return the positions of the words ordered by length and then lexicographically, or {@code null} if the words
+     * are stored in this order
+     */
+    private synchronized int[] getPrefixOrder() {
+        if (sorted) {
+            return null;
+        }
+        if (prefixOrder == null) {
+            prefixOrder = sortWithinLengths(Comparator.naturalOrder());
+        }
+        return prefixOrder;
+    }
+
+    /**
+     * Returns the positions of the words ordered by length and then by the lexicographic order of the reversed words.
+     *
+     * @return the positions of the words ordered by length and then by the lexicographic order of the reversed words
+     */
+    private synchronized int[] getSuffixOrder() {
+        if (suffixOrder == null) {
+            suffixOrder = sortWithinLengths(WordIndex::compareReversed);
+        }
+        return suffixOrder;
+    }
+
+    /**
+     * Returns the positions of the words ordered by length and then by the given comparator.
+     *
+     * @param comparator the order of words of the same length
+     * @return the positions of the words ordered by length and then by the given comparator
+     */
+    private int[] sortWithinLengths(final Comparator<String> comparator) {
+        final int[] order = new int[words.size()];
+
+        for (int length = 0; length < lengthOffsets.length - 1; length++) {
+            final int from = lengthOffsets[length];
+            final int size = lengthOffsets[length + 1] - from;
+
+            final String[] bucket = new String[size];
+            for (int i = 0; i < size; i++) {
+                bucket[i] = words.get(from + i);
+            }
+            final int[] bucketOrder = IndexSort.sort(size, (a, b) -> comparator.compare(bucket[a], bucket[b]));
+
+            for (int i = 0; i < size; i++) {
+                order[from + i] = from + bucketOrder[i];
+            }
+        }
+        return order;
+    }
+
+
+    /**
+     * Returns a view of the words in the given ranges of the given order.
+     *
+     * @param order  the positions of the words in the order of the ranges, or {@code null} if the ranges apply to the
+     *               positions directly
+     * @param starts the index of the first word of each range
+     * @param ends   the index after the last word of each range
+     * @return a view of the words in the given ranges of the given order
+     */
+    private List<String> toList(final int[] order, final int[] starts, final int[] ends) {
+        final FilteredWordList list = new FilteredWordList(words, order, starts, ends);
+        return list.isEmpty() ? Collections.emptyList() : list;
+    }
+
+    /**
+     * Returns a view of the words at the given positions.
+     *
+     * @param positions the positions of the words
+     * @return a view of the words at the given positions
+     */
+    private List<String> toList(final int[] positions) {
+        return toList(positions, new int[] {0}, new int[] {positions.length});
+    }
+
+    /**
+     * Compares the start of the given word to the given prefix.
+     *
+     * @param word   a word that is at least as long as the prefix
+     * @param prefix the prefix to compare to
+     * @return a negative number, zero, or a positive number if the start of the word is less than, equal to, or greater
+     * than the prefix
+     */
+    static int compareStart(final String word, final String prefix) {
+        for (int i = 0; i < prefix.length(); i++) {
+            final int difference = word.charAt(i) - prefix.charAt(i);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Compares the end of the given word to the given suffix, reading both from the end.
+     *
+     * @param word   a word that is at least as long as the suffix
+     * @param suffix the suffix to compare to
+     * @return a negative number, zero, or a positive number if the reversed end of the word is less than, equal to, or
+     * greater than the reversed suffix
+     */
+    static int compareEnd(final String word, final String suffix) {
+        final int wordEnd = word.length() - 1;
+        final int suffixEnd = suffix.length() - 1;
+        for (int i = 0; i <= suffixEnd; i++) {
+            final int difference = word.charAt(wordEnd - i) - suffix.charAt(suffixEnd - i);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Compares the given words by the lexicographic order of their reversals.
+     *
+     * @param a the first word to compare
+     * @param b the second word to compare
+     * @return a negative number, zero, or a positive number if the reversal of {@code a} is less than, equal to, or
+     * greater than the reversal of {@code b}
+     */
+    static int compareReversed(final String a, final String b) {
+        final int length = Math.min(a.length(), b.length());
+        for (int i = 1; i <= length; i++) {
+            final int difference = a.charAt(a.length() - i) - b.charAt(b.length() - i);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return a.length() - b.length();
+    }
+
+
+    /**
+     * Marks the words in a range of candidates that satisfy a filter in a bitmap, splitting the range into chunks of
+     * {@link #CHUNK_SIZE} candidates that are checked in parallel.
+     * <p>
+     * The candidates are the words in a list of ranges of an order, numbered consecutively.
+     */
+    @SuppressFBWarnings(value = "SE_BAD_FIELD", justification = "Tasks are never serialized")
+    private static final class SelectTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The store containing the words.
+         */
+        private final WordStore words;
+        /**
+         * The filter that words must satisfy.
+         */
+        private final WordFilter filter;
+        /**
+         * The positions of the words in the order of the ranges, or {@code null} if the ranges apply to the positions
+         * directly.
+         */
+        private final int[] order;
+        /**
+         * The index of the first word of each range.
+         */
+        private final int[] starts;
+        /**
+         * The number of candidates in the ranges before each range.
+         */
+        private final int[] rangeOffsets;
+        /**
+         * The bitmap in which the matching candidates are marked.
+         */
+        private final long[] bitmap;
+        /**
+         * The first candidate to check, which is a multiple of {@link Long#SIZE}.
+         */
+        private final int from;
+        /**
+         * The candidate after the last candidate to check.
+         */
+        private final int to;
+
+
+        /**
+         * Constructs a new {@code SelectTask}.
+         *
+         * @param words        the store containing the words
+         * @param filter       the filter that words must satisfy
+         * @param order        the positions of the words in the order of the ranges, or {@code null} if the ranges
+         *                     apply to the positions directly
+         * @param starts       the index of the first word of each range
+         * @param rangeOffsets the number of candidates in the ranges before each range
+         * @param bitmap       the bitmap in which the matching candidates are marked
+         * @param from         the first candidate to check, which is a multiple of {@link Long#SIZE}
+         * @param to           the candidate after the last candidate to check
+         */
+        SelectTask(final WordStore words, final WordFilter filter, final int[] order, final int[] starts,
+                   final int[] rangeOffsets, final long[] bitmap, final int from, final int to) {
+            this.words = words;
+            this.filter = filter;
+            this.order = order;
+            this.starts = starts;
+            this.rangeOffsets = rangeOffsets;
+            this.bitmap = bitmap;
+            this.from = from;
+            this.to = to;
+        }
+
+
+        @Override
+        protected void compute() {
+            if (to - from > CHUNK_SIZE) {
+                final int chunkCount = (to - from - 1) / CHUNK_SIZE + 1;
+                final int middle = from + chunkCount / 2 * CHUNK_SIZE;
+                invokeAll(new SelectTask(words, filter, order, starts, rangeOffsets, bitmap, from, middle),
+                        new SelectTask(words, filter, order, starts, rangeOffsets, bitmap, middle, to));
+                return;
+            }
+
+            int range = Arrays.binarySearch(rangeOffsets, from);
+            if (range < 0) {
+                range = -range - 2;
+            }
+            final Matcher matcher = filter.createMatcher();
+            for (int candidate = from; candidate < to; candidate++) {
+                while (candidate >= rangeOffsets[range + 1]) {
+                    range++;
+                }
+
+                final int index = starts[range] + candidate - rangeOffsets[range];
+                if (filter.matches(words.get(order == null ? index : order[index]), matcher)) {
+                    bitmap[candidate / Long.SIZE] |= 1L << candidate;
+                }
+            }
+        }
+    }
+}
@@ -5,8 +5,15 @@ import com.fwdekker.randomness.ui.JBPopupHelper;
 import com.intellij.openapi.ui.ValidationInfo;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.PatternSyntaxException;
 
 
 /**
@@ -45,30 +52,197 @@ public final class WordInsertAction extends DataInsertAction {
      */
     @Override
     public String generateString() {
-        final ValidationInfo validationInfo = wordSettings.validateActiveDictionaries();
+        return generateStrings(1).get(0);
+    }
+
+    /**
+     * Returns the given number of random alphanumerical English words.
+     * <p>
+     * All words are sampled at once, so that dictionaries that are not held in memory are read only once.
+     *
+     * @param count the number of words to generate
+     * @return the given number of random alphanumerical English words
+     */
+    @Override
+    public List<String> generateStrings(final int count) {
+        ValidationInfo validationInfo = wordSettings.validateActiveDictionaries();
+        if (validationInfo == null) {
+            validationInfo = wordSettings.validateStreamedDictionaries();
+        }
         if (validationInfo != null) {
             JBPopupHelper.showMessagePopup(
                     "Randomness error",
                     validationInfo.message,
                     "Please check your Randomness `word` settings."
             );
-            return "";
+            return Collections.nCopies(count, "");
+        }
+
+        final WordFilter filter;
+        try {
+            filter = wordSettings.getFilter();
+        } catch (final PatternSyntaxException e) {
+            JBPopupHelper.showMessagePopup(
+                    "Randomness error",
+                    "The regular expression is invalid.",
+                    "Please check your Randomness `word` settings."
+            );
+            return Collections.nCopies(count, "");
         }
 
-        final List<String> words = Dictionary.combine(wordSettings.getValidActiveDictionaries())
-                .getWordsWithLengthInRange(wordSettings.getMinLength(), wordSettings.getMaxLength());
+        DictionaryWarmUp.await();
+
+        final List<String> words;
+        try {
+            words = sampleWordsReloadingChanged(count, filter);
+        } catch (final IOException | UncheckedIOException e) {
+            JBPopupHelper.showMessagePopup(
+                    "Randomness error",
+                    "Failed to read dictionary into memory.",
+                    "Please check your Randomness `word` settings."
+            );
+            return Collections.nCopies(count, "");
+        }
         if (words.isEmpty()) {
             JBPopupHelper.showMessagePopup(
                     "Randomness error",
                     "There are no words compatible with the current settings.",
                     "Please check your Randomness `word` settings."
             );
-            return "";
+            return Collections.nCopies(count, "");
+        }
+        if (words.size() < count) {
+            JBPopupHelper.showMessagePopup(
+                    "Randomness error",
+                    "There are only " + words.size() + " distinct words compatible with the current settings.",
+                    "Please check your Randomness `word` settings."
+            );
+            return Collections.nCopies(count, "");
+        }
+
+        final CapitalizationMode capitalization = wordSettings.getCapitalization();
+        final String enclosure = wordSettings.getEnclosure();
+
+        final StringBuilder builder = new StringBuilder();
+        final List<String> strings = new ArrayList<>(words.size());
+        for (final String word : words) {
+            builder.setLength(0);
+            builder.append(enclosure);
+            capitalization.transform(word, builder);
+            builder.append(enclosure);
+            strings.add(builder.toString());
+        }
+        return strings;
+    }
+
+
+    /**
+     * Calls {@link #sampleWords(int, WordFilter)}, and calls it once more after refreshing the active user dictionaries
+     * if a {@link MappedWordStore memory-mapped} dictionary file turns out to have changed before the change was
+     * detected.
+     *
+     * @param count  the number of words to sample
+     * @param filter the filter that words must satisfy
+     * @return the result of {@link #sampleWords(int, WordFilter)}
+     * @throws IOException          if a streamed dictionary could not be read
+     * @throws UncheckedIOException if a memory-mapped dictionary file still cannot be read after refreshing it
+     */
+    private List<String> sampleWordsReloadingChanged(final int count, final WordFilter filter) throws IOException {
+        try {
+            return sampleWords(count, filter);
+        } catch (final UncheckedIOException e) {
+            for (final String dictionary : wordSettings.getActiveUserDictionaries()) {
+                Dictionary.UserDictionary.refresh(dictionary, Runnable::run);
+            }
+            return sampleWords(count, filter);
+        }
+    }
+
+    /**
+     * Samples the given number of random words with a length in the configured range from the active dictionaries.
+     * <p>
+     * If {@link WordSettings#isUniqueWords() unique words} are requested, all words are different and chosen uniformly
+     * from the distinct words in all active dictionaries. Otherwise, if the given filter is not empty, words are chosen
+     * uniformly from the words in all active dictionaries that satisfy it. In both cases, the indices of the
+     * dictionaries are used, so neither may be requested while any dictionary is streamed, and the matching words are
+     * found once and then cached by {@link CombinedDictionaryCache} until the settings change.
+     * Otherwise, if any of the dictionaries held in memory is {@link Dictionary#isWeighted() weighted}, words are
+     * sampled in proportion to their weights, and words that occur in multiple dictionaries are not merged.
+     *
+     * @param count  the number of words to sample
+     * @param filter the filter that words must satisfy
+     * @return the given number of random words with a length in the configured range, fewer words if unique words are
+     * requested and there are not enough distinct words, or an empty list if there are no such words
+     * @throws IOException if a streamed dictionary could not be read
+     */
+    private List<String> sampleWords(final int count, final WordFilter filter) throws IOException {
+        final int minLength = wordSettings.getMinLength();
+        final int maxLength = wordSettings.getMaxLength();
+        final Random random = ThreadLocalRandom.current();
+
+        if (wordSettings.isUniqueWords()) {
+            final List<String> distinctWords = CombinedDictionaryCache.getWordsMatching(
+                    wordSettings.getValidActiveDictionaries(), minLength, maxLength, filter, true);
+            return DistinctWordSampler.sample(distinctWords, count, random);
+        }
+        if (!filter.isEmpty()) {
+            final List<String> matchingWords = CombinedDictionaryCache.getWordsMatching(
+                    wordSettings.getValidActiveDictionaries(), minLength, maxLength, filter,
+                    wordSettings.isDeduplicateWords());
+            if (matchingWords.isEmpty()) {
+                return Collections.emptyList();
+            }
+
+            final List<String> words = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                words.add(matchingWords.get(random.nextInt(matchingWords.size())));
+            }
+            return words;
         }
 
-        final int randomIndex = ThreadLocalRandom.current().nextInt(0, words.size());
-        final String randomWord = wordSettings.getCapitalization().getTransform().apply(words.get(randomIndex));
+        final List<Dictionary> residentDictionaries = wordSettings.getValidActiveResidentDictionaries();
+        final List<String> streamedDictionaries = wordSettings.getActiveStreamedDictionaries();
+
+        final StreamingWordSampler sampler = new StreamingWordSampler(count, minLength, maxLength, random);
+        if (residentDictionaries.stream().anyMatch(Dictionary::isWeighted)) {
+            final WeightedWordSampler weightedSampler =
+                    new WeightedWordSampler(residentDictionaries, minLength, maxLength);
+
+            if (streamedDictionaries.isEmpty()) {
+                if (weightedSampler.getTotalWeight() == 0) {
+                    return Collections.emptyList();
+                }
+
+                final List<String> words = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    words.add(weightedSampler.sample(random));
+                }
+                return words;
+            }
 
-        return wordSettings.getEnclosure() + randomWord + wordSettings.getEnclosure();
+            sampler.offer(weightedSampler.getTotalWeight(), weightedSampler::sample);
+        } else {
+            final List<String> residentWords = CombinedDictionaryCache.getWordsWithLengthInRange(
+                    residentDictionaries, minLength, maxLength, wordSettings.isDeduplicateWords());
+
+            if (streamedDictionaries.isEmpty()) {
+                if (residentWords.isEmpty()) {
+                    return Collections.emptyList();
+                }
+
+                final List<String> words = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    words.add(residentWords.get(random.nextInt(residentWords.size())));
+                }
+                return words;
+            }
+
+            sampler.offer(residentWords);
+        }
+
+        for (final String dictionary : streamedDictionaries) {
+            sampler.offer(Paths.get(dictionary));
+        }
+        return sampler.getSample();
     }
 }
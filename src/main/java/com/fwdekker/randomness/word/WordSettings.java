@@ -12,6 +12,7 @@ import org.jetbrains.annotations.NotNull;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
@@ -29,6 +30,7 @@ import java.util.stream.Collectors;
 public final class WordSettings extends Settings implements PersistentStateComponent<WordSettings> {
     private static final int DEFAULT_MIN_LENGTH = 3;
     private static final int DEFAULT_MAX_LENGTH = 8;
+    private static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
 
     /**
      * The minimum length of a generated word, inclusive.
@@ -46,6 +48,26 @@ public final class WordSettings extends Settings implements PersistentStateCompo
      * The way in which the generated word should be capitalized.
      */
     private CapitalizationMode capitalization = CapitalizationMode.RETAIN;
+    /**
+     * The string that generated words must start with.
+     */
+    private String prefix = "";
+    /**
+     * The string that generated words must end with.
+     */
+    private String suffix = "";
+    /**
+     * The string that generated words must contain.
+     */
+    private String infix = "";
+    /**
+     * The characters that generated words may consist of, or the empty string if they may consist of any characters.
+     */
+    private String allowedCharacters = "";
+    /**
+     * The regular expression that generated words must match, or the empty string if they may be anything.
+     */
+    private String regex = "";
     /**
      * The list of all dictionaries provided by the plugin.
      */
@@ -62,6 +84,24 @@ public final class WordSettings extends Settings implements PersistentStateCompo
      * The list of user dictionaries that are currently active.
      */
     private Set<String> activeUserDictionaries = new HashSet<>();
+    /**
+     * The way in which the words of dictionaries are stored in memory.
+     */
+    private DictionaryStorage dictionaryStorage = Dictionary.DEFAULT_STORAGE;
+    /**
+     * The memory budget in megabytes of each of the caches of loaded dictionaries.
+     */
+    private int dictionaryCacheSize = (int) (DictionaryCache.DEFAULT_BUDGET / BYTES_PER_MEGABYTE);
+    /**
+     * {@code true} if words that occur in multiple active dictionaries should be as likely to be generated as any
+     * other word, or {@code false} if they should be more likely.
+     */
+    private boolean deduplicateWords = true;
+    /**
+     * {@code true} if the words inserted at once, such as the elements of an array or the words at multiple carets,
+     * should all be different.
+     */
+    private boolean uniqueWords = false;
 
 
     /**
@@ -81,6 +121,9 @@ public final class WordSettings extends Settings implements PersistentStateCompo
     @Override
     public void loadState(final @NotNull WordSettings state) {
         XmlSerializerUtil.copyBean(state, this);
+        CombinedDictionaryCache.clear();
+        applyDictionaryCacheSize();
+        pinActiveDictionaries();
     }
 
 
@@ -156,6 +199,111 @@ public final class WordSettings extends Settings implements PersistentStateCompo
         this.capitalization = capitalization;
     }
 
+    /**
+     * Returns the string that generated words must start with.
+     *
+     * @return the string that generated words must start with
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * Sets the string that generated words must start with.
+     *
+     * @param prefix the string that generated words must start with
+     */
+    public void setPrefix(final String prefix) {
+        this.prefix = prefix;
+    }
+
+    /**
+     * Returns the string that generated words must end with.
+     *
+     * @return the string that generated words must end with
+     */
+    public String getSuffix() {
+        return suffix;
+    }
+
+    /**
+     * Sets the string that generated words must end with.
+     *
+     * @param suffix the string that generated words must end with
+     */
+    public void setSuffix(final String suffix) {
+        this.suffix = suffix;
+    }
+
+    /**
+     * Returns the string that generated words must contain.
+     *
+     * @return the string that generated words must contain
+     */
+    public String getInfix() {
+        return infix;
+    }
+
+    /**
+     * Sets the string that generated words must contain.
+     *
+     * @param infix the string that generated words must contain
+     */
+    public void setInfix(final String infix) {
+        this.infix = infix;
+    }
+
+    /**
+     * Returns the characters that generated words may consist of, or the empty string if they may consist of any
+     * characters.
+     *
+     * @return the characters that generated words may consist of, or the empty string if they may consist of any
+     * characters
+     */
+    public String getAllowedCharacters() {
+        return allowedCharacters;
+    }
+
+    /**
+     * Sets the characters that generated words may consist of.
+     *
+     * @param allowedCharacters the characters that generated words may consist of, or the empty string if they may
+     *                          consist of any characters
+     */
+    public void setAllowedCharacters(final String allowedCharacters) {
+        this.allowedCharacters = allowedCharacters;
+    }
+
+    /**
+     * Returns the regular expression that generated words must match, or the empty string if they may be anything.
+     *
+     * @return the regular expression that generated words must match, or the empty string if they may be anything
+     */
+    public String getRegex() {
+        return regex;
+    }
+
+    /**
+     * Sets the regular expression that generated words must match.
+     *
+     * @param regex the regular expression that generated words must match, or the empty string if they may be
+     *              anything
+     */
+    public void setRegex(final String regex) {
+        this.regex = regex;
+    }
+
+    /**
+     * Returns the filter that generated words must satisfy.
+     *
+     * @return the filter that generated words must satisfy
+     * @throws java.util.regex.PatternSyntaxException if the {@link #getRegex() regular expression} is invalid
+     */
+    public WordFilter getFilter() {
+        return new WordFilter(nullToEmpty(prefix), nullToEmpty(suffix), nullToEmpty(infix),
+                nullToEmpty(allowedCharacters), nullToEmpty(regex));
+    }
+
     /**
      * Returns the list of all dictionaries provided by the plugin.
      *
@@ -172,6 +320,7 @@ public final class WordSettings extends Settings implements PersistentStateCompo
      */
     public void setBundledDictionaries(final Set<String> bundledDictionaries) {
         this.bundledDictionaries = bundledDictionaries;
+        CombinedDictionaryCache.clear();
     }
 
     /**
@@ -190,6 +339,7 @@ public final class WordSettings extends Settings implements PersistentStateCompo
      */
     public void setUserDictionaries(final Set<String> userDictionaries) {
         this.userDictionaries = userDictionaries;
+        CombinedDictionaryCache.clear();
     }
 
     /**
@@ -208,6 +358,8 @@ public final class WordSettings extends Settings implements PersistentStateCompo
      */
     public void setActiveBundledDictionaries(final Set<String> activeBundledDictionaries) {
         this.activeBundledDictionaries = activeBundledDictionaries;
+        CombinedDictionaryCache.clear();
+        pinActiveDictionaries();
     }
 
     /**
@@ -226,6 +378,118 @@ public final class WordSettings extends Settings implements PersistentStateCompo
      */
     public void setActiveUserDictionaries(final Set<String> activeUserDictionaries) {
         this.activeUserDictionaries = activeUserDictionaries;
+        CombinedDictionaryCache.clear();
+        pinActiveDictionaries();
+    }
+
+
+    /**
+     * Returns the way in which the words of dictionaries are stored in memory.
+     *
+     * @return the way in which the words of dictionaries are stored in memory
+     */
+    public DictionaryStorage getDictionaryStorage() {
+        return dictionaryStorage;
+    }
+
+    /**
+     * Sets the way in which the words of dictionaries are stored in memory.
+     *
+     * @param dictionaryStorage the way in which the words of dictionaries are stored in memory
+     */
+    public void setDictionaryStorage(final DictionaryStorage dictionaryStorage) {
+        this.dictionaryStorage = dictionaryStorage;
+    }
+
+    /**
+     * Returns the memory budget in megabytes of each of the caches of loaded dictionaries.
+     *
+     * @return the memory budget in megabytes of each of the caches of loaded dictionaries
+     */
+    public int getDictionaryCacheSize() {
+        return dictionaryCacheSize;
+    }
+
+    /**
+     * Sets the memory budget in megabytes of each of the caches of loaded dictionaries.
+     *
+     * @param dictionaryCacheSize the memory budget in megabytes of each of the caches of loaded dictionaries
+     */
+    public void setDictionaryCacheSize(final int dictionaryCacheSize) {
+        this.dictionaryCacheSize = dictionaryCacheSize;
+        applyDictionaryCacheSize();
+    }
+
+    /**
+     * Applies {@link #dictionaryCacheSize} to the caches of loaded dictionaries.
+     */
+    private void applyDictionaryCacheSize() {
+        final long budget = Math.max(0, dictionaryCacheSize) * BYTES_PER_MEGABYTE;
+
+        Dictionary.BundledDictionary.getCache().setBudget(budget);
+        Dictionary.UserDictionary.getCache().setBudget(budget);
+    }
+
+    /**
+     * Pins the currently active dictionaries in the caches of loaded dictionaries, so that they are never evicted to
+     * make room for each other.
+     * <p>
+     * As a result, the cached combinations of active dictionaries are not invalidated by evictions either.
+     */
+    private void pinActiveDictionaries() {
+        Dictionary.BundledDictionary.getCache().setPinned(activeBundledDictionaries);
+        Dictionary.UserDictionary.getCache().setPinned(activeUserDictionaries);
+    }
+
+    /**
+     * Returns {@code true} if words that occur in multiple active dictionaries should be as likely to be generated as
+     * any other word, or {@code false} if they should be more likely.
+     *
+     * @return {@code true} if words that occur in multiple active dictionaries should be as likely to be generated as
+     * any other word, or {@code false} if they should be more likely
+     */
+    public boolean isDeduplicateWords() {
+        return deduplicateWords;
+    }
+
+    /**
+     * Sets whether words that occur in multiple active dictionaries should be as likely to be generated as any other
+     * word.
+     * <p>
+     * Removing duplicates requires a one-time merge of the active dictionaries whenever they or the length range
+     * change. Without it, sampling from multiple dictionaries requires no preparation at all.
+     *
+     * @param deduplicateWords {@code true} if words that occur in multiple active dictionaries should be as likely to
+     *                         be generated as any other word, or {@code false} if they should be more likely
+     */
+    public void setDeduplicateWords(final boolean deduplicateWords) {
+        this.deduplicateWords = deduplicateWords;
+    }
+
+    /**
+     * Returns {@code true} if the words inserted at once, such as the elements of an array or the words at multiple
+     * carets, should all be different.
+     *
+     * @return {@code true} if the words inserted at once, such as the elements of an array or the words at multiple
+     * carets, should all be different
+     */
+    public boolean isUniqueWords() {
+        return uniqueWords;
+    }
+
+    /**
+     * Sets whether the words inserted at once, such as the elements of an array or the words at multiple carets, should
+     * all be different.
+     * <p>
+     * Unique words are chosen uniformly from the distinct words in the active dictionaries, regardless of
+     * {@link #isDeduplicateWords()} and of any weights in the dictionaries. Unique words cannot be inserted while any
+     * of the active dictionaries is {@link #getActiveStreamedDictionaries() streamed}.
+     *
+     * @param uniqueWords {@code true} if the words inserted at once, such as the elements of an array or the words at
+     *                    multiple carets, should all be different
+     */
+    public void setUniqueWords(final boolean uniqueWords) {
+        this.uniqueWords = uniqueWords;
     }
 
 
@@ -280,6 +544,25 @@ public final class WordSettings extends Settings implements PersistentStateCompo
         return validateDictionaries(activeBundledDictionaries, activeUserDictionaries);
     }
 
+    /**
+     * Validates that neither unique words nor a word filter are requested while any of the active dictionaries is
+     * {@link #getActiveStreamedDictionaries() streamed}, because both need all words of the active dictionaries to be
+     * held in memory.
+     *
+     * @return {@code null} if the settings can be used with the active streamed dictionaries, or a
+     * {@code ValidationInfo} explaining why they cannot
+     */
+    public ValidationInfo validateStreamedDictionaries() {
+        final boolean filtered = uniqueWords || !nullToEmpty(prefix).isEmpty() || !nullToEmpty(suffix).isEmpty()
+                || !nullToEmpty(infix).isEmpty() || !nullToEmpty(allowedCharacters).isEmpty()
+                || !nullToEmpty(regex).isEmpty();
+        if (filtered && !getActiveStreamedDictionaries().isEmpty()) {
+            return new ValidationInfo("Unique words and word filters cannot be used with streamed dictionaries.");
+        }
+
+        return null;
+    }
+
     /**
      * Returns the list of all dictionaries in the given collections that are valid.
      *
@@ -293,11 +576,11 @@ public final class WordSettings extends Settings implements PersistentStateCompo
 
         dictionaries.addAll(bundledDictionaries.stream()
                 .filter(dictionary -> Dictionary.BundledDictionary.validate(dictionary) == null)
-                .map(Dictionary.BundledDictionary::get)
+                .map(dictionary -> Dictionary.BundledDictionary.get(dictionary, dictionaryStorage))
                 .collect(Collectors.toList()));
         dictionaries.addAll(userDictionaries.stream()
                 .filter(dictionary -> Dictionary.UserDictionary.validate(dictionary) == null)
-                .map(Dictionary.UserDictionary::get)
+                .map(dictionary -> Dictionary.UserDictionary.get(dictionary, dictionaryStorage))
                 .collect(Collectors.toList()));
 
         return dictionaries;
@@ -314,10 +597,60 @@ public final class WordSettings extends Settings implements PersistentStateCompo
 
     /**
      * Returns the list of all dictionaries that are valid and currently active.
+     * <p>
+     * The returned dictionaries are pinned in the caches of loaded dictionaries, so that they are not evicted even if
+     * together they exceed the {@link #getDictionaryCacheSize() budget}.
      *
      * @return the list of all dictionaries that are valid and currently active
      */
     public List<Dictionary> getValidActiveDictionaries() {
+        pinActiveDictionaries();
         return getValidDictionaries(activeBundledDictionaries, activeUserDictionaries);
     }
+
+    /**
+     * Returns the list of all dictionaries that are valid, currently active, and held in memory while inserting words.
+     * <p>
+     * This excludes the dictionaries returned by {@link #getActiveStreamedDictionaries()}.
+     *
+     * @return the list of all dictionaries that are valid, currently active, and held in memory while inserting words
+     */
+    public List<Dictionary> getValidActiveResidentDictionaries() {
+        if (dictionaryStorage != DictionaryStorage.STREAMING) {
+            return getValidActiveDictionaries();
+        }
+
+        pinActiveDictionaries();
+        return getValidDictionaries(activeBundledDictionaries, activeUserDictionaries.stream()
+                .filter(dictionary -> !Dictionary.UserDictionary.isStreamable(dictionary))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Returns the paths to the currently active user dictionaries from which words are sampled without holding them in
+     * memory.
+     *
+     * @return the paths to the currently active user dictionaries from which words are sampled without holding them in
+     * memory
+     * @see DictionaryStorage#STREAMING
+     */
+    public List<String> getActiveStreamedDictionaries() {
+        if (dictionaryStorage != DictionaryStorage.STREAMING) {
+            return Collections.emptyList();
+        }
+
+        return activeUserDictionaries.stream()
+                .filter(Dictionary.UserDictionary::isStreamable)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Returns the given string, or the empty string if it is {@code null}.
+     *
+     * @param string a string or {@code null}
+     * @return the given string, or the empty string if it is {@code null}
+     */
+    private static String nullToEmpty(final String string) {
+        return string == null ? "" : string;
+    }
 }
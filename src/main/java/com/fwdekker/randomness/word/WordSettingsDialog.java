@@ -12,6 +12,7 @@ import com.intellij.openapi.ui.MessageType;
 import com.intellij.openapi.ui.ValidationInfo;
 import com.intellij.openapi.ui.popup.Balloon;
 import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.ui.DocumentAdapter;
 import com.intellij.ui.awt.RelativePoint;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.jetbrains.annotations.NotNull;
@@ -19,11 +20,21 @@ import org.jetbrains.annotations.Nullable;
 
 import javax.swing.ButtonGroup;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JComponent;
+import javax.swing.JLabel;
 import javax.swing.JPanel;
+import javax.swing.JTextField;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import javax.swing.event.DocumentEvent;
 import javax.swing.event.ListSelectionEvent;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
 import java.util.stream.Collectors;
 
 
@@ -36,15 +47,42 @@ import java.util.stream.Collectors;
         justification = "Initialized by UI framework"
 )
 final class WordSettingsDialog extends SettingsDialog<WordSettings> {
+    /**
+     * The number of milliseconds to wait after the last change to the settings before counting the matching words.
+     */
+    private static final int MATCH_COUNT_DELAY = 300;
+
     private JPanel contentPane;
     private JSpinnerRange lengthRange;
     private JLongSpinner minLength;
     private JLongSpinner maxLength;
     private ButtonGroup capitalizationGroup;
     private ButtonGroup enclosureGroup;
+    private ButtonGroup storageGroup;
     private JEditableList<Dictionary> dictionaries;
     private JButton dictionaryAddButton;
     private JButton dictionaryRemoveButton;
+    private JTextField prefix;
+    private JTextField suffix;
+    private JTextField infix;
+    private JTextField allowedCharacters;
+    private JTextField regex;
+    private JLabel matchCount;
+    private JCheckBox uniqueWords;
+
+    /**
+     * Counts the matching words once the settings have not changed for {@link #MATCH_COUNT_DELAY} milliseconds.
+     */
+    private Timer matchCountTimer;
+    /**
+     * The number of times the matching words have been counted, used to discard counts that finish after the count
+     * that was started after them.
+     */
+    private int matchCountRequest;
+    /**
+     * {@code true} if words that occur in multiple dictionaries are counted once.
+     */
+    private boolean deduplicateWords;
 
 
     /**
@@ -63,6 +101,21 @@ final class WordSettingsDialog extends SettingsDialog<WordSettings> {
         super(settings);
 
         init();
+
+        final DocumentAdapter filterListener = new DocumentAdapter() {
+            @Override
+            protected void textChanged(final DocumentEvent event) {
+                matchCountTimer.restart();
+            }
+        };
+        prefix.getDocument().addDocumentListener(filterListener);
+        suffix.getDocument().addDocumentListener(filterListener);
+        infix.getDocument().addDocumentListener(filterListener);
+        allowedCharacters.getDocument().addDocumentListener(filterListener);
+        regex.getDocument().addDocumentListener(filterListener);
+        uniqueWords.addItemListener(event -> matchCountTimer.restart());
+        ButtonGroupHelper.forEach(storageGroup, button -> button.addItemListener(event -> matchCountTimer.restart()));
+
         loadSettings();
     }
 
@@ -80,9 +133,14 @@ final class WordSettingsDialog extends SettingsDialog<WordSettings> {
      */
     @SuppressWarnings("PMD.UnusedPrivateMethod") // Method used by scene builder
     private void createUIComponents() {
+        matchCountTimer = new Timer(MATCH_COUNT_DELAY, event -> countMatchingWords());
+        matchCountTimer.setRepeats(false);
+
         minLength = new JLongSpinner(1, 1, Integer.MAX_VALUE);
         maxLength = new JLongSpinner(1, 1, Integer.MAX_VALUE);
         lengthRange = new JSpinnerRange(minLength, maxLength, Integer.MAX_VALUE);
+        minLength.addChangeListener(event -> matchCountTimer.restart());
+        maxLength.addChangeListener(event -> matchCountTimer.restart());
 
         dictionaries = new JEditableList<>();
         dictionaries.getSelectionModel().addListSelectionListener(this::onDictionaryHighlightChange);
@@ -103,9 +161,17 @@ final class WordSettingsDialog extends SettingsDialog<WordSettings> {
         maxLength.setValue(settings.getMaxLength());
         ButtonGroupHelper.setValue(enclosureGroup, settings.getEnclosure());
         ButtonGroupHelper.setValue(capitalizationGroup, settings.getCapitalization());
+        ButtonGroupHelper.setValue(storageGroup, settings.getDictionaryStorage());
 
         dictionaries.setEntries(settings.getValidAllDictionaries());
         dictionaries.setActiveEntries(settings.getValidActiveDictionaries());
+        prefix.setText(settings.getPrefix());
+        suffix.setText(settings.getSuffix());
+        infix.setText(settings.getInfix());
+        allowedCharacters.setText(settings.getAllowedCharacters());
+        regex.setText(settings.getRegex());
+        uniqueWords.setSelected(settings.isUniqueWords());
+        deduplicateWords = settings.isDeduplicateWords();
     }
 
     @Override
@@ -115,6 +181,7 @@ final class WordSettingsDialog extends SettingsDialog<WordSettings> {
         settings.setMaxLength(Math.toIntExact(maxLength.getValue()));
         settings.setEnclosure(ButtonGroupHelper.getValue(enclosureGroup));
         settings.setCapitalization(CapitalizationMode.getMode(ButtonGroupHelper.getValue(capitalizationGroup)));
+        settings.setDictionaryStorage(getDictionaryStorage());
 
         settings.setBundledDictionaries(dictionaries.getEntries().stream()
                 .filter(Dictionary.BundledDictionary.class::isInstance)
@@ -124,7 +191,6 @@ final class WordSettingsDialog extends SettingsDialog<WordSettings> {
                 .filter(Dictionary.BundledDictionary.class::isInstance)
                 .map(Dictionary::getUid)
                 .collect(Collectors.toSet()));
-        Dictionary.BundledDictionary.clearCache();
 
         settings.setUserDictionaries(dictionaries.getEntries().stream()
                 .filter(Dictionary.UserDictionary.class::isInstance)
@@ -134,7 +200,12 @@ final class WordSettingsDialog extends SettingsDialog<WordSettings> {
                 .filter(Dictionary.UserDictionary.class::isInstance)
                 .map(Dictionary::getUid)
                 .collect(Collectors.toSet()));
-        Dictionary.UserDictionary.clearCache();
+        settings.setPrefix(prefix.getText());
+        settings.setSuffix(suffix.getText());
+        settings.setInfix(infix.getText());
+        settings.setAllowedCharacters(allowedCharacters.getText());
+        settings.setRegex(regex.getText());
+        settings.setUniqueWords(uniqueWords.isSelected());
     }
 
     @Override
@@ -160,6 +231,17 @@ final class WordSettingsDialog extends SettingsDialog<WordSettings> {
             return new ValidationInfo(e.getMessage(), e.getComponent());
         }
 
+        try {
+            Pattern.compile(regex.getText());
+        } catch (final PatternSyntaxException e) {
+            return new ValidationInfo("Invalid regular expression: " + e.getDescription() + ".", regex);
+        }
+
+        if (isFiltered() && dictionaries.getActiveEntries().stream().anyMatch(this::isStreamed)) {
+            return new ValidationInfo("Unique words and word filters cannot be used with streamed dictionaries.",
+                    uniqueWords);
+        }
+
         return null;
     }
 
@@ -182,7 +264,8 @@ final class WordSettingsDialog extends SettingsDialog<WordSettings> {
                 return;
             }
 
-            final Dictionary newDictionary = Dictionary.UserDictionary.get(files.get(0).getCanonicalPath(), false);
+            final Dictionary newDictionary =
+                    Dictionary.UserDictionary.get(files.get(0).getCanonicalPath(), getDictionaryStorage());
             dictionaries.addEntry(newDictionary);
         });
     }
@@ -216,14 +299,125 @@ final class WordSettingsDialog extends SettingsDialog<WordSettings> {
      * Fires when the user (de)activates a dictionary.
      */
     private void onDictionaryActivityChange() {
-        final Dictionary dictionary = Dictionary.combine(dictionaries.getActiveEntries());
+        final DictionaryStatistics statistics = DictionaryStatistics.combine(dictionaries.getActiveEntries().stream()
+                .map(Dictionary::getStatistics)
+                .collect(Collectors.toList()));
 
-        if (dictionary.getWords().isEmpty()) {
+        if (statistics.isEmpty()) {
             minLength.setMaxValue(1);
             maxLength.setMinValue(Integer.MAX_VALUE);
         } else {
-            minLength.setMaxValue(dictionary.getLongestWord().length());
-            maxLength.setMinValue(dictionary.getShortestWord().length());
+            minLength.setMaxValue(statistics.getMaxLength());
+            maxLength.setMinValue(statistics.getMinLength());
+        }
+
+        matchCountTimer.restart();
+    }
+
+    /**
+     * Counts the words in the active dictionaries that satisfy the current settings in the background, and shows the
+     * count once it is known.
+     * <p>
+     * The matching words are obtained from the {@link CombinedDictionaryCache}, so that inserting words after the
+     * settings have been saved does not have to find them again. The words of dictionaries that are
+     * {@link #isStreamed(Dictionary) streamed} with the selected storage are counted from their statistics instead, and
+     * are not counted at all if unique words or a word filter are requested. Dictionaries in the list that are streamed
+     * but that are held in memory with the selected storage are loaded first.
+     */
+    private void countMatchingWords() {
+        final int request = ++matchCountRequest;
+
+        final List<Dictionary> activeDictionaries = dictionaries.getActiveEntries();
+        final WordFilter filter;
+        try {
+            filter = new WordFilter(prefix.getText(), suffix.getText(), infix.getText(), allowedCharacters.getText(),
+                    regex.getText());
+        } catch (final PatternSyntaxException e) {
+            matchCount.setText("");
+            return;
+        }
+        if (activeDictionaries.isEmpty()) {
+            matchCount.setText("");
+            return;
         }
+
+        final List<Dictionary> streamedDictionaries = activeDictionaries.stream()
+                .filter(this::isStreamed)
+                .collect(Collectors.toList());
+        if (!streamedDictionaries.isEmpty() && isFiltered()) {
+            matchCount.setText("");
+            return;
+        }
+        final DictionaryStorage storage = getDictionaryStorage();
+        final List<Dictionary> residentDictionaries = activeDictionaries.stream()
+                .filter(dictionary -> !isStreamed(dictionary))
+                .collect(Collectors.toList());
+
+        final int min = Math.toIntExact(minLength.getValue());
+        final int max = Math.toIntExact(maxLength.getValue());
+        final boolean deduplicate = uniqueWords.isSelected() || deduplicateWords;
+
+        matchCount.setText("Counting matching words...");
+        CompletableFuture
+                .supplyAsync(() -> CombinedDictionaryCache
+                        .getWordsMatching(residentDictionaries.stream()
+                                .map(dictionary -> dictionary.isStreamed()
+                                        ? Dictionary.UserDictionary.get(dictionary.getUid(), storage)
+                                        : dictionary)
+                                .collect(Collectors.toList()), min, max, filter, deduplicate)
+                        .size()
+                        + streamedDictionaries.stream()
+                        .mapToInt(dictionary -> dictionary.countWordsWithLengthInRange(min, max))
+                        .sum())
+                .whenComplete((count, exception) -> SwingUtilities.invokeLater(() -> {
+                    if (request != matchCountRequest) {
+                        return;
+                    }
+
+                    if (exception != null) {
+                        matchCount.setText("Failed to count matching words.");
+                    } else if (count == 1) {
+                        matchCount.setText("1 matching word");
+                    } else {
+                        matchCount.setText(count + " matching words");
+                    }
+                }));
+    }
+
+    /**
+     * Returns the selected way in which the words of dictionaries are stored.
+     *
+     * @return the selected way in which the words of dictionaries are stored
+     */
+    private DictionaryStorage getDictionaryStorage() {
+        return DictionaryStorage.getStorage(ButtonGroupHelper.getValue(storageGroup));
+    }
+
+    /**
+     * Returns {@code true} if and only if words are sampled from the given dictionary without holding it in memory once
+     * the selected storage is saved.
+     * <p>
+     * The dictionaries in the list are not reloaded when another storage is selected, so this does not depend on
+     * whether the given dictionary itself is {@link Dictionary#isStreamed() streamed}. Whether its file is compiled was
+     * found when it was loaded, so the file is not read on the event dispatch thread.
+     *
+     * @param dictionary a dictionary in the list
+     * @return {@code true} if and only if words are sampled from the given dictionary without holding it in memory
+     * once the selected storage is saved
+     */
+    private boolean isStreamed(final Dictionary dictionary) {
+        return getDictionaryStorage() == DictionaryStorage.STREAMING
+                && dictionary instanceof Dictionary.UserDictionary
+                && !((Dictionary.UserDictionary) dictionary).isCompiled();
+    }
+
+    /**
+     * Returns {@code true} if and only if unique words or a word filter are requested.
+     *
+     * @return {@code true} if and only if unique words or a word filter are requested
+     */
+    private boolean isFiltered() {
+        return uniqueWords.isSelected() || !prefix.getText().isEmpty() || !suffix.getText().isEmpty()
+                || !infix.getText().isEmpty() || !allowedCharacters.getText().isEmpty() || !regex.getText().isEmpty();
     }
 }
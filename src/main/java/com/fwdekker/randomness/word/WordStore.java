@@ -0,0 +1,76 @@
+package com.fwdekker.randomness.word;
+
+
+/**
+ * Stores the words of a {@link Dictionary} in a fixed order.
+ * <p>
+ * A {@code WordStore} only has to materialize the {@code String} of a word when that word is requested, which allows
+ * implementations to store the words in a more compact form than one {@code String} per word.
+ */
+interface WordStore {
+    /**
+     * Returns the number of words in the store.
+     *
+     * @return the number of words in the store
+     */
+    int size();
+
+    /**
+     * Returns the word at the given index.
+     *
+     * @param index the index of the word to return
+     * @return the word at the given index
+     */
+    String get(int index);
+
+    /**
+     * Returns an estimate of the number of bytes of heap memory used by the store.
+     *
+     * @return an estimate of the number of bytes of heap memory used by the store
+     */
+    long estimateMemoryUsage();
+
+    /**
+     * Returns {@code true} if and only if the words of each length are stored in lexicographic order.
+     *
+     * @return {@code true} if and only if the words of each length are stored in lexicographic order
+     */
+    default boolean isSorted() {
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if and only if no word occurs more than once in the store.
+     *
+     * @return {@code true} if and only if no word occurs more than once in the store
+     */
+    default boolean isDistinct() {
+        return true;
+    }
+
+    /**
+     * Releases the resources that the store holds outside the heap, after which its words can no longer be read.
+     * <p>
+     * Stores that hold their words on the heap hold no such resources, so by default this method does nothing.
+     */
+    default void close() {
+        // Do nothing
+    }
+
+
+    /**
+     * Returns the number of bytes of heap memory used by an array with the given number of elements of the given size.
+     * <p>
+     * Assumes a 64-bit JVM with compressed references, which has a 16-byte array header and aligns objects to 8 bytes.
+     *
+     * @param length      the number of elements in the array
+     * @param elementSize the size of each element in bytes
+     * @return the number of bytes of heap memory used by an array with the given number of elements of the given size
+     */
+    static long arraySize(final long length, final int elementSize) {
+        final long arrayHeaderSize = 16;
+        final long alignment = 8;
+
+        return (arrayHeaderSize + length * elementSize + alignment - 1) / alignment * alignment;
+    }
+}
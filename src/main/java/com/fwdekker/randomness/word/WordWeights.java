@@ -0,0 +1,248 @@
+package com.fwdekker.randomness.word;
+
+import java.util.Random;
+
+
+/**
+ * The weights of the words in a {@link Dictionary}, with alias tables for sampling words in proportion to their
+ * weights.
+ * <p>
+ * The words of each length form a bucket with its own alias table, constructed with Vose's method. A word of a given
+ * length is sampled in constant time by choosing a uniformly random slot in the bucket and then, with the probability
+ * stored for that slot, either the word in that slot or its alias. A word with a length in a range is sampled by first
+ * choosing a bucket in proportion to the total weights of the buckets, which takes a binary search over at most as
+ * many buckets as the length of the longest word, and then sampling from that bucket.
+ * <p>
+ * All tables are primitive arrays indexed by the position of the word in the dictionary.
+ */
+final class WordWeights {
+    /**
+     * The weight of each word.
+     */
+    private final float[] weights;
+    /**
+     * For each slot, the probability that the word in that slot is chosen rather than its alias.
+     */
+    private final float[] probabilities;
+    /**
+     * For each slot, the position of the word that is chosen if the word in that slot is not.
+     */
+    private final int[] aliases;
+    /**
+     * The index of the first word of each length.
+     *
+     * @see Dictionary#getWordsWithLengthInRange(int, int)
+     */
+    private final int[] lengthOffsets;
+    /**
+     * The total weight of the words that are shorter than each length.
+     */
+    private final double[] cumulativeWeights;
+
+
+    /**
+     * Constructs new {@code WordWeights} and their alias tables.
+     *
+     * @param weights       the weight of each word, each of which must be finite and positive; the array is not copied
+     * @param lengthOffsets the index of the first word of each length; the array is not copied
+     */
+    WordWeights(final float[] weights, final int[] lengthOffsets) {
+        if (weights.length != lengthOffsets[lengthOffsets.length - 1]) {
+            throw new IllegalArgumentException("There must be exactly one weight for each word.");
+        }
+
+        this.weights = weights;
+        this.lengthOffsets = lengthOffsets;
+        this.probabilities = new float[weights.length];
+        this.aliases = new int[weights.length];
+        this.cumulativeWeights = new double[lengthOffsets.length];
+
+        final int maxBucketSize = getMaxBucketSize(lengthOffsets);
+        final double[] scaledWeights = new double[maxBucketSize];
+        final int[] small = new int[maxBucketSize];
+        final int[] large = new int[maxBucketSize];
+
+        for (int length = 0; length < lengthOffsets.length - 1; length++) {
+            final double bucketWeight = buildAliasTable(lengthOffsets[length], lengthOffsets[length + 1],
+                    scaledWeights, small, large);
+            cumulativeWeights[length + 1] = cumulativeWeights[length] + bucketWeight;
+        }
+    }
+
+
+    /**
+     * Returns the weight of the word at the given position.
+     *
+     * @param position the position of a word
+     * @return the weight of the word at the given position
+     */
+    float getWeight(final int position) {
+        return weights[position];
+    }
+
+    /**
+     * Returns the weight of each word; the array is not copied.
+     *
+     * @return the weight of each word
+     */
+    float[] getWeights() {
+        return weights;
+    }
+
+    /**
+     * Returns the total weight of the words with a length in the given range.
+     *
+     * @param minLength the minimum word length (inclusive)
+     * @param maxLength the maximum word length (inclusive)
+     * @return the total weight of the words with a length in the given range
+     */
+    double getTotalWeight(final int minLength, final int maxLength) {
+        return Math.max(0, getCumulativeWeight(maxLength + 1L) - getCumulativeWeight(minLength));
+    }
+
+    /**
+     * Returns the position of a random word with a length in the given range, chosen in proportion to the weights of
+     * these words.
+     *
+     * @param minLength the minimum word length (inclusive)
+     * @param maxLength the maximum word length (inclusive)
+     * @param random    the source of randomness
+     * @return the position of a random word with a length in the given range
+     */
+    int sample(final int minLength, final int maxLength, final Random random) {
+        final double lowWeight = getCumulativeWeight(minLength);
+        final double highWeight = getCumulativeWeight(maxLength + 1L);
+        if (highWeight <= lowWeight) {
+            throw new IllegalStateException("There are no words with a length in the given range.");
+        }
+
+        final double target = lowWeight + random.nextDouble() * (highWeight - lowWeight);
+        int low = Math.max(0, minLength) + 1;
+        int high = (int) Math.min(maxLength + 1L, cumulativeWeights.length - 1L);
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (cumulativeWeights[middle] > target) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        int length = low - 1;
+        while (lengthOffsets[length + 1] == lengthOffsets[length]) {
+            length--;
+        }
+
+        final int from = lengthOffsets[length];
+        final int slot = from + random.nextInt(lengthOffsets[length + 1] - from);
+        return random.nextFloat() < probabilities[slot] ? slot : aliases[slot];
+    }
+
+    /**
+     * Returns an estimate of the number of bytes of heap memory used by the weights and alias tables.
+     *
+     * @return an estimate of the number of bytes of heap memory used by the weights and alias tables
+     */
+    long estimateMemoryUsage() {
+        return 2 * WordStore.arraySize(weights.length, Float.BYTES)
+                + WordStore.arraySize(aliases.length, Integer.BYTES)
+                + WordStore.arraySize(cumulativeWeights.length, Double.BYTES);
+    }
+
+
+    /**
+     * Returns the total weight of the words that are shorter than the given length.
+     *
+     * @param length a word length
+     * @return the total weight of the words that are shorter than the given length
+     */
+    private double getCumulativeWeight(final long length) {
+        if (length <= 0) {
+            return 0;
+        }
+        if (length >= cumulativeWeights.length) {
+            return cumulativeWeights[cumulativeWeights.length - 1];
+        }
+
+        return cumulativeWeights[(int) length];
+    }
+
+    /**
+     * Fills the alias table of the words at the given range of positions using Vose's method.
+     * <p>
+     * The weights are scaled so that their average is one. Slots with a scaled weight below one are then topped up by
+     * a slot with a scaled weight above one, which becomes their alias, until all slots are full.
+     *
+     * @param from          the position of the first word in the bucket
+     * @param to            the position after the last word in the bucket
+     * @param scaledWeights a work array at least as large as the bucket
+     * @param small         a work array at least as large as the bucket
+     * @param large         a work array at least as large as the bucket
+     * @return the total weight of the words in the bucket
+     */
+    private double buildAliasTable(final int from, final int to, final double[] scaledWeights,
+                                   final int[] small, final int[] large) {
+        final int size = to - from;
+        if (size == 0) {
+            return 0;
+        }
+
+        double totalWeight = 0;
+        for (int position = from; position < to; position++) {
+            totalWeight += weights[position];
+        }
+
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            scaledWeights[i] = weights[from + i] * size / totalWeight;
+            if (scaledWeights[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            final int less = small[--smallCount];
+            final int more = large[--largeCount];
+
+            probabilities[from + less] = (float) scaledWeights[less];
+            aliases[from + less] = from + more;
+
+            scaledWeights[more] = scaledWeights[more] + scaledWeights[less] - 1;
+            if (scaledWeights[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        while (largeCount > 0) {
+            final int slot = from + large[--largeCount];
+            probabilities[slot] = 1;
+            aliases[slot] = slot;
+        }
+        while (smallCount > 0) {
+            final int slot = from + small[--smallCount];
+            probabilities[slot] = 1;
+            aliases[slot] = slot;
+        }
+
+        return totalWeight;
+    }
+
+    /**
+     * Returns the largest number of words of a single length.
+     *
+     * @param lengthOffsets the index of the first word of each length
+     * @return the largest number of words of a single length
+     */
+    private static int getMaxBucketSize(final int[] lengthOffsets) {
+        int maxBucketSize = 0;
+        for (int length = 0; length < lengthOffsets.length - 1; length++) {
+            maxBucketSize = Math.max(maxBucketSize, lengthOffsets[length + 1] - lengthOffsets[length]);
+        }
+        return maxBucketSize;
+    }
+}
@@ -0,0 +1,159 @@
+package com.fwdekker.randomness.string;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+
+/**
+ * Unit tests for {@link RegexAutomaton}.
+ */
+final class RegexAutomatonTest {
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "abc", "[A-Z]{3}-\\d{4}", "[a-f0-9]{8}", "(cat|dog|bird)s?", "(?:ab)+c*", "x{2,}y?", "[^a-z]{5}",
+            "\\w+@\\w+\\.(com|org)", "\\D\\W\\S", ".{3}", "[-a]", "[a-]", "[]a]", "\\.\\*\\[", "a|b|", "((a|b)c){2}",
+            "\\x41\\x{42}\\u0043", "[\\d_]{4}", "a+?b*+", "\\t\\s"
+    })
+    void testGenerateMatches(final String regex) {
+        final RegexAutomaton automaton = new RegexAutomaton(regex);
+        final Random random = new Random(52);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(automaton.generate(random)).matches(regex);
+        }
+    }
+
+    @Test
+    void testGenerateAppends() {
+        final StringBuilder builder = new StringBuilder("<");
+
+        new RegexAutomaton("[0-9]{3}").generate(new Random(52), builder);
+
+        assertThat(builder.toString()).matches("<[0-9]{3}");
+    }
+
+    @Test
+    void testGenerateAnchors() {
+        assertThat(new RegexAutomaton("^abc$").generate(new Random(52))).isEqualTo("abc");
+    }
+
+    @Test
+    void testGenerateSupplementary() {
+        final RegexAutomaton automaton = new RegexAutomaton("[\\x{1F600}-\\x{1F602}]{2}");
+
+        assertThat(automaton.generate(new Random(52)))
+                .hasSize(4)
+                .matches("[\\x{1F600}-\\x{1F602}]{2}");
+    }
+
+    @Test
+    void testGenerateNegatedIsPrintable() {
+        final RegexAutomaton automaton = new RegexAutomaton("[^b-y]{1000}");
+
+        assertThat(automaton.generate(new Random(52)).chars())
+                .allMatch(it -> it >= 0x20 && it <= 0x7E && (it < 'b' || it > 'y'))
+                .contains((int) 'a', (int) 'z', (int) ' ', (int) '~');
+    }
+
+    @Test
+    void testGenerateVeryLongStrings() {
+        final RegexAutomaton automaton = new RegexAutomaton("[a-z]{500}");
+
+        assertThat(automaton.generate(new Random(52))).matches("[a-z]{500}");
+    }
+
+    @Test
+    void testGetLengths() {
+        assertThat(new RegexAutomaton("a{2,4}").getLengths()).containsExactly(2, 3, 4);
+        assertThat(new RegexAutomaton("(ab|c)d?").getLengths()).containsExactly(1, 2, 3);
+        assertThat(new RegexAutomaton("").getLengths()).containsExactly(0);
+    }
+
+    @Test
+    void testGetLengthsUnbounded() {
+        assertThat(new RegexAutomaton("a*").getLengths()).hasSize(RegexAutomaton.MAX_EXTRA_REPEATS + 1);
+        assertThat(new RegexAutomaton("a{3,}").getLengths())
+                .startsWith(3)
+                .endsWith(3 + RegexAutomaton.MAX_EXTRA_REPEATS);
+    }
+
+    @Test
+    void testGenerateIsUniformPerLength() {
+        final RegexAutomaton automaton = new RegexAutomaton("ac|[ab]c|[a-d]e");
+        final Random random = new Random(52);
+
+        final Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 60_000; i++) {
+            counts.merge(automaton.generate(random), 1, Integer::sum);
+        }
+
+        assertThat(counts).hasSize(6);
+        assertThat(counts.values()).allSatisfy(it -> assertThat(it).isCloseTo(10_000, within(500)));
+    }
+
+    @Test
+    void testGenerateIsUniformOverLengths() {
+        final RegexAutomaton automaton = new RegexAutomaton("[a-z]{1,3}");
+        final Random random = new Random(52);
+
+        final int[] counts = new int[4];
+        for (int i = 0; i < 30_000; i++) {
+            counts[automaton.generate(random).length()]++;
+        }
+
+        assertThat(counts[0]).isEqualTo(0);
+        for (int length = 1; length <= 3; length++) {
+            assertThat(counts[length]).isCloseTo(10_000, within(500));
+        }
+    }
+
+    @Test
+    void testInvalidSyntax() {
+        assertThatThrownBy(() -> new RegexAutomaton("[a-"))
+                .isInstanceOf(PatternSyntaxException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"(a)\\1", "a(?=b)", "(?i)a", "\\bword", "\\p{L}", "[a[b]]", "[a-z&&[^b]]", "a^b", "a$b"})
+    void testUnsupported(final String regex) {
+        assertThat(Pattern.compile(regex)).isNotNull();
+        assertThatThrownBy(() -> new RegexAutomaton(regex))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("The regular expression uses an unsupported construct at index ");
+    }
+
+    @Test
+    void testMatchesNothing() {
+        assertThatThrownBy(() -> new RegexAutomaton("[^ -~]"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The regular expression does not match any string.");
+    }
+
+    @Test
+    void testTooComplex() {
+        assertThatThrownBy(() -> new RegexAutomaton("[a-z]{10000}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The regular expression is too complex.");
+        assertThatThrownBy(() -> new RegexAutomaton("(){1000000}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The regular expression is too complex.");
+    }
+
+    @Test
+    void testOfCaches() {
+        final RegexAutomaton automaton = RegexAutomaton.of("[x-z]{2}");
+
+        assertThat(RegexAutomaton.of("[x-z]{2}")).isSameAs(automaton);
+    }
+}
@@ -0,0 +1,464 @@
+package com.fwdekker.randomness.string;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+/**
+ * Unit tests for {@link StringGenerator}.
+ */
+final class StringGeneratorTest {
+    private StringSettings stringSettings;
+
+
+    @BeforeEach
+    void beforeEach() {
+        stringSettings = new StringSettings();
+        stringSettings.setMinLength(4);
+        stringSettings.setMaxLength(9);
+        stringSettings.setEnclosure("'");
+        stringSettings.setAlphabets(new HashSet<>(Arrays.asList(Alphabet.DIGITS, Alphabet.MINUS)));
+    }
+
+
+    @Test
+    void testGenerate() {
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        assertThat(generator.generate(new Random(52))).matches("'[0-9\\-]{4,9}'");
+    }
+
+    @Test
+    void testGenerateEmptyEnclosure() {
+        stringSettings.setEnclosure("");
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        assertThat(generator.generate(new Random(52))).matches("[0-9\\-]{4,9}");
+    }
+
+    @Test
+    void testGenerateLongEnclosure() {
+        stringSettings.setEnclosure("<!>");
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        assertThat(generator.generate(new Random(52))).matches("<!>[0-9\\-]{4,9}<!>");
+    }
+
+    @Test
+    void testGenerateUsesAllLengths() {
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        assertThat(generator.generate(1000, new Random(52)))
+                .extracting(String::length)
+                .containsOnly(6, 7, 8, 9, 10, 11);
+    }
+
+    @Test
+    void testGenerateUsesAllSymbols() {
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        final String strings = String.join("", generator.generate(100, new Random(52)));
+
+        assertThat(strings.chars().distinct().count()).isEqualTo(12);
+    }
+
+    @Test
+    void testGenerateCount() {
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        assertThat(generator.generate(7, new Random(52))).hasSize(7).allMatch(it -> it.matches("'[0-9\\-]{4,9}'"));
+    }
+
+
+    @Test
+    void testGenerateSingleSymbol() {
+        stringSettings.setAlphabets(new HashSet<>(Collections.singletonList(Alphabet.SPACE)));
+        stringSettings.setMinLength(100);
+        stringSettings.setMaxLength(100);
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        assertThat(generator.generate(new Random(52))).matches("' {100}'");
+    }
+
+    @Test
+    void testGenerateNoSymbolsEmpty() {
+        stringSettings.setAlphabets(new HashSet<>());
+        stringSettings.setMinLength(0);
+        stringSettings.setMaxLength(0);
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        assertThat(generator.generate(3, new Random(52))).containsExactly("''", "''", "''");
+    }
+
+    @Test
+    void testGenerateNoSymbols() {
+        stringSettings.setAlphabets(new HashSet<>());
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        assertThatThrownBy(() -> generator.generate(new Random(52)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("There are no symbols to generate strings from.");
+    }
+
+    @Test
+    void testGenerateDrawsOnceForSeveralSymbols() {
+        stringSettings.setAlphabets(new HashSet<>(Arrays.asList(Alphabet.LOWERCASE, Alphabet.UPPERCASE,
+                Alphabet.DIGITS)));
+        stringSettings.setMinLength(10);
+        stringSettings.setMaxLength(10);
+        final StringGenerator generator = new StringGenerator(stringSettings);
+        final CountingRandom random = new CountingRandom();
+
+        generator.generate(1000, random);
+
+        assertThat(random.longCount).isBetween(1000, 1200);
+    }
+
+    @Test
+    void testGenerateIsUniform() {
+        stringSettings.setAlphabets(new HashSet<>(Collections.singletonList(Alphabet.BRACKETS)));
+        stringSettings.setEnclosure("");
+        stringSettings.setMinLength(1000);
+        stringSettings.setMaxLength(1000);
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        final String string = String.join("", generator.generate(80, new Random(52)));
+
+        for (final char symbol : Alphabet.BRACKETS.getSymbols().toCharArray()) {
+            assertThat(string.chars().filter(it -> it == symbol).count()).isBetween(9500L, 10_500L);
+        }
+    }
+
+    @Test
+    void testGenerateIsUniformWithRejection() {
+        stringSettings.setAlphabets(new HashSet<>(Collections.singletonList(Alphabet.DIGITS)));
+        stringSettings.setEnclosure("");
+        stringSettings.setMinLength(1000);
+        stringSettings.setMaxLength(1000);
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        final String string = String.join("", generator.generate(100, new Random(52)));
+
+        for (final char symbol : Alphabet.DIGITS.getSymbols().toCharArray()) {
+            assertThat(string.chars().filter(it -> it == symbol).count()).isBetween(9500L, 10_500L);
+        }
+    }
+
+    @Test
+    void testGenerateCustomSymbols() {
+        stringSettings.setAlphabets(new HashSet<>());
+        stringSettings.setCustomSymbols("[\u00e6\u00f8\u00e5]");
+        stringSettings.setCustomSymbolsRegex(true);
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        assertThat(generator.generate(20, new Random(52))).allMatch(it -> it.matches("'[\u00e6\u00f8\u00e5]{4,9}'"));
+    }
+
+    @Test
+    void testGenerateCustomSymbolList() {
+        stringSettings.setAlphabets(new HashSet<>());
+        stringSettings.setCustomSymbols("\u20ac$\u00a3");
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        assertThat(generator.generate(20, new Random(52))).allMatch(it -> it.matches("'[\u20ac$\u00a3]{4,9}'"));
+    }
+
+    @Test
+    void testGenerateSupplementarySymbols() {
+        stringSettings.setAlphabets(new HashSet<>(Collections.singletonList(Alphabet.DIGITS)));
+        stringSettings.setCustomSymbols("[\\x{1F600}-\\x{1F64F}]");
+        stringSettings.setCustomSymbolsRegex(true);
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        final List<String> strings = generator.generate(50, new Random(52));
+
+        assertThat(strings).allMatch(it -> it.matches("'[0-9\\x{1F600}-\\x{1F64F}]{4,9}'"));
+        assertThat(String.join("", strings)).containsPattern("[\\x{1F600}-\\x{1F64F}]");
+    }
+
+    @Test
+    void testGenerateRequireEachAlphabet() {
+        stringSettings.setAlphabets(new HashSet<>(Arrays.asList(Alphabet.DIGITS, Alphabet.UPPERCASE, Alphabet.SPECIAL,
+                Alphabet.LOWERCASE)));
+        stringSettings.setRequireEachAlphabet(true);
+        stringSettings.setMinLength(4);
+        stringSettings.setMaxLength(4);
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        assertThat(generator.generate(500, new Random(52)))
+                .allMatch(it -> it.matches(".*[0-9].*"))
+                .allMatch(it -> it.matches(".*[A-Z].*"))
+                .allMatch(it -> it.matches(".*[a-z].*"))
+                .allMatch(it -> it.matches(".*[!@#$%^&*].*"));
+    }
+
+    @Test
+    void testGenerateRequireEachAlphabetShuffles() {
+        stringSettings.setAlphabets(new HashSet<>(Arrays.asList(Alphabet.DIGITS, Alphabet.UPPERCASE)));
+        stringSettings.setRequireEachAlphabet(true);
+        stringSettings.setEnclosure("");
+        stringSettings.setMinLength(2);
+        stringSettings.setMaxLength(2);
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        final List<String> strings = generator.generate(100, new Random(52));
+
+        assertThat(strings).filteredOn(it -> it.matches("[0-9][A-Z]")).isNotEmpty();
+        assertThat(strings).filteredOn(it -> it.matches("[A-Z][0-9]")).isNotEmpty();
+    }
+
+    @Test
+    void testGenerateRequireEachAlphabetExtendsMinimumLength() {
+        stringSettings.setAlphabets(new HashSet<>(Arrays.asList(Alphabet.DIGITS, Alphabet.UPPERCASE, Alphabet.MINUS)));
+        stringSettings.setRequireEachAlphabet(true);
+        stringSettings.setMinLength(1);
+        stringSettings.setMaxLength(3);
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        assertThat(generator.generate(20, new Random(52))).allMatch(it -> it.length() == 5);
+    }
+
+    @Test
+    void testGenerateRequireEachAlphabetTooShort() {
+        stringSettings.setAlphabets(new HashSet<>(Arrays.asList(Alphabet.DIGITS, Alphabet.UPPERCASE, Alphabet.MINUS)));
+        stringSettings.setRequireEachAlphabet(true);
+        stringSettings.setMinLength(1);
+        stringSettings.setMaxLength(2);
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        assertThatThrownBy(() -> generator.generate(new Random(52)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("The maximum length is too small to contain a symbol of each alphabet.");
+    }
+
+    @Test
+    void testGenerateMaxRepeats() {
+        stringSettings.setAlphabets(new HashSet<>(Collections.singletonList(Alphabet.DIGITS)));
+        stringSettings.setMaxRepeats(2);
+        stringSettings.setEnclosure("");
+        stringSettings.setMinLength(20);
+        stringSettings.setMaxLength(20);
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        for (final String string : generator.generate(100, new Random(52))) {
+            for (final char symbol : Alphabet.DIGITS.getSymbols().toCharArray()) {
+                assertThat(string.chars().filter(it -> it == symbol).count()).isEqualTo(2);
+            }
+        }
+    }
+
+    @Test
+    void testGenerateMaxRepeatsOnce() {
+        stringSettings.setAlphabets(new HashSet<>(Arrays.asList(Alphabet.DIGITS, Alphabet.SPECIAL)));
+        stringSettings.setRequireEachAlphabet(true);
+        stringSettings.setMaxRepeats(1);
+        stringSettings.setEnclosure("");
+        stringSettings.setMinLength(5);
+        stringSettings.setMaxLength(18);
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        assertThat(generator.generate(200, new Random(52)))
+                .allMatch(it -> it.chars().distinct().count() == it.length())
+                .allMatch(it -> it.matches(".*[0-9].*") && it.matches(".*[!@#$%^&*].*"));
+    }
+
+    @Test
+    void testGenerateMaxRepeatsSupplementary() {
+        stringSettings.setAlphabets(new HashSet<>());
+        stringSettings.setCustomSymbols("[\\x{1F600}-\\x{1F603}]");
+        stringSettings.setCustomSymbolsRegex(true);
+        stringSettings.setMaxRepeats(1);
+        stringSettings.setEnclosure("");
+        stringSettings.setMinLength(4);
+        stringSettings.setMaxLength(4);
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        assertThat(generator.generate(20, new Random(52)))
+                .allMatch(it -> it.codePoints().distinct().count() == 4 && it.length() == 8);
+    }
+
+    @Test
+    void testGenerateMaxRepeatsTooFewSymbols() {
+        stringSettings.setAlphabets(new HashSet<>(Collections.singletonList(Alphabet.DIGITS)));
+        stringSettings.setMaxRepeats(1);
+        stringSettings.setMinLength(5);
+        stringSettings.setMaxLength(11);
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        assertThatThrownBy(() -> generator.generate(new Random(52)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("There are too few symbols to generate strings of the maximum length.");
+    }
+
+    @Test
+    void testGeneratePattern() {
+        stringSettings.setPattern("[A-Z]{3}-\\d{4}");
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        assertThat(generator.generate(100, new Random(52))).allMatch(it -> it.matches("'[A-Z]{3}-[0-9]{4}'"));
+    }
+
+    @Test
+    void testGeneratePatternIgnoresConstraints() {
+        stringSettings.setPattern("a{12}");
+        stringSettings.setAlphabets(new HashSet<>());
+        stringSettings.setRequireEachAlphabet(true);
+        stringSettings.setMaxRepeats(1);
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        assertThat(generator.generate(new Random(52))).isEqualTo("'aaaaaaaaaaaa'");
+    }
+
+    @Test
+    void testGeneratePatternUnsupported() {
+        stringSettings.setPattern("(a)\\1");
+
+        assertThatThrownBy(() -> new StringGenerator(stringSettings))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("The regular expression uses an unsupported construct");
+    }
+
+    @Test
+    void testOfReusesGenerator() {
+        final StringSettings otherSettings = new StringSettings();
+        otherSettings.setMinLength(4);
+        otherSettings.setMaxLength(9);
+        otherSettings.setEnclosure("'");
+        otherSettings.setAlphabets(new HashSet<>(Arrays.asList(Alphabet.MINUS, Alphabet.DIGITS)));
+
+        assertThat(StringGenerator.of(otherSettings)).isSameAs(StringGenerator.of(stringSettings));
+    }
+
+    @Test
+    void testOfChangedSettings() {
+        final StringGenerator generator = StringGenerator.of(stringSettings);
+
+        stringSettings.setMaxLength(10);
+
+        assertThat(StringGenerator.of(stringSettings))
+                .isNotSameAs(generator)
+                .matches(it -> it.isGeneratedFrom(stringSettings));
+    }
+
+    @Test
+    void testIsGeneratedFrom() {
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        final StringSettings otherSettings = new StringSettings();
+        otherSettings.setMinLength(4);
+        otherSettings.setMaxLength(9);
+        otherSettings.setEnclosure("'");
+        otherSettings.setAlphabets(new HashSet<>(Arrays.asList(Alphabet.MINUS, Alphabet.DIGITS)));
+
+        assertThat(generator.isGeneratedFrom(otherSettings)).isTrue();
+    }
+
+    @Test
+    void testIsGeneratedFromDifferentLength() {
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        stringSettings.setMaxLength(10);
+
+        assertThat(generator.isGeneratedFrom(stringSettings)).isFalse();
+    }
+
+    @Test
+    void testIsGeneratedFromDifferentEnclosure() {
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        stringSettings.setEnclosure("\"");
+
+        assertThat(generator.isGeneratedFrom(stringSettings)).isFalse();
+    }
+
+    @Test
+    void testIsGeneratedFromDifferentCustomSymbols() {
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        stringSettings.setCustomSymbols("[a]");
+
+        assertThat(generator.isGeneratedFrom(stringSettings)).isFalse();
+    }
+
+    @Test
+    void testIsGeneratedFromDifferentCustomSymbolsRegex() {
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        stringSettings.setCustomSymbolsRegex(true);
+
+        assertThat(generator.isGeneratedFrom(stringSettings)).isFalse();
+    }
+
+    @Test
+    void testIsGeneratedFromDifferentRequireEachAlphabet() {
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        stringSettings.setRequireEachAlphabet(true);
+
+        assertThat(generator.isGeneratedFrom(stringSettings)).isFalse();
+    }
+
+    @Test
+    void testIsGeneratedFromDifferentMaxRepeats() {
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        stringSettings.setMaxRepeats(3);
+
+        assertThat(generator.isGeneratedFrom(stringSettings)).isFalse();
+    }
+
+    @Test
+    void testIsGeneratedFromDifferentPattern() {
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        stringSettings.setPattern("[a-z]+");
+
+        assertThat(generator.isGeneratedFrom(stringSettings)).isFalse();
+    }
+
+    @Test
+    void testIsGeneratedFromModifiedAlphabets() {
+        final StringGenerator generator = new StringGenerator(stringSettings);
+
+        stringSettings.getAlphabets().add(Alphabet.SPACE);
+
+        assertThat(generator.isGeneratedFrom(stringSettings)).isFalse();
+    }
+
+
+    /**
+     * A {@code Random} that counts the number of times {@link #nextLong()} is called.
+     */
+    private static final class CountingRandom extends Random {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The number of times {@link #nextLong()} has been called.
+         */
+        private int longCount;
+
+
+        /**
+         * Constructs a new {@code CountingRandom} with a fixed seed.
+         */
+        CountingRandom() {
+            super(52);
+        }
+
+
+        @Override
+        public long nextLong() {
+            longCount++;
+            return super.nextLong();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.fwdekker.randomness.string;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.testFramework.fixtures.LightPlatformCodeInsightFixtureTestCase;
+
+import java.net.URL;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Integration tests for {@link StringGroupAction}.
+ * <p>
+ * Note that {@link LightPlatformCodeInsightFixtureTestCase} is a JUnit 3 test class.
+ */
+public final class StringGroupActionTest extends LightPlatformCodeInsightFixtureTestCase {
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+
+        final VirtualFile file = myFixture.copyFileToProject("emptyFile.txt");
+        myFixture.openFileInEditor(file);
+    }
+
+    @Override
+    protected String getTestDataPath() {
+        final URL url = getClass().getClassLoader().getResource("integration-project/");
+        assert url != null;
+
+        return url.getPath();
+    }
+
+
+    public void testChildrenAreCreatedOnce() {
+        final StringGroupAction groupAction = new StringGroupAction();
+
+        assertThat(groupAction.getChildren(null)).containsExactly(groupAction.getChildren(null));
+    }
+
+    public void testInsertionsShareGenerator() {
+        final StringSettings stringSettings = StringSettings.getInstance();
+
+        myFixture.testAction(new StringGroupAction());
+        final StringGenerator generator = StringGenerator.of(stringSettings);
+        myFixture.testAction(new StringGroupAction());
+
+        assertThat(StringGenerator.of(stringSettings)).isSameAs(generator);
+        assertThat(myFixture.getEditor().getDocument().getText()).isNotEmpty();
+    }
+}
@@ -1,10 +1,12 @@
 package com.fwdekker.randomness.string;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.regex.Pattern;
@@ -48,6 +50,48 @@ final class StringInsertActionTest {
     }
 
 
+    @Test
+    void testGenerateStrings() {
+        final StringSettings stringSettings = new StringSettings();
+        stringSettings.setMinLength(2);
+        stringSettings.setMaxLength(5);
+        stringSettings.setEnclosure("'");
+        stringSettings.setAlphabets(new HashSet<>(Collections.singletonList(Alphabet.DIGITS)));
+
+        final StringInsertAction insertRandomString = new StringInsertAction(stringSettings);
+
+        assertThat(insertRandomString.generateStrings(5)).hasSize(5).allMatch(it -> it.matches("'[0-9]{2,5}'"));
+    }
+
+    @Test
+    void testValueAfterSettingsChange() {
+        final StringSettings stringSettings = new StringSettings();
+        stringSettings.setMinLength(3);
+        stringSettings.setMaxLength(3);
+        stringSettings.setEnclosure("");
+        stringSettings.setAlphabets(new HashSet<>(Collections.singletonList(Alphabet.DIGITS)));
+
+        final StringInsertAction insertRandomString = new StringInsertAction(stringSettings);
+        insertRandomString.generateString();
+
+        stringSettings.setEnclosure("'");
+        stringSettings.setAlphabets(new HashSet<>(Collections.singletonList(Alphabet.UNDERSCORE)));
+
+        assertThat(insertRandomString.generateString()).isEqualTo("'___'");
+    }
+
+    @Test
+    void testGenerateStringsPattern() {
+        final StringSettings stringSettings = new StringSettings();
+        stringSettings.setEnclosure("");
+        stringSettings.setPattern("(cat|dog)s?");
+
+        final StringInsertAction insertRandomString = new StringInsertAction(stringSettings);
+
+        assertThat(insertRandomString.generateStrings(20)).allMatch(it -> it.matches("(cat|dog)s?"));
+    }
+
+
     private Pattern buildExpectedPattern(final int minLength, final int maxLength, final String enclosure,
                                          final Set<Alphabet> alphabets) {
         final StringBuilder regex = new StringBuilder();
@@ -4,6 +4,8 @@ import com.intellij.openapi.ui.ValidationInfo;
 import org.assertj.swing.edt.GuiActionRunner;
 import org.assertj.swing.fixture.FrameFixture;
 import org.assertj.swing.junit.testcase.AssertJSwingJUnitTestCase;
+import org.assertj.swing.timing.Condition;
+import org.assertj.swing.timing.Timeout;
 import org.junit.Test;
 
 import java.util.Arrays;
@@ -13,6 +15,7 @@ import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.swing.fixture.Containers.showInFrame;
+import static org.assertj.swing.timing.Pause.pause;
 
 
 /**
@@ -24,6 +27,10 @@ public final class StringSettingsDialogTest extends AssertJSwingJUnitTestCase {
     private static final String DEFAULT_ENCLOSURE = "\"";
     private static final Set<Alphabet> DEFAULT_ALPHABETS
             = new HashSet<>(Arrays.asList(Alphabet.UPPERCASE, Alphabet.LOWERCASE));
+    private static final String DEFAULT_CUSTOM_SYMBOLS = "[\\x{1F600}-\\x{1F64F}]";
+    private static final boolean DEFAULT_CUSTOM_SYMBOLS_REGEX = true;
+    private static final boolean DEFAULT_REQUIRE_EACH_ALPHABET = true;
+    private static final int DEFAULT_MAX_REPEATS = 6;
 
     private StringSettings stringSettings;
     private StringSettingsDialog stringSettingsDialog;
@@ -37,6 +44,10 @@ public final class StringSettingsDialogTest extends AssertJSwingJUnitTestCase {
         stringSettings.setMaxLength(DEFAULT_MAX_VALUE);
         stringSettings.setEnclosure(DEFAULT_ENCLOSURE);
         stringSettings.setAlphabets(DEFAULT_ALPHABETS);
+        stringSettings.setCustomSymbols(DEFAULT_CUSTOM_SYMBOLS);
+        stringSettings.setCustomSymbolsRegex(DEFAULT_CUSTOM_SYMBOLS_REGEX);
+        stringSettings.setRequireEachAlphabet(DEFAULT_REQUIRE_EACH_ALPHABET);
+        stringSettings.setMaxRepeats(DEFAULT_MAX_REPEATS);
 
         stringSettingsDialog = GuiActionRunner.execute(() -> new StringSettingsDialog(stringSettings));
         frame = showInFrame(robot(), stringSettingsDialog.createCenterPanel());
@@ -45,7 +56,7 @@ public final class StringSettingsDialogTest extends AssertJSwingJUnitTestCase {
 
     @Test
     public void testDefaultIsValid() {
-        final ValidationInfo validationInfo = GuiActionRunner.execute(() -> stringSettingsDialog.doValidate());
+        final ValidationInfo validationInfo = validate();
 
         assertThat(validationInfo).isNull();
     }
@@ -78,6 +89,31 @@ public final class StringSettingsDialogTest extends AssertJSwingJUnitTestCase {
         frame.list("alphabets").requireSelectedItems(expectedSelected);
     }
 
+    @Test
+    public void testLoadSettingsCustomSymbols() {
+        frame.textBox("customSymbols").requireText(DEFAULT_CUSTOM_SYMBOLS);
+    }
+
+    @Test
+    public void testLoadSettingsCustomSymbolsRegex() {
+        frame.checkBox("customSymbolsRegex").requireSelected(DEFAULT_CUSTOM_SYMBOLS_REGEX);
+    }
+
+    @Test
+    public void testLoadSettingsRequireEachAlphabet() {
+        frame.checkBox("requireEachAlphabet").requireSelected(DEFAULT_REQUIRE_EACH_ALPHABET);
+    }
+
+    @Test
+    public void testLoadSettingsMaxRepeats() {
+        frame.spinner("maxRepeats").requireValue((long) DEFAULT_MAX_REPEATS);
+    }
+
+    @Test
+    public void testLoadSettingsPattern() {
+        frame.textBox("pattern").requireText("");
+    }
+
 
     @Test
     public void testValidateMinLengthFloat() {
@@ -90,7 +126,7 @@ public final class StringSettingsDialogTest extends AssertJSwingJUnitTestCase {
     public void testValidateMinLengthNegative() {
         GuiActionRunner.execute(() -> frame.spinner("minLength").target().setValue(-161));
 
-        final ValidationInfo validationInfo = stringSettingsDialog.doValidate();
+        final ValidationInfo validationInfo = validate();
 
         assertThat(validationInfo).isNotNull();
         assertThat(validationInfo.component).isEqualTo(frame.spinner("minLength").target());
@@ -108,7 +144,7 @@ public final class StringSettingsDialogTest extends AssertJSwingJUnitTestCase {
     public void testValidateMaxLengthOverflow() {
         GuiActionRunner.execute(() -> frame.spinner("maxLength").target().setValue((long) Integer.MAX_VALUE + 2L));
 
-        final ValidationInfo validationInfo = stringSettingsDialog.doValidate();
+        final ValidationInfo validationInfo = validate();
 
         assertThat(validationInfo).isNotNull();
         assertThat(validationInfo.component).isEqualTo(frame.spinner("maxLength").target());
@@ -119,7 +155,7 @@ public final class StringSettingsDialogTest extends AssertJSwingJUnitTestCase {
     public void testValidateMaxLengthGreaterThanMinLength() {
         GuiActionRunner.execute(() -> frame.spinner("maxLength").target().setValue(DEFAULT_MIN_VALUE - 1));
 
-        final ValidationInfo validationInfo = stringSettingsDialog.doValidate();
+        final ValidationInfo validationInfo = validate();
 
         assertThat(validationInfo).isNotNull();
         assertThat(validationInfo.component).isEqualTo(frame.spinner("maxLength").target());
@@ -128,15 +164,206 @@ public final class StringSettingsDialogTest extends AssertJSwingJUnitTestCase {
 
     @Test
     public void testValidateEmptyAlphabetSelection() {
-        GuiActionRunner.execute(() -> frame.list("alphabets").target().clearSelection());
+        GuiActionRunner.execute(() -> {
+            frame.list("alphabets").target().clearSelection();
+            frame.textBox("customSymbols").target().setText("");
+        });
 
-        final ValidationInfo validationInfo = stringSettingsDialog.doValidate();
+        final ValidationInfo validationInfo = validate();
 
         assertThat(validationInfo).isNotNull();
         assertThat(validationInfo.component).isEqualTo(frame.list("alphabets").target());
         assertThat(validationInfo.message).isEqualTo("Please select at least one option.");
     }
 
+    @Test
+    public void testValidateEmptyAlphabetSelectionWithCustomSymbols() {
+        GuiActionRunner.execute(() -> {
+            frame.list("alphabets").target().clearSelection();
+            frame.spinner("maxRepeats").target().setValue(0);
+        });
+
+        final ValidationInfo validationInfo = validate();
+
+        assertThat(validationInfo).isNull();
+    }
+
+    @Test
+    public void testValidateEmptyAlphabetSelectionWithCustomSymbolList() {
+        GuiActionRunner.execute(() -> {
+            frame.list("alphabets").target().clearSelection();
+            frame.textBox("customSymbols").target().setText("\u00e4\u00f6\u00fc");
+            frame.checkBox("customSymbolsRegex").target().setSelected(false);
+            frame.spinner("maxRepeats").target().setValue(0);
+        });
+
+        final ValidationInfo validationInfo = validate();
+
+        assertThat(validationInfo).isNull();
+    }
+
+    @Test
+    public void testValidateEmptyAlphabetSelectionWithoutMatchingCustomSymbols() {
+        GuiActionRunner.execute(() -> {
+            frame.list("alphabets").target().clearSelection();
+            frame.textBox("customSymbols").target().setText("[a&&b]");
+        });
+
+        final ValidationInfo validationInfo = validate();
+
+        assertThat(validationInfo).isNotNull();
+        assertThat(validationInfo.component).isEqualTo(frame.textBox("customSymbols").target());
+        assertThat(validationInfo.message).isEqualTo("The custom symbols do not match any symbol.");
+    }
+
+    @Test
+    public void testValidateEmptyAlphabetSelectionWithoutContainedCustomSymbols() {
+        GuiActionRunner.execute(() -> {
+            frame.list("alphabets").target().clearSelection();
+            frame.textBox("customSymbols").target().setText("\u0378");
+            frame.checkBox("customSymbolsRegex").target().setSelected(false);
+        });
+
+        final ValidationInfo validationInfo = validate();
+
+        assertThat(validationInfo).isNotNull();
+        assertThat(validationInfo.component).isEqualTo(frame.textBox("customSymbols").target());
+        assertThat(validationInfo.message).isEqualTo("The custom symbols do not contain any symbol.");
+    }
+
+    @Test
+    public void testValidateCustomSymbolListWithMetacharacters() {
+        GuiActionRunner.execute(() -> {
+            frame.textBox("customSymbols").target().setText("\u20ac$\u00a3");
+            frame.checkBox("customSymbolsRegex").target().setSelected(false);
+            frame.spinner("maxRepeats").target().setValue(0);
+        });
+
+        final ValidationInfo validationInfo = validate();
+
+        assertThat(validationInfo).isNull();
+    }
+
+    @Test
+    public void testValidateCustomSymbolsRegexWithoutMatchWithAlphabets() {
+        GuiActionRunner.execute(() -> frame.textBox("customSymbols").target().setText("\u20ac$\u00a3"));
+
+        final ValidationInfo validationInfo = validate();
+
+        assertThat(validationInfo).isNotNull();
+        assertThat(validationInfo.component).isEqualTo(frame.textBox("customSymbols").target());
+        assertThat(validationInfo.message).isEqualTo("The custom symbols do not match any symbol.");
+    }
+
+    @Test
+    public void testValidateCustomSymbolListInvalidRegex() {
+        GuiActionRunner.execute(() -> {
+            frame.textBox("customSymbols").target().setText("[a-");
+            frame.checkBox("customSymbolsRegex").target().setSelected(false);
+            frame.spinner("maxRepeats").target().setValue(0);
+        });
+
+        final ValidationInfo validationInfo = validate();
+
+        assertThat(validationInfo).isNull();
+    }
+
+    @Test
+    public void testValidateCustomSymbolsInvalid() {
+        GuiActionRunner.execute(() -> frame.textBox("customSymbols").target().setText("[a-"));
+
+        final ValidationInfo validationInfo = validate();
+
+        assertThat(validationInfo).isNotNull();
+        assertThat(validationInfo.component).isEqualTo(frame.textBox("customSymbols").target());
+        assertThat(validationInfo.message).startsWith("Invalid regular expression: ");
+    }
+
+    @Test
+    public void testValidateRequireEachAlphabetTooShort() {
+        GuiActionRunner.execute(() -> {
+            frame.spinner("minLength").target().setValue(1);
+            frame.spinner("maxLength").target().setValue(1);
+        });
+
+        final ValidationInfo validationInfo = validate();
+
+        assertThat(validationInfo).isNotNull();
+        assertThat(validationInfo.component).isEqualTo(frame.spinner("maxLength").target());
+        assertThat(validationInfo.message)
+                .isEqualTo("The maximum length should be at least the number of selected options.");
+    }
+
+    @Test
+    public void testValidateMaxRepeatsNegative() {
+        GuiActionRunner.execute(() -> frame.spinner("maxRepeats").target().setValue(-4));
+
+        final ValidationInfo validationInfo = validate();
+
+        assertThat(validationInfo).isNotNull();
+        assertThat(validationInfo.component).isEqualTo(frame.spinner("maxRepeats").target());
+        assertThat(validationInfo.message).isEqualTo("Please enter a value greater than or equal to 0.");
+    }
+
+    @Test
+    public void testValidateMaxRepeatsTooFewSymbols() {
+        GuiActionRunner.execute(() -> {
+            frame.textBox("customSymbols").target().setText("");
+            frame.spinner("maxRepeats").target().setValue(1);
+        });
+
+        final ValidationInfo validationInfo = validate();
+
+        assertThat(validationInfo).isNotNull();
+        assertThat(validationInfo.component).isEqualTo(frame.spinner("maxRepeats").target());
+        assertThat(validationInfo.message).isEqualTo("There are too few symbols for strings of the maximum length.");
+    }
+
+    @Test
+    public void testValidatePattern() {
+        GuiActionRunner.execute(() -> frame.textBox("pattern").target().setText("[A-Z]{3}-\\d{4}"));
+
+        final ValidationInfo validationInfo = validate();
+
+        assertThat(validationInfo).isNull();
+    }
+
+    @Test
+    public void testValidatePatternIgnoresAlphabets() {
+        GuiActionRunner.execute(() -> {
+            frame.list("alphabets").target().clearSelection();
+            frame.textBox("customSymbols").target().setText("");
+            frame.textBox("pattern").target().setText("[a-z]+");
+        });
+
+        final ValidationInfo validationInfo = validate();
+
+        assertThat(validationInfo).isNull();
+    }
+
+    @Test
+    public void testValidatePatternInvalid() {
+        GuiActionRunner.execute(() -> frame.textBox("pattern").target().setText("(a"));
+
+        final ValidationInfo validationInfo = validate();
+
+        assertThat(validationInfo).isNotNull();
+        assertThat(validationInfo.component).isEqualTo(frame.textBox("pattern").target());
+        assertThat(validationInfo.message).startsWith("Invalid regular expression: ");
+    }
+
+    @Test
+    public void testValidatePatternUnsupported() {
+        GuiActionRunner.execute(() -> frame.textBox("pattern").target().setText("(a)\\1"));
+
+        final ValidationInfo validationInfo = validate();
+
+        assertThat(validationInfo).isNotNull();
+        assertThat(validationInfo.component).isEqualTo(frame.textBox("pattern").target());
+        assertThat(validationInfo.message)
+                .isEqualTo("The regular expression uses an unsupported construct at index 4.");
+    }
+
 
     @Test
     public void testSaveSettingsWithoutParse() {
@@ -147,6 +374,11 @@ public final class StringSettingsDialogTest extends AssertJSwingJUnitTestCase {
             frame.spinner("maxLength").target().setValue(803);
             frame.radioButton("enclosureBacktick").target().setSelected(true);
             frame.list("alphabets").target().setSelectedIndices(toIndexForEach(newAlphabets));
+            frame.textBox("customSymbols").target().setText("\\p{IsHiragana}");
+            frame.checkBox("customSymbolsRegex").target().setSelected(false);
+            frame.checkBox("requireEachAlphabet").target().setSelected(false);
+            frame.spinner("maxRepeats").target().setValue(2);
+            frame.textBox("pattern").target().setText("#[0-9a-f]{6}");
         });
 
         stringSettingsDialog.saveSettings();
@@ -155,9 +387,32 @@ public final class StringSettingsDialogTest extends AssertJSwingJUnitTestCase {
         assertThat(stringSettings.getMaxLength()).isEqualTo(803);
         assertThat(stringSettings.getEnclosure()).isEqualTo("`");
         assertThat(stringSettings.getAlphabets()).isEqualTo(newAlphabets);
+        assertThat(stringSettings.getCustomSymbols()).isEqualTo("\\p{IsHiragana}");
+        assertThat(stringSettings.isCustomSymbolsRegex()).isFalse();
+        assertThat(stringSettings.isRequireEachAlphabet()).isFalse();
+        assertThat(stringSettings.getMaxRepeats()).isEqualTo(2);
+        assertThat(stringSettings.getPattern()).isEqualTo("#[0-9a-f]{6}");
     }
 
 
+    /**
+     * Validates the dialog once it has finished finding the custom symbols.
+     *
+     * @return the result of validating the dialog
+     */
+    private ValidationInfo validate() {
+        final ValidationInfo[] validationInfo = new ValidationInfo[1];
+        pause(new Condition("custom symbols to be found") {
+            @Override
+            public boolean test() {
+                validationInfo[0] = GuiActionRunner.execute(() -> stringSettingsDialog.doValidate());
+                return validationInfo[0] == null
+                        || !"Finding the custom symbols...".equals(validationInfo[0].message);
+            }
+        }, Timeout.timeout(10_000));
+        return validationInfo[0];
+    }
+
     /**
      * Creates a {@code HashSet} from the given elements.
      *
@@ -37,6 +37,11 @@ final class StringSettingsTest {
         stringSettings.setMaxLength(891);
         stringSettings.setEnclosure("Qh7");
         stringSettings.setAlphabets(alphabets);
+        stringSettings.setCustomSymbols("[\\x{1F600}]");
+        stringSettings.setCustomSymbolsRegex(true);
+        stringSettings.setRequireEachAlphabet(true);
+        stringSettings.setMaxRepeats(3);
+        stringSettings.setPattern("[A-Z]{3}");
 
         final StringSettings newStringSettings = new StringSettings();
         newStringSettings.loadState(stringSettings.getState());
@@ -45,6 +50,11 @@ final class StringSettingsTest {
         assertThat(newStringSettings.getMaxLength()).isEqualTo(891);
         assertThat(newStringSettings.getEnclosure()).isEqualTo("Qh7");
         assertThat(newStringSettings.getAlphabets()).isEqualTo(alphabets);
+        assertThat(newStringSettings.getCustomSymbols()).isEqualTo("[\\x{1F600}]");
+        assertThat(newStringSettings.isCustomSymbolsRegex()).isTrue();
+        assertThat(newStringSettings.isRequireEachAlphabet()).isTrue();
+        assertThat(newStringSettings.getMaxRepeats()).isEqualTo(3);
+        assertThat(newStringSettings.getPattern()).isEqualTo("[A-Z]{3}");
     }
 
     @Test
@@ -76,4 +86,39 @@ final class StringSettingsTest {
 
         assertThat(stringSettings.getAlphabets()).isEqualTo(alphabets);
     }
+
+    @Test
+    void testGetSetCustomSymbols() {
+        stringSettings.setCustomSymbols("\\p{IsCyrillic}");
+
+        assertThat(stringSettings.getCustomSymbols()).isEqualTo("\\p{IsCyrillic}");
+    }
+
+    @Test
+    void testGetSetCustomSymbolsRegex() {
+        stringSettings.setCustomSymbolsRegex(true);
+
+        assertThat(stringSettings.isCustomSymbolsRegex()).isTrue();
+    }
+
+    @Test
+    void testGetSetRequireEachAlphabet() {
+        stringSettings.setRequireEachAlphabet(true);
+
+        assertThat(stringSettings.isRequireEachAlphabet()).isTrue();
+    }
+
+    @Test
+    void testGetSetMaxRepeats() {
+        stringSettings.setMaxRepeats(22);
+
+        assertThat(stringSettings.getMaxRepeats()).isEqualTo(22);
+    }
+
+    @Test
+    void testGetSetPattern() {
+        stringSettings.setPattern("\\d{4}-[a-f]+");
+
+        assertThat(stringSettings.getPattern()).isEqualTo("\\d{4}-[a-f]+");
+    }
 }
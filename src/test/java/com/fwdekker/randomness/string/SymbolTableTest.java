@@ -0,0 +1,143 @@
+package com.fwdekker.randomness.string;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.regex.PatternSyntaxException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+/**
+ * Unit tests for {@link SymbolTable}.
+ */
+final class SymbolTableTest {
+    @Test
+    void testEmpty() {
+        final SymbolTable table = new SymbolTable(Collections.emptySet(), "", false);
+
+        assertThat(table.size()).isEqualTo(0);
+        assertThat(table.getMaxCharCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testAlphabets() {
+        final SymbolTable table = new SymbolTable(Arrays.asList(Alphabet.SPECIAL, Alphabet.MINUS), "", false);
+
+        assertThat(getCodePoints(table)).isEqualTo("!#$%&*-@^");
+        assertThat(table.getMaxCharCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testCustomSymbols() {
+        final SymbolTable table = new SymbolTable(Collections.emptySet(), "[zyx]", true);
+
+        assertThat(getCodePoints(table)).isEqualTo("xyz");
+    }
+
+    @Test
+    void testCustomSymbolList() {
+        final SymbolTable table = new SymbolTable(Collections.emptySet(), "\u00fc\u00e4\u00f6\u00e4", false);
+
+        assertThat(getCodePoints(table)).isEqualTo("\u00e4\u00f6\u00fc");
+    }
+
+    @Test
+    void testCustomSymbolListSupplementary() {
+        final SymbolTable table = new SymbolTable(Collections.emptySet(), "-\ud83d\ude00", false);
+
+        assertThat(getCodePoints(table)).isEqualTo("-\ud83d\ude00");
+        assertThat(table.getMaxCharCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testCustomSymbolListExcludesUndefined() {
+        final SymbolTable table = new SymbolTable(Collections.emptySet(), "a\u0378", false);
+
+        assertThat(getCodePoints(table)).isEqualTo("a");
+    }
+
+    @Test
+    void testCustomSymbolListWithMetacharacters() {
+        final SymbolTable table = new SymbolTable(Collections.emptySet(), "\u20ac$\u00a3", false);
+
+        assertThat(getCodePoints(table)).isEqualTo("$\u00a3\u20ac");
+    }
+
+    @Test
+    void testCustomSymbolsEmptyRegex() {
+        final SymbolTable table = new SymbolTable(Collections.singleton(Alphabet.MINUS), "", true);
+
+        assertThat(getCodePoints(table)).isEqualTo("-");
+    }
+
+    @Test
+    void testCustomSymbolsOverlapWithAlphabets() {
+        final SymbolTable table = new SymbolTable(Collections.singleton(Alphabet.DIGITS), "[5-9a]", true);
+
+        assertThat(getCodePoints(table)).isEqualTo("0123456789a");
+    }
+
+    @Test
+    void testCustomSymbolsUnicodeScript() {
+        final SymbolTable table = new SymbolTable(Collections.emptySet(), "[\\p{IsGreek}&&\\p{IsLowercase}]", true);
+
+        assertThat(getCodePoints(table)).contains("\u03b1\u03b2\u03b3").doesNotContain("\u0391");
+    }
+
+    @Test
+    void testCustomSymbolsSupplementary() {
+        final SymbolTable table =
+                new SymbolTable(Collections.singleton(Alphabet.MINUS), "[\\x{1F600}-\\x{1F602}]", true);
+
+        assertThat(getCodePoints(table)).isEqualTo("-\ud83d\ude00\ud83d\ude01\ud83d\ude02");
+        assertThat(table.getMaxCharCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testCustomSymbolsExcludesSurrogates() {
+        final SymbolTable table = new SymbolTable(Collections.emptySet(), "[\\x{D7FB}-\\x{E000}]", true);
+
+        assertThat(table.size()).isEqualTo(2);
+        assertThat(table.getCodePoint(0)).isEqualTo(0xD7FB);
+        assertThat(table.getCodePoint(1)).isEqualTo(0xE000);
+    }
+
+    @Test
+    void testCustomSymbolsMatchesOnlySingleSymbols() {
+        final SymbolTable table = new SymbolTable(Collections.emptySet(), "ab|c", true);
+
+        assertThat(getCodePoints(table)).isEqualTo("c");
+    }
+
+    @Test
+    void testIndexOf() {
+        final SymbolTable table = new SymbolTable(Collections.singleton(Alphabet.BRACKETS), "", false);
+
+        assertThat(table.indexOf('[')).isEqualTo(4);
+        assertThat(table.indexOf('a')).isNegative();
+    }
+
+    @Test
+    void testCustomSymbolsInvalid() {
+        assertThatThrownBy(() -> new SymbolTable(Collections.emptySet(), "[a-", true))
+                .isInstanceOf(PatternSyntaxException.class);
+    }
+
+
+    /**
+     * Returns the symbols in the given table as a string.
+     *
+     * @param table a symbol table
+     * @return the symbols in the given table as a string
+     */
+    private static String getCodePoints(final SymbolTable table) {
+        final StringBuilder symbols = new StringBuilder();
+        for (int i = 0; i < table.size(); i++) {
+            symbols.appendCodePoint(table.getCodePoint(i));
+        }
+        return symbols.toString();
+    }
+}
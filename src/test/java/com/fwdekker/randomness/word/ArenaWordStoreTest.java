@@ -0,0 +1,110 @@
+package com.fwdekker.randomness.word;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+/**
+ * Unit tests for {@link ArenaWordStore}.
+ */
+final class ArenaWordStoreTest {
+    @Test
+    void testSizeEmpty() {
+        final WordStore store = new ArenaWordStore(new String[0]);
+
+        assertThat(store.size()).isEqualTo(0);
+    }
+
+    @Test
+    void testSize() {
+        final WordStore store = new ArenaWordStore(new String[]{"hug", "fable", "sting"});
+
+        assertThat(store.size()).isEqualTo(3);
+    }
+
+    @Test
+    void testGet() {
+        final WordStore store = new ArenaWordStore(new String[]{"hug", "fable", "sting"});
+
+        assertThat(store.get(0)).isEqualTo("hug");
+        assertThat(store.get(1)).isEqualTo("fable");
+        assertThat(store.get(2)).isEqualTo("sting");
+    }
+
+    @Test
+    void testGetEmptyWord() {
+        final WordStore store = new ArenaWordStore(new String[]{"", "vex"});
+
+        assertThat(store.get(0)).isEmpty();
+        assertThat(store.get(1)).isEqualTo("vex");
+    }
+
+    @Test
+    void testGetNonAscii() {
+        final WordStore store = new ArenaWordStore(new String[]{"\u00fcber", "na\u00efve"});
+
+        assertThat(store.get(1)).isEqualTo("na\u00efve");
+    }
+
+    @Test
+    void testGetNonLatin1() {
+        final WordStore store = new ArenaWordStore(new String[]{"\u0107evap", "\ud83d\ude00", "hug"});
+
+        assertThat(store.get(0)).isEqualTo("\u0107evap");
+        assertThat(store.get(1)).isEqualTo("\ud83d\ude00");
+        assertThat(store.get(2)).isEqualTo("hug");
+    }
+
+    @Test
+    void testGetFromArena() {
+        final WordStore store = new ArenaWordStore("hugvex".toCharArray(), new int[]{0, 3, 6});
+
+        assertThat(store.get(0)).isEqualTo("hug");
+        assertThat(store.get(1)).isEqualTo("vex");
+    }
+
+    @Test
+    void testGetFromArenaNonLatin1() {
+        final WordStore store = new ArenaWordStore("hug\u0107".toCharArray(), new int[]{0, 3, 4});
+
+        assertThat(store.get(1)).isEqualTo("\u0107");
+    }
+
+    @Test
+    void testIsLatin1() {
+        assertThat(new ArenaWordStore(new String[]{"\u00fcber", "hug"}).isLatin1()).isTrue();
+        assertThat(new ArenaWordStore("hugvex".toCharArray(), new int[]{0, 3, 6}).isLatin1()).isTrue();
+    }
+
+    @Test
+    void testIsLatin1NonLatin1() {
+        assertThat(new ArenaWordStore(new String[]{"hug", "\u0107evap"}).isLatin1()).isFalse();
+        assertThat(new ArenaWordStore("hug\u0107".toCharArray(), new int[]{0, 3, 4}).isLatin1()).isFalse();
+    }
+
+    @Test
+    void testGetOutOfBounds() {
+        final WordStore store = new ArenaWordStore(new String[]{"hug"});
+
+        assertThatThrownBy(() -> store.get(1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void testEstimateMemoryUsage() {
+        final String[] words = {"duplex", "shout", "glamour", "ore", "inquiry"};
+
+        assertThat(new ArenaWordStore(words).estimateMemoryUsage())
+                .isLessThan(new StringWordStore(words).estimateMemoryUsage());
+    }
+
+    @Test
+    void testEstimateMemoryUsageLatin1() {
+        final String[] latin1Words = {"duplex", "shout", "glamour", "ore", "inquiry"};
+        final String[] otherWords = {"duplex", "shout", "glamour", "ore", "inquir\u0177"};
+
+        assertThat(new ArenaWordStore(latin1Words).estimateMemoryUsage())
+                .isLessThan(new ArenaWordStore(otherWords).estimateMemoryUsage());
+    }
+}
@@ -42,6 +42,45 @@ final class CapitalizationModeTest {
         assertThat(CapitalizationMode.FIRST_LETTER.getTransform().apply("bgiOP SMQpR")).isEqualTo("Bgiop Smqpr");
     }
 
+    @Test
+    void testFirstLetterTransformSpaces() {
+        assertThat(CapitalizationMode.FIRST_LETTER.getTransform().apply(" gRIDE  fOOt")).isEqualTo(" Gride  Foot");
+    }
+
+    @Test
+    void testSentenceTransformNonAscii() {
+        assertThat(CapitalizationMode.SENTENCE.getTransform().apply("\u00e9COLE")).isEqualTo("\u00c9cole");
+    }
+
+    @Test
+    void testUpperTransformNonAscii() {
+        assertThat(CapitalizationMode.UPPER.getTransform().apply("stra\u00dfe")).isEqualTo("STRASSE");
+    }
+
+    @Test
+    void testLowerTransformNonAscii() {
+        assertThat(CapitalizationMode.LOWER.getTransform().apply("\u00c9T\u00c9")).isEqualTo("\u00e9t\u00e9");
+    }
+
+    @Test
+    void testTransformAppends() {
+        final StringBuilder builder = new StringBuilder("'");
+
+        CapitalizationMode.UPPER.transform("sHoal", builder);
+        CapitalizationMode.SENTENCE.transform("sHoal", builder);
+
+        assertThat(builder.toString()).isEqualTo("'SHOALShoal");
+    }
+
+    @Test
+    void testTransformRetain() {
+        final StringBuilder builder = new StringBuilder();
+
+        CapitalizationMode.RETAIN.transform("sHoal", builder);
+
+        assertThat(builder.toString()).isEqualTo("sHoal");
+    }
+
     @Test
     void testGetNameRetain() {
         assertThat(CapitalizationMode.RETAIN.getName()).isEqualTo("retain");
@@ -0,0 +1,173 @@
+package com.fwdekker.randomness.word;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Unit tests for {@link CombinedDictionaryCache}.
+ */
+final class CombinedDictionaryCacheTest {
+    private Collection<Dictionary> dictionaries;
+
+
+    @BeforeEach
+    void beforeEach() {
+        CombinedDictionaryCache.clear();
+
+        dictionaries = Arrays.asList(
+                Dictionary.BundledDictionary.get("dictionaries/simple.dic"),
+                Dictionary.BundledDictionary.get("dictionaries/varied.dic"));
+    }
+
+
+    @Test
+    void testGetWordsWithLengthInRangeAfterRemove() {
+        final List<String> wordsA = CombinedDictionaryCache.getWordsWithLengthInRange(dictionaries, 3, 4, true);
+
+        CombinedDictionaryCache.remove(Dictionary.BundledDictionary.get("dictionaries/simple.dic"));
+        final List<String> wordsB = CombinedDictionaryCache.getWordsWithLengthInRange(dictionaries, 3, 4, true);
+
+        assertThat(wordsB).isNotSameAs(wordsA);
+    }
+
+    @Test
+    void testGetWordsWithLengthInRangeAfterRemoveOther() {
+        final List<Dictionary> simple = Arrays.asList(Dictionary.BundledDictionary.get("dictionaries/simple.dic"));
+        final List<String> wordsA = CombinedDictionaryCache.getWordsWithLengthInRange(simple, 3, 4, true);
+
+        CombinedDictionaryCache.remove(Dictionary.BundledDictionary.get("dictionaries/varied.dic"));
+        final List<String> wordsB = CombinedDictionaryCache.getWordsWithLengthInRange(simple, 3, 4, true);
+
+        assertThat(wordsB).isSameAs(wordsA);
+    }
+
+    @Test
+    void testGetWordsWithLengthInRangeRemoveWhileCombining() {
+        final List<Dictionary> reloading = new ArrayList<Dictionary>(dictionaries) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public Iterator<Dictionary> iterator() {
+                CombinedDictionaryCache.remove(Dictionary.BundledDictionary.get("dictionaries/simple.dic"));
+                return super.iterator();
+            }
+        };
+
+        final List<String> wordsA = CombinedDictionaryCache.getWordsWithLengthInRange(reloading, 3, 4, true);
+        final List<String> wordsB = CombinedDictionaryCache.getWordsWithLengthInRange(dictionaries, 3, 4, true);
+
+        assertThat(wordsB).isNotSameAs(wordsA).containsExactlyInAnyOrder(wordsA.toArray(new String[0]));
+    }
+
+    @Test
+    void testGetWordsWithLengthInRangeAfterClear() {
+        final List<String> wordsA = CombinedDictionaryCache.getWordsWithLengthInRange(dictionaries, 3, 4, true);
+
+        CombinedDictionaryCache.clear();
+        final List<String> wordsB = CombinedDictionaryCache.getWordsWithLengthInRange(dictionaries, 3, 4, true);
+
+        assertThat(wordsB).isNotSameAs(wordsA);
+    }
+
+    @Test
+    void testGetWordsWithLengthInRangeAfterReload() {
+        final List<String> wordsA = CombinedDictionaryCache.getWordsWithLengthInRange(dictionaries, 3, 4, true);
+
+        Dictionary.BundledDictionary.get("dictionaries/simple.dic", false);
+        final List<String> wordsB = CombinedDictionaryCache.getWordsWithLengthInRange(dictionaries, 3, 4, true);
+
+        assertThat(wordsB).isNotSameAs(wordsA);
+    }
+
+
+    @Test
+    void testGetWordsWithLengthInRangeTwiceSame() {
+        final List<String> wordsA = CombinedDictionaryCache.getWordsWithLengthInRange(dictionaries, 3, 4, true);
+        final List<String> wordsB = CombinedDictionaryCache.getWordsWithLengthInRange(dictionaries, 3, 4, true);
+
+        assertThat(wordsB).isSameAs(wordsA);
+    }
+
+    @Test
+    void testGetWordsWithLengthInRangeContents() {
+        assertThat(CombinedDictionaryCache.getWordsWithLengthInRange(dictionaries, 3, 4, true))
+                .containsExactlyInAnyOrder("the", "dog", "woof", "cat", "meow", "bend");
+    }
+
+    @Test
+    void testGetWordsWithLengthInRangeTwiceSameInAnyOrder() {
+        final List<String> wordsA = CombinedDictionaryCache.getWordsWithLengthInRange(dictionaries, 3, 4, true);
+        final List<String> wordsB = CombinedDictionaryCache.getWordsWithLengthInRange(Arrays.asList(
+                Dictionary.BundledDictionary.get("dictionaries/varied.dic"),
+                Dictionary.BundledDictionary.get("dictionaries/simple.dic")), 3, 4, true);
+
+        assertThat(wordsB).isSameAs(wordsA);
+    }
+
+    @Test
+    void testGetWordsWithLengthInRangeDifferentDeduplication() {
+        final List<String> wordsA = CombinedDictionaryCache.getWordsWithLengthInRange(dictionaries, 3, 4, true);
+        final List<String> wordsB = CombinedDictionaryCache.getWordsWithLengthInRange(dictionaries, 3, 4, false);
+
+        assertThat(wordsB).isNotSameAs(wordsA).containsExactlyInAnyOrder(wordsA.toArray(new String[0]));
+    }
+
+    @Test
+    void testGetWordsMatchingContents() {
+        final WordFilter filter = new WordFilter("", "", "o", "");
+
+        final List<String> words = CombinedDictionaryCache.getWordsMatching(dictionaries, 3, 4, filter, true);
+
+        assertThat(words).containsExactlyInAnyOrder("dog", "woof", "meow");
+    }
+
+    @Test
+    void testGetWordsMatchingTwiceSame() {
+        final WordFilter filter = new WordFilter("m", "", "", "");
+        final List<String> wordsA = CombinedDictionaryCache.getWordsMatching(dictionaries, 3, 4, filter, true);
+
+        final List<String> wordsB = CombinedDictionaryCache.getWordsMatching(dictionaries, 3, 4,
+                new WordFilter("m", "", "", ""), true);
+
+        assertThat(wordsB).isSameAs(wordsA);
+    }
+
+    @Test
+    void testGetWordsMatchingDifferentFilter() {
+        final List<String> wordsA = CombinedDictionaryCache.getWordsMatching(dictionaries, 3, 4,
+                new WordFilter("m", "", "", ""), true);
+
+        final List<String> wordsB = CombinedDictionaryCache.getWordsMatching(dictionaries, 3, 4,
+                new WordFilter("w", "", "", ""), true);
+
+        assertThat(wordsB).isNotSameAs(wordsA);
+    }
+
+    @Test
+    void testGetWordsWithLengthInRangeDifferentRange() {
+        final List<String> wordsA = CombinedDictionaryCache.getWordsWithLengthInRange(dictionaries, 3, 4, true);
+        final List<String> wordsB = CombinedDictionaryCache.getWordsWithLengthInRange(dictionaries, 1, 4, true);
+
+        assertThat(wordsB).isNotSameAs(wordsA).contains("a");
+    }
+
+    @Test
+    void testGetWordsWithLengthInRangeAfterSettingsChange() {
+        final List<String> wordsA = CombinedDictionaryCache.getWordsWithLengthInRange(dictionaries, 3, 4, true);
+
+        new WordSettings().setActiveUserDictionaries(new HashSet<>());
+        final List<String> wordsB = CombinedDictionaryCache.getWordsWithLengthInRange(dictionaries, 3, 4, true);
+
+        assertThat(wordsB).isNotSameAs(wordsA);
+    }
+}
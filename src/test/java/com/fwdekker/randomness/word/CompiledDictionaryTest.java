@@ -0,0 +1,244 @@
+package com.fwdekker.randomness.word;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+/**
+ * Unit tests for {@link CompiledDictionary}.
+ */
+final class CompiledDictionaryTest {
+    private static final DictionaryFileHelper FILE_HELPER = new DictionaryFileHelper();
+
+
+    @AfterAll
+    static void afterAll() {
+        FILE_HELPER.cleanUpDictionaries();
+        Dictionary.UserDictionary.clearCache();
+    }
+
+
+    @Test
+    void testIsCompiledText() throws IOException {
+        assertThat(CompiledDictionary.isCompiled(new ByteArrayInputStream(toBytes("Dropsy\nUnbar")))).isFalse();
+    }
+
+    @Test
+    void testIsCompiledShortText() throws IOException {
+        assertThat(CompiledDictionary.isCompiled(new ByteArrayInputStream(toBytes("Ax")))).isFalse();
+    }
+
+    @Test
+    void testIsCompiledCompiled() throws IOException {
+        assertThat(CompiledDictionary.isCompiled(new ByteArrayInputStream(compile("Dropsy\nUnbar")))).isTrue();
+    }
+
+    @Test
+    void testIsCompiledResets() throws IOException {
+        final InputStream input = new BufferedInputStream(new ByteArrayInputStream(toBytes("Dropsy")));
+
+        CompiledDictionary.isCompiled(input);
+
+        assertThat(input.read()).isEqualTo('D');
+    }
+
+    @Test
+    void testRoundTrip() throws IOException {
+        final CompiledDictionary dictionary = read(compile("Tusk\nOf\nSheave\nBy\nOf\nBight"));
+
+        assertThat(getWords(dictionary.getWords())).containsExactly("By", "Of", "Tusk", "Bight", "Sheave");
+        assertThat(dictionary.getLengthOffsets()).containsExactly(0, 0, 0, 2, 2, 3, 4, 5);
+    }
+
+    @Test
+    void testRoundTripNonAscii() throws IOException {
+        final CompiledDictionary dictionary = read(compile("\u00e9t\u00e9\n\ud83d\ude00"));
+
+        assertThat(getWords(dictionary.getWords())).containsExactly("\ud83d\ude00", "\u00e9t\u00e9");
+    }
+
+    @Test
+    void testRoundTripEmpty() throws IOException {
+        final CompiledDictionary dictionary = read(compile(""));
+
+        assertThat(dictionary.getWords().size()).isEqualTo(0);
+    }
+
+    @Test
+    void testRoundTripUnweighted() throws IOException {
+        assertThat(read(compile("Tusk\nOf")).getWeights()).isNull();
+    }
+
+    @Test
+    void testRoundTripWeighted() throws IOException {
+        final CompiledDictionary dictionary = read(compile("Tusk\t2.5\nOf\nBight\t4"));
+
+        assertThat(getWords(dictionary.getWords())).containsExactly("Of", "Tusk", "Bight");
+        assertThat(dictionary.getWeights()).containsExactly(1.0f, 2.5f, 4.0f);
+    }
+
+    @Test
+    void testReadVersion1() throws IOException {
+        final byte[] bytes = compile("Tusk\nOf");
+        bytes[7] = 1;
+
+        final CompiledDictionary dictionary = read(Arrays.copyOf(bytes, bytes.length - Integer.BYTES));
+
+        assertThat(getWords(dictionary.getWords())).containsExactly("Of", "Tusk");
+        assertThat(dictionary.getWeights()).isNull();
+    }
+
+    @Test
+    void testReadInvalidMagic() {
+        final byte[] bytes = compile("Wen");
+        bytes[0] = 0;
+
+        assertThatThrownBy(() -> read(bytes))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Invalid compiled dictionary.");
+    }
+
+    @Test
+    void testReadInvalidVersion() {
+        final byte[] bytes = compile("Wen");
+        bytes[7] = 3;
+
+        assertThatThrownBy(() -> read(bytes))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Invalid compiled dictionary.");
+    }
+
+    @Test
+    void testReadInconsistentHistogram() {
+        final byte[] bytes = compile("Wen");
+        bytes[35] = 2;
+
+        assertThatThrownBy(() -> read(bytes))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Invalid compiled dictionary.");
+    }
+
+    @Test
+    void testReadTruncated() {
+        final byte[] bytes = compile("Wen\nBrae");
+
+        assertThatThrownBy(() -> read(Arrays.copyOf(bytes, bytes.length - 1)))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void testGetCompiledPath() {
+        assertThat(CompiledDictionary.getCompiledPath("words.dic")).isEqualTo("words.dicx");
+    }
+
+    @Test
+    void testGetCompiledPathOtherExtension() {
+        assertThat(CompiledDictionary.getCompiledPath("words.txt")).isEqualTo("words.txt.dicx");
+    }
+
+    @Test
+    void testMain() throws IOException {
+        final Path inputDirectory = Files.createTempDirectory("dictionaries");
+        final Path outputDirectory = Files.createTempDirectory("compiled");
+        Files.createDirectories(inputDirectory.resolve("nested"));
+        Files.write(inputDirectory.resolve("nested/words.dic"), toBytes("Lath\nAwn"));
+        Files.write(inputDirectory.resolve("notes.txt"), toBytes("Lath\nAwn"));
+
+        CompiledDictionary.main(new String[] {inputDirectory.toString(), outputDirectory.toString()});
+
+        final Path compiledFile = outputDirectory.resolve("nested/words.dicx");
+        assertThat(compiledFile).exists();
+        assertThat(outputDirectory.resolve("notes.txt.dicx")).doesNotExist();
+        assertThat(getWords(read(Files.readAllBytes(compiledFile)).getWords())).containsExactly("Awn", "Lath");
+    }
+
+    @Test
+    void testUserDictionaryFromCompiledFile() throws IOException {
+        final File file = FILE_HELPER.setUpDictionary("");
+        Files.write(file.toPath(), compile("Quoin\nRill\nSedge"));
+
+        final Dictionary dictionary = Dictionary.UserDictionary.get(file.getAbsolutePath(), false);
+
+        assertThat(dictionary.getWords()).containsExactly("Rill", "Quoin", "Sedge");
+        assertThat(dictionary.getWordsWithLengthInRange(5, 5)).containsExactly("Quoin", "Sedge");
+    }
+
+    @Test
+    void testUserDictionaryFromCompiledFileMapped() throws IOException {
+        final File file = FILE_HELPER.setUpDictionary("");
+        Files.write(file.toPath(), compile("Quoin\nRill\nSedge"));
+
+        final Dictionary dictionary =
+                Dictionary.UserDictionary.get(file.getAbsolutePath(), DictionaryStorage.MAPPED);
+
+        assertThat(dictionary.getWords()).containsExactly("Rill", "Quoin", "Sedge");
+    }
+
+
+    /**
+     * Returns the UTF-8 encoding of the given string.
+     *
+     * @param string a string
+     * @return the UTF-8 encoding of the given string
+     */
+    private static byte[] toBytes(final String string) {
+        return string.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compiles the given text dictionary.
+     *
+     * @param contents the contents of a text dictionary
+     * @return the compiled dictionary
+     */
+    private static byte[] compile(final String contents) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try {
+            CompiledDictionary.compile(new ByteArrayInputStream(toBytes(contents)), output);
+        } catch (final IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Reads the given compiled dictionary.
+     *
+     * @param bytes a compiled dictionary
+     * @return the read dictionary
+     * @throws IOException if the dictionary could not be read
+     */
+    private static CompiledDictionary read(final byte[] bytes) throws IOException {
+        return CompiledDictionary.read(new ByteArrayInputStream(bytes));
+    }
+
+    /**
+     * Returns all words in the given store, in order.
+     *
+     * @param store a {@code WordStore}
+     * @return all words in the given store, in order
+     */
+    private static List<String> getWords(final WordStore store) {
+        final List<String> words = new ArrayList<>();
+        for (int i = 0; i < store.size(); i++) {
+            words.add(store.get(i));
+        }
+        return words;
+    }
+}
@@ -0,0 +1,211 @@
+package com.fwdekker.randomness.word;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+/**
+ * Unit tests for {@link DictionaryCache}.
+ */
+final class DictionaryCacheTest {
+    private Dictionary simple;
+    private Dictionary varied;
+    private List<Dictionary> evicted;
+
+
+    @BeforeEach
+    void beforeEach() {
+        simple = Dictionary.BundledDictionary.get("dictionaries/simple.dic");
+        varied = Dictionary.BundledDictionary.get("dictionaries/varied.dic");
+        evicted = new ArrayList<>();
+    }
+
+
+    @Test
+    void testNegativeBudget() {
+        assertThatThrownBy(() -> new DictionaryCache<>(-1, evicted::add))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The budget must be non-negative.");
+    }
+
+    @Test
+    void testSetNegativeBudget() {
+        final DictionaryCache<Dictionary> cache = new DictionaryCache<>(0, evicted::add);
+
+        assertThatThrownBy(() -> cache.setBudget(-1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The budget must be non-negative.");
+    }
+
+    @Test
+    void testGetMiss() {
+        final DictionaryCache<Dictionary> cache = new DictionaryCache<>(Long.MAX_VALUE, evicted::add);
+
+        assertThat(cache.get("simple")).isNull();
+        assertThat(cache.getMissCount()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(0);
+    }
+
+    @Test
+    void testGetHit() {
+        final DictionaryCache<Dictionary> cache = new DictionaryCache<>(Long.MAX_VALUE, evicted::add);
+        cache.put("simple", simple);
+
+        assertThat(cache.get("simple")).isSameAs(simple);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(0);
+    }
+
+    @Test
+    void testPutMemoryUsage() {
+        final DictionaryCache<Dictionary> cache = new DictionaryCache<>(Long.MAX_VALUE, evicted::add);
+
+        cache.put("simple", simple);
+        cache.put("varied", varied);
+
+        assertThat(cache.getMemoryUsage()).isEqualTo(simple.estimateMemoryUsage() + varied.estimateMemoryUsage());
+    }
+
+    @Test
+    void testPutReplaceMemoryUsage() {
+        final DictionaryCache<Dictionary> cache = new DictionaryCache<>(Long.MAX_VALUE, evicted::add);
+
+        cache.put("dictionary", simple);
+        cache.put("dictionary", varied);
+
+        assertThat(cache.getMemoryUsage()).isEqualTo(varied.estimateMemoryUsage());
+        assertThat(cache.get("dictionary")).isSameAs(varied);
+    }
+
+    @Test
+    void testEvictLeastRecentlyUsed() {
+        final DictionaryCache<Dictionary> cache =
+                new DictionaryCache<>(simple.estimateMemoryUsage() + varied.estimateMemoryUsage(), evicted::add);
+        final Dictionary other = Dictionary.BundledDictionary.get("dictionaries/simple.dic", false);
+        cache.put("simple", simple);
+        cache.put("varied", varied);
+        cache.get("simple");
+
+        cache.put("other", other);
+
+        assertThat(evicted).containsExactly(varied);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+        assertThat(cache.getMemoryUsage()).isEqualTo(simple.estimateMemoryUsage() + other.estimateMemoryUsage());
+    }
+
+    @Test
+    void testNeverEvictMostRecentlyUsed() {
+        final DictionaryCache<Dictionary> cache = new DictionaryCache<>(0, evicted::add);
+
+        cache.put("simple", simple);
+
+        assertThat(evicted).isEmpty();
+        assertThat(cache.getMemoryUsage()).isEqualTo(simple.estimateMemoryUsage());
+    }
+
+    @Test
+    void testNeverEvictPinned() {
+        final DictionaryCache<Dictionary> cache = new DictionaryCache<>(0, evicted::add);
+        final Dictionary other = Dictionary.BundledDictionary.get("dictionaries/simple.dic", false);
+        cache.setPinned(Arrays.asList("simple", "varied"));
+
+        cache.put("simple", simple);
+        cache.put("varied", varied);
+        cache.put("other", other);
+        cache.put("simple", simple);
+
+        assertThat(evicted).containsExactly(other);
+        assertThat(cache.getMemoryUsage()).isEqualTo(simple.estimateMemoryUsage() + varied.estimateMemoryUsage());
+    }
+
+    @Test
+    void testSetPinnedEvictsUnpinned() {
+        final DictionaryCache<Dictionary> cache = new DictionaryCache<>(0, evicted::add);
+        cache.setPinned(Arrays.asList("simple", "varied"));
+        cache.put("simple", simple);
+        cache.put("varied", varied);
+
+        cache.setPinned(Collections.singletonList("varied"));
+
+        assertThat(evicted).containsExactly(simple);
+        assertThat(cache.getMemoryUsage()).isEqualTo(varied.estimateMemoryUsage());
+    }
+
+    @Test
+    void testGetEvictedFromSoftReference() {
+        final DictionaryCache<Dictionary> cache = new DictionaryCache<>(0, evicted::add);
+        cache.put("simple", simple);
+        cache.put("varied", varied);
+
+        assertThat(cache.get("simple")).isSameAs(simple);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(evicted).containsExactly(simple, varied);
+    }
+
+    @Test
+    void testSetBudgetEvicts() {
+        final DictionaryCache<Dictionary> cache = new DictionaryCache<>(Long.MAX_VALUE, evicted::add);
+        cache.put("simple", simple);
+        cache.put("varied", varied);
+
+        cache.setBudget(0);
+
+        assertThat(evicted).containsExactly(simple);
+        assertThat(cache.getBudget()).isEqualTo(0);
+        assertThat(cache.getMemoryUsage()).isEqualTo(varied.estimateMemoryUsage());
+    }
+
+    @Test
+    void testRemove() {
+        final DictionaryCache<Dictionary> cache = new DictionaryCache<>(Long.MAX_VALUE, evicted::add);
+        cache.put("simple", simple);
+        cache.put("varied", varied);
+
+        cache.remove("simple");
+
+        assertThat(cache.peek("simple")).isNull();
+        assertThat(cache.peek("varied")).isSameAs(varied);
+        assertThat(cache.getMemoryUsage()).isEqualTo(varied.estimateMemoryUsage());
+        assertThat(evicted).isEmpty();
+    }
+
+    @Test
+    void testRemoveEvicted() {
+        final DictionaryCache<Dictionary> cache = new DictionaryCache<>(0, evicted::add);
+        cache.put("simple", simple);
+        cache.put("varied", varied);
+
+        cache.remove("simple");
+
+        assertThat(cache.get("simple")).isNull();
+    }
+
+    @Test
+    void testClear() {
+        final DictionaryCache<Dictionary> cache = new DictionaryCache<>(0, evicted::add);
+        cache.put("simple", simple);
+        cache.put("varied", varied);
+
+        cache.clear();
+
+        assertThat(cache.get("simple")).isNull();
+        assertThat(cache.get("varied")).isNull();
+        assertThat(cache.getMemoryUsage()).isEqualTo(0);
+    }
+
+    @Test
+    void testToString() {
+        final DictionaryCache<Dictionary> cache = new DictionaryCache<>(100, evicted::add);
+        cache.get("simple");
+
+        assertThat(cache.toString()).isEqualTo("DictionaryCache[0 of 100 bytes used, 0 hits, 1 misses, 0 evictions]");
+    }
+}
@@ -0,0 +1,81 @@
+package com.fwdekker.randomness.word;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Unit tests for {@link DictionaryFileStamp}.
+ */
+final class DictionaryFileStampTest {
+    private static final DictionaryFileHelper FILE_HELPER = new DictionaryFileHelper();
+
+
+    @AfterAll
+    static void afterAll() {
+        FILE_HELPER.cleanUpDictionaries();
+    }
+
+
+    @Test
+    void testOf() throws IOException {
+        final File file = FILE_HELPER.setUpDictionary("Quern\nSkep");
+
+        final DictionaryFileStamp stamp = DictionaryFileStamp.of(file.toPath());
+
+        assertThat(stamp.getSize()).isEqualTo(10);
+        assertThat(stamp.getLastModified()).isEqualTo(file.lastModified());
+        assertThat(stamp.getHash()).isEqualTo(DictionaryFileStamp.UNKNOWN_HASH);
+    }
+
+    @Test
+    void testHash() throws IOException {
+        final File file = FILE_HELPER.setUpDictionary("Quern\nSkep");
+        final CRC32 crc = new CRC32();
+        crc.update("Quern\nSkep".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(DictionaryFileStamp.hash(file.toPath())).isEqualTo(crc.getValue());
+    }
+
+    @Test
+    void testHashEmpty() throws IOException {
+        final File file = FILE_HELPER.setUpDictionary("");
+
+        assertThat(DictionaryFileStamp.hash(file.toPath())).isEqualTo(new CRC32().getValue());
+    }
+
+    @Test
+    void testWithHash() {
+        final DictionaryFileStamp stamp = new DictionaryFileStamp(4, 5, DictionaryFileStamp.UNKNOWN_HASH);
+
+        assertThat(stamp.withHash(6)).isEqualTo(new DictionaryFileStamp(4, 5, 6));
+    }
+
+    @Test
+    void testHasSameAttributesIgnoresHash() {
+        assertThat(new DictionaryFileStamp(4, 5, 6).hasSameAttributes(new DictionaryFileStamp(4, 5, 7))).isTrue();
+    }
+
+    @Test
+    void testHasSameAttributesDifferentSize() {
+        assertThat(new DictionaryFileStamp(4, 5, 6).hasSameAttributes(new DictionaryFileStamp(3, 5, 6))).isFalse();
+    }
+
+    @Test
+    void testHasSameAttributesDifferentLastModified() {
+        assertThat(new DictionaryFileStamp(4, 5, 6).hasSameAttributes(new DictionaryFileStamp(4, 3, 6))).isFalse();
+    }
+
+    @Test
+    void testEquals() {
+        EqualsVerifier.forClass(DictionaryFileStamp.class).verify();
+    }
+}
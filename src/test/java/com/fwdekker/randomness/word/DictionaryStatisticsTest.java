@@ -0,0 +1,161 @@
+package com.fwdekker.randomness.word;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+/**
+ * Unit tests for {@link DictionaryStatistics}.
+ */
+final class DictionaryStatisticsTest {
+    @Test
+    void testEmpty() {
+        assertThat(DictionaryStatistics.EMPTY.isEmpty()).isTrue();
+        assertThat(DictionaryStatistics.EMPTY.getWordCount()).isZero();
+        assertThat(DictionaryStatistics.EMPTY.countWordsWithLengthInRange(0, Integer.MAX_VALUE)).isZero();
+    }
+
+    @Test
+    void testEmptyMinLength() {
+        assertThatThrownBy(DictionaryStatistics.EMPTY::getMinLength)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Dictionary should not be empty.");
+    }
+
+    @Test
+    void testEmptyMaxLength() {
+        assertThatThrownBy(DictionaryStatistics.EMPTY::getMaxLength)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Dictionary should not be empty.");
+    }
+
+    @Test
+    void testOfEmptyOffsets() {
+        final DictionaryStatistics statistics = DictionaryStatistics.of(new int[]{0, 0});
+
+        assertThat(statistics.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testOf() {
+        final DictionaryStatistics statistics = DictionaryStatistics.of(offsetsOf("cob", "jib", "nogging", "hasp"));
+
+        assertThat(statistics.isEmpty()).isFalse();
+        assertThat(statistics.getWordCount()).isEqualTo(4);
+        assertThat(statistics.getMinLength()).isEqualTo(3);
+        assertThat(statistics.getMaxLength()).isEqualTo(7);
+    }
+
+    @Test
+    void testOfTrailingEmptyLengths() {
+        final DictionaryStatistics statistics = DictionaryStatistics.of(new int[]{0, 0, 2, 2, 2, 2});
+
+        assertThat(statistics.getMinLength()).isEqualTo(1);
+        assertThat(statistics.getMaxLength()).isEqualTo(1);
+    }
+
+    @Test
+    void testOfLengthCounts() {
+        final DictionaryStatistics statistics = DictionaryStatistics.ofLengthCounts(new int[]{0, 0, 0, 2, 1});
+
+        assertThat(statistics.getWordCount()).isEqualTo(3);
+        assertThat(statistics.getMinLength()).isEqualTo(3);
+        assertThat(statistics.getMaxLength()).isEqualTo(4);
+        assertThat(statistics.countWordsWithLengthInRange(4, 10)).isEqualTo(1);
+    }
+
+    @Test
+    void testOfLengthCountsEmpty() {
+        assertThat(DictionaryStatistics.ofLengthCounts(new int[0]).isEmpty()).isTrue();
+    }
+
+    @Test
+    void testOfLengthCountsTrailingZero() {
+        assertThatThrownBy(() -> DictionaryStatistics.ofLengthCounts(new int[]{0, 1, 0}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The count of the longest length must be non-zero.");
+    }
+
+    @Test
+    void testOfEmptyWord() {
+        final DictionaryStatistics statistics = DictionaryStatistics.of(offsetsOf("", "cob"));
+
+        assertThat(statistics.getMinLength()).isZero();
+        assertThat(statistics.getMaxLength()).isEqualTo(3);
+    }
+
+    @Test
+    void testCountWordsWithLength() {
+        final DictionaryStatistics statistics = DictionaryStatistics.of(offsetsOf("cob", "jib", "nogging", "hasp"));
+
+        assertThat(statistics.countWordsWithLength(-1)).isZero();
+        assertThat(statistics.countWordsWithLength(2)).isZero();
+        assertThat(statistics.countWordsWithLength(3)).isEqualTo(2);
+        assertThat(statistics.countWordsWithLength(4)).isEqualTo(1);
+        assertThat(statistics.countWordsWithLength(7)).isEqualTo(1);
+        assertThat(statistics.countWordsWithLength(8)).isZero();
+    }
+
+    @Test
+    void testCountWordsWithLengthInRange() {
+        final DictionaryStatistics statistics = DictionaryStatistics.of(offsetsOf("cob", "jib", "nogging", "hasp"));
+
+        assertThat(statistics.countWordsWithLengthInRange(4, 7)).isEqualTo(2);
+        assertThat(statistics.countWordsWithLengthInRange(-5, 3)).isEqualTo(2);
+        assertThat(statistics.countWordsWithLengthInRange(5, 6)).isZero();
+        assertThat(statistics.countWordsWithLengthInRange(7, 4)).isZero();
+        assertThat(statistics.countWordsWithLengthInRange(0, Integer.MAX_VALUE)).isEqualTo(4);
+    }
+
+    @Test
+    void testCombineNone() {
+        assertThat(DictionaryStatistics.combine(Collections.emptyList()).isEmpty()).isTrue();
+    }
+
+    @Test
+    void testCombineSingle() {
+        final DictionaryStatistics statistics = DictionaryStatistics.of(offsetsOf("cob"));
+
+        assertThat(DictionaryStatistics.combine(Collections.singletonList(statistics))).isSameAs(statistics);
+    }
+
+    @Test
+    void testCombine() {
+        final DictionaryStatistics statistics = DictionaryStatistics.combine(Arrays.asList(
+                DictionaryStatistics.of(offsetsOf("cob", "nogging")),
+                DictionaryStatistics.EMPTY,
+                DictionaryStatistics.of(offsetsOf("jib", "hasp"))
+        ));
+
+        assertThat(statistics.getWordCount()).isEqualTo(4);
+        assertThat(statistics.getMinLength()).isEqualTo(3);
+        assertThat(statistics.getMaxLength()).isEqualTo(7);
+        assertThat(statistics.countWordsWithLength(3)).isEqualTo(2);
+    }
+
+    @Test
+    void testCombineCountsSharedWordsPerDictionary() {
+        final DictionaryStatistics statistics = DictionaryStatistics.combine(Arrays.asList(
+                DictionaryStatistics.of(offsetsOf("cob")),
+                DictionaryStatistics.of(offsetsOf("cob"))
+        ));
+
+        assertThat(statistics.getWordCount()).isEqualTo(2);
+    }
+
+
+    /**
+     * Returns the length offsets of the given words.
+     *
+     * @param words the words to index
+     * @return the length offsets of the given words
+     */
+    private static int[] offsetsOf(final String... words) {
+        return Dictionary.indexByLength(Dictionary.sortByLength(Arrays.asList(words)));
+    }
+}
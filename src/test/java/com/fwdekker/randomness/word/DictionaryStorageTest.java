@@ -0,0 +1,34 @@
+package com.fwdekker.randomness.word;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+/**
+ * Unit tests for {@link DictionaryStorage}.
+ */
+final class DictionaryStorageTest {
+    @Test
+    void testGetStorage() {
+        for (final DictionaryStorage storage : DictionaryStorage.values()) {
+            assertThat(DictionaryStorage.getStorage(storage.getName())).isEqualTo(storage);
+        }
+    }
+
+    @Test
+    void testGetStorageMapped() {
+        assertThat(DictionaryStorage.getStorage("memory-mapped")).isEqualTo(DictionaryStorage.MAPPED);
+    }
+
+    @Test
+    void testGetStorageOther() {
+        assertThatThrownBy(() -> DictionaryStorage.getStorage(""))
+                .isInstanceOf(NoSuchElementException.class)
+                .hasMessage("There does not exist a dictionary storage with name ``.")
+                .hasNoCause();
+    }
+}
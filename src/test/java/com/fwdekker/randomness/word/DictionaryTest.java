@@ -33,6 +33,41 @@ final class DictionaryTest {
                 .isEqualTo("dictionaries/simple.dic");
     }
 
+    @Test
+    void testGetStorageDefault() {
+        useDictionary("simple");
+
+        assertThat(dictionary.getStorage()).isEqualTo(Dictionary.DEFAULT_STORAGE);
+    }
+
+    @Test
+    void testGetStorageStrings() {
+        dictionary = Dictionary.BundledDictionary.get("dictionaries/simple.dic", DictionaryStorage.STRINGS);
+
+        assertThat(dictionary.getStorage()).isEqualTo(DictionaryStorage.STRINGS);
+        assertThat(dictionary.getWords()).containsExactlyInAnyOrder("a", "the", "dog", "woof", "cat", "meow");
+    }
+
+    @Test
+    void testGetStorageFrontCoded() {
+        dictionary = Dictionary.BundledDictionary.get("dictionaries/varied.dic", DictionaryStorage.FRONT_CODED);
+        final Dictionary arena =
+                Dictionary.BundledDictionary.get("dictionaries/varied.dic", DictionaryStorage.ARENA);
+
+        assertThat(dictionary.getStorage()).isEqualTo(DictionaryStorage.FRONT_CODED);
+        assertThat(dictionary.getWords()).containsExactlyElementsOf(arena.getWords());
+    }
+
+    @Test
+    void testEstimateMemoryUsage() {
+        final Dictionary strings =
+                Dictionary.BundledDictionary.get("dictionaries/varied.dic", DictionaryStorage.STRINGS);
+        final Dictionary arena =
+                Dictionary.BundledDictionary.get("dictionaries/varied.dic", DictionaryStorage.ARENA);
+
+        assertThat(arena.estimateMemoryUsage()).isPositive().isLessThan(strings.estimateMemoryUsage());
+    }
+
     @Test
     void testGetWords() {
         useDictionary("simple");
@@ -98,6 +133,39 @@ final class DictionaryTest {
                 .isEmpty();
     }
 
+    @Test
+    void testGetWordsWithLengthInRangeMultipleLengths() {
+        useDictionary("simple");
+
+        assertThat(dictionary.getWordsWithLengthInRange(3, 4))
+                .containsExactlyInAnyOrder("the", "dog", "woof", "cat", "meow");
+    }
+
+    @Test
+    void testGetWordsWithLengthInRangeMaximumLength() {
+        useDictionary("simple");
+
+        assertThat(dictionary.getWordsWithLengthInRange(4, Integer.MAX_VALUE))
+                .containsExactlyInAnyOrder("woof", "meow");
+    }
+
+
+    @Test
+    void testCountWordsWithLengthInRangeInvertedRange() {
+        useDictionary("simple");
+
+        assertThat(dictionary.countWordsWithLengthInRange(4, 1))
+                .isEqualTo(0);
+    }
+
+    @Test
+    void testCountWordsWithLengthInRange() {
+        useDictionary("varied");
+
+        assertThat(dictionary.countWordsWithLengthInRange(4, 13))
+                .isEqualTo(3);
+    }
+
 
     @Test
     void testGetShortestWordSimple() {
@@ -131,6 +199,29 @@ final class DictionaryTest {
                 .hasSize(45);
     }
 
+    @Test
+    void testGetStatisticsSimple() {
+        useDictionary("simple");
+
+        final DictionaryStatistics statistics = dictionary.getStatistics();
+
+        assertThat(statistics.getWordCount()).isEqualTo(6);
+        assertThat(statistics.getMinLength()).isEqualTo(1);
+        assertThat(statistics.getMaxLength()).isEqualTo(4);
+        assertThat(statistics.countWordsWithLength(3)).isEqualTo(3);
+    }
+
+    @Test
+    void testGetStatisticsVaried() {
+        dictionary = Dictionary.BundledDictionary.get("dictionaries/varied.dic", DictionaryStorage.MAPPED);
+
+        final DictionaryStatistics statistics = dictionary.getStatistics();
+
+        assertThat(statistics.getWordCount()).isEqualTo(4);
+        assertThat(statistics.getMinLength()).isEqualTo(4);
+        assertThat(statistics.getMaxLength()).isEqualTo(45);
+    }
+
 
     @Test
     void testCombine() {
@@ -154,11 +245,34 @@ final class DictionaryTest {
     }
 
 
+    @Test
+    void testGetWordsMatchingNoFilter() {
+        useDictionary("simple");
+
+        assertThat(dictionary.getWordsMatching(WordFilter.NONE, 3, 3))
+                .containsExactlyElementsOf(dictionary.getWordsWithLengthInRange(3, 3));
+    }
+
+    @Test
+    void testGetWordsMatchingPrefix() {
+        useDictionary("simple");
+
+        assertThat(dictionary.getWordsMatching(new WordFilter("d", "", "", ""), 0, 10)).containsExactly("dog");
+    }
+
+    @Test
+    void testGetWordsMatchingSuffix() {
+        useDictionary("simple");
+
+        assertThat(dictionary.getWordsMatching(new WordFilter("", "f", "", ""), 0, 10)).containsExactly("woof");
+    }
+
+
     @Test
     void testEqualsContract() {
         EqualsVerifier.forClass(Dictionary.class)
                 .usingGetClass()
-                .withIgnoredFields("name", "words")
+                .withIgnoredFields("name", "storage", "words", "lengthOffsets", "statistics", "weights", "index")
                 .verify();
     }
 
@@ -0,0 +1,209 @@
+package com.fwdekker.randomness.word;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+/**
+ * Unit tests for {@link DictionaryUnion}.
+ */
+final class DictionaryUnionTest {
+    private static final DictionaryFileHelper FILE_HELPER = new DictionaryFileHelper();
+
+
+    @AfterAll
+    static void afterAll() {
+        FILE_HELPER.cleanUpDictionaries();
+    }
+
+
+    @Test
+    void testOfNoDictionaries() {
+        assertThat(DictionaryUnion.of(Collections.emptyList(), 0, 10, true)).isEmpty();
+    }
+
+    @Test
+    void testOfNoWordsInRange() {
+        final List<String> words = DictionaryUnion.of(Arrays.asList(bundled("simple"), bundled("varied")), 5, 9, true);
+
+        assertThat(words).isEmpty();
+    }
+
+    @Test
+    void testOfSingleDictionaryReturnsOwnView() {
+        final Dictionary simple = bundled("simple");
+
+        final List<String> words = DictionaryUnion.of(Arrays.asList(simple, bundled("varied")), 1, 3, true);
+
+        assertThat(words)
+                .isNotInstanceOf(DictionaryUnion.class)
+                .containsExactlyElementsOf(simple.getWordsWithLengthInRange(1, 3));
+    }
+
+    @Test
+    void testOfDisjointDictionaries() {
+        final List<String> words = DictionaryUnion.of(Arrays.asList(bundled("simple"), bundled("varied")), 3, 10, true);
+
+        assertThat(words).containsExactlyInAnyOrder("the", "dog", "cat", "woof", "meow", "bend", "simplicity");
+    }
+
+    @Test
+    void testOfOverlappingDictionariesWithoutDeduplication() {
+        final Dictionary user = user("dog\nbend\ncorbel");
+
+        final List<String> words = DictionaryUnion.of(Arrays.asList(bundled("simple"), user), 3, 6, false);
+
+        assertThat(words).containsExactlyInAnyOrder(
+                "the", "dog", "cat", "woof", "meow", "dog", "bend", "corbel");
+    }
+
+    @Test
+    void testOfOverlappingDictionariesWithDeduplication() {
+        final Dictionary user = user("dog\nbend\ncorbel\nmeow");
+
+        final List<String> words = DictionaryUnion.of(Arrays.asList(bundled("simple"), user), 3, 6, true);
+
+        assertThat(words).containsExactlyInAnyOrder("the", "dog", "cat", "woof", "meow", "bend", "corbel");
+    }
+
+    @Test
+    void testOfIdenticalDictionaries() {
+        final Dictionary user = user("a\nthe\ndog\nwoof\ncat\nmeow");
+
+        final List<String> words = DictionaryUnion.of(Arrays.asList(bundled("simple"), user), 0, 10, true);
+
+        assertThat(words).containsExactlyInAnyOrder("a", "the", "dog", "woof", "cat", "meow");
+    }
+
+    @Test
+    void testOfMappedDictionariesWithDeduplication() {
+        final Dictionary mappedA = mapped("woof\nzebu\ncat\nwoof\nmeow\nant");
+        final Dictionary mappedB = mapped("yak\ncat\nwoof");
+
+        final List<String> words = DictionaryUnion.of(Arrays.asList(mappedA, mappedB), 0, 10, true);
+
+        assertThat(words).containsExactlyInAnyOrder("woof", "zebu", "cat", "meow", "ant", "yak");
+    }
+
+    @Test
+    void testOfSingleMappedDictionaryWithDeduplication() {
+        final Dictionary mapped = mapped("woof\nzebu\nwoof\ncat\ncat");
+
+        final List<String> words = DictionaryUnion.of(Collections.singletonList(mapped), 0, 10, true);
+
+        assertThat(words).containsExactlyInAnyOrder("woof", "zebu", "cat");
+    }
+
+    @Test
+    void testOfSingleBundledDictionaryWithMappedStorage() {
+        final Dictionary bundled = Dictionary.BundledDictionary.get("dictionaries/simple.dic", DictionaryStorage.MAPPED);
+
+        final List<String> words = DictionaryUnion.of(Collections.singletonList(bundled), 0, 10, true);
+
+        assertThat(words).isNotInstanceOf(DictionaryUnion.class);
+    }
+
+    @Test
+    void testOfSingleMappedDictionaryWithoutDeduplication() {
+        final Dictionary mapped = mapped("woof\nzebu\nwoof");
+
+        final List<String> words = DictionaryUnion.of(Collections.singletonList(mapped), 0, 10, false);
+
+        assertThat(words).containsExactlyInAnyOrder("woof", "zebu", "woof");
+    }
+
+    @Test
+    void testOfDictionaryWithOnlyDuplicates() {
+        final Dictionary userA = user("cob\njib");
+        final Dictionary userB = user("jib\ncob");
+        final Dictionary userC = user("hasp");
+
+        final List<String> words = DictionaryUnion.of(Arrays.asList(userA, userB, userC), 0, 10, true);
+
+        assertThat(words).containsExactly("cob", "jib", "hasp");
+    }
+
+    @Test
+    void testGetOutOfBounds() {
+        final List<String> words = DictionaryUnion.of(Arrays.asList(bundled("simple"), bundled("varied")), 0, 4, true);
+
+        assertThatThrownBy(() -> words.get(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> words.get(words.size())).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void testGetMatchesIteration() {
+        final Dictionary user = user("dog\nbend\ncorbel\nmeow\nquern");
+        final List<String> words = DictionaryUnion.of(Arrays.asList(bundled("simple"), user), 0, 10, true);
+
+        final List<String> gotWords = new ArrayList<>();
+        for (int i = 0; i < words.size(); i++) {
+            gotWords.add(words.get(i));
+        }
+
+        assertThat(gotWords).containsExactlyElementsOf(new ArrayList<>(words));
+    }
+
+
+    @Test
+    void testGetPositionWithoutDuplicates() {
+        assertThat(DictionaryUnion.getPosition(null, 4)).isEqualTo(4);
+    }
+
+    @Test
+    void testGetPositionBeforeDuplicates() {
+        assertThat(DictionaryUnion.getPosition(new int[]{3, 4}, 2)).isEqualTo(2);
+    }
+
+    @Test
+    void testGetPositionBetweenDuplicates() {
+        assertThat(DictionaryUnion.getPosition(new int[]{0, 2, 3, 6}, 0)).isEqualTo(1);
+        assertThat(DictionaryUnion.getPosition(new int[]{0, 2, 3, 6}, 1)).isEqualTo(4);
+        assertThat(DictionaryUnion.getPosition(new int[]{0, 2, 3, 6}, 2)).isEqualTo(5);
+    }
+
+    @Test
+    void testGetPositionAfterDuplicates() {
+        assertThat(DictionaryUnion.getPosition(new int[]{0, 2, 3, 6}, 3)).isEqualTo(7);
+    }
+
+
+    /**
+     * Returns the bundled test dictionary with the given name.
+     *
+     * @param name the name of the dictionary, without extension
+     * @return the bundled test dictionary with the given name
+     */
+    private static Dictionary bundled(final String name) {
+        return Dictionary.BundledDictionary.get("dictionaries/" + name + ".dic");
+    }
+
+    /**
+     * Returns a user dictionary with the given contents.
+     *
+     * @param contents the contents of the dictionary file
+     * @return a user dictionary with the given contents
+     */
+    private static Dictionary user(final String contents) {
+        return Dictionary.UserDictionary.get(FILE_HELPER.setUpDictionary(contents).getAbsolutePath());
+    }
+
+    /**
+     * Returns a memory-mapped user dictionary with the given contents.
+     *
+     * @param contents the contents of the dictionary file
+     * @return a memory-mapped user dictionary with the given contents
+     */
+    private static Dictionary mapped(final String contents) {
+        return Dictionary.UserDictionary.get(FILE_HELPER.setUpDictionary(contents).getAbsolutePath(),
+                DictionaryStorage.MAPPED);
+    }
+}
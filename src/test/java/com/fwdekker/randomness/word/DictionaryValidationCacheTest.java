@@ -0,0 +1,128 @@
+package com.fwdekker.randomness.word;
+
+import com.intellij.openapi.ui.ValidationInfo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Unit tests for {@link DictionaryValidationCache}.
+ */
+final class DictionaryValidationCacheTest {
+    private DictionaryValidationCache cache;
+    private List<String> validatedPaths;
+
+
+    @BeforeEach
+    void beforeEach() {
+        cache = new DictionaryValidationCache();
+        validatedPaths = new ArrayList<>();
+    }
+
+
+    @Test
+    void testValidateValid() {
+        assertThat(cache.validate("path", this::valid)).isNull();
+        assertThat(validatedPaths).containsExactly("path");
+    }
+
+    @Test
+    void testValidateInvalid() {
+        final ValidationInfo validationInfo = cache.validate("path", this::invalid);
+
+        assertThat(validationInfo).isNotNull();
+        assertThat(validationInfo.message).isEqualTo("path is invalid");
+    }
+
+    @Test
+    void testValidateRemembersValid() {
+        cache.validate("path", this::valid);
+
+        assertThat(cache.validate("path", this::invalid)).isNull();
+        assertThat(validatedPaths).containsExactly("path");
+    }
+
+    @Test
+    void testValidateDoesNotRememberInvalid() {
+        cache.validate("path", this::invalid);
+
+        assertThat(cache.validate("path", this::valid)).isNull();
+        assertThat(validatedPaths).containsExactly("path", "path");
+    }
+
+    @Test
+    void testValidateDistinguishesPaths() {
+        cache.validate("path", this::valid);
+
+        assertThat(cache.validate("other", this::invalid)).isNotNull();
+    }
+
+    @Test
+    void testInvalidate() {
+        cache.validate("path", this::valid);
+
+        cache.invalidate("path");
+
+        assertThat(cache.validate("path", this::invalid)).isNotNull();
+    }
+
+    @Test
+    void testInvalidateOtherPath() {
+        cache.validate("path", this::valid);
+
+        cache.invalidate("other");
+
+        assertThat(cache.validate("path", this::invalid)).isNull();
+    }
+
+    @Test
+    void testClear() {
+        cache.validate("path", this::valid);
+        cache.validate("other", this::valid);
+
+        cache.clear();
+
+        assertThat(cache.validate("path", this::invalid)).isNotNull();
+        assertThat(cache.validate("other", this::invalid)).isNotNull();
+    }
+
+    @Test
+    void testValidationListener() {
+        final List<String> listenedPaths = new ArrayList<>();
+        cache.setValidationListener(listenedPaths::add);
+
+        cache.validate("path", this::valid);
+        cache.validate("path", this::valid);
+        cache.validate("other", this::invalid);
+
+        assertThat(listenedPaths).containsExactly("path");
+    }
+
+
+    /**
+     * Records the given path as validated and returns {@code null}.
+     *
+     * @param path the path to validate
+     * @return {@code null}
+     */
+    private ValidationInfo valid(final String path) {
+        validatedPaths.add(path);
+        return null;
+    }
+
+    /**
+     * Records the given path as validated and returns a {@code ValidationInfo}.
+     *
+     * @param path the path to validate
+     * @return a {@code ValidationInfo}
+     */
+    private ValidationInfo invalid(final String path) {
+        validatedPaths.add(path);
+        return new ValidationInfo(path + " is invalid");
+    }
+}
@@ -0,0 +1,93 @@
+package com.fwdekker.randomness.word;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Unit tests for {@link DictionaryWarmUp}.
+ */
+final class DictionaryWarmUpTest {
+    private WordSettings wordSettings;
+
+
+    @BeforeEach
+    void beforeEach() {
+        Dictionary.BundledDictionary.clearCache();
+
+        wordSettings = new WordSettings();
+        wordSettings.setBundledDictionaries(Collections.singleton("dictionaries/simple.dic"));
+        wordSettings.setActiveBundledDictionaries(Collections.singleton("dictionaries/simple.dic"));
+        wordSettings.setUserDictionaries(Collections.emptySet());
+        wordSettings.setActiveUserDictionaries(Collections.emptySet());
+    }
+
+    @AfterEach
+    void afterEach() {
+        Dictionary.BundledDictionary.clearCache();
+    }
+
+
+    @Test
+    void testStartLoadsDictionaries() throws Exception {
+        final Future<?> warmUp = DictionaryWarmUp.start(wordSettings, Runnable::run);
+
+        assertThat(warmUp.isDone()).isTrue();
+        assertThat(warmUp.get()).isNull();
+        assertThat(Dictionary.BundledDictionary.get("dictionaries/simple.dic"))
+                .isSameAs(wordSettings.getValidActiveDictionaries().get(0));
+    }
+
+    @Test
+    void testStartWithoutActiveDictionaries() {
+        wordSettings.setActiveBundledDictionaries(Collections.emptySet());
+
+        final Future<?> warmUp = DictionaryWarmUp.start(wordSettings, Runnable::run);
+
+        assertThat(warmUp.isDone()).isTrue();
+        assertThat(warmUp.isCancelled()).isFalse();
+    }
+
+    @Test
+    void testStartWhileRunning() {
+        final List<Runnable> tasks = new ArrayList<>();
+
+        final Future<?> first = DictionaryWarmUp.start(wordSettings, tasks::add);
+        final Future<?> second = DictionaryWarmUp.start(wordSettings, tasks::add);
+        tasks.forEach(Runnable::run);
+
+        assertThat(second).isSameAs(first);
+        assertThat(tasks).hasSize(1);
+        assertThat(first.isDone()).isTrue();
+    }
+
+    @Test
+    void testAwaitWaitsForRunningWarmUp() throws InterruptedException {
+        final List<Runnable> tasks = new ArrayList<>();
+        final Future<?> warmUp = DictionaryWarmUp.start(wordSettings, tasks::add);
+
+        final Thread thread = new Thread(() -> tasks.forEach(Runnable::run));
+        thread.start();
+        DictionaryWarmUp.await();
+        thread.join();
+
+        assertThat(warmUp.isDone()).isTrue();
+    }
+
+    @Test
+    void testRestoresThreadPriority() {
+        final int priority = Thread.currentThread().getPriority();
+
+        DictionaryWarmUp.start(wordSettings, Runnable::run);
+
+        assertThat(Thread.currentThread().getPriority()).isEqualTo(priority);
+    }
+}
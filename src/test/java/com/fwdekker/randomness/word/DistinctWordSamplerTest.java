@@ -0,0 +1,90 @@
+package com.fwdekker.randomness.word;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Unit tests for {@link DistinctWordSampler}.
+ */
+final class DistinctWordSamplerTest {
+    @Test
+    void testSampleNone() {
+        assertThat(DistinctWordSampler.sample(Arrays.asList("Tine", "Awl"), 0, new Random(0))).isEmpty();
+    }
+
+    @Test
+    void testSampleFromEmpty() {
+        assertThat(DistinctWordSampler.sample(Collections.emptyList(), 3, new Random(0))).isEmpty();
+    }
+
+    @Test
+    void testSampleAll() {
+        final List<String> words = Arrays.asList("Tine", "Awl", "Froe", "Adze", "Gouge");
+
+        final List<String> sample = DistinctWordSampler.sample(words, 5, new Random(0));
+
+        assertThat(sample).containsExactlyInAnyOrder("Tine", "Awl", "Froe", "Adze", "Gouge");
+    }
+
+    @Test
+    void testSampleMoreThanAvailable() {
+        final List<String> words = Arrays.asList("Tine", "Awl", "Froe");
+
+        final List<String> sample = DistinctWordSampler.sample(words, 10, new Random(0));
+
+        assertThat(sample).containsExactlyInAnyOrder("Tine", "Awl", "Froe");
+    }
+
+    @Test
+    void testSampleDistinctPositions() {
+        final List<String> words = createWords(100_000);
+
+        final List<String> sample = DistinctWordSampler.sample(words, 10_000, new Random(0));
+
+        assertThat(sample)
+                .hasSize(10_000)
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    void testSampleUniform() {
+        final List<String> words = createWords(4);
+        final Random random = new Random(0);
+
+        final int[] firstCounts = new int[4];
+        final int[] secondCounts = new int[4];
+        for (int i = 0; i < 8000; i++) {
+            final List<String> sample = DistinctWordSampler.sample(words, 2, random);
+            firstCounts[Integer.parseInt(sample.get(0))]++;
+            secondCounts[Integer.parseInt(sample.get(1))]++;
+        }
+
+        for (int position = 0; position < 4; position++) {
+            assertThat(firstCounts[position]).isBetween(1800, 2200);
+            assertThat(secondCounts[position]).isBetween(1800, 2200);
+        }
+    }
+
+
+    /**
+     * Returns a list of the given number of distinct words, each of which is its own position in the list.
+     *
+     * @param count the number of words to create
+     * @return a list of the given number of distinct words, each of which is its own position in the list
+     */
+    private static List<String> createWords(final int count) {
+        final List<String> words = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            words.add(Integer.toString(i));
+        }
+        return words;
+    }
+}
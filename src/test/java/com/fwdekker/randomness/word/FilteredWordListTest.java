@@ -0,0 +1,48 @@
+package com.fwdekker.randomness.word;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+/**
+ * Unit tests for {@link FilteredWordList}.
+ */
+final class FilteredWordListTest {
+    /**
+     * The store used in these tests.
+     */
+    private static final WordStore STORE = new StringWordStore(new String[] {"ax", "ox", "axe", "saw", "adze", "rasp"});
+
+
+    @Test
+    void testNoRanges() {
+        assertThat(new FilteredWordList(STORE, null, new int[0], new int[0])).isEmpty();
+    }
+
+    @Test
+    void testEmptyRangesAreSkipped() {
+        final FilteredWordList list = new FilteredWordList(STORE, null, new int[] {0, 2, 3}, new int[] {1, 2, 5});
+
+        assertThat(list).containsExactly("ax", "saw", "adze");
+    }
+
+    @Test
+    void testOrder() {
+        final int[] order = {5, 4, 3, 2, 1, 0};
+
+        final FilteredWordList list = new FilteredWordList(STORE, order, new int[] {1, 4}, new int[] {3, 6});
+
+        assertThat(list).containsExactly("adze", "saw", "ox", "ax");
+    }
+
+    @Test
+    void testGetOutOfBounds() {
+        final FilteredWordList list = new FilteredWordList(STORE, null, new int[] {0}, new int[] {2});
+
+        assertThatThrownBy(() -> list.get(2))
+                .isInstanceOf(IndexOutOfBoundsException.class)
+                .hasMessage("Index: 2, Size: 2");
+    }
+}
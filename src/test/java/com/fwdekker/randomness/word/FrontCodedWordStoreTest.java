@@ -0,0 +1,114 @@
+package com.fwdekker.randomness.word;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+/**
+ * Unit tests for {@link FrontCodedWordStore}.
+ */
+final class FrontCodedWordStoreTest {
+    @Test
+    void testSizeEmpty() {
+        final WordStore store = new FrontCodedWordStore(new String[0]);
+
+        assertThat(store.size()).isEqualTo(0);
+    }
+
+    @Test
+    void testSize() {
+        final WordStore store = new FrontCodedWordStore(new String[]{"hug", "hum", "humid"});
+
+        assertThat(store.size()).isEqualTo(3);
+    }
+
+    @Test
+    void testGet() {
+        final WordStore store = new FrontCodedWordStore(new String[]{"hug", "hum", "humid", "sting"});
+
+        assertThat(store.get(0)).isEqualTo("hug");
+        assertThat(store.get(1)).isEqualTo("hum");
+        assertThat(store.get(2)).isEqualTo("humid");
+        assertThat(store.get(3)).isEqualTo("sting");
+    }
+
+    @Test
+    void testGetWordThatIsPrefixOfPrevious() {
+        final WordStore store = new FrontCodedWordStore(new String[]{"humid", "hum", "", "h"});
+
+        assertThat(store.get(1)).isEqualTo("hum");
+        assertThat(store.get(2)).isEmpty();
+        assertThat(store.get(3)).isEqualTo("h");
+    }
+
+    @Test
+    void testGetAcrossRestartPoints() {
+        final String[] words = new String[3 * FrontCodedWordStore.RESTART_INTERVAL + 5];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = String.format("word%03d", i);
+        }
+        final WordStore store = new FrontCodedWordStore(words);
+
+        for (int i = 0; i < words.length; i++) {
+            assertThat(store.get(i)).isEqualTo(words[i]);
+        }
+    }
+
+    @Test
+    void testGetNonAscii() {
+        final WordStore store = new FrontCodedWordStore(new String[]{"\u00fcber", "\u00fcberall", "na\u00efve"});
+
+        assertThat(store.get(1)).isEqualTo("\u00fcberall");
+        assertThat(store.get(2)).isEqualTo("na\u00efve");
+    }
+
+    @Test
+    void testGetNonLatin1() {
+        final WordStore store = new FrontCodedWordStore(new String[]{"\u0107evap", "\u0107evapi", "\ud83d\ude00"});
+
+        assertThat(store.get(1)).isEqualTo("\u0107evapi");
+        assertThat(store.get(2)).isEqualTo("\ud83d\ude00");
+    }
+
+    @Test
+    void testIsLatin1() {
+        assertThat(new FrontCodedWordStore(new String[]{"\u00fcber", "hug"}).isLatin1()).isTrue();
+    }
+
+    @Test
+    void testIsLatin1NonLatin1() {
+        assertThat(new FrontCodedWordStore(new String[]{"hug", "\u0107evap"}).isLatin1()).isFalse();
+    }
+
+    @Test
+    void testGetLongWords() {
+        final char[] characters = new char[70_000];
+        Arrays.fill(characters, 'z');
+        final String longWord = new String(characters);
+        final WordStore store = new FrontCodedWordStore(new String[]{longWord, longWord + "a", "z"});
+
+        assertThat(store.get(0)).isEqualTo(longWord);
+        assertThat(store.get(1)).isEqualTo(longWord + "a");
+        assertThat(store.get(2)).isEqualTo("z");
+    }
+
+    @Test
+    void testGetOutOfBounds() {
+        final WordStore store = new FrontCodedWordStore(new String[]{"hug"});
+
+        assertThatThrownBy(() -> store.get(1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> store.get(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void testEstimateMemoryUsage() {
+        final String[] words = {"inquire", "inquired", "inquirer", "inquires", "inquiries", "inquiring", "inquiry"};
+
+        assertThat(new FrontCodedWordStore(words).estimateMemoryUsage())
+                .isLessThan(new ArenaWordStore(words).estimateMemoryUsage());
+    }
+}
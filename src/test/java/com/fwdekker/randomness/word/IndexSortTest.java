@@ -0,0 +1,60 @@
+package com.fwdekker.randomness.word;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Unit tests for {@link IndexSort}.
+ */
+final class IndexSortTest {
+    @Test
+    void testSortEmpty() {
+        assertThat(IndexSort.sort(0, Integer::compare)).isEmpty();
+    }
+
+    @Test
+    void testSortShort() {
+        final String[] words = {"dog", "cat", "bird", "ant"};
+
+        assertThat(IndexSort.sort(words.length, (a, b) -> words[a].compareTo(words[b])))
+                .containsExactly(3, 2, 1, 0);
+    }
+
+    @Test
+    void testSortLong() {
+        final Random random = new Random(52);
+        final int[] values = random.ints(10_000, 0, 1_000_000).toArray();
+
+        final int[] order = IndexSort.sort(values.length, (a, b) -> Integer.compare(values[a], values[b]));
+
+        final int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        assertThat(Arrays.stream(order).map(it -> values[it]).toArray()).containsExactly(sorted);
+    }
+
+    @Test
+    void testSortIsStable() {
+        final int[] values = new Random(52).ints(1000, 0, 10).toArray();
+
+        final int[] order = IndexSort.sort(values.length, (a, b) -> Integer.compare(values[a], values[b]));
+
+        final int[] expected = IntStream.range(0, values.length).boxed()
+                .sorted(Comparator.comparingInt(it -> values[it]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        assertThat(order).containsExactly(expected);
+    }
+
+    @Test
+    void testSortAlreadySorted() {
+        assertThat(IndexSort.sort(100, Integer::compare))
+                .containsExactly(IntStream.range(0, 100).toArray());
+    }
+}
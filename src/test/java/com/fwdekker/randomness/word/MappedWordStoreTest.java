@@ -0,0 +1,185 @@
+package com.fwdekker.randomness.word;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+/**
+ * Unit tests for {@link MappedWordStore}.
+ */
+final class MappedWordStoreTest {
+    private static final DictionaryFileHelper FILE_HELPER = new DictionaryFileHelper();
+
+
+    @AfterAll
+    static void afterAll() {
+        FILE_HELPER.cleanUpDictionaries();
+    }
+
+
+    @Test
+    void testEmptyFile() throws IOException {
+        final MappedWordStore store = createStore("");
+
+        assertThat(store.size()).isEqualTo(0);
+    }
+
+    @Test
+    void testGetWords() throws IOException {
+        final MappedWordStore store = createStore("Ichor\nEta\nPsychotic\nAlp");
+
+        assertThat(getWords(store)).containsExactly("Eta", "Alp", "Ichor", "Psychotic");
+    }
+
+    @Test
+    void testGetWordsTrailingNewline() throws IOException {
+        final MappedWordStore store = createStore("Pesky\nOxtail\n");
+
+        assertThat(getWords(store)).containsExactly("Pesky", "Oxtail");
+    }
+
+    @Test
+    void testGetWordsCarriageReturns() throws IOException {
+        final MappedWordStore store = createStore("Ferrule\r\nDun\r\n");
+
+        assertThat(getWords(store)).containsExactly("Dun", "Ferrule");
+    }
+
+    @Test
+    void testGetWordsLoneCarriageReturns() throws IOException {
+        final MappedWordStore store = createStore("Ferrule\rDun\r");
+
+        assertThat(getWords(store)).containsExactly("Dun", "Ferrule");
+    }
+
+    @Test
+    void testGetWordsMixedLineBreaks() throws IOException {
+        final MappedWordStore store = createStore("Whin\r\nGib\rSkep\n\rKex");
+
+        assertThat(getWords(store)).containsExactly("", "Gib", "Kex", "Whin", "Skep");
+    }
+
+    @Test
+    void testGetWordsEmptyLine() throws IOException {
+        final MappedWordStore store = createStore("Roe\n\nKnell");
+
+        assertThat(getWords(store)).containsExactly("", "Roe", "Knell");
+    }
+
+    @Test
+    void testGetWordsNonAscii() throws IOException {
+        final MappedWordStore store = createStore("\u00e9t\u00e9\nab\nabcd");
+
+        assertThat(getWords(store)).containsExactly("ab", "\u00e9t\u00e9", "abcd");
+    }
+
+    @Test
+    void testGetWordsSupplementaryCharacters() throws IOException {
+        final MappedWordStore store = createStore("\ud83d\ude00\nabc\na");
+
+        assertThat(getWords(store)).containsExactly("a", "\ud83d\ude00", "abc");
+    }
+
+    @Test
+    void testGetWordsAcrossSegments() throws IOException {
+        final File file = FILE_HELPER.setUpDictionary("Whelk\nFop\nBrigantine\n\u00e9clat");
+        final MappedWordStore store = new MappedWordStore(file.toPath(), 3);
+
+        assertThat(getWords(store)).containsExactly("Fop", "Whelk", "\u00e9clat", "Brigantine");
+    }
+
+    @Test
+    void testGetLengthOffsets() throws IOException {
+        final MappedWordStore store = createStore("Ichor\nEta\nPsychotic\nAlp");
+
+        assertThat(store.getLengthOffsets()).containsExactly(0, 0, 0, 0, 2, 2, 3, 3, 3, 3, 4);
+    }
+
+    @Test
+    void testGetAfterTruncation() throws IOException {
+        final File file = FILE_HELPER.setUpDictionary("Ichor\nEta\nPsychotic\nAlp");
+        final MappedWordStore store = new MappedWordStore(file.toPath());
+
+        FILE_HELPER.writeToFile(file, "");
+
+        assertThatThrownBy(() -> store.get(0))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("The dictionary file changed after it was mapped.");
+    }
+
+    @Test
+    void testGetAfterClose() throws IOException {
+        final MappedWordStore store = createStore("Ichor\nEta");
+
+        store.close();
+
+        assertThatThrownBy(() -> store.get(0))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("The dictionary file is no longer mapped.");
+    }
+
+    @Test
+    void testCloseTwice() throws IOException {
+        final MappedWordStore store = createStore("Ichor\nEta");
+
+        store.close();
+        store.close();
+
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    void testOverwriteAfterClose() throws IOException {
+        final File file = FILE_HELPER.setUpDictionary("Ichor\nEta");
+        new MappedWordStore(file.toPath()).close();
+
+        FILE_HELPER.writeToFile(file, "Psychotic");
+
+        assertThat(getWords(new MappedWordStore(file.toPath()))).containsExactly("Psychotic");
+    }
+
+    @Test
+    void testEstimateMemoryUsage() throws IOException {
+        final MappedWordStore store = createStore("aaaaaaaa\nbbbbbbbb\ncccccccc\ndddddddd");
+
+        assertThat(store.estimateMemoryUsage())
+                .isEqualTo(WordStore.arraySize(4, Long.BYTES)
+                        + WordStore.arraySize(10, Integer.BYTES)
+                        + WordStore.arraySize(1, Integer.BYTES));
+    }
+
+
+    /**
+     * Creates a {@code MappedWordStore} for a temporary file with the given contents.
+     *
+     * @param contents the contents of the dictionary file
+     * @return a {@code MappedWordStore} for a temporary file with the given contents
+     * @throws IOException if the file could not be mapped
+     */
+    private MappedWordStore createStore(final String contents) throws IOException {
+        return new MappedWordStore(FILE_HELPER.setUpDictionary(contents).toPath());
+    }
+
+    /**
+     * Returns all words in the given store, in order.
+     *
+     * @param store a {@code WordStore}
+     * @return all words in the given store, in order
+     */
+    private List<String> getWords(final WordStore store) {
+        final List<String> words = new ArrayList<>();
+        for (int i = 0; i < store.size(); i++) {
+            words.add(store.get(i));
+        }
+        return words;
+    }
+}
@@ -0,0 +1,192 @@
+package com.fwdekker.randomness.word;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+/**
+ * Unit tests for {@link ParsedDictionary}.
+ */
+final class ParsedDictionaryTest {
+    @Test
+    void testReadUnweighted() throws IOException {
+        final ParsedDictionary dictionary = read("Tusk\nOf\nSheave\nOf");
+
+        assertThat(dictionary.getWords()).containsExactly("Of", "Tusk", "Sheave");
+        assertThat(dictionary.getWeights()).isNull();
+    }
+
+    @Test
+    void testReadWeighted() throws IOException {
+        final ParsedDictionary dictionary = read("Tusk\t2\nOf\t0.25\nSheave\t1e3");
+
+        assertThat(dictionary.getWords()).containsExactly("Of", "Tusk", "Sheave");
+        assertThat(dictionary.getWeights()).containsExactly(0.25f, 2.0f, 1000.0f);
+    }
+
+    @Test
+    void testReadMixedWeights() throws IOException {
+        final ParsedDictionary dictionary = read("Tusk\nOf\t3\nSheave");
+
+        assertThat(dictionary.getWords()).containsExactly("Of", "Tusk", "Sheave");
+        assertThat(dictionary.getWeights()).containsExactly(3.0f, 1.0f, 1.0f);
+    }
+
+    @Test
+    void testReadSumsDuplicateWeights() throws IOException {
+        final ParsedDictionary dictionary = read("Of\nTusk\t2\nOf\t0.5\nTusk\t 3 ");
+
+        assertThat(dictionary.getWords()).containsExactly("Of", "Tusk");
+        assertThat(dictionary.getWeights()).containsExactly(1.5f, 5.0f);
+    }
+
+    @Test
+    void testReadNonNumericWeight() {
+        assertThatThrownBy(() -> read("Tusk\nOf\tmany"))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Invalid weight on line 2.");
+    }
+
+    @Test
+    void testReadZeroWeight() {
+        assertThatThrownBy(() -> read("Tusk\t0"))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Invalid weight on line 1.");
+    }
+
+    @Test
+    void testReadNegativeWeight() {
+        assertThatThrownBy(() -> read("Tusk\nOf\nSheave\t-2"))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Invalid weight on line 3.");
+    }
+
+    @Test
+    void testReadInfiniteWeight() {
+        assertThatThrownBy(() -> read("Tusk\tInfinity"))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Invalid weight on line 1.");
+    }
+
+    @Test
+    void testReadNaNWeight() {
+        assertThatThrownBy(() -> read("Tusk\tNaN"))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Invalid weight on line 1.");
+    }
+
+    @Test
+    void testReadLineBreaks() throws IOException {
+        final ParsedDictionary dictionary = read("Tusk\r\nOf\rSheave\n\nAwl\r\n");
+
+        assertThat(dictionary.getWords()).containsExactly("", "Of", "Awl", "Tusk", "Sheave");
+    }
+
+    @Test
+    void testReadEmpty() throws IOException {
+        assertThat(read("").getWords()).isEmpty();
+    }
+
+    @Test
+    void testReadInSmallChunks() throws IOException {
+        final ParsedDictionary dictionary = read("Tusk\nOf\r\nSheave\nOf\nAwl\nTusk", 3);
+
+        assertThat(dictionary.getWords()).containsExactly("Of", "Awl", "Tusk", "Sheave");
+        assertThat(dictionary.getWeights()).isNull();
+    }
+
+    @Test
+    void testReadCarriageReturnsInSmallChunks() throws IOException {
+        final ParsedDictionary dictionary = read("Tusk\rOf\rSheave\rOf\rAwl\rTusk", 3);
+
+        assertThat(dictionary.getWords()).containsExactly("Of", "Awl", "Tusk", "Sheave");
+    }
+
+    @Test
+    void testReadCarriageReturnLineFeedAtChunkEnd() throws IOException {
+        final ParsedDictionary dictionary = read("Of\r\nAwl\r\nTusk\r\nAdze\r\n", 4);
+
+        assertThat(dictionary.getWords()).containsExactly("Of", "Awl", "Adze", "Tusk");
+    }
+
+    @Test
+    void testReadLineLongerThanChunks() throws IOException {
+        final StringBuilder longWord = new StringBuilder();
+        for (int i = 0; i < 1_000; i++) {
+            longWord.append('x');
+        }
+
+        final ParsedDictionary dictionary = read("Of\n" + longWord + "\nAwl\nTusk", 8);
+
+        assertThat(dictionary.getWords()).containsExactly("Of", "Awl", "Tusk", longWord.toString());
+    }
+
+    @Test
+    void testReadMultiByteCharactersInSmallChunks() throws IOException {
+        final ParsedDictionary dictionary = read("\u00e9p\u00e9e\nna\u00efve\n\ud83d\udd27", 2);
+
+        assertThat(dictionary.getWords()).containsExactly("\ud83d\udd27", "\u00e9p\u00e9e", "na\u00efve");
+    }
+
+    @Test
+    void testReadWeightsInSmallChunks() throws IOException {
+        final ParsedDictionary dictionary = read("Of\nTusk\t2\nOf\t0.5\nAwl\nTusk\t 3 \nOf", 4);
+
+        assertThat(dictionary.getWords()).containsExactly("Of", "Awl", "Tusk");
+        assertThat(dictionary.getWeights()).containsExactly(2.5f, 1.0f, 5.0f);
+    }
+
+    @Test
+    void testReadInvalidWeightInLaterChunk() {
+        assertThatThrownBy(() -> read("Tusk\nOf\nSheave\nAwl\t1\nAdze\tlight\nHasp\tnone", 5))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Invalid weight on line 5.");
+    }
+
+    @Test
+    void testReadManyChunks() throws IOException {
+        final StringBuilder contents = new StringBuilder();
+        final Set<String> expectedWords = new HashSet<>();
+        for (int i = 0; i < 20_000; i++) {
+            final String word = Integer.toString(i % 7_919 * 31, Character.MAX_RADIX);
+            contents.append(word).append('\n');
+            expectedWords.add(word);
+        }
+
+        final ParsedDictionary dictionary = read(contents.toString(), 1_000);
+
+        assertThat(dictionary.getWords()).containsExactly(Dictionary.sortByLength(expectedWords));
+    }
+
+
+    /**
+     * Parses the given text dictionary.
+     *
+     * @param contents the contents of a text dictionary
+     * @return the parsed dictionary
+     * @throws IOException if the dictionary could not be parsed
+     */
+    private static ParsedDictionary read(final String contents) throws IOException {
+        return ParsedDictionary.read(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Parses the given text dictionary in chunks of at most the given number of bytes.
+     *
+     * @param contents  the contents of a text dictionary
+     * @param chunkSize the maximum number of bytes in a chunk
+     * @return the parsed dictionary
+     * @throws IOException if the dictionary could not be parsed
+     */
+    private static ParsedDictionary read(final String contents, final int chunkSize) throws IOException {
+        return ParsedDictionary.read(new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8)), chunkSize);
+    }
+}
@@ -0,0 +1,222 @@
+package com.fwdekker.randomness.word;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+/**
+ * Unit tests for {@link StreamingWordSampler}.
+ */
+final class StreamingWordSamplerTest {
+    private static final DictionaryFileHelper FILE_HELPER = new DictionaryFileHelper();
+
+
+    @AfterAll
+    static void afterAll() {
+        FILE_HELPER.cleanUpDictionaries();
+    }
+
+
+    @Test
+    void testNegativeCount() {
+        assertThatThrownBy(() -> new StreamingWordSampler(-1, 0, 1, new Random(0)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The number of words to sample must be non-negative.");
+    }
+
+    @Test
+    void testNothingOffered() {
+        final StreamingWordSampler sampler = new StreamingWordSampler(3, 0, 10, new Random(0));
+
+        assertThat(sampler.getSample()).isEmpty();
+    }
+
+    @Test
+    void testNoMatchingWords() throws IOException {
+        final StreamingWordSampler sampler = new StreamingWordSampler(3, 6, 10, new Random(0));
+
+        offer(sampler, "Cob\nJib\nHasp");
+
+        assertThat(sampler.getSample()).isEmpty();
+    }
+
+    @Test
+    void testZeroCount() throws IOException {
+        final StreamingWordSampler sampler = new StreamingWordSampler(0, 0, 10, new Random(0));
+
+        offer(sampler, "Cob\nJib\nHasp");
+
+        assertThat(sampler.getSample()).isEmpty();
+    }
+
+    @Test
+    void testSingleMatchingWord() throws IOException {
+        final StreamingWordSampler sampler = new StreamingWordSampler(4, 4, 4, new Random(0));
+
+        offer(sampler, "Cob\nJib\nHasp\nTwill");
+
+        assertThat(sampler.getSample()).containsExactly("Hasp", "Hasp", "Hasp", "Hasp");
+    }
+
+    @Test
+    void testOnlyMatchingWords() throws IOException {
+        final StreamingWordSampler sampler = new StreamingWordSampler(50, 3, 4, new Random(0));
+
+        offer(sampler, "Cob\nJib\nHasp\nTwill\nA");
+
+        assertThat(sampler.getSample())
+                .hasSize(50)
+                .containsOnly("Cob", "Jib", "Hasp");
+    }
+
+    @Test
+    void testCarriageReturnsAndMissingTrailingNewline() throws IOException {
+        final StreamingWordSampler sampler = new StreamingWordSampler(50, 3, 3, new Random(0));
+
+        offer(sampler, "Cob\r\nHasp\r\nJib");
+
+        assertThat(sampler.getSample()).containsOnly("Cob", "Jib");
+    }
+
+    @Test
+    void testNonAscii() throws IOException {
+        final StreamingWordSampler sampler = new StreamingWordSampler(5, 3, 3, new Random(0));
+
+        offer(sampler, "\u00e9t\u00e9\nabcd\n\ud83d\ude00");
+
+        assertThat(sampler.getSample()).containsOnly("\u00e9t\u00e9");
+    }
+
+    @Test
+    void testLineLongerThanBuffer() throws IOException {
+        final char[] chars = new char[StreamingWordSampler.BUFFER_SIZE * 2 + 1];
+        Arrays.fill(chars, 'w');
+        final String longWord = new String(chars);
+        final StreamingWordSampler sampler =
+                new StreamingWordSampler(2, longWord.length(), longWord.length(), new Random(0));
+
+        offer(sampler, "Cob\n" + longWord + "\nJib");
+
+        assertThat(sampler.getSample()).containsExactly(longWord, longWord);
+    }
+
+    @Test
+    void testOfferList() {
+        final StreamingWordSampler sampler = new StreamingWordSampler(50, 0, 10, new Random(0));
+
+        sampler.offer(Arrays.asList("Cob", "Jib", "Hasp"));
+
+        assertThat(sampler.getSample())
+                .hasSize(50)
+                .containsOnly("Cob", "Jib", "Hasp");
+    }
+
+    @Test
+    void testOfferEmptyList() {
+        final StreamingWordSampler sampler = new StreamingWordSampler(5, 0, 10, new Random(0));
+
+        sampler.offer(Collections.emptyList());
+
+        assertThat(sampler.getSample()).isEmpty();
+    }
+
+    @Test
+    void testUniformAcrossSources() throws IOException {
+        final StreamingWordSampler sampler = new StreamingWordSampler(4000, 0, 10, new Random(0));
+
+        sampler.offer(Collections.singletonList("Cob"));
+        offer(sampler, "Jib");
+        offer(sampler, "Hasp\nLath");
+
+        final List<String> sample = sampler.getSample();
+        assertThat(Collections.frequency(sample, "Cob")).isBetween(800, 1200);
+        assertThat(Collections.frequency(sample, "Jib")).isBetween(800, 1200);
+        assertThat(Collections.frequency(sample, "Hasp")).isBetween(800, 1200);
+        assertThat(Collections.frequency(sample, "Lath")).isBetween(800, 1200);
+    }
+
+
+    @Test
+    void testWeightedLines() throws IOException {
+        final StreamingWordSampler sampler = new StreamingWordSampler(4000, 0, 4, new Random(0));
+
+        offer(sampler, "Cob\t3\r\nJib\nHasp\t0.5\nTwill\t100");
+
+        final List<String> sample = sampler.getSample();
+        assertThat(sample).containsOnly("Cob", "Jib", "Hasp");
+        assertThat(Collections.frequency(sample, "Cob")).isBetween(2550, 2780);
+        assertThat(Collections.frequency(sample, "Jib")).isBetween(780, 1000);
+        assertThat(Collections.frequency(sample, "Hasp")).isBetween(350, 540);
+    }
+
+    @Test
+    void testInvalidWeight() {
+        final StreamingWordSampler sampler = new StreamingWordSampler(1, 0, 10, new Random(0));
+
+        assertThatThrownBy(() -> offer(sampler, "Cob\nJib\t-1"))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Invalid weight on line 2.");
+    }
+
+    @Test
+    void testOfferWeightedGroup() throws IOException {
+        final StreamingWordSampler sampler = new StreamingWordSampler(4000, 0, 10, new Random(0));
+
+        sampler.offer(3, random -> "Cob");
+        offer(sampler, "Jib");
+
+        final List<String> sample = sampler.getSample();
+        assertThat(Collections.frequency(sample, "Cob")).isBetween(2850, 3150);
+        assertThat(Collections.frequency(sample, "Jib")).isBetween(850, 1150);
+    }
+
+    @Test
+    void testReadStatistics() throws IOException {
+        final DictionaryStatistics statistics = StreamingWordSampler.readStatistics(
+                FILE_HELPER.setUpDictionary("Cob\r\nNogging\r\nJib\nCob").toPath());
+
+        assertThat(statistics.getWordCount()).isEqualTo(4);
+        assertThat(statistics.getMinLength()).isEqualTo(3);
+        assertThat(statistics.getMaxLength()).isEqualTo(7);
+        assertThat(statistics.countWordsWithLengthInRange(3, 3)).isEqualTo(3);
+    }
+
+    @Test
+    void testReadStatisticsWeighted() throws IOException {
+        final DictionaryStatistics statistics = StreamingWordSampler.readStatistics(
+                FILE_HELPER.setUpDictionary("Cob\t3\nHasp\t0.5").toPath());
+
+        assertThat(statistics.getWordCount()).isEqualTo(2);
+        assertThat(statistics.getMinLength()).isEqualTo(3);
+        assertThat(statistics.getMaxLength()).isEqualTo(4);
+    }
+
+    @Test
+    void testReadStatisticsInvalidWeight() {
+        assertThatThrownBy(() -> StreamingWordSampler.readStatistics(
+                FILE_HELPER.setUpDictionary("Cob\nJib\t-1").toPath()))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Invalid weight on line 2.");
+    }
+
+
+    /**
+     * Offers a temporary dictionary file with the given contents to the given sampler.
+     *
+     * @param sampler  the sampler to offer the file to
+     * @param contents the contents of the dictionary file
+     * @throws IOException if the file could not be read
+     */
+    private void offer(final StreamingWordSampler sampler, final String contents) throws IOException {
+        sampler.offer(FILE_HELPER.setUpDictionary(contents).toPath());
+    }
+}
@@ -0,0 +1,43 @@
+package com.fwdekker.randomness.word;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Unit tests for {@link StringWordStore}.
+ */
+final class StringWordStoreTest {
+    @Test
+    void testSize() {
+        final WordStore store = new StringWordStore(new String[]{"tribe", "oak"});
+
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    void testGet() {
+        final WordStore store = new StringWordStore(new String[]{"tribe", "oak"});
+
+        assertThat(store.get(0)).isEqualTo("tribe");
+        assertThat(store.get(1)).isEqualTo("oak");
+    }
+
+    @Test
+    void testGetDoesNotShareArray() {
+        final String[] words = {"tribe", "oak"};
+        final WordStore store = new StringWordStore(words);
+
+        words[0] = "cavern";
+
+        assertThat(store.get(0)).isEqualTo("tribe");
+    }
+
+    @Test
+    void testEstimateMemoryUsage() {
+        final WordStore store = new StringWordStore(new String[]{"tribe"});
+
+        assertThat(store.estimateMemoryUsage()).isEqualTo(24L + 24L + 32L);
+    }
+}
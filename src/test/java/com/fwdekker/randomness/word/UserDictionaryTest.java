@@ -5,7 +5,16 @@ import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -87,6 +96,323 @@ final class UserDictionaryTest {
     }
 
 
+    @Test
+    void testInitMapped() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Stagy\nCotter\nWen");
+
+        final Dictionary dictionary =
+                Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath(), DictionaryStorage.MAPPED);
+
+        assertThat(dictionary.getStorage()).isEqualTo(DictionaryStorage.MAPPED);
+        assertThat(dictionary.getWordsWithLengthInRange(3, 5)).containsExactly("Wen", "Stagy");
+    }
+
+    @Test
+    void testIsDistinct() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Stagy\nCotter\nWen");
+
+        assertThat(Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath(), DictionaryStorage.ARENA)
+                .isDistinct()).isTrue();
+        assertThat(Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath(), DictionaryStorage.MAPPED)
+                .isDistinct()).isFalse();
+    }
+
+    @Test
+    void testInitStreaming() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Stagy\r\nCotter\nWen\nCotter");
+
+        final Dictionary dictionary =
+                Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath(), DictionaryStorage.STREAMING);
+
+        assertThat(dictionary.isStreamed()).isTrue();
+        assertThat(dictionary.isDistinct()).isFalse();
+        assertThat(dictionary.estimateMemoryUsage()).isZero();
+        assertThat(dictionary.getStatistics().getWordCount()).isEqualTo(4);
+        assertThat(dictionary.getStatistics().getMinLength()).isEqualTo(3);
+        assertThat(dictionary.getStatistics().getMaxLength()).isEqualTo(6);
+        assertThat(dictionary.countWordsWithLengthInRange(5, 6)).isEqualTo(3);
+    }
+
+    @Test
+    void testInitStreamingWordsAreNotHeld() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Stagy\nCotter\nWen");
+
+        final Dictionary dictionary =
+                Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath(), DictionaryStorage.STREAMING);
+
+        assertThatThrownBy(dictionary::getWords)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("The words of a streamed dictionary are not held in memory.");
+        assertThatThrownBy(() -> dictionary.sampleWord(1, 10, new Random(0)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("The words of a streamed dictionary are not held in memory.");
+    }
+
+    @Test
+    void testInitStreamingInvalidWeight() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Stagy\nCotter\tfew");
+
+        assertThatThrownBy(() -> Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath(),
+                DictionaryStorage.STREAMING))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Failed to read dictionary into memory.")
+                .hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    void testInitStreamingEmpty() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("");
+
+        assertThatThrownBy(() -> Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath(),
+                DictionaryStorage.STREAMING))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Dictionary must be non-empty.");
+    }
+
+    @Test
+    void testInitStreamingCompiled() throws IOException {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("");
+        try (OutputStream output = new FileOutputStream(dictionaryFile)) {
+            CompiledDictionary.write(new String[] {"Stagy", "Cotter"}, output);
+        }
+
+        final Dictionary dictionary =
+                Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath(), DictionaryStorage.STREAMING);
+
+        assertThat(dictionary.isStreamed()).isFalse();
+        assertThat(dictionary.getWords()).containsExactly("Stagy", "Cotter");
+    }
+
+    @Test
+    void testIsCompiledText() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Stagy\nCotter");
+
+        final Dictionary.UserDictionary dictionary = Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath());
+
+        assertThat(dictionary.isCompiled()).isFalse();
+    }
+
+    @Test
+    void testIsCompiledCompiled() throws IOException {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("");
+        try (OutputStream output = new FileOutputStream(dictionaryFile)) {
+            CompiledDictionary.write(new String[] {"Stagy", "Cotter"}, output);
+        }
+
+        final Dictionary.UserDictionary dictionary = Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath());
+
+        assertThat(dictionary.isCompiled()).isTrue();
+    }
+
+    @Test
+    void testIsStreamableDoesNotReadCachedFile() throws IOException {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("");
+        try (OutputStream output = new FileOutputStream(dictionaryFile)) {
+            CompiledDictionary.write(new String[] {"Stagy", "Cotter"}, output);
+        }
+        final String path = dictionaryFile.getAbsolutePath();
+        Dictionary.UserDictionary.get(path);
+
+        assertThat(dictionaryFile.delete()).isTrue();
+
+        assertThat(Dictionary.UserDictionary.isStreamable(path)).isFalse();
+    }
+
+    @Test
+    void testIsStreamableUncachedFile() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Stagy\nCotter");
+
+        assertThat(Dictionary.UserDictionary.isStreamable(dictionaryFile.getAbsolutePath())).isTrue();
+    }
+
+    @Test
+    void testInitMappedDoesNotExist() {
+        assertThatThrownBy(() -> Dictionary.UserDictionary.get("invalid_file", DictionaryStorage.MAPPED))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Failed to read dictionary into memory.")
+                .hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    void testInitMappedEmpty() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("");
+
+        assertThatThrownBy(() -> Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath(),
+                DictionaryStorage.MAPPED))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Dictionary must be non-empty.");
+    }
+
+    @Test
+    void testInitOtherStorageReplacesCachedDictionary() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Pule\nSkein\nTwee");
+
+        final Dictionary dictionaryA = Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath());
+        final Dictionary dictionaryB =
+                Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath(), DictionaryStorage.MAPPED);
+
+        assertThat(dictionaryB).isNotSameAs(dictionaryA);
+        assertThat(Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath())).isSameAs(dictionaryB);
+    }
+
+
+    @Test
+    void testInitRecordsStamp() throws IOException {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Oriel\nPlinth");
+
+        final Dictionary.UserDictionary dictionary = Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath());
+
+        assertThat(dictionary.getStamp()).isEqualTo(DictionaryFileStamp.of(dictionaryFile.toPath())
+                .withHash(DictionaryFileStamp.hash(dictionaryFile.toPath())));
+    }
+
+    @Test
+    void testInitMappedRecordsStampWithoutHash() throws IOException {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Oriel\nPlinth");
+
+        final Dictionary.UserDictionary dictionary =
+                Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath(), DictionaryStorage.MAPPED);
+
+        assertThat(dictionary.getStamp()).isEqualTo(DictionaryFileStamp.of(dictionaryFile.toPath()));
+    }
+
+    @Test
+    void testInitCallsLoadListener() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Oriel\nPlinth");
+        final List<Dictionary> loadedDictionaries = new ArrayList<>();
+        Dictionary.UserDictionary.setLoadListener(loadedDictionaries::add);
+
+        try {
+            final Dictionary dictionary = Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath(), false);
+
+            assertThat(loadedDictionaries).containsExactly(dictionary);
+        } finally {
+            Dictionary.UserDictionary.setLoadListener(dictionary -> {
+            });
+        }
+    }
+
+    @Test
+    void testRefreshNotCached() throws Exception {
+        assertThat(Dictionary.UserDictionary.refresh("not_cached", Runnable::run).get()).isNull();
+    }
+
+    @Test
+    void testRefreshUnchanged() throws Exception {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Oriel\nPlinth");
+        final Dictionary dictionary = Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath());
+
+        final Dictionary refreshedDictionary =
+                Dictionary.UserDictionary.refresh(dictionaryFile.getAbsolutePath(), Runnable::run).get();
+
+        assertThat(refreshedDictionary).isSameAs(dictionary);
+    }
+
+    @Test
+    void testRefreshTouchedWithSameContents() throws Exception {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Oriel\nPlinth");
+        final Dictionary.UserDictionary dictionary = Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath());
+        assertThat(dictionaryFile.setLastModified(dictionaryFile.lastModified() - 10_000)).isTrue();
+
+        final Dictionary refreshedDictionary =
+                Dictionary.UserDictionary.refresh(dictionaryFile.getAbsolutePath(), Runnable::run).get();
+
+        assertThat(refreshedDictionary).isSameAs(dictionary);
+        assertThat(dictionary.getStamp().getLastModified()).isEqualTo(dictionaryFile.lastModified());
+    }
+
+    @Test
+    void testRefreshChanged() throws Exception {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Oriel\nPlinth");
+        final Dictionary dictionary = Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath());
+        FILE_HELPER.writeToFile(dictionaryFile, "Oriel\nPlinth\nCorbel");
+
+        final List<Runnable> tasks = new ArrayList<>();
+        final Future<Dictionary.UserDictionary> refresh =
+                Dictionary.UserDictionary.refresh(dictionaryFile.getAbsolutePath(), tasks::add);
+        assertThat(Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath())).isSameAs(dictionary);
+        tasks.forEach(Runnable::run);
+
+        assertThat(refresh.get()).isNotSameAs(dictionary);
+        assertThat(refresh.get().getWords()).containsExactlyInAnyOrder("Oriel", "Plinth", "Corbel");
+        assertThat(Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath())).isSameAs(refresh.get());
+    }
+
+    @Test
+    void testRefreshChangedMappedIsRemovedImmediately() throws Exception {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Oriel\nPlinth");
+        final String path = dictionaryFile.getAbsolutePath();
+        final Dictionary dictionary = Dictionary.UserDictionary.get(path, DictionaryStorage.MAPPED);
+        FILE_HELPER.writeToFile(dictionaryFile, "Corbel");
+
+        final List<Runnable> tasks = new ArrayList<>();
+        final Future<Dictionary.UserDictionary> refresh = Dictionary.UserDictionary.refresh(path, tasks::add);
+        final Dictionary reloadedDictionary = Dictionary.UserDictionary.get(path, DictionaryStorage.MAPPED);
+        tasks.forEach(Runnable::run);
+
+        assertThat(reloadedDictionary).isNotSameAs(dictionary);
+        assertThat(reloadedDictionary.getWords()).containsExactly("Corbel");
+        assertThat(refresh.get()).isSameAs(reloadedDictionary);
+    }
+
+    @Test
+    void testRefreshChangedMappedReleasesMapping() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Oriel\nPlinth");
+        final String path = dictionaryFile.getAbsolutePath();
+        final Dictionary dictionary = Dictionary.UserDictionary.get(path, DictionaryStorage.MAPPED);
+        final List<String> words = dictionary.getWordsWithLengthInRange(1, 10);
+        FILE_HELPER.writeToFile(dictionaryFile, "Corbel");
+
+        Dictionary.UserDictionary.refresh(path, Runnable::run);
+
+        assertThatThrownBy(() -> words.get(0))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("The dictionary file is no longer mapped.");
+    }
+
+    @Test
+    void testGetOtherStorageReleasesMapping() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Oriel\nPlinth");
+        final String path = dictionaryFile.getAbsolutePath();
+        final List<String> words = Dictionary.UserDictionary.get(path, DictionaryStorage.MAPPED)
+                .getWordsWithLengthInRange(1, 10);
+
+        Dictionary.UserDictionary.get(path, DictionaryStorage.ARENA);
+
+        assertThatThrownBy(() -> words.get(0)).isInstanceOf(UncheckedIOException.class);
+    }
+
+    @Test
+    void testRefreshFailureMappedIsNotKept() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Oriel\nPlinth");
+        final String path = dictionaryFile.getAbsolutePath();
+        final Dictionary dictionary = Dictionary.UserDictionary.get(path, DictionaryStorage.MAPPED);
+        FILE_HELPER.writeToFile(dictionaryFile, "");
+
+        final Future<Dictionary.UserDictionary> refresh = Dictionary.UserDictionary.refresh(path, Runnable::run);
+
+        assertThatThrownBy(refresh::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(Dictionary.UserDictionary.getCache().peek(path)).isNotSameAs(dictionary);
+    }
+
+    @Test
+    void testRefreshFailureKeepsPreviousVersion() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Oriel\nPlinth");
+        final Dictionary dictionary = Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath());
+        FILE_HELPER.writeToFile(dictionaryFile, "");
+
+        final Future<Dictionary.UserDictionary> refresh =
+                Dictionary.UserDictionary.refresh(dictionaryFile.getAbsolutePath(), Runnable::run);
+
+        assertThatThrownBy(refresh::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalArgumentException.class);
+        assertThat(Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath())).isSameAs(dictionary);
+    }
+
+
     @Test
     void testValidateInstanceSuccess() {
         final File dictionaryFile = FILE_HELPER.setUpDictionary("Rhodinal\nScruff\nPibrochs");
@@ -127,6 +453,116 @@ final class UserDictionaryTest {
         assertThat(validationInfo.component).isNull();
     }
 
+    @Test
+    void testValidateStaticCachesSuccess() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Pintle\nGudgeon");
+        assertThat(Dictionary.UserDictionary.validate(dictionaryFile.getAbsolutePath())).isNull();
+        FILE_HELPER.writeToFile(dictionaryFile, "");
+
+        final ValidationInfo validationInfo = Dictionary.UserDictionary.validate(dictionaryFile.getAbsolutePath());
+
+        assertThat(validationInfo).isNull();
+    }
+
+    @Test
+    void testValidateStaticAfterRefresh() throws Exception {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Pintle\nGudgeon");
+        assertThat(Dictionary.UserDictionary.validate(dictionaryFile.getAbsolutePath())).isNull();
+        FILE_HELPER.writeToFile(dictionaryFile, "");
+
+        Dictionary.UserDictionary.refresh(dictionaryFile.getAbsolutePath(), Runnable::run).get();
+        final ValidationInfo validationInfo = Dictionary.UserDictionary.validate(dictionaryFile.getAbsolutePath());
+
+        assertThat(validationInfo).isNotNull();
+        assertThat(validationInfo.message).endsWith(" is empty.");
+    }
+
+    @Test
+    void testValidateStaticDoesNotCacheFailure() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("");
+        assertThat(Dictionary.UserDictionary.validate(dictionaryFile.getAbsolutePath())).isNotNull();
+        FILE_HELPER.writeToFile(dictionaryFile, "Pintle\nGudgeon");
+
+        final ValidationInfo validationInfo = Dictionary.UserDictionary.validate(dictionaryFile.getAbsolutePath());
+
+        assertThat(validationInfo).isNull();
+    }
+
+
+    @Test
+    void testUnweightedFile() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Hank\nSkein\nBight");
+
+        final Dictionary dictionary = Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath(), false);
+
+        assertThat(dictionary.isWeighted()).isFalse();
+        assertThat(dictionary.getTotalWeight(5, 5)).isEqualTo(2.0);
+        assertThat(dictionary.sampleWord(5, 5, new Random(0))).isIn("Skein", "Bight");
+    }
+
+    @Test
+    void testWeightedFile() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Hank\t2\nSkein\t9\nBight");
+
+        final Dictionary dictionary = Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath(), false);
+
+        assertThat(dictionary.isWeighted()).isTrue();
+        assertThat(dictionary.getWords()).containsExactly("Hank", "Bight", "Skein");
+        assertThat(dictionary.getTotalWeight(4, 5)).isEqualTo(12.0);
+
+        final Random random = new Random(0);
+        final List<String> sample = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            sample.add(dictionary.sampleWord(4, 5, random));
+        }
+        assertThat(Collections.frequency(sample, "Skein")).isBetween(800, 1000);
+        assertThat(Collections.frequency(sample, "Hank")).isBetween(120, 280);
+    }
+
+    @Test
+    void testWeightedFileMapped() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Hank\t2\nSkein\t9");
+
+        final Dictionary dictionary =
+                Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath(), DictionaryStorage.MAPPED);
+
+        assertThat(dictionary.isWeighted()).isTrue();
+        assertThat(dictionary.getWords()).containsExactly("Hank", "Skein");
+    }
+
+    @Test
+    void testSampleWordEmptyRange() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Hank\t2\nSkein\t9");
+
+        final Dictionary dictionary = Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath(), false);
+
+        assertThatThrownBy(() -> dictionary.sampleWord(6, 8, new Random(0)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("There are no words with a length in the given range.");
+    }
+
+    @Test
+    void testInvalidWeight() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("Hank\tmany");
+
+        assertThatThrownBy(() -> Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath(), false))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Failed to read dictionary into memory.")
+                .hasCauseInstanceOf(IOException.class);
+    }
+
+
+    @Test
+    void testGetWordsMatchingMapped() {
+        final File dictionaryFile = FILE_HELPER.setUpDictionary("woof\nmeow\nmoo\nmew");
+
+        final Dictionary dictionary =
+                Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath(), DictionaryStorage.MAPPED);
+
+        assertThat(dictionary.getWordsMatching(new WordFilter("m", "", "", ""), 0, 10))
+                .containsExactly("mew", "moo", "meow");
+    }
+
 
     @Test
     void testToString() {
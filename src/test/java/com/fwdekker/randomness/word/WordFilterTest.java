@@ -0,0 +1,101 @@
+package com.fwdekker.randomness.word;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.junit.jupiter.api.Test;
+
+import java.util.regex.PatternSyntaxException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+
+/**
+ * Unit tests for {@link WordFilter}.
+ */
+final class WordFilterTest {
+    @Test
+    void testNoneIsEmpty() {
+        assertThat(WordFilter.NONE.isEmpty()).isTrue();
+    }
+
+    @Test
+    void testIsEmptyAllowedCharacters() {
+        assertThat(new WordFilter("", "", "", "ab").isEmpty()).isFalse();
+    }
+
+    @Test
+    void testIsEmptyRegex() {
+        assertThat(new WordFilter("", "", "", "", "a.*").isEmpty()).isFalse();
+    }
+
+    @Test
+    void testInvalidRegex() {
+        assertThatThrownBy(() -> new WordFilter("", "", "", "", "a("))
+                .isInstanceOf(PatternSyntaxException.class);
+    }
+
+    @Test
+    void testGetMinLength() {
+        assertThat(new WordFilter("ab", "cde", "f", "").getMinLength()).isEqualTo(3);
+    }
+
+    @Test
+    void testMatchesNone() {
+        assertThat(WordFilter.NONE.matches("Gimlet")).isTrue();
+    }
+
+    @Test
+    void testMatchesAllParts() {
+        final WordFilter filter = new WordFilter("Gi", "et", "ml", "Gimlet");
+
+        assertThat(filter.matches("Gimlet")).isTrue();
+        assertThat(filter.matches("Gimlets")).isFalse();
+        assertThat(filter.matches("Gilet")).isFalse();
+    }
+
+    @Test
+    void testMatchesIsCaseSensitive() {
+        assertThat(new WordFilter("gi", "", "", "").matches("Gimlet")).isFalse();
+    }
+
+    @Test
+    void testMatchesAllowedCharacters() {
+        final WordFilter filter = new WordFilter("", "", "", "abc");
+
+        assertThat(filter.matches("cab")).isTrue();
+        assertThat(filter.matches("cob")).isFalse();
+    }
+
+    @Test
+    void testMatchesRegex() {
+        final WordFilter filter = new WordFilter("", "", "", "", "[A-Z][a-z]+t");
+
+        assertThat(filter.matches("Gimlet")).isTrue();
+        assertThat(filter.matches("gimlet")).isFalse();
+        assertThat(filter.matches("Gimlets")).isFalse();
+    }
+
+    @Test
+    void testMatchesRegexWithReusedMatcher() {
+        final WordFilter filter = new WordFilter("G", "", "", "", ".*l.*");
+
+        assertThat(filter.matches("Gimlet", filter.createMatcher())).isTrue();
+        assertThat(filter.matches("Gouge", filter.createMatcher())).isFalse();
+        assertThat(filter.matches("awl", filter.createMatcher())).isFalse();
+    }
+
+    @Test
+    void testCreateMatcherWithoutRegex() {
+        assertThat(WordFilter.NONE.createMatcher()).isNull();
+    }
+
+    @Test
+    void testEqualsContract() {
+        EqualsVerifier.forClass(WordFilter.class)
+                .usingGetClass()
+                .suppress(Warning.NULL_FIELDS)
+                .withIgnoredFields("pattern")
+                .verify();
+    }
+}
@@ -0,0 +1,225 @@
+package com.fwdekker.randomness.word;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+
+/**
+ * Unit tests for {@link WordIndex}.
+ */
+final class WordIndexTest {
+    /**
+     * The words in the index used in most tests.
+     */
+    private static final List<String> WORDS = Arrays.asList(
+            "ax", "ox", "adze", "awls", "axe", "saw", "vise", "rasp", "sander", "plane", "planer", "ladder", "plate");
+
+
+    @Test
+    void testNoFilter() {
+        final List<String> words = index(true).getWordsMatching(WordFilter.NONE, 3, 4);
+
+        assertThat(words).containsExactly("axe", "saw", "adze", "awls", "rasp", "vise");
+    }
+
+    @Test
+    void testPrefix() {
+        final List<String> words = index(true).getWordsMatching(filter("pla", "", "", ""), 0, 10);
+
+        assertThat(words)
+                .isInstanceOf(FilteredWordList.class)
+                .containsExactly("plane", "plate", "planer");
+    }
+
+    @Test
+    void testPrefixInLengthRange() {
+        final List<String> words = index(true).getWordsMatching(filter("pla", "", "", ""), 6, 6);
+
+        assertThat(words).containsExactly("planer");
+    }
+
+    @Test
+    void testPrefixLongerThanMaxLength() {
+        assertThat(index(true).getWordsMatching(filter("plane", "", "", ""), 0, 4)).isEmpty();
+    }
+
+    @Test
+    void testPrefixNoMatches() {
+        assertThat(index(true).getWordsMatching(filter("q", "", "", ""), 0, 10)).isEmpty();
+    }
+
+    @Test
+    void testPrefixEqualsWord() {
+        final List<String> words = index(true).getWordsMatching(filter("saw", "", "", ""), 0, 10);
+
+        assertThat(words).containsExactly("saw");
+    }
+
+    @Test
+    void testSuffix() {
+        final List<String> words = index(true).getWordsMatching(filter("", "er", "", ""), 0, 10);
+
+        assertThat(words).containsExactlyInAnyOrder("sander", "planer", "ladder");
+    }
+
+    @Test
+    void testSuffixSingleCharacter() {
+        final List<String> words = index(true).getWordsMatching(filter("", "x", "", ""), 0, 10);
+
+        assertThat(words).containsExactlyInAnyOrder("ax", "ox");
+    }
+
+    @Test
+    void testPrefixAndSuffix() {
+        final List<String> words = index(true).getWordsMatching(filter("pla", "e", "", ""), 0, 10);
+
+        assertThat(words).containsExactlyInAnyOrder("plane", "plate");
+    }
+
+    @Test
+    void testInfix() {
+        final List<String> words = index(true).getWordsMatching(filter("", "", "an", ""), 0, 10);
+
+        assertThat(words).containsExactlyInAnyOrder("sander", "plane", "planer");
+    }
+
+    @Test
+    void testAllowedCharacters() {
+        final List<String> words = index(true).getWordsMatching(filter("", "", "", "asxwe"), 0, 10);
+
+        assertThat(words).containsExactlyInAnyOrder("ax", "axe", "saw");
+    }
+
+    @Test
+    void testPrefixAndAllowedCharacters() {
+        final List<String> words = index(true).getWordsMatching(filter("a", "", "", "axe"), 0, 10);
+
+        assertThat(words).containsExactlyInAnyOrder("ax", "axe");
+    }
+
+    @Test
+    void testRegex() {
+        final List<String> words = index(true).getWordsMatching(regex("[a-z]*a[a-z]e"), 0, 10);
+
+        assertThat(words).containsExactlyInAnyOrder("axe", "plane", "plate");
+    }
+
+    @Test
+    void testRegexMatchesWholeWord() {
+        final List<String> words = index(true).getWordsMatching(regex("la"), 0, 10);
+
+        assertThat(words).isEmpty();
+    }
+
+    @Test
+    void testPrefixAndRegex() {
+        final List<String> words = index(true).getWordsMatching(
+                new WordFilter("pla", "", "", "", ".*e.*"), 0, 10);
+
+        assertThat(words).containsExactly("plane", "plate", "planer");
+    }
+
+    @Test
+    void testRegexInParallel() {
+        final List<String> manyWords = new ArrayList<>();
+        for (int i = 0; i < 5 * WordIndex.CHUNK_SIZE + 17; i++) {
+            manyWords.add(Integer.toString(i, Character.MAX_RADIX));
+        }
+        final String[] sortedWords = Dictionary.sortByLength(manyWords);
+        final WordIndex index = new WordIndex(new StringWordStore(sortedWords), Dictionary.indexByLength(sortedWords),
+                true);
+
+        final List<String> words = index.getWordsMatching(regex("[a-z].*7"), 0, 10);
+
+        assertThat(words).containsExactlyElementsOf(Arrays.stream(sortedWords)
+                .filter(word -> word.matches("[a-z].*7"))
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testUnsortedStore() {
+        final WordIndex index = index(false);
+
+        assertThat(index.getWordsMatching(filter("pla", "", "", ""), 0, 10))
+                .containsExactlyInAnyOrder("plane", "plate", "planer");
+        assertThat(index.getWordsMatching(filter("", "e", "", ""), 0, 10))
+                .containsExactlyInAnyOrder("axe", "adze", "vise", "plane", "plate");
+    }
+
+    @Test
+    void testEstimateMemoryUsage() {
+        final WordIndex index = index(true);
+        assertThat(index.estimateMemoryUsage()).isZero();
+
+        index.getWordsMatching(filter("", "e", "", ""), 0, 10);
+
+        assertThat(index.estimateMemoryUsage()).isEqualTo(WordStore.arraySize(WORDS.size(), Integer.BYTES));
+    }
+
+    @Test
+    void testCompareReversed() {
+        assertThat(WordIndex.compareReversed("ab", "ba")).isPositive();
+        assertThat(WordIndex.compareReversed("ba", "ab")).isNegative();
+        assertThat(WordIndex.compareReversed("ab", "cab")).isNegative();
+        assertThat(WordIndex.compareReversed("ab", "ab")).isZero();
+    }
+
+    @Test
+    void testCompareStartAndEnd() {
+        assertThat(WordIndex.compareStart("plane", "pla")).isZero();
+        assertThat(WordIndex.compareStart("plane", "plb")).isNegative();
+        assertThat(WordIndex.compareEnd("plane", "ne")).isZero();
+        assertThat(WordIndex.compareEnd("plane", "nd")).isPositive();
+    }
+
+
+    /**
+     * Returns a filter with the given parts.
+     *
+     * @param prefix            the string that words must start with
+     * @param suffix            the string that words must end with
+     * @param infix             the string that words must contain
+     * @param allowedCharacters the characters that words may consist of
+     * @return a filter with the given parts
+     */
+    private static WordFilter filter(final String prefix, final String suffix, final String infix,
+                                     final String allowedCharacters) {
+        return new WordFilter(prefix, suffix, infix, allowedCharacters);
+    }
+
+    /**
+     * Returns a filter with only the given regular expression.
+     *
+     * @param regex the regular expression that words must match
+     * @return a filter with only the given regular expression
+     */
+    private static WordFilter regex(final String regex) {
+        return new WordFilter("", "", "", "", regex);
+    }
+
+    /**
+     * Returns an index of {@link #WORDS}.
+     *
+     * @param sorted {@code true} if the words of each length should be stored in lexicographic order, or {@code false}
+     *               if they should be stored in reverse lexicographic order
+     * @return an index of {@link #WORDS}
+     */
+    private static WordIndex index(final boolean sorted) {
+        final String[] words = Dictionary.sortByLength(WORDS);
+        final int[] lengthOffsets = Dictionary.indexByLength(words);
+        if (!sorted) {
+            for (int length = 0; length < lengthOffsets.length - 1; length++) {
+                Arrays.asList(words).subList(lengthOffsets[length], lengthOffsets[length + 1])
+                        .sort((a, b) -> b.compareTo(a));
+            }
+        }
+
+        return new WordIndex(new StringWordStore(words), lengthOffsets, sorted);
+    }
+}
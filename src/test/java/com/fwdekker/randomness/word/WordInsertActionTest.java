@@ -1,18 +1,34 @@
 package com.fwdekker.randomness.word;
 
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 
 /**
- * Parameterized unit tests for {@link WordInsertAction}.
+ * Unit tests for {@link WordInsertAction}.
  */
 final class WordInsertActionTest {
+    private static final DictionaryFileHelper FILE_HELPER = new DictionaryFileHelper();
+
+
+    @AfterAll
+    static void afterAll() {
+        FILE_HELPER.cleanUpDictionaries();
+    }
+
     @SuppressWarnings("PMD.UnusedPrivateMethod") // Used as parameterized method source
     private static Collection<Object[]> provider() {
         return Arrays.asList(new Object[][] {
@@ -44,4 +60,118 @@ final class WordInsertActionTest {
                 .isGreaterThanOrEqualTo(minLength + 2 * enclosure.length())
                 .isLessThanOrEqualTo(maxLength + 2 * enclosure.length());
     }
+
+    @Test
+    void testValueStreaming() {
+        final File userDictionary = FILE_HELPER.setUpDictionary("Rabbet\nGnomon\nOw\nFurbelow");
+
+        final WordSettings wordSettings = new WordSettings();
+        wordSettings.setMinLength(6);
+        wordSettings.setMaxLength(6);
+        wordSettings.setEnclosure("");
+        wordSettings.setDictionaryStorage(DictionaryStorage.STREAMING);
+        wordSettings.setBundledDictionaries(Collections.emptySet());
+        wordSettings.setActiveBundledDictionaries(Collections.emptySet());
+        wordSettings.setUserDictionaries(Collections.singleton(userDictionary.getAbsolutePath()));
+        wordSettings.setActiveUserDictionaries(Collections.singleton(userDictionary.getAbsolutePath()));
+
+        final List<String> words = new WordInsertAction(wordSettings).generateStrings(20);
+
+        assertThat(words)
+                .hasSize(20)
+                .containsOnly("Rabbet", "Gnomon");
+    }
+
+    @Test
+    void testValueMappedAfterTruncation() {
+        final StringBuilder padding = new StringBuilder();
+        for (int i = 0; i < 3 * 4096; i++) {
+            padding.append('x');
+        }
+        final File userDictionary = FILE_HELPER.setUpDictionary(padding + "\nRabbet\nFurbelow");
+
+        final WordSettings wordSettings = new WordSettings();
+        wordSettings.setMinLength(6);
+        wordSettings.setMaxLength(6);
+        wordSettings.setEnclosure("");
+        wordSettings.setDictionaryStorage(DictionaryStorage.MAPPED);
+        wordSettings.setActiveBundledDictionaries(Collections.emptySet());
+        wordSettings.setUserDictionaries(Collections.singleton(userDictionary.getAbsolutePath()));
+        wordSettings.setActiveUserDictionaries(Collections.singleton(userDictionary.getAbsolutePath()));
+        assertThat(wordSettings.getValidActiveDictionaries()).hasSize(1);
+
+        FILE_HELPER.writeToFile(userDictionary, "Gnomon");
+        final List<String> words = new WordInsertAction(wordSettings).generateStrings(5);
+
+        assertThat(words).containsOnly("Gnomon");
+    }
+
+    @Test
+    void testValueUnique() {
+        final WordSettings wordSettings = new WordSettings();
+        wordSettings.setMinLength(3);
+        wordSettings.setMaxLength(8);
+        wordSettings.setEnclosure("");
+        wordSettings.setUniqueWords(true);
+
+        final List<String> words = new WordInsertAction(wordSettings).generateStrings(500);
+
+        assertThat(words)
+                .hasSize(500)
+                .doesNotHaveDuplicates();
+    }
+
+    @Test
+    void testValueUniqueStreamingCompiled() throws IOException {
+        final File userDictionary = FILE_HELPER.setUpDictionary("");
+        try (OutputStream output = new FileOutputStream(userDictionary)) {
+            CompiledDictionary.write(new String[] {"Ow", "Gnomon", "Rabbet", "Furbelow"}, output);
+        }
+
+        final WordSettings wordSettings = new WordSettings();
+        wordSettings.setMinLength(6);
+        wordSettings.setMaxLength(6);
+        wordSettings.setEnclosure("");
+        wordSettings.setUniqueWords(true);
+        wordSettings.setDictionaryStorage(DictionaryStorage.STREAMING);
+        wordSettings.setBundledDictionaries(Collections.emptySet());
+        wordSettings.setActiveBundledDictionaries(Collections.emptySet());
+        wordSettings.setUserDictionaries(Collections.singleton(userDictionary.getAbsolutePath()));
+        wordSettings.setActiveUserDictionaries(Collections.singleton(userDictionary.getAbsolutePath()));
+
+        final List<String> words = new WordInsertAction(wordSettings).generateStrings(2);
+
+        assertThat(words).containsExactlyInAnyOrder("Rabbet", "Gnomon");
+    }
+
+    @Test
+    void testValueFiltered() {
+        final WordSettings wordSettings = new WordSettings();
+        wordSettings.setMinLength(3);
+        wordSettings.setMaxLength(10);
+        wordSettings.setEnclosure("");
+        wordSettings.setPrefix("un");
+        wordSettings.setSuffix("ed");
+
+        final List<String> words = new WordInsertAction(wordSettings).generateStrings(50);
+
+        assertThat(words)
+                .hasSize(50)
+                .allMatch(word -> word.startsWith("un") && word.endsWith("ed"));
+    }
+
+    @Test
+    void testValueRegex() {
+        final WordSettings wordSettings = new WordSettings();
+        wordSettings.setMinLength(3);
+        wordSettings.setMaxLength(10);
+        wordSettings.setEnclosure("");
+        wordSettings.setRegex("[a-z]*(ing|ness)");
+
+        final List<String> words = new WordInsertAction(wordSettings).generateStrings(50);
+
+        assertThat(words)
+                .hasSize(50)
+                .allMatch(word -> word.endsWith("ing") || word.endsWith("ness"));
+    }
 }
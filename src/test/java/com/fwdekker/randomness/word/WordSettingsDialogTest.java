@@ -6,6 +6,8 @@ import org.assertj.swing.edt.GuiActionRunner;
 import org.assertj.swing.finder.JFileChooserFinder;
 import org.assertj.swing.fixture.FrameFixture;
 import org.assertj.swing.junit.testcase.AssertJSwingJUnitTestCase;
+import org.assertj.swing.timing.Condition;
+import org.assertj.swing.timing.Timeout;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -18,6 +20,7 @@ import java.util.Collections;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Fail.fail;
 import static org.assertj.swing.fixture.Containers.showInFrame;
+import static org.assertj.swing.timing.Pause.pause;
 
 
 /**
@@ -81,6 +84,29 @@ public final class WordSettingsDialogTest extends AssertJSwingJUnitTestCase {
         frame.radioButton("capitalizationLower").requireNotSelected();
     }
 
+    @Test
+    public void testLoadSettingsStorage() {
+        frame.radioButton("storageStrings").requireNotSelected();
+        frame.radioButton("storageArena").requireSelected();
+        frame.radioButton("storageFrontCoded").requireNotSelected();
+        frame.radioButton("storageMapped").requireNotSelected();
+        frame.radioButton("storageStreaming").requireNotSelected();
+    }
+
+    @Test
+    public void testLoadSettingsFilter() {
+        frame.textBox("prefix").requireText(DEFAULT_SETTINGS.getPrefix());
+        frame.textBox("suffix").requireText(DEFAULT_SETTINGS.getSuffix());
+        frame.textBox("infix").requireText(DEFAULT_SETTINGS.getInfix());
+        frame.textBox("allowedCharacters").requireText(DEFAULT_SETTINGS.getAllowedCharacters());
+        frame.textBox("regex").requireText(DEFAULT_SETTINGS.getRegex());
+    }
+
+    @Test
+    public void testLoadSettingsUniqueWords() {
+        frame.checkBox("uniqueWords").requireNotSelected();
+    }
+
 
     @Test
     @Ignore("Doesn't work with IntelliJ file chooser")
@@ -230,6 +256,51 @@ public final class WordSettingsDialogTest extends AssertJSwingJUnitTestCase {
         assertThat(validationInfo.message).isEqualTo("Please enter a value less than or equal to 31.");
     }
 
+    @Test
+    public void testValidateInvalidRegex() {
+        GuiActionRunner.execute(() -> frame.textBox("regex").target().setText("un(ed"));
+
+        final ValidationInfo validationInfo = wordSettingsDialog.doValidate();
+
+        assertThat(validationInfo).isNotNull();
+        assertThat(validationInfo.component).isEqualTo(frame.textBox("regex").target());
+        assertThat(validationInfo.message).isEqualTo("Invalid regular expression: Unclosed group.");
+    }
+
+    @Test
+    public void testValidateUniqueStreamed() throws IOException {
+        final File dictionaryFile = File.createTempFile("test", "dic");
+        dictionaryFile.deleteOnExit();
+        Files.write(dictionaryFile.toPath(), "Limbas\nOstiary\nHackee".getBytes(StandardCharsets.UTF_8));
+        final Dictionary dictionary = Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath());
+
+        GuiActionRunner.execute(() -> {
+            dialogDictionaries.addEntry(dictionary);
+            dialogDictionaries.setActiveEntries(Collections.singletonList(dictionary));
+            frame.radioButton("storageStreaming").target().setSelected(true);
+            frame.checkBox("uniqueWords").target().setSelected(true);
+        });
+
+        final ValidationInfo validationInfo = wordSettingsDialog.doValidate();
+
+        assertThat(validationInfo).isNotNull();
+        assertThat(validationInfo.component).isEqualTo(frame.checkBox("uniqueWords").target());
+        assertThat(validationInfo.message)
+                .isEqualTo("Unique words and word filters cannot be used with streamed dictionaries.");
+    }
+
+    @Test
+    public void testValidateUniqueStreamedBundled() {
+        GuiActionRunner.execute(() -> {
+            frame.radioButton("storageStreaming").target().setSelected(true);
+            frame.checkBox("uniqueWords").target().setSelected(true);
+        });
+
+        final ValidationInfo validationInfo = wordSettingsDialog.doValidate();
+
+        assertThat(validationInfo).isNull();
+    }
+
     @Test
     public void testValidateNoDictionaries() {
         GuiActionRunner.execute(() -> frame.table("dictionaries").target().setValueAt(false, 0, 0));
@@ -249,6 +320,11 @@ public final class WordSettingsDialogTest extends AssertJSwingJUnitTestCase {
             frame.spinner("maxLength").target().setValue(861);
             frame.radioButton("enclosureSingle").target().setSelected(true);
             frame.radioButton("capitalizationLower").target().setSelected(true);
+            frame.radioButton("storageFrontCoded").target().setSelected(true);
+            frame.textBox("prefix").target().setText("re");
+            frame.textBox("suffix").target().setText("ing");
+            frame.textBox("regex").target().setText("[a-z]+");
+            frame.checkBox("uniqueWords").target().setSelected(true);
         });
 
         wordSettingsDialog.saveSettings();
@@ -257,8 +333,60 @@ public final class WordSettingsDialogTest extends AssertJSwingJUnitTestCase {
         assertThat(wordSettings.getMaxLength()).isEqualTo(861);
         assertThat(wordSettings.getEnclosure()).isEqualTo("'");
         assertThat(wordSettings.getCapitalization()).isEqualTo(CapitalizationMode.LOWER);
+        assertThat(wordSettings.getDictionaryStorage()).isEqualTo(DictionaryStorage.FRONT_CODED);
+        assertThat(wordSettings.getPrefix()).isEqualTo("re");
+        assertThat(wordSettings.getSuffix()).isEqualTo("ing");
+        assertThat(wordSettings.getRegex()).isEqualTo("[a-z]+");
+        assertThat(wordSettings.isUniqueWords()).isTrue();
+    }
+
+
+    @Test
+    public void testMatchCount() {
+        GuiActionRunner.execute(() -> frame.textBox("regex").target().setText("[0-9]+"));
+
+        awaitMatchCount("0 matching words");
+    }
+
+    @Test
+    public void testMatchCountStreamed() throws IOException {
+        final File dictionaryFile = File.createTempFile("test", "dic");
+        dictionaryFile.deleteOnExit();
+        Files.write(dictionaryFile.toPath(), "Limbas\nOstiary\nHackee".getBytes(StandardCharsets.UTF_8));
+        final Dictionary dictionary = Dictionary.UserDictionary.get(dictionaryFile.getAbsolutePath());
+
+        GuiActionRunner.execute(() -> {
+            dialogDictionaries.addEntry(dictionary);
+            dialogDictionaries.setActiveEntries(Collections.singletonList(dictionary));
+            frame.radioButton("storageStreaming").target().setSelected(true);
+            frame.spinner("minLength").target().setValue(6);
+            frame.spinner("maxLength").target().setValue(6);
+        });
+
+        awaitMatchCount("2 matching words");
     }
 
+    @Test
+    public void testMatchCountInvalidRegex() {
+        GuiActionRunner.execute(() -> frame.textBox("regex").target().setText("[0-9"));
+
+        awaitMatchCount("");
+    }
+
+
+    /**
+     * Waits until the dialog shows the given match count.
+     *
+     * @param expected the expected text of the match count label
+     */
+    private void awaitMatchCount(final String expected) {
+        pause(new Condition("match count to be \"" + expected + "\"") {
+            @Override
+            public boolean test() {
+                return expected.equals(frame.label("matchCount").text());
+            }
+        }, Timeout.timeout(10_000));
+    }
 
     private File getDictionaryFile(final String path) {
         return new File(getClass().getClassLoader().getResource(path).getPath());
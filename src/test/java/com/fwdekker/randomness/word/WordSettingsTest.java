@@ -6,13 +6,18 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.regex.PatternSyntaxException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 
 /**
@@ -107,6 +112,125 @@ final class WordSettingsTest {
         assertThat(wordSettings.getActiveUserDictionaries()).isEqualTo(userDictionaries);
     }
 
+    @Test
+    void testGetSetDictionaryCacheSize() {
+        wordSettings.setDictionaryCacheSize(12);
+
+        assertThat(wordSettings.getDictionaryCacheSize()).isEqualTo(12);
+        assertThat(Dictionary.BundledDictionary.getCache().getBudget()).isEqualTo(12L * 1024 * 1024);
+        assertThat(Dictionary.UserDictionary.getCache().getBudget()).isEqualTo(12L * 1024 * 1024);
+
+        wordSettings.setDictionaryCacheSize(64);
+    }
+
+    @Test
+    void testActiveDictionariesArePinned() {
+        final File userDictionaryA = FILE_HELPER.setUpDictionary("Dicranum\nJiffy");
+        final File userDictionaryB = FILE_HELPER.setUpDictionary("Chatties\nWows");
+        wordSettings.setDictionaryCacheSize(0);
+        wordSettings.setActiveBundledDictionaries(new HashSet<>());
+        wordSettings.setActiveUserDictionaries(new HashSet<>(Arrays.asList(
+                userDictionaryA.getAbsolutePath(), userDictionaryB.getAbsolutePath())));
+
+        final List<Dictionary> dictionaries = wordSettings.getValidActiveDictionaries();
+        final long evictionCount = Dictionary.UserDictionary.getCache().getEvictionCount();
+        final List<Dictionary> dictionariesAgain = wordSettings.getValidActiveDictionaries();
+
+        assertThat(dictionariesAgain).containsExactlyElementsOf(dictionaries);
+        assertThat(Dictionary.UserDictionary.getCache().getEvictionCount()).isEqualTo(evictionCount);
+        assertThat(Dictionary.UserDictionary.getCache().getMemoryUsage())
+                .isGreaterThanOrEqualTo(dictionaries.get(0).estimateMemoryUsage()
+                        + dictionaries.get(1).estimateMemoryUsage());
+
+        wordSettings.setActiveUserDictionaries(new HashSet<>());
+        wordSettings.setDictionaryCacheSize(64);
+    }
+
+    @Test
+    void testGetSetDeduplicateWords() {
+        wordSettings.setDeduplicateWords(false);
+
+        assertThat(wordSettings.isDeduplicateWords()).isFalse();
+    }
+
+    @Test
+    void testGetSetPrefix() {
+        wordSettings.setPrefix("pre");
+
+        assertThat(wordSettings.getPrefix()).isEqualTo("pre");
+    }
+
+    @Test
+    void testGetSetSuffix() {
+        wordSettings.setSuffix("ing");
+
+        assertThat(wordSettings.getSuffix()).isEqualTo("ing");
+    }
+
+    @Test
+    void testGetSetInfix() {
+        wordSettings.setInfix("ou");
+
+        assertThat(wordSettings.getInfix()).isEqualTo("ou");
+    }
+
+    @Test
+    void testGetSetAllowedCharacters() {
+        wordSettings.setAllowedCharacters("abc");
+
+        assertThat(wordSettings.getAllowedCharacters()).isEqualTo("abc");
+    }
+
+    @Test
+    void testGetSetRegex() {
+        wordSettings.setRegex("[a-z]+");
+
+        assertThat(wordSettings.getRegex()).isEqualTo("[a-z]+");
+    }
+
+    @Test
+    void testGetFilterDefault() {
+        assertThat(wordSettings.getFilter()).isEqualTo(WordFilter.NONE);
+    }
+
+    @Test
+    void testGetFilter() {
+        wordSettings.setPrefix("pre");
+        wordSettings.setSuffix("ing");
+        wordSettings.setInfix(null);
+        wordSettings.setAllowedCharacters("abc");
+
+        assertThat(wordSettings.getFilter()).isEqualTo(new WordFilter("pre", "ing", "", "abc"));
+    }
+
+    @Test
+    void testGetFilterRegex() {
+        wordSettings.setRegex("pre.*");
+
+        assertThat(wordSettings.getFilter()).isEqualTo(new WordFilter("", "", "", "", "pre.*"));
+    }
+
+    @Test
+    void testGetFilterInvalidRegex() {
+        wordSettings.setRegex("pre(");
+
+        assertThatThrownBy(() -> wordSettings.getFilter()).isInstanceOf(PatternSyntaxException.class);
+    }
+
+    @Test
+    void testGetSetUniqueWords() {
+        wordSettings.setUniqueWords(true);
+
+        assertThat(wordSettings.isUniqueWords()).isTrue();
+    }
+
+    @Test
+    void testGetSetDictionaryStorage() {
+        wordSettings.setDictionaryStorage(DictionaryStorage.STRINGS);
+
+        assertThat(wordSettings.getDictionaryStorage()).isEqualTo(DictionaryStorage.STRINGS);
+    }
+
 
     @Test
     void testValidateAllDictionariesSuccessEmpty() {
@@ -262,4 +386,110 @@ final class WordSettingsTest {
                 Dictionary.BundledDictionary.get("dictionaries/simple.dic")
         );
     }
+
+    @Test
+    void testGetValidActiveResidentDictionariesNotStreaming() {
+        final File userDictionary = FILE_HELPER.setUpDictionary("Gusset\nPintle");
+
+        wordSettings.setActiveBundledDictionaries(Collections.singleton("dictionaries/simple.dic"));
+        wordSettings.setActiveUserDictionaries(Collections.singleton(userDictionary.getAbsolutePath()));
+
+        assertThat(wordSettings.getValidActiveResidentDictionaries()).containsExactlyInAnyOrder(
+                Dictionary.UserDictionary.get(userDictionary.getAbsolutePath()),
+                Dictionary.BundledDictionary.get("dictionaries/simple.dic")
+        );
+        assertThat(wordSettings.getActiveStreamedDictionaries()).isEmpty();
+    }
+
+    @Test
+    void testGetValidActiveResidentDictionariesStreaming() {
+        final File userDictionary = FILE_HELPER.setUpDictionary("Gusset\nPintle");
+
+        wordSettings.setDictionaryStorage(DictionaryStorage.STREAMING);
+        wordSettings.setActiveBundledDictionaries(Collections.singleton("dictionaries/simple.dic"));
+        wordSettings.setActiveUserDictionaries(Collections.singleton(userDictionary.getAbsolutePath()));
+
+        assertThat(wordSettings.getValidActiveResidentDictionaries())
+                .containsExactly(Dictionary.BundledDictionary.get("dictionaries/simple.dic"));
+        assertThat(wordSettings.getActiveStreamedDictionaries())
+                .containsExactly(userDictionary.getAbsolutePath());
+    }
+
+    @Test
+    void testGetValidActiveDictionariesStreaming() {
+        final File userDictionary = FILE_HELPER.setUpDictionary("Gusset\nPintle");
+
+        wordSettings.setDictionaryStorage(DictionaryStorage.STREAMING);
+        wordSettings.setActiveBundledDictionaries(Collections.emptySet());
+        wordSettings.setActiveUserDictionaries(Collections.singleton(userDictionary.getAbsolutePath()));
+
+        final List<Dictionary> dictionaries = wordSettings.getValidActiveDictionaries();
+
+        assertThat(dictionaries).hasSize(1);
+        assertThat(dictionaries.get(0).isStreamed()).isTrue();
+        assertThat(dictionaries.get(0).getStatistics().getWordCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testValidateStreamedDictionariesNotStreaming() {
+        final File userDictionary = FILE_HELPER.setUpDictionary("Gusset\nPintle");
+
+        wordSettings.setActiveUserDictionaries(Collections.singleton(userDictionary.getAbsolutePath()));
+        wordSettings.setUniqueWords(true);
+        wordSettings.setPrefix("Gu");
+
+        assertThat(wordSettings.validateStreamedDictionaries()).isNull();
+    }
+
+    @Test
+    void testValidateStreamedDictionariesUnfiltered() {
+        final File userDictionary = FILE_HELPER.setUpDictionary("Gusset\nPintle");
+
+        wordSettings.setDictionaryStorage(DictionaryStorage.STREAMING);
+        wordSettings.setActiveUserDictionaries(Collections.singleton(userDictionary.getAbsolutePath()));
+
+        assertThat(wordSettings.validateStreamedDictionaries()).isNull();
+    }
+
+    @Test
+    void testValidateStreamedDictionariesUnique() {
+        final File userDictionary = FILE_HELPER.setUpDictionary("Gusset\nPintle");
+
+        wordSettings.setDictionaryStorage(DictionaryStorage.STREAMING);
+        wordSettings.setActiveUserDictionaries(Collections.singleton(userDictionary.getAbsolutePath()));
+        wordSettings.setUniqueWords(true);
+
+        final ValidationInfo validationInfo = wordSettings.validateStreamedDictionaries();
+
+        assertThat(validationInfo).isNotNull();
+        assertThat(validationInfo.message)
+                .isEqualTo("Unique words and word filters cannot be used with streamed dictionaries.");
+    }
+
+    @Test
+    void testValidateStreamedDictionariesFiltered() {
+        final File userDictionary = FILE_HELPER.setUpDictionary("Gusset\nPintle");
+
+        wordSettings.setDictionaryStorage(DictionaryStorage.STREAMING);
+        wordSettings.setActiveUserDictionaries(Collections.singleton(userDictionary.getAbsolutePath()));
+        wordSettings.setRegex("P.*");
+
+        assertThat(wordSettings.validateStreamedDictionaries()).isNotNull();
+    }
+
+    @Test
+    void testGetValidActiveResidentDictionariesStreamingCompiled() throws IOException {
+        final File userDictionary = FILE_HELPER.setUpDictionary("");
+        try (OutputStream output = new FileOutputStream(userDictionary)) {
+            CompiledDictionary.write(new String[] {"Gusset", "Pintle"}, output);
+        }
+
+        wordSettings.setDictionaryStorage(DictionaryStorage.STREAMING);
+        wordSettings.setActiveBundledDictionaries(Collections.emptySet());
+        wordSettings.setActiveUserDictionaries(Collections.singleton(userDictionary.getAbsolutePath()));
+
+        assertThat(wordSettings.getValidActiveResidentDictionaries())
+                .containsExactly(Dictionary.UserDictionary.get(userDictionary.getAbsolutePath()));
+        assertThat(wordSettings.getActiveStreamedDictionaries()).isEmpty();
+    }
 }
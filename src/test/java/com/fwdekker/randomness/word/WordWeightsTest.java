@@ -0,0 +1,103 @@
+package com.fwdekker.randomness.word;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+
+/**
+ * Unit tests for {@link WordWeights}.
+ */
+final class WordWeightsTest {
+    /**
+     * The positions of the words of each length in the weights used in these tests: two words of length 1, none of
+     * length 2, and three of length 3.
+     */
+    private static final int[] LENGTH_OFFSETS = {0, 0, 2, 2, 5};
+
+
+    @Test
+    void testWrongNumberOfWeights() {
+        assertThatThrownBy(() -> new WordWeights(new float[] {1, 2}, LENGTH_OFFSETS))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("There must be exactly one weight for each word.");
+    }
+
+    @Test
+    void testGetWeight() {
+        final WordWeights weights = new WordWeights(new float[] {1, 2, 3, 4, 5}, LENGTH_OFFSETS);
+
+        assertThat(weights.getWeight(3)).isEqualTo(4.0f);
+    }
+
+    @Test
+    void testGetTotalWeight() {
+        final WordWeights weights = new WordWeights(new float[] {1, 2, 3, 4, 5}, LENGTH_OFFSETS);
+
+        assertThat(weights.getTotalWeight(1, 1)).isEqualTo(3.0, within(1e-9));
+        assertThat(weights.getTotalWeight(2, 3)).isEqualTo(12.0, within(1e-9));
+        assertThat(weights.getTotalWeight(-5, 50)).isEqualTo(15.0, within(1e-9));
+    }
+
+    @Test
+    void testGetTotalWeightEmptyRange() {
+        final WordWeights weights = new WordWeights(new float[] {1, 2, 3, 4, 5}, LENGTH_OFFSETS);
+
+        assertThat(weights.getTotalWeight(2, 2)).isEqualTo(0.0);
+        assertThat(weights.getTotalWeight(3, 1)).isEqualTo(0.0);
+        assertThat(weights.getTotalWeight(4, 10)).isEqualTo(0.0);
+    }
+
+    @Test
+    void testSampleEmptyRange() {
+        final WordWeights weights = new WordWeights(new float[] {1, 2, 3, 4, 5}, LENGTH_OFFSETS);
+
+        assertThatThrownBy(() -> weights.sample(2, 2, new Random(0)))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("There are no words with a length in the given range.");
+    }
+
+    @Test
+    void testSampleSingleBucket() {
+        final WordWeights weights = new WordWeights(new float[] {1, 2, 3, 4, 5}, LENGTH_OFFSETS);
+        final Random random = new Random(0);
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(weights.sample(3, 3, random)).isBetween(2, 4);
+        }
+    }
+
+    @Test
+    void testSampleProportionalToWeight() {
+        final WordWeights weights = new WordWeights(new float[] {1, 2, 3, 4, 5}, LENGTH_OFFSETS);
+        final Random random = new Random(0);
+
+        final int[] counts = new int[5];
+        for (int i = 0; i < 15_000; i++) {
+            counts[weights.sample(0, 10, random)]++;
+        }
+
+        for (int position = 0; position < counts.length; position++) {
+            assertThat(counts[position]).isBetween(1000 * (position + 1) - 200, 1000 * (position + 1) + 200);
+        }
+    }
+
+    @Test
+    void testSampleSkewedWeights() {
+        final WordWeights weights = new WordWeights(new float[] {1, 1, 0.001f, 1000, 0.001f}, LENGTH_OFFSETS);
+        final Random random = new Random(0);
+
+        int count = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (weights.sample(3, 3, random) == 3) {
+                count++;
+            }
+        }
+
+        assertThat(count).isGreaterThan(995);
+    }
+}